@@ -0,0 +1,60 @@
+package tech.cybernomad.boot.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import tech.cybernomad.boot.analyzer.SpringBootAnalyzer;
+import tech.cybernomad.boot.model.ClassInfo;
+import tech.cybernomad.boot.model.ModuleInfo;
+import tech.cybernomad.boot.model.ProjectInfo;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the {@link ProjectInfo} model from the analyzed classes of a whole project and
+ * computing the summaries the report and the API read from it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AggregationBenchmark {
+
+    @Param("1000")
+    int classes;
+
+    private ProjectInfo analyzed;
+    private List<ClassInfo> allClasses;
+
+    @Setup
+    public void setUp() throws IOException {
+        analyzed = new SpringBootAnalyzer(SyntheticProjectGenerator.cached(classes)).analyze();
+        allClasses = new ArrayList<>(analyzed.getAllClasses());
+    }
+
+    @Benchmark
+    public ProjectInfo addClasses() {
+        ProjectInfo project = new ProjectInfo();
+        project.setBasePath(analyzed.getBasePath());
+        project.setProjectName(analyzed.getProjectName());
+        for (ModuleInfo module : analyzed.getModules()) {
+            project.addModule(new ModuleInfo(module.getName(), module.getDirectory(), module.getSourceRoots()));
+        }
+        allClasses.forEach(project::addClass);
+        return project;
+    }
+
+    @Benchmark
+    public void summaries(Blackhole blackhole) {
+        blackhole.consume(analyzed.getStatsByType());
+        blackhole.consume(analyzed.getPrototypeBeans());
+        blackhole.consume(analyzed.getByPackage("com.example.synth.m0"));
+        for (ModuleInfo module : analyzed.getModules()) {
+            blackhole.consume(module.getCountsByType());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package tech.cybernomad.boot.bench;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import org.openjdk.jmh.annotations.*;
+import tech.cybernomad.boot.analyzer.SpringBootAnalyzer;
+import tech.cybernomad.boot.model.ClassInfo;
+import tech.cybernomad.boot.rules.RuleSet;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Extracting beans from an already parsed file: annotations, scope, mappings, dependencies and
+ * {@code @Bean} methods. One operation is one compilation unit. {@code rules=all} runs the default
+ * analysis rules on every bean as well, {@code none} measures the extraction alone.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnalyzeClassBenchmark {
+
+    @Param("1000")
+    int classes;
+
+    @Param({"none", "all"})
+    String rules;
+
+    private SpringBootAnalyzer analyzer;
+    private CompilationUnit[] units;
+    private Path[] files;
+    private String[] sources;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Path sourceRoot = BenchmarkFiles.sourceRoot(classes);
+        analyzer = new SpringBootAnalyzer(sourceRoot, 1);
+        analyzer.setRules("all".equals(rules) ? RuleSet.defaults() : RuleSet.NONE);
+        List<Path> sample = BenchmarkFiles.javaFiles(sourceRoot, BenchmarkFiles.SAMPLE_SIZE);
+        JavaParser parser = new JavaParser();
+        files = sample.toArray(Path[]::new);
+        sources = sample.stream().map(BenchmarkFiles::read).toArray(String[]::new);
+        units = new CompilationUnit[sources.length];
+        for (int i = 0; i < sources.length; i++) {
+            units[i] = parser.parse(sources[i]).getResult().orElseThrow();
+        }
+    }
+
+    @Benchmark
+    public List<ClassInfo> analyzeCompilationUnit() {
+        int i = next++ % units.length;
+        return analyzer.analyzeCompilationUnit(units[i], files[i], sources[i]);
+    }
+}
@@ -0,0 +1,43 @@
+package tech.cybernomad.boot.bench;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Source files of a generated project, shared by the benchmark states.
+ */
+final class BenchmarkFiles {
+
+    /**
+     * Per-file benchmarks cycle through at most this many files, so that large projects
+     * do not have to be held in memory as sources or syntax trees.
+     */
+    static final int SAMPLE_SIZE = 4096;
+
+    private BenchmarkFiles() {
+    }
+
+    static Path sourceRoot(int classes) {
+        return SyntheticProjectGenerator.cached(classes).resolve("src/main/java");
+    }
+
+    static List<Path> javaFiles(Path sourceRoot, int limit) {
+        try (Stream<Path> paths = Files.walk(sourceRoot)) {
+            return paths.filter(p -> p.toString().endsWith(".java")).sorted().limit(limit).toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static String read(Path file) {
+        try {
+            return Files.readString(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package tech.cybernomad.boot.bench;
+
+import tech.cybernomad.boot.analyzer.SpringBootAnalyzer;
+import tech.cybernomad.boot.model.ProjectInfo;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Path;
+
+/**
+ * Retained heap of the analysis model of a generated project: used heap after a full GC with the
+ * {@link ProjectInfo} reachable, minus the same measurement before the analysis.
+ * <p>
+ * Not a JMH benchmark: {@code java -cp target/benchmarks.jar tech.cybernomad.boot.bench.ModelFootprint [classes]}.
+ */
+public final class ModelFootprint {
+
+    private ModelFootprint() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int classes = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        Path root = SyntheticProjectGenerator.cached(classes);
+
+        long before = usedAfterGc();
+        SpringBootAnalyzer analyzer = new SpringBootAnalyzer(root);
+        ProjectInfo project = analyzer.analyze();
+        analyzer = null;
+        long after = usedAfterGc();
+
+        long retained = after - before;
+        System.out.printf("classes=%d beans=%d retained=%.1f MB (%d bytes/bean)%n",
+            classes, project.getTotalBeans(), retained / 1048576.0, retained / Math.max(1, project.getTotalBeans()));
+    }
+
+    private static long usedAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long used = Long.MAX_VALUE;
+        // Kilka przebiegów - pojedynczy System.gc() nie zawsze domyka sprzątanie
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            used = Math.min(used, memory.getHeapMemoryUsage().getUsed());
+        }
+        return used;
+    }
+}
@@ -0,0 +1,50 @@
+package tech.cybernomad.boot.bench;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseResult;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.CompilationUnit;
+import org.openjdk.jmh.annotations.*;
+import tech.cybernomad.boot.analyzer.BodyStripper;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing one source file, full or declaration-only as configured by {@code analyzer.shallow}.
+ * One operation is one file.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParseBenchmark {
+
+    @Param("1000")
+    int classes;
+
+    @Param({"full", "shallow"})
+    String mode;
+
+    private JavaParser parser;
+    private String[] sources;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        List<Path> files = BenchmarkFiles.javaFiles(BenchmarkFiles.sourceRoot(classes), BenchmarkFiles.SAMPLE_SIZE);
+        sources = files.stream().map(BenchmarkFiles::read).toArray(String[]::new);
+        parser = mode.equals("shallow")
+            ? new JavaParser(new ParserConfiguration().setAttributeComments(false))
+            : new JavaParser();
+    }
+
+    @Benchmark
+    public ParseResult<CompilationUnit> parse() {
+        String source = sources[next++ % sources.length];
+        return parser.parse(mode.equals("shallow") ? BodyStripper.strip(source) : source);
+    }
+}
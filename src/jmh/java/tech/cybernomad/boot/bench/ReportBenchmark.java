@@ -0,0 +1,39 @@
+package tech.cybernomad.boot.bench;
+
+import org.openjdk.jmh.annotations.*;
+import tech.cybernomad.boot.analyzer.SpringBootAnalyzer;
+import tech.cybernomad.boot.model.ProjectInfo;
+import tech.cybernomad.boot.report.HtmlReportGenerator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering the HTML report of a whole project into a writer that discards the output, so that
+ * only the generator itself is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportBenchmark {
+
+    @Param("1000")
+    int classes;
+
+    private final HtmlReportGenerator generator = new HtmlReportGenerator();
+    private ProjectInfo project;
+
+    @Setup
+    public void setUp() throws IOException {
+        project = new SpringBootAnalyzer(SyntheticProjectGenerator.cached(classes)).analyze();
+    }
+
+    @Benchmark
+    public void render() throws IOException {
+        generator.write(project, Writer.nullWriter());
+    }
+}
@@ -0,0 +1,433 @@
+package tech.cybernomad.boot.bench;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes a Spring Boot project of a given size, modeled on the bean patterns of {@code test-project}.
+ * <p>
+ * Classes are generated in feature groups that repeat the same mix: entities, JPA repository interfaces
+ * and {@code @Repository} classes, services, REST and MVC controllers with request mappings,
+ * {@code @Configuration} classes with {@code @Bean} methods, {@code @Scheduled} and {@code @EventListener}
+ * components, prototype-scoped components and plain DTOs that are not beans. Services depend on their
+ * repositories and controllers on their services, through both field and constructor injection. The output
+ * is deterministic, so the same size always produces the same sources.
+ * <p>
+ * Standalone use: {@code SyntheticProjectGenerator <directory> <classes>}.
+ */
+public final class SyntheticProjectGenerator {
+
+    private enum Kind {
+        ENTITY, REPOSITORY, SERVICE, REST_CONTROLLER, DTO,
+        REPOSITORY_CLASS, CONFIGURATION, SCHEDULED, EVENT_LISTENER,
+        CONTROLLER, PROTOTYPE_COMPONENT, EVENT
+    }
+
+    // Jedna grupa funkcjonalna - 12 plików w proporcjach zbliżonych do typowej aplikacji
+    private static final Kind[] FEATURE = Kind.values();
+
+    private static final String BASE_PACKAGE = "com.example.synth";
+    private static final int FEATURES_PER_MODULE = 50;
+
+    private SyntheticProjectGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: SyntheticProjectGenerator <directory> <classes>");
+            System.exit(1);
+        }
+        generate(Path.of(args[0]), Integer.parseInt(args[1]));
+    }
+
+    /**
+     * Returns a generated project of the given size under {@code java.io.tmpdir}, generating it only once.
+     */
+    public static Path cached(int classes) {
+        Path root = Path.of(System.getProperty("java.io.tmpdir"), "cbrnmd-bench", "classes-" + classes);
+        Path marker = root.resolve(".complete");
+        try {
+            if (!Files.exists(marker)) {
+                generate(root, classes);
+                Files.createFile(marker);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return root;
+    }
+
+    /**
+     * Writes {@code classes} source files plus the application class below {@code root/src/main/java}.
+     */
+    public static void generate(Path root, int classes) throws IOException {
+        Path sources = root.resolve("src/main/java");
+        write(sources, BASE_PACKAGE, "SynthApplication", application());
+        for (int i = 0; i < classes; i++) {
+            int feature = i / FEATURE.length;
+            Kind kind = FEATURE[i % FEATURE.length];
+            String pkg = BASE_PACKAGE + ".m" + (feature / FEATURES_PER_MODULE) + ".f" + feature;
+            String name = "Feature" + feature;
+            write(sources, pkg, className(kind, name), source(kind, pkg, name, feature));
+        }
+    }
+
+    private static void write(Path sources, String pkg, String className, String source) throws IOException {
+        Path dir = sources.resolve(pkg.replace('.', '/'));
+        Files.createDirectories(dir);
+        Files.writeString(dir.resolve(className + ".java"), source);
+    }
+
+    private static String className(Kind kind, String name) {
+        return switch (kind) {
+            case ENTITY -> name;
+            case REPOSITORY -> name + "Repository";
+            case REPOSITORY_CLASS -> name + "JdbcRepository";
+            case SERVICE -> name + "Service";
+            case REST_CONTROLLER -> name + "Controller";
+            case CONTROLLER -> name + "PageController";
+            case DTO -> name + "Dto";
+            case CONFIGURATION -> name + "Config";
+            case SCHEDULED -> name + "ScheduledTasks";
+            case EVENT_LISTENER -> name + "EventListeners";
+            case PROTOTYPE_COMPONENT -> name + "RequestContext";
+            case EVENT -> name + "ChangedEvent";
+        };
+    }
+
+    private static String application() {
+        return """
+            package %s;
+
+            import org.springframework.boot.SpringApplication;
+            import org.springframework.boot.autoconfigure.SpringBootApplication;
+            import org.springframework.scheduling.annotation.EnableScheduling;
+
+            @SpringBootApplication
+            @EnableScheduling
+            public class SynthApplication {
+
+                public static void main(String[] args) {
+                    SpringApplication.run(SynthApplication.class, args);
+                }
+            }
+            """.formatted(BASE_PACKAGE);
+    }
+
+    private static String source(Kind kind, String pkg, String name, int feature) {
+        String path = "/api/feature" + feature;
+        return switch (kind) {
+            case ENTITY -> """
+                package %1$s;
+
+                import jakarta.persistence.*;
+                import java.math.BigDecimal;
+
+                @Entity
+                @Table(name = "feature_%3$d")
+                public class %2$s {
+
+                    @Id
+                    @GeneratedValue(strategy = GenerationType.IDENTITY)
+                    private Long id;
+
+                    @Column(nullable = false)
+                    private String name;
+
+                    private BigDecimal amount;
+
+                    private boolean active;
+
+                    public Long getId() { return id; }
+                    public void setId(Long id) { this.id = id; }
+
+                    public String getName() { return name; }
+                    public void setName(String name) { this.name = name; }
+
+                    public BigDecimal getAmount() { return amount; }
+                    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+                    public boolean isActive() { return active; }
+                    public void setActive(boolean active) { this.active = active; }
+                }
+                """.formatted(pkg, name, feature);
+            case REPOSITORY -> """
+                package %1$s;
+
+                import org.springframework.data.jpa.repository.JpaRepository;
+                import org.springframework.stereotype.Repository;
+
+                import java.util.List;
+
+                @Repository
+                public interface %2$sRepository extends JpaRepository<%2$s, Long> {
+                    List<%2$s> findByName(String name);
+                    List<%2$s> findByActiveTrue();
+                }
+                """.formatted(pkg, name);
+            case REPOSITORY_CLASS -> """
+                package %1$s;
+
+                import org.springframework.jdbc.core.JdbcTemplate;
+                import org.springframework.stereotype.Repository;
+
+                import java.util.List;
+
+                @Repository
+                public class %2$sJdbcRepository {
+
+                    private final JdbcTemplate jdbcTemplate;
+
+                    public %2$sJdbcRepository(JdbcTemplate jdbcTemplate) {
+                        this.jdbcTemplate = jdbcTemplate;
+                    }
+
+                    public List<String> findNames() {
+                        return jdbcTemplate.queryForList("select name from feature_%3$d", String.class);
+                    }
+
+                    public int deactivate(long id) {
+                        return jdbcTemplate.update("update feature_%3$d set active = false where id = ?", id);
+                    }
+                }
+                """.formatted(pkg, name, feature);
+            case SERVICE -> """
+                package %1$s;
+
+                import org.springframework.beans.factory.annotation.Autowired;
+                import org.springframework.context.ApplicationEventPublisher;
+                import org.springframework.stereotype.Service;
+
+                import java.util.List;
+
+                @Service
+                public class %2$sService {
+
+                    @Autowired
+                    private %2$sRepository repository;
+
+                    private final %2$sJdbcRepository jdbcRepository;
+                    private final ApplicationEventPublisher events;
+
+                    public %2$sService(%2$sJdbcRepository jdbcRepository, ApplicationEventPublisher events) {
+                        this.jdbcRepository = jdbcRepository;
+                        this.events = events;
+                    }
+
+                    public List<%2$s> findAll() {
+                        return repository.findAll();
+                    }
+
+                    public %2$s findById(Long id) {
+                        return repository.findById(id).orElse(null);
+                    }
+
+                    public %2$s save(%2$s entity) {
+                        %2$s saved = repository.save(entity);
+                        events.publishEvent(new %2$sChangedEvent(saved.getId()));
+                        return saved;
+                    }
+
+                    public void deactivate(Long id) {
+                        if (jdbcRepository.deactivate(id) > 0) {
+                            events.publishEvent(new %2$sChangedEvent(id));
+                        }
+                    }
+                }
+                """.formatted(pkg, name);
+            case REST_CONTROLLER -> """
+                package %1$s;
+
+                import org.springframework.beans.factory.annotation.Autowired;
+                import org.springframework.web.bind.annotation.*;
+
+                import java.util.List;
+
+                @RestController
+                @RequestMapping("%3$s")
+                public class %2$sController {
+
+                    @Autowired
+                    private %2$sService service;
+
+                    @GetMapping
+                    public List<%2$s> getAll() {
+                        return service.findAll();
+                    }
+
+                    @GetMapping("/{id}")
+                    public %2$s get(@PathVariable Long id) {
+                        return service.findById(id);
+                    }
+
+                    @PostMapping
+                    public %2$s create(@RequestBody %2$sDto dto) {
+                        return service.save(dto.toEntity());
+                    }
+
+                    @DeleteMapping("/{id}")
+                    public void deactivate(@PathVariable Long id) {
+                        service.deactivate(id);
+                    }
+                }
+                """.formatted(pkg, name, path);
+            case CONTROLLER -> """
+                package %1$s;
+
+                import org.springframework.stereotype.Controller;
+                import org.springframework.ui.Model;
+                import org.springframework.web.bind.annotation.GetMapping;
+                import org.springframework.web.bind.annotation.RequestMapping;
+
+                @Controller
+                @RequestMapping("/feature%3$d")
+                public class %2$sPageController {
+
+                    private final %2$sService service;
+
+                    public %2$sPageController(%2$sService service) {
+                        this.service = service;
+                    }
+
+                    @GetMapping
+                    public String list(Model model) {
+                        model.addAttribute("items", service.findAll());
+                        return "feature/list";
+                    }
+                }
+                """.formatted(pkg, name, feature);
+            case DTO -> """
+                package %1$s;
+
+                import java.math.BigDecimal;
+
+                public class %2$sDto {
+
+                    private String name;
+                    private BigDecimal amount;
+
+                    public String getName() { return name; }
+                    public void setName(String name) { this.name = name; }
+
+                    public BigDecimal getAmount() { return amount; }
+                    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+                    public %2$s toEntity() {
+                        %2$s entity = new %2$s();
+                        entity.setName(name);
+                        entity.setAmount(amount);
+                        entity.setActive(true);
+                        return entity;
+                    }
+                }
+                """.formatted(pkg, name);
+            case CONFIGURATION -> """
+                package %1$s;
+
+                import org.springframework.context.annotation.Bean;
+                import org.springframework.context.annotation.Configuration;
+                import org.springframework.context.annotation.Scope;
+                import org.springframework.web.client.RestTemplate;
+
+                import java.time.Clock;
+
+                @Configuration
+                public class %2$sConfig {
+
+                    @Bean
+                    public RestTemplate %3$sRestTemplate() {
+                        return new RestTemplate();
+                    }
+
+                    @Bean
+                    public Clock %3$sClock() {
+                        return Clock.systemUTC();
+                    }
+
+                    @Bean
+                    @Scope("prototype")
+                    public StringBuilder %3$sBuffer() {
+                        return new StringBuilder();
+                    }
+                }
+                """.formatted(pkg, name, "feature" + feature);
+            case SCHEDULED -> """
+                package %1$s;
+
+                import org.springframework.scheduling.annotation.Scheduled;
+                import org.springframework.stereotype.Component;
+
+                @Component
+                public class %2$sScheduledTasks {
+
+                    private final %2$sService service;
+
+                    public %2$sScheduledTasks(%2$sService service) {
+                        this.service = service;
+                    }
+
+                    @Scheduled(fixedRate = 60000)
+                    public void refresh() {
+                        System.out.println("Refreshing " + service.findAll().size() + " items");
+                    }
+
+                    @Scheduled(cron = "0 0 2 * * ?")
+                    public void nightlyCleanup() {
+                        service.findAll().stream().filter(e -> !e.isActive()).forEach(e -> service.deactivate(e.getId()));
+                    }
+                }
+                """.formatted(pkg, name);
+            case EVENT_LISTENER -> """
+                package %1$s;
+
+                import org.springframework.context.event.EventListener;
+                import org.springframework.stereotype.Component;
+
+                @Component
+                public class %2$sEventListeners {
+
+                    @EventListener
+                    public void onChanged(%2$sChangedEvent event) {
+                        System.out.println("%2$s changed: " + event.getId());
+                    }
+                }
+                """.formatted(pkg, name);
+            case PROTOTYPE_COMPONENT -> """
+                package %1$s;
+
+                import org.springframework.context.annotation.Scope;
+                import org.springframework.stereotype.Component;
+
+                @Component
+                @Scope("prototype")
+                public class %2$sRequestContext {
+
+                    private String requestId;
+                    private long startTime;
+
+                    public %2$sRequestContext() {
+                        this.startTime = System.currentTimeMillis();
+                    }
+
+                    public String getRequestId() { return requestId; }
+                    public void setRequestId(String requestId) { this.requestId = requestId; }
+
+                    public long getElapsedTime() {
+                        return System.currentTimeMillis() - startTime;
+                    }
+                }
+                """.formatted(pkg, name);
+            case EVENT -> """
+                package %1$s;
+
+                public class %2$sChangedEvent {
+                    private final Long id;
+                    public %2$sChangedEvent(Long id) { this.id = id; }
+                    public Long getId() { return id; }
+                }
+                """.formatted(pkg, name);
+        };
+    }
+}
@@ -0,0 +1,38 @@
+package tech.cybernomad.boot.bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Discovery of the {@code .java} files of a whole project, as done before any file is read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WalkBenchmark {
+
+    @Param("1000")
+    int classes;
+
+    private Path sourceRoot;
+
+    @Setup
+    public void setUp() {
+        sourceRoot = BenchmarkFiles.sourceRoot(classes);
+    }
+
+    @Benchmark
+    public long walk() throws IOException {
+        try (Stream<Path> paths = Files.walk(sourceRoot)) {
+            return paths.filter(p -> p.toString().endsWith(".java")).count();
+        }
+    }
+}
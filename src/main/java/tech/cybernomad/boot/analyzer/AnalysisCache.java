@@ -0,0 +1,275 @@
+package tech.cybernomad.boot.analyzer;
+
+import tech.cybernomad.boot.model.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32C;
+
+/**
+ * On-disk cache of per-file analysis results. An entry is reused when the file size and
+ * modification time are unchanged; if only the mtime differs (checkout, touch) the content hash
+ * decides. Entries for files not seen during the current run are dropped on {@link #save()}.
+ * The entries include the findings of the class-level rules, so a cache written with a different set of
+ * rules is not used.
+ */
+public class AnalysisCache {
+
+    private static final int MAGIC = 0x43424143; // "CBAC"
+    private static final int VERSION = 3;
+
+    private final Path cacheFile;
+    private final Path basePath;
+    private final String rules;
+    private final Map<String, Entry> previous;
+    private final Map<String, Entry> current = new ConcurrentHashMap<>();
+
+    public static final class Entry {
+        private final long size;
+        private final long modified;
+        private final long hash;
+        private final List<ClassInfo> classes;
+
+        Entry(long size, long modified, long hash, List<ClassInfo> classes) {
+            this.size = size;
+            this.modified = modified;
+            this.hash = hash;
+            this.classes = classes;
+        }
+
+        public List<ClassInfo> getClasses() { return classes; }
+    }
+
+    private AnalysisCache(Path cacheFile, Path basePath, String rules, Map<String, Entry> previous) {
+        this.cacheFile = cacheFile;
+        this.basePath = basePath;
+        this.rules = rules;
+        this.previous = previous;
+    }
+
+    /**
+     * Opens the cache of the given project. A missing, corrupt or outdated cache file yields an empty cache.
+     *
+     * @param rules {@link tech.cybernomad.boot.rules.RuleSet#getKey() key} of the rules the analyzer runs
+     * @param symbols tables of the analysis run the cached classes are loaded into
+     */
+    public static AnalysisCache open(Path cacheDir, Path basePath, String rules, Symbols symbols) {
+        Path absolute = basePath.toAbsolutePath().normalize();
+        Path file = cacheDir.resolve(Integer.toHexString(absolute.toString().hashCode()) + ".cache");
+        Map<String, Entry> entries = new HashMap<>();
+        if (Files.isRegularFile(file)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                if (in.readInt() == MAGIC && in.readInt() == VERSION && absolute.toString().equals(in.readUTF())
+                        && rules.equals(in.readUTF())) {
+                    int count = in.readInt();
+                    for (int i = 0; i < count; i++) {
+                        String key = in.readUTF();
+                        entries.put(key, readEntry(in, absolute, absolute.resolve(key), symbols));
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Ignoring analysis cache " + file + " - " + e.getMessage());
+                entries.clear();
+            }
+        }
+        return new AnalysisCache(file, absolute, rules, entries);
+    }
+
+    /**
+     * Returns the cached classes for the file, or {@code null} when it has to be parsed again.
+     * A hit is carried over to the cache written by {@link #save()}.
+     */
+    public List<ClassInfo> lookup(Path file, long size, long modified) throws IOException {
+        String key = key(file);
+        Entry entry = previous.get(key);
+        if (entry == null || entry.size != size) {
+            return null;
+        }
+        if (entry.modified != modified) {
+            if (hash(Files.readAllBytes(file)) != entry.hash) {
+                return null;
+            }
+            entry = new Entry(size, modified, entry.hash, entry.classes);
+        }
+        current.put(key, entry);
+        return entry.classes;
+    }
+
+    public void store(Path file, long size, long modified, byte[] content, List<ClassInfo> classes) {
+        current.put(key(file), new Entry(size, modified, hash(content), classes));
+    }
+
+    /**
+     * Writes the cache to a temporary file of its own and moves it in place, so that runs of the same
+     * project saving at the same time never write into one file; the last move wins.
+     */
+    public void save() throws IOException {
+        Files.createDirectories(cacheFile.getParent());
+        Path tmp = Files.createTempFile(cacheFile.getParent(), cacheFile.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeUTF(basePath.toString());
+                out.writeUTF(rules);
+                out.writeInt(current.size());
+                for (Map.Entry<String, Entry> e : new TreeMap<>(current).entrySet()) {
+                    out.writeUTF(e.getKey());
+                    writeEntry(out, e.getValue());
+                }
+            }
+            Files.move(tmp, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    static long hash(byte[] content) {
+        CRC32C crc = new CRC32C();
+        crc.update(content);
+        return crc.getValue();
+    }
+
+    private String key(Path file) {
+        return basePath.relativize(file.toAbsolutePath().normalize()).toString();
+    }
+
+    private static void writeEntry(DataOutputStream out, Entry entry) throws IOException {
+        out.writeLong(entry.size);
+        out.writeLong(entry.modified);
+        out.writeLong(entry.hash);
+        out.writeInt(entry.classes.size());
+        for (ClassInfo cls : entry.classes) {
+            writeString(out, cls.getClassName());
+            writeString(out, cls.getPackageName());
+            writeString(out, cls.getFullName());
+            out.writeInt(cls.getLineNumber());
+            out.writeUTF(cls.getBeanType().name());
+            writeString(out, cls.getScope());
+            writeStrings(out, cls.getAnnotations());
+            writeStrings(out, cls.getMappings());
+            writeStrings(out, cls.getDependencies());
+            writeString(out, cls.getParentClass());
+            writeStrings(out, cls.getInterfaces());
+            out.writeInt(cls.getBeanMethods().size());
+            for (MethodInfo method : cls.getBeanMethods()) {
+                writeString(out, method.getName());
+                writeString(out, method.getReturnType());
+                out.writeInt(method.getLineNumber());
+                writeString(out, method.getScope());
+                writeStrings(out, method.getAnnotations());
+                writeStrings(out, method.getConditionalOn());
+            }
+            out.writeInt(cls.getRoutes().size());
+            for (RouteInfo route : cls.getRoutes()) {
+                writeString(out, route.getPath());
+                writeString(out, route.getHandlerMethod());
+                out.writeInt(route.getLineNumber());
+                writeStrings(out, route.getMethods());
+                writeStrings(out, route.getConsumes());
+                writeStrings(out, route.getProduces());
+            }
+            out.writeInt(cls.getFindings().size());
+            for (Finding finding : cls.getFindings()) {
+                writeString(out, finding.getRule());
+                out.writeUTF(finding.getSeverity().name());
+                writeString(out, finding.getMessage());
+                out.writeInt(finding.getLineNumber());
+            }
+        }
+    }
+
+    private static Entry readEntry(DataInputStream in, Path basePath, Path filePath, Symbols symbols)
+            throws IOException {
+        long size = in.readLong();
+        long modified = in.readLong();
+        long hash = in.readLong();
+        int count = in.readInt();
+        List<ClassInfo> classes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ClassInfo cls = new ClassInfo(symbols);
+            cls.setClassName(readString(in));
+            cls.setFilePath(basePath, filePath);
+            cls.setPackageName(readString(in));
+            cls.setFullName(readString(in));
+            cls.setLineNumber(in.readInt());
+            cls.setBeanType(BeanType.valueOf(in.readUTF()));
+            cls.setScope(readString(in));
+            cls.setAnnotations(readStrings(in));
+            cls.setMappings(readStrings(in));
+            cls.setDependencies(readStrings(in));
+            cls.setParentClass(readString(in));
+            cls.setInterfaces(readStrings(in));
+            int methods = in.readInt();
+            for (int m = 0; m < methods; m++) {
+                MethodInfo method = new MethodInfo(cls.getSymbols());
+                method.setName(readString(in));
+                method.setReturnType(readString(in));
+                method.setLineNumber(in.readInt());
+                method.setScope(readString(in));
+                method.setAnnotations(readStrings(in));
+                method.setConditionalOn(readStrings(in));
+                cls.addBeanMethod(method);
+            }
+            int routes = in.readInt();
+            for (int r = 0; r < routes; r++) {
+                RouteInfo route = new RouteInfo(cls.getSymbols());
+                route.setPath(readString(in));
+                route.setHandlerMethod(readString(in));
+                route.setLineNumber(in.readInt());
+                route.setMethods(readStrings(in));
+                route.setConsumes(readStrings(in));
+                route.setProduces(readStrings(in));
+                cls.addRoute(route);
+            }
+            int findings = in.readInt();
+            for (int f = 0; f < findings; f++) {
+                Finding finding = new Finding();
+                finding.setRule(readString(in));
+                finding.setSeverity(Finding.Severity.valueOf(in.readUTF()));
+                finding.setMessage(readString(in));
+                finding.setLineNumber(in.readInt());
+                cls.addFinding(finding);
+            }
+            classes.add(cls);
+        }
+        return new Entry(size, modified, hash, classes);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        return new String(in.readNBytes(length), StandardCharsets.UTF_8);
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    private static List<String> readStrings(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(readString(in));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,51 @@
+package tech.cybernomad.boot.analyzer;
+
+import tech.cybernomad.boot.model.AnalysisStats;
+
+import java.nio.file.Path;
+
+/**
+ * Receives phase timings and per-file outcomes of analysis runs, e.g. to publish them as metrics.
+ * Called concurrently from the worker threads once per file and phase, so implementations must be
+ * thread-safe and cheap. The default methods ignore everything.
+ */
+public interface AnalysisListener {
+
+    AnalysisListener NONE = new AnalysisListener() { };
+
+    enum Phase {
+        /** Walking the source roots for {@code .java} files. */
+        WALK,
+        /** Reading the bytes of one file. */
+        READ,
+        /** Parsing one file with JavaParser. */
+        PARSE,
+        /** Extracting the beans from one parsed compilation unit. */
+        ANALYZE,
+        /** Running the analysis rules on the beans of one compilation unit; included in {@link #ANALYZE}. */
+        RULES,
+        /** Opening, consulting and saving the incremental cache. */
+        CACHE,
+        /** Rendering one HTML report. */
+        REPORT
+    }
+
+    default void phaseCompleted(Phase phase, long nanos) { }
+
+    /**
+     * @param nanos time from reading the file to the extracted beans
+     */
+    default void fileParsed(Path file, long bytes, long nanos) { }
+
+    /** Dropped by the prefilter without parsing. */
+    default void fileSkipped(Path file, long bytes) { }
+
+    /** Taken from the incremental cache, not read. */
+    default void fileCached(Path file) { }
+
+    /** Could not be read or parsed; contributes no beans. */
+    default void fileFailed(Path file, String reason) { }
+
+    /** A full run finished, complete or partial. */
+    default void analysisCompleted(AnalysisStats stats) { }
+}
@@ -0,0 +1,321 @@
+package tech.cybernomad.boot.analyzer;
+
+import tech.cybernomad.boot.bytecode.ClassFile;
+import tech.cybernomad.boot.bytecode.ClassFile.Annotation;
+import tech.cybernomad.boot.bytecode.ClassFile.Member;
+import tech.cybernomad.boot.bytecode.ClassFileReader;
+import tech.cybernomad.boot.model.AutoConfigurationInfo;
+import tech.cybernomad.boot.model.AutoConfigurationInventory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Lists the auto-configurations contributed by a project's dependency jars, with their class-level conditions.
+ * <p>
+ * Candidates come from {@code META-INF/spring/...AutoConfiguration.imports} and the
+ * {@code EnableAutoConfiguration} key of {@code META-INF/spring.factories}. Each jar is opened with
+ * {@link ZipFile}, which reads only the central directory; the two descriptor files and the candidate
+ * classes are then read entry by entry, nothing is extracted. The classes go through {@link ClassFileReader}.
+ * <p>
+ * Results are cached per jar in one file, keyed by the SHA-1 of the jar - taken from the {@code .sha1} file
+ * Maven keeps next to it, or computed when there is none - so unchanged jars are never opened again.
+ * Jars are scanned in parallel.
+ */
+public class AutoConfigurationScanner {
+
+    static final String IMPORTS = "META-INF/spring/org.springframework.boot.autoconfigure.AutoConfiguration.imports";
+    static final String FACTORIES = "META-INF/spring.factories";
+    static final String FACTORIES_KEY = "org.springframework.boot.autoconfigure.EnableAutoConfiguration";
+
+    private static final int MAGIC = 0x43424149; // "CBAI"
+    private static final int VERSION = 1;
+    private static final String CACHE_FILE = "autoconfig.cache";
+
+    private final int parallelism;
+    private Path repository = MavenDependencies.defaultRepository();
+    private Path cacheDirectory;
+
+    // Wynik jednego jara - bez współrzędnych artefaktu, bo ten sam jar może leżeć pod różnymi
+    private record Entry(String className, String source, boolean found, List<String> conditions, int beanMethods) {
+    }
+
+    /**
+     * @param parallelism number of threads reading jars; values below 2 read them on the calling thread
+     */
+    public AutoConfigurationScanner(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    public Path getRepository() { return repository; }
+    public void setRepository(Path repository) { this.repository = repository; }
+
+    public Path getCacheDirectory() { return cacheDirectory; }
+
+    /**
+     * Enables the per-jar cache stored in the given directory; {@code null} disables it.
+     */
+    public void setCacheDirectory(Path cacheDirectory) { this.cacheDirectory = cacheDirectory; }
+
+    /**
+     * Resolves the project's dependencies from its {@code pom.xml} files and scans their jars.
+     */
+    public AutoConfigurationInventory scan(Path basePath) throws IOException {
+        long start = System.nanoTime();
+        MavenDependencies.Resolution resolution = new MavenDependencies(repository).resolve(basePath);
+        AutoConfigurationInventory inventory = scan(resolution.getArtifacts());
+        inventory.getMissing().addAll(resolution.getMissing());
+        inventory.setDurationMillis((System.nanoTime() - start) / 1_000_000);
+        return inventory;
+    }
+
+    public AutoConfigurationInventory scan(List<MavenDependencies.Artifact> artifacts) throws IOException {
+        long start = System.nanoTime();
+        Map<String, List<Entry>> cache = loadCache();
+        Map<String, List<Entry>> added = new ConcurrentHashMap<>();
+
+        List<List<Entry>> results = new ArrayList<>(artifacts.size());
+        if (parallelism == 1 || artifacts.size() < 2) {
+            for (MavenDependencies.Artifact artifact : artifacts) {
+                results.add(scanJar(artifact.jar(), cache, added));
+            }
+        } else {
+            ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, artifacts.size()));
+            try {
+                List<Future<List<Entry>>> futures = new ArrayList<>(artifacts.size());
+                for (MavenDependencies.Artifact artifact : artifacts) {
+                    futures.add(executor.submit(() -> scanJar(artifact.jar(), cache, added)));
+                }
+                for (Future<List<Entry>> future : futures) {
+                    results.add(future.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Scan interrupted");
+            } catch (ExecutionException e) {
+                throw new IOException("Scan failed: " + e.getCause().getMessage(), e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        AutoConfigurationInventory inventory = new AutoConfigurationInventory();
+        for (int i = 0; i < artifacts.size(); i++) {
+            for (Entry entry : results.get(i)) {
+                AutoConfigurationInfo info = new AutoConfigurationInfo();
+                info.setClassName(entry.className());
+                info.setArtifact(artifacts.get(i).coordinates());
+                info.setSource(entry.source());
+                info.setFound(entry.found());
+                info.setConditions(new ArrayList<>(entry.conditions()));
+                info.setBeanMethods(entry.beanMethods());
+                inventory.getAutoConfigurations().add(info);
+            }
+        }
+        inventory.setJars(artifacts.size());
+        inventory.setJarsScanned(added.size());
+        inventory.setJarsCached(artifacts.size() - added.size());
+        if (!added.isEmpty()) {
+            cache.putAll(added);
+            saveCache(cache);
+        }
+        inventory.setDurationMillis((System.nanoTime() - start) / 1_000_000);
+        return inventory;
+    }
+
+    private List<Entry> scanJar(Path jar, Map<String, List<Entry>> cache, Map<String, List<Entry>> added) throws IOException {
+        String hash = cacheDirectory != null ? hash(jar) : null;
+        if (hash != null) {
+            List<Entry> cached = cache.get(hash);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        List<Entry> entries = readJar(jar);
+        // Jar bez hasha też liczy się jako przeczytany
+        added.put(hash != null ? hash : jar.toString(), entries);
+        return entries;
+    }
+
+    private static List<Entry> readJar(Path jar) throws IOException {
+        try (ZipFile zip = new ZipFile(jar.toFile())) {
+            Map<String, String> candidates = new LinkedHashMap<>();
+            ZipEntry imports = zip.getEntry(IMPORTS);
+            if (imports != null) {
+                for (String line : new String(read(zip, imports), StandardCharsets.UTF_8).split("\n")) {
+                    int comment = line.indexOf('#');
+                    String name = (comment >= 0 ? line.substring(0, comment) : line).trim();
+                    if (!name.isEmpty()) {
+                        candidates.putIfAbsent(name, "imports");
+                    }
+                }
+            }
+            ZipEntry factories = zip.getEntry(FACTORIES);
+            if (factories != null) {
+                Properties properties = new Properties();
+                properties.load(new ByteArrayInputStream(read(zip, factories)));
+                String value = properties.getProperty(FACTORIES_KEY);
+                if (value != null) {
+                    for (String name : value.split(",")) {
+                        if (!name.isBlank()) {
+                            candidates.putIfAbsent(name.trim(), "spring.factories");
+                        }
+                    }
+                }
+            }
+            if (candidates.isEmpty()) {
+                return List.of();
+            }
+
+            List<Entry> entries = new ArrayList<>(candidates.size());
+            for (Map.Entry<String, String> candidate : candidates.entrySet()) {
+                ZipEntry classEntry = zip.getEntry(candidate.getKey().replace('.', '/') + ".class");
+                if (classEntry == null) {
+                    entries.add(new Entry(candidate.getKey(), candidate.getValue(), false, List.of(), 0));
+                    continue;
+                }
+                ClassFile classFile;
+                try {
+                    classFile = ClassFileReader.read(read(zip, classEntry));
+                } catch (IOException e) {
+                    System.err.println("Cannot read " + candidate.getKey() + " in " + jar + " - " + e.getMessage());
+                    entries.add(new Entry(candidate.getKey(), candidate.getValue(), false, List.of(), 0));
+                    continue;
+                }
+                List<String> conditions = new ArrayList<>();
+                for (Annotation annotation : classFile.getAnnotations()) {
+                    String name = annotation.getSimpleName();
+                    if (name.startsWith("ConditionalOn") || name.equals("Conditional")) {
+                        conditions.add(BytecodeAnalyzer.render(annotation));
+                    }
+                }
+                int beanMethods = 0;
+                for (Member method : classFile.getMethods()) {
+                    if (method.hasAnnotation("Bean")) {
+                        beanMethods++;
+                    }
+                }
+                entries.add(new Entry(candidate.getKey(), candidate.getValue(), true, conditions, beanMethods));
+            }
+            return entries;
+        }
+    }
+
+    private static byte[] read(ZipFile zip, ZipEntry entry) throws IOException {
+        try (InputStream in = zip.getInputStream(entry)) {
+            return in.readAllBytes();
+        }
+    }
+
+    /**
+     * SHA-1 of the jar in hex: from the {@code .sha1} file next to it when it holds one, computed otherwise.
+     */
+    static String hash(Path jar) throws IOException {
+        Path sidecar = jar.resolveSibling(jar.getFileName() + ".sha1");
+        if (Files.isRegularFile(sidecar) && Files.size(sidecar) < 1024) {
+            // Maven zapisuje sam hash, niektóre repozytoria dopisują po nim nazwę pliku
+            String content = Files.readString(sidecar, StandardCharsets.US_ASCII).trim();
+            int end = 0;
+            while (end < content.length() && Character.digit(content.charAt(end), 16) >= 0) {
+                end++;
+            }
+            if (end == 40) {
+                return content.substring(0, 40).toLowerCase(Locale.ROOT);
+            }
+        }
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream in = Files.newInputStream(jar)) {
+            byte[] buffer = new byte[64 * 1024];
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, n);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private Map<String, List<Entry>> loadCache() {
+        Map<String, List<Entry>> cache = new HashMap<>();
+        if (cacheDirectory == null) {
+            return cache;
+        }
+        Path file = cacheDirectory.resolve(CACHE_FILE);
+        if (!Files.isRegularFile(file)) {
+            return cache;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return cache;
+            }
+            int jars = in.readInt();
+            for (int j = 0; j < jars; j++) {
+                String hash = in.readUTF();
+                int count = in.readInt();
+                List<Entry> entries = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    String className = in.readUTF();
+                    String source = in.readUTF();
+                    boolean found = in.readBoolean();
+                    int beanMethods = in.readInt();
+                    int conditionCount = in.readInt();
+                    List<String> conditions = new ArrayList<>(conditionCount);
+                    for (int c = 0; c < conditionCount; c++) {
+                        conditions.add(in.readUTF());
+                    }
+                    entries.add(new Entry(className, source, found, conditions, beanMethods));
+                }
+                cache.put(hash, entries);
+            }
+        } catch (IOException e) {
+            System.err.println("Ignoring auto-configuration cache " + file + " - " + e.getMessage());
+            cache.clear();
+        }
+        return cache;
+    }
+
+    // Wpisy innych projektów zostają - jary z repozytorium Maven są współdzielone
+    private void saveCache(Map<String, List<Entry>> cache) {
+        if (cacheDirectory == null) {
+            return;
+        }
+        Path file = cacheDirectory.resolve(CACHE_FILE);
+        try {
+            Files.createDirectories(cacheDirectory);
+            Path tmp = Files.createTempFile(cacheDirectory, CACHE_FILE, ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(cache.size());
+                for (Map.Entry<String, List<Entry>> jar : new TreeMap<>(cache).entrySet()) {
+                    out.writeUTF(jar.getKey());
+                    out.writeInt(jar.getValue().size());
+                    for (Entry entry : jar.getValue()) {
+                        out.writeUTF(entry.className());
+                        out.writeUTF(entry.source());
+                        out.writeBoolean(entry.found());
+                        out.writeInt(entry.beanMethods());
+                        out.writeInt(entry.conditions().size());
+                        for (String condition : entry.conditions()) {
+                            out.writeUTF(condition);
+                        }
+                    }
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Cannot write auto-configuration cache " + file + " - " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package tech.cybernomad.boot.analyzer;
+
+import java.util.Arrays;
+
+/**
+ * Removes what the analyzer never looks at before the source reaches JavaParser:
+ * method, constructor and initializer bodies and field initializer blocks.
+ * <p>
+ * A stripped block is reduced to its line breaks ({@code { \n\n }}), so every declaration stays
+ * on its original line; columns are not preserved. Braces inside annotation arguments
+ * ({@code @RequestMapping({"/a", "/b"})}) and type bodies, including nested types, are left untouched.
+ */
+public final class BodyStripper {
+
+    private BodyStripper() {
+    }
+
+    public static String strip(String source) {
+        char[] src = source.toCharArray();
+        int length = src.length;
+        // true = ciało typu, false = inny blok pozostawiony bez zmian (np. w argumencie adnotacji)
+        boolean[] typeBodies = new boolean[16];
+        int depth = 0;
+        int parens = 0;
+        boolean typeHeader = false;
+        char previous = 0;
+        StringBuilder out = new StringBuilder(length);
+
+        int i = 0;
+        while (i < length) {
+            char c = src[i];
+            if (c == '/' && i + 1 < length && (src[i + 1] == '/' || src[i + 1] == '*')) {
+                int end = skipComment(src, i);
+                out.append(src, i, end - i);
+                i = end;
+                continue;
+            }
+            if (c == '"' || c == '\'') {
+                int end = skipLiteral(src, i);
+                out.append(src, i, end - i);
+                i = end;
+                previous = c;
+                continue;
+            }
+            if (Character.isJavaIdentifierStart(c)) {
+                int start = i;
+                while (i < length && Character.isJavaIdentifierPart(src[i])) {
+                    i++;
+                }
+                out.append(src, start, i - start);
+                if (parens == 0 && previous != '.' && isTypeKeyword(src, start, i)) {
+                    typeHeader = true;
+                }
+                previous = 'a';
+                continue;
+            }
+
+            switch (c) {
+                case '(' -> parens++;
+                case ')' -> parens--;
+                case ';' -> {
+                    if (parens == 0) {
+                        typeHeader = false;
+                    }
+                }
+                case '{' -> {
+                    boolean insideType = depth > 0 && typeBodies[depth - 1];
+                    if (!typeHeader && insideType && parens == 0) {
+                        int end = skipBlock(src, i);
+                        out.append('{');
+                        lineBreaks(src, i + 1, end, out);
+                        out.append('}');
+                        i = end + 1;
+                        previous = '}';
+                        continue;
+                    } else {
+                        if (depth == typeBodies.length) {
+                            typeBodies = Arrays.copyOf(typeBodies, depth * 2);
+                        }
+                        typeBodies[depth] = typeHeader || depth == 0;
+                        depth++;
+                        typeHeader = false;
+                    }
+                }
+                case '}' -> {
+                    if (depth > 0) {
+                        depth--;
+                    }
+                }
+                default -> { }
+            }
+            if (!Character.isWhitespace(c)) {
+                previous = c;
+            }
+            out.append(c);
+            i++;
+        }
+        return out.toString();
+    }
+
+    /**
+     * Returns the index of the brace closing the block opened at {@code open}, or the end of the input.
+     */
+    private static int skipBlock(char[] src, int open) {
+        int nesting = 0;
+        int i = open;
+        while (i < src.length) {
+            char c = src[i];
+            if (c == '/' && i + 1 < src.length && (src[i + 1] == '/' || src[i + 1] == '*')) {
+                i = skipComment(src, i);
+                continue;
+            }
+            if (c == '"' || c == '\'') {
+                i = skipLiteral(src, i);
+                continue;
+            }
+            if (c == '{') {
+                nesting++;
+            } else if (c == '}' && --nesting == 0) {
+                return i;
+            }
+            i++;
+        }
+        return src.length;
+    }
+
+    private static int skipComment(char[] src, int start) {
+        if (src[start + 1] == '/') {
+            int i = start + 2;
+            while (i < src.length && src[i] != '\n' && src[i] != '\r') {
+                i++;
+            }
+            return i;
+        }
+        int i = start + 2;
+        while (i + 1 < src.length && !(src[i] == '*' && src[i + 1] == '/')) {
+            i++;
+        }
+        return Math.min(i + 2, src.length);
+    }
+
+    /**
+     * Skips a string, text block or char literal starting at {@code start}; returns the index after it.
+     */
+    private static int skipLiteral(char[] src, int start) {
+        char quote = src[start];
+        boolean textBlock = quote == '"' && start + 2 < src.length && src[start + 1] == '"' && src[start + 2] == '"';
+        int i = start + (textBlock ? 3 : 1);
+        while (i < src.length) {
+            char c = src[i];
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            if (textBlock) {
+                if (c == '"' && i + 2 < src.length && src[i + 1] == '"' && src[i + 2] == '"') {
+                    return i + 3;
+                }
+            } else if (c == quote || c == '\n') {
+                return i + 1;
+            }
+            i++;
+        }
+        return src.length;
+    }
+
+    private static boolean isTypeKeyword(char[] src, int start, int end) {
+        return matches(src, start, end, "class") || matches(src, start, end, "interface")
+            || matches(src, start, end, "enum") || matches(src, start, end, "record");
+    }
+
+    private static boolean matches(char[] src, int start, int end, String word) {
+        if (end - start != word.length()) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (src[start + i] != word.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void lineBreaks(char[] src, int from, int to, StringBuilder out) {
+        for (int i = from; i < to && i < src.length; i++) {
+            if (src[i] == '\n' || src[i] == '\r') {
+                out.append(src[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,501 @@
+package tech.cybernomad.boot.analyzer;
+
+import tech.cybernomad.boot.bytecode.ClassFile;
+import tech.cybernomad.boot.bytecode.ClassFile.Annotation;
+import tech.cybernomad.boot.bytecode.ClassFile.ClassValue;
+import tech.cybernomad.boot.bytecode.ClassFile.EnumValue;
+import tech.cybernomad.boot.bytecode.ClassFile.Member;
+import tech.cybernomad.boot.bytecode.ClassFileReader;
+import tech.cybernomad.boot.bytecode.TypeSignatures;
+import tech.cybernomad.boot.model.*;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Analyzes compiled classes instead of sources: a build output directory ({@code target/classes},
+ * {@code build/classes/java/main}, or a project whose modules have one) or a jar/war, including Spring Boot
+ * fat jars, whose {@code BOOT-INF/classes} are read.
+ * <p>
+ * Class files are read with {@link ClassFileReader}, which skips method bodies, and classified with the same
+ * rules as {@link SpringBootAnalyzer}, so both produce the same model. Dependency, return, parent and
+ * interface types are fully qualified here, since the class file names them exactly. Archives are opened
+ * through the zip {@link FileSystem} and read entry by entry, never extracted; the libraries in
+ * {@code BOOT-INF/lib} are not analyzed. Line numbers come from the debug information: the first line of
+ * code of a method, and for a class the first line of any of its methods (usually the declaration line).
+ */
+public class BytecodeAnalyzer {
+
+    private static final List<String> CLASS_OUTPUTS = List.of("target/classes", "build/classes/java/main");
+    private static final List<String> ARCHIVE_ROOTS = List.of("BOOT-INF/classes", "WEB-INF/classes");
+    private static final String SOURCE_ROOT = "src/main/java";
+    private static final List<String> BUILD_FILES = List.of(
+        "pom.xml", "build.gradle", "build.gradle.kts", "settings.gradle", "settings.gradle.kts");
+    // Pakiety klas rzadko są głębsze; dalej szukanie tylko wydłuża sprawdzenie
+    private static final int MAX_CLASS_DEPTH = 16;
+
+    private final Path basePath;
+    private List<ModuleInfo> modules;
+
+    public BytecodeAnalyzer(Path basePath) {
+        this.basePath = basePath;
+    }
+
+    public Path getBasePath() { return basePath; }
+
+    public static boolean isArchive(Path path) {
+        String name = String.valueOf(path.getFileName()).toLowerCase(Locale.ROOT);
+        return (name.endsWith(".jar") || name.endsWith(".war")) && Files.isRegularFile(path);
+    }
+
+    /**
+     * True for an archive, or a directory with compiled classes but no Java sources - anything with sources
+     * is left to {@link SpringBootAnalyzer}. The whole tree is never walked:
+     * <ul>
+     *   <li>a directory with {@code src/main/java} has sources, one with {@code target/classes} or
+     *       {@code build/classes/java/main} (and no sources) is compiled;</li>
+     *   <li>a build root ({@code pom.xml}, {@code settings.gradle}, ...) has sources if {@link ModuleDiscovery}
+     *       finds any module with them, otherwise it is compiled if it or one of its direct subdirectories
+     *       has a class output;</li>
+     *   <li>anything else is a class output passed directly if the first {@code .class} or {@code .java} file
+     *       within {@value #MAX_CLASS_DEPTH} levels (hidden directories skipped) is a class file.</li>
+     * </ul>
+     * The answer does not change while the project does, so callers checking often should keep it.
+     */
+    public static boolean accepts(Path path) throws IOException {
+        if (isArchive(path)) {
+            return true;
+        }
+        if (!Files.isDirectory(path)) {
+            return false;
+        }
+        if (Files.isDirectory(path.resolve(SOURCE_ROOT))) {
+            return false;
+        }
+        if (hasClassOutput(path)) {
+            return true;
+        }
+        if (BUILD_FILES.stream().anyMatch(file -> Files.isRegularFile(path.resolve(file)))) {
+            for (ModuleInfo module : ModuleDiscovery.discover(path)) {
+                if (Files.isDirectory(module.getDirectory().resolve(SOURCE_ROOT))) {
+                    return false;
+                }
+            }
+            try (DirectoryStream<Path> children = Files.newDirectoryStream(path, Files::isDirectory)) {
+                for (Path child : children) {
+                    if (hasClassOutput(child)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+        return firstSourceOrClassIsClass(path);
+    }
+
+    private static boolean hasClassOutput(Path dir) {
+        return CLASS_OUTPUTS.stream().anyMatch(output -> Files.isDirectory(dir.resolve(output)));
+    }
+
+    // Katalog wyjściowy podany wprost: rozstrzyga pierwszy napotkany plik .class albo .java
+    private static boolean firstSourceOrClassIsClass(Path dir) throws IOException {
+        boolean[] classes = new boolean[1];
+        Files.walkFileTree(dir, EnumSet.noneOf(FileVisitOption.class), MAX_CLASS_DEPTH, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path d, BasicFileAttributes attrs) {
+                return !d.equals(dir) && d.getFileName().toString().startsWith(".")
+                    ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".java")) {
+                    return FileVisitResult.TERMINATE;
+                }
+                if (name.endsWith(".class")) {
+                    classes[0] = true;
+                    return FileVisitResult.TERMINATE;
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return classes[0];
+    }
+
+    /**
+     * Modules with their class output directories as roots; an archive is a single module.
+     */
+    public List<ModuleInfo> findModules() {
+        if (modules != null) {
+            return modules;
+        }
+        List<ModuleInfo> found = new ArrayList<>();
+        if (isArchive(basePath)) {
+            found.add(new ModuleInfo(basePath.getFileName().toString(), basePath, List.of(basePath)));
+        } else {
+            for (ModuleInfo module : ModuleDiscovery.discover(basePath)) {
+                List<Path> outputs = new ArrayList<>();
+                for (String output : CLASS_OUTPUTS) {
+                    Path dir = module.getDirectory().resolve(output);
+                    if (Files.isDirectory(dir)) {
+                        outputs.add(dir);
+                    }
+                }
+                if (!outputs.isEmpty()) {
+                    found.add(new ModuleInfo(module.getName(), module.getDirectory(), outputs));
+                }
+            }
+            if (found.isEmpty()) {
+                // Sam katalog z klasami, np. przekazany wprost target/classes
+                Path base = basePath.normalize();
+                found.add(new ModuleInfo(String.valueOf(base.toAbsolutePath().getFileName()), base, List.of(base)));
+            }
+        }
+        modules = found;
+        return modules;
+    }
+
+    /**
+     * Fingerprint of the class files of all modules, or of the archive itself.
+     */
+    public ProjectFingerprint fingerprint() throws IOException {
+        if (isArchive(basePath)) {
+            return ProjectFingerprint.of(List.of(basePath), "");
+        }
+        List<Path> roots = new ArrayList<>();
+        for (ModuleInfo module : findModules()) {
+            roots.addAll(module.getSourceRoots());
+        }
+        return ProjectFingerprint.of(roots, ".class");
+    }
+
+    public ProjectInfo analyze() throws IOException {
+        return analyze(new AnalysisStats());
+    }
+
+    public ProjectInfo analyze(AnalysisStats stats) throws IOException {
+        ProjectInfo project = new ProjectInfo();
+        project.setBasePath(basePath);
+        project.setProjectName(basePath.getFileName().toString());
+        project.setAnalysisStats(stats);
+        List<ModuleInfo> modules = findModules();
+        modules.forEach(project::addModule);
+        Symbols symbols = new Symbols();
+
+        if (isArchive(basePath)) {
+            try (FileSystem archive = FileSystems.newFileSystem(basePath)) {
+                Path root = archive.getPath("/");
+                for (String candidate : ARCHIVE_ROOTS) {
+                    if (Files.isDirectory(archive.getPath(candidate))) {
+                        root = archive.getPath("/" + candidate);
+                        break;
+                    }
+                }
+                // Wpis archiwum -> ścieżka "wewnątrz" pliku jar, np. app.jar/BOOT-INF/classes/com/x/Foo.class
+                Path archiveRoot = archive.getPath("/");
+                analyzeTree(root, modules.get(0), stats, project, symbols,
+                    entry -> basePath.resolve(archiveRoot.relativize(entry).toString()));
+            }
+        } else {
+            for (ModuleInfo module : modules) {
+                for (Path root : module.getSourceRoots()) {
+                    analyzeTree(root, module, stats, project, symbols, file -> file);
+                }
+            }
+        }
+        return project;
+    }
+
+    private void analyzeTree(Path root, ModuleInfo module, AnalysisStats stats, ProjectInfo project, Symbols symbols,
+                             UnaryOperator<Path> location) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            Iterator<Path> files = paths.filter(p -> p.toString().endsWith(".class")).iterator();
+            while (files.hasNext()) {
+                Path file = files.next();
+                String name = file.getFileName().toString();
+                if (name.equals("module-info.class") || name.equals("package-info.class") || file.startsWith(root.resolve("META-INF"))) {
+                    continue;
+                }
+                stats.fileDiscovered();
+                try {
+                    ClassInfo info = analyzeClass(ClassFileReader.read(Files.readAllBytes(file)), location.apply(file), symbols);
+                    stats.fileParsed();
+                    if (info != null) {
+                        info.setModule(module.getName());
+                        project.addClass(info);
+                    }
+                } catch (IOException e) {
+                    stats.fileFailed();
+                    System.err.println("Error reading: " + file + " - " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * The bean declared by a class file, or {@code null} if it is not one. Like the source analyzer, only
+     * top-level classes are considered: interfaces, enums, records and nested classes are skipped.
+     *
+     * @param symbols tables of the analysis run the class belongs to
+     */
+    public ClassInfo analyzeClass(ClassFile classFile, Path filePath, Symbols symbols) {
+        if (classFile.is(ClassFile.ACC_INTERFACE | ClassFile.ACC_MODULE | ClassFile.ACC_ENUM | ClassFile.ACC_SYNTHETIC)
+            || "java/lang/Record".equals(classFile.getSuperName())) {
+            return null;
+        }
+        String internalName = classFile.getName();
+        int slash = internalName.lastIndexOf('/');
+        String className = internalName.substring(slash + 1);
+        if (className.indexOf('$') >= 0) {
+            return null;
+        }
+        String packageName = slash < 0 ? "" : internalName.substring(0, slash).replace('/', '.');
+
+        ClassInfo info = new ClassInfo(symbols);
+        info.setClassName(className);
+        info.setPackageName(packageName);
+        info.setFullName(packageName + "." + className);
+        info.setFilePath(basePath, filePath);
+        info.setLineNumber(firstLine(classFile));
+
+        // Parent class and interfaces, with type arguments when the class is generic
+        List<String> superTypes;
+        if (classFile.getSignature() != null) {
+            superTypes = TypeSignatures.superTypes(classFile.getSignature());
+        } else {
+            superTypes = new ArrayList<>();
+            superTypes.add(classFile.getSuperName() != null ? TypeSignatures.internalToType(classFile.getSuperName()) : null);
+            classFile.getInterfaces().forEach(i -> superTypes.add(TypeSignatures.internalToType(i)));
+        }
+        if (superTypes.get(0) != null && !"java.lang.Object".equals(superTypes.get(0))) {
+            info.setParentClass(superTypes.get(0));
+        }
+        superTypes.subList(1, superTypes.size()).forEach(info::addInterface);
+
+        BeanType determinedType = BeanType.UNKNOWN;
+        RequestMappings.Mapping typeMapping = RequestMappings.Mapping.NONE;
+        for (Annotation annotation : classFile.getAnnotations()) {
+            String annotationName = annotation.getSimpleName();
+            info.addAnnotation(annotationName);
+            if (SpringBootAnalyzer.ANNOTATION_TO_TYPE.containsKey(annotationName)) {
+                determinedType = SpringBootAnalyzer.ANNOTATION_TO_TYPE.get(annotationName);
+            }
+            if ("Scope".equals(annotationName)) {
+                String scope = scope(annotation);
+                if (scope != null) {
+                    info.setScope(scope);
+                }
+            }
+            if (annotationName.contains("Mapping")) {
+                extractMapping(annotation, info);
+                if ("RequestMapping".equals(annotationName)) {
+                    typeMapping = requestMapping(annotation);
+                }
+            }
+        }
+        info.setBeanType(determinedType);
+        if (info.hasAnnotation("RestController") || info.hasAnnotation("Controller")) {
+            analyzeRequestMappings(classFile, info, typeMapping);
+        }
+
+        analyzeDependencies(classFile, info);
+        if (determinedType == BeanType.CONFIGURATION) {
+            analyzeBeanMethods(classFile, info);
+        }
+        // Jak w analizie źródeł: najpierw @Scheduled, potem listenery - @Scheduled wygrywa
+        if (isPlainComponent(info) && classFile.getMethods().stream().anyMatch(m -> m.hasAnnotation("Scheduled"))) {
+            info.setBeanType(BeanType.SCHEDULED);
+        }
+        if (isPlainComponent(info) && classFile.getMethods().stream().anyMatch(
+                m -> m.hasAnnotation("EventListener") || m.hasAnnotation("TransactionalEventListener"))) {
+            info.setBeanType(BeanType.EVENT_LISTENER);
+        }
+        return info.getBeanType() != BeanType.UNKNOWN ? info : null;
+    }
+
+    private static boolean isPlainComponent(ClassInfo info) {
+        return info.getBeanType() == BeanType.UNKNOWN || info.getBeanType() == BeanType.COMPONENT;
+    }
+
+    private static int firstLine(ClassFile classFile) {
+        int line = 0;
+        for (Member method : classFile.getMethods()) {
+            if (method.getLine() > 0 && (line == 0 || method.getLine() < line)) {
+                line = method.getLine();
+            }
+        }
+        return line > 0 ? line : 1;
+    }
+
+    private static void analyzeDependencies(ClassFile classFile, ClassInfo info) {
+        for (Member field : classFile.getFields()) {
+            if (field.hasAnnotation("Autowired") || field.hasAnnotation("Inject") || field.hasAnnotation("Resource")) {
+                info.addDependency(TypeSignatures.descriptorToType(
+                    field.getSignature() != null ? field.getSignature() : field.getDescriptor()));
+            }
+        }
+
+        List<Member> constructors = classFile.getMethods().stream().filter(Member::isConstructor).toList();
+        for (Member ctor : constructors) {
+            if (ctor.hasAnnotation("Autowired") || constructors.size() == 1) {
+                TypeSignatures.parameterTypes(ctor.getSignature() != null ? ctor.getSignature() : ctor.getDescriptor())
+                    .forEach(info::addDependency);
+            }
+        }
+    }
+
+    private static void analyzeBeanMethods(ClassFile classFile, ClassInfo info) {
+        for (Member method : classFile.getMethods()) {
+            if (!method.hasAnnotation("Bean")) {
+                continue;
+            }
+            MethodInfo methodInfo = new MethodInfo(info.getSymbols());
+            methodInfo.setName(method.getName());
+            methodInfo.setReturnType(TypeSignatures.returnType(
+                method.getSignature() != null ? method.getSignature() : method.getDescriptor()));
+            methodInfo.setLineNumber(method.getLine() > 0 ? method.getLine() : 1);
+            for (Annotation annotation : method.getAnnotations()) {
+                String annotationName = annotation.getSimpleName();
+                methodInfo.addAnnotation(annotationName);
+                if ("Scope".equals(annotationName)) {
+                    String scope = scope(annotation);
+                    if (scope != null) {
+                        methodInfo.setScope(scope);
+                    }
+                }
+                if (annotationName.startsWith("ConditionalOn")) {
+                    methodInfo.addConditional(render(annotation));
+                }
+            }
+            info.addBeanMethod(methodInfo);
+        }
+    }
+
+    private static String scope(Annotation annotation) {
+        Object value = annotation.getValue("value");
+        if (value == null || "".equals(value)) {
+            value = annotation.getValue("scopeName");
+        }
+        return value instanceof String s && !s.isEmpty() ? s.toLowerCase() : null;
+    }
+
+    private static void extractMapping(Annotation annotation, ClassInfo info) {
+        if (annotation.getValues().isEmpty()) {
+            info.addMapping("/");
+            return;
+        }
+        for (Map.Entry<String, Object> element : annotation.getValues().entrySet()) {
+            if ("value".equals(element.getKey()) || "path".equals(element.getKey())) {
+                Object value = element.getValue();
+                info.addMapping(value instanceof List<?> list
+                    ? String.join(", ", list.stream().map(String::valueOf).toList())
+                    : String.valueOf(value));
+                return;
+            }
+        }
+    }
+
+    private static void analyzeRequestMappings(ClassFile classFile, ClassInfo info, RequestMappings.Mapping typeMapping) {
+        for (Member method : classFile.getMethods()) {
+            for (Annotation annotation : method.getAnnotations()) {
+                if (RequestMappings.isMapping(annotation.getSimpleName())) {
+                    RequestMappings.addRoutes(info, typeMapping, requestMapping(annotation), method.getName(), method.getLine());
+                }
+            }
+        }
+    }
+
+    // W pliku klasy stałe (ścieżki, MediaType.*_VALUE) są już wartościami, a metody HTTP - stałymi enuma
+    private static RequestMappings.Mapping requestMapping(Annotation annotation) {
+        List<String> paths = new ArrayList<>(strings(annotation.getValue("value")));
+        paths.addAll(strings(annotation.getValue("path")));
+        List<String> methods = new ArrayList<>();
+        String implied = RequestMappings.impliedMethod(annotation.getSimpleName());
+        if (implied != null) {
+            methods.add(implied);
+        }
+        methods.addAll(strings(annotation.getValue("method")));
+        return new RequestMappings.Mapping(paths, methods,
+            strings(annotation.getValue("consumes")), strings(annotation.getValue("produces")));
+    }
+
+    private static List<String> strings(Object value) {
+        if (value == null) {
+            return List.of();
+        }
+        if (value instanceof List<?> list) {
+            List<String> values = new ArrayList<>(list.size());
+            for (Object element : list) {
+                values.addAll(strings(element));
+            }
+            return values;
+        }
+        return List.of(value instanceof EnumValue e ? e.constant() : String.valueOf(value));
+    }
+
+    /**
+     * The annotation as it would be written in source, e.g. {@code @ConditionalOnProperty(name = "x", havingValue = "true")}.
+     */
+    static String render(Annotation annotation) {
+        StringBuilder out = new StringBuilder("@").append(annotation.getSimpleName());
+        Map<String, Object> values = annotation.getValues();
+        if (values.isEmpty()) {
+            return out.toString();
+        }
+        out.append('(');
+        if (values.size() == 1 && values.containsKey("value")) {
+            renderValue(values.get("value"), out);
+        } else {
+            boolean first = true;
+            for (Map.Entry<String, Object> element : values.entrySet()) {
+                if (!first) {
+                    out.append(", ");
+                }
+                first = false;
+                out.append(element.getKey()).append(" = ");
+                renderValue(element.getValue(), out);
+            }
+        }
+        return out.append(')').toString();
+    }
+
+    private static void renderValue(Object value, StringBuilder out) {
+        if (value instanceof String s) {
+            out.append('"').append(s.replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+        } else if (value instanceof Character c) {
+            out.append('\'').append(c).append('\'');
+        } else if (value instanceof EnumValue e) {
+            out.append(TypeSignatures.simpleName(TypeSignatures.descriptorToType(e.typeDescriptor())))
+                .append('.').append(e.constant());
+        } else if (value instanceof ClassValue c) {
+            out.append(TypeSignatures.simpleName(TypeSignatures.descriptorToType(c.descriptor()))).append(".class");
+        } else if (value instanceof Annotation a) {
+            out.append(render(a));
+        } else if (value instanceof List<?> list) {
+            if (list.size() == 1) {
+                renderValue(list.get(0), out);
+                return;
+            }
+            out.append('{');
+            for (int i = 0; i < list.size(); i++) {
+                if (i > 0) {
+                    out.append(", ");
+                }
+                renderValue(list.get(i), out);
+            }
+            out.append('}');
+        } else {
+            out.append(value);
+        }
+    }
+}
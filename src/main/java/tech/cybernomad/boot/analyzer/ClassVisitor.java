@@ -0,0 +1,352 @@
+package tech.cybernomad.boot.analyzer;
+
+import com.github.javaparser.Position;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.NodeList;
+import com.github.javaparser.ast.body.*;
+import com.github.javaparser.ast.expr.*;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import com.github.javaparser.printer.configuration.DefaultConfigurationOption;
+import com.github.javaparser.printer.configuration.DefaultPrinterConfiguration;
+import com.github.javaparser.printer.configuration.DefaultPrinterConfiguration.ConfigOption;
+import com.github.javaparser.printer.configuration.PrinterConfiguration;
+import tech.cybernomad.boot.model.BeanType;
+import tech.cybernomad.boot.model.ClassInfo;
+import tech.cybernomad.boot.model.MethodInfo;
+import tech.cybernomad.boot.model.Symbols;
+
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Extracts the {@link ClassInfo} of one class declaration in a single pass: the class annotations first,
+ * then every member exactly once. Annotation names are resolved through lookup tables built once, so a
+ * member annotation costs one hash lookup whatever the number of extractors interested in it.
+ * <p>
+ * A new extractor handles its member kind in {@link #visitField}, {@link #visitConstructor} or
+ * {@link #visitMethod} and registers its annotations in {@link #MEMBER_ANNOTATIONS}; it must not walk
+ * the members again. Results that depend on the whole class are settled in {@link #finish()}.
+ * <p>
+ * One instance per class, used by a single thread.
+ */
+final class ClassVisitor {
+
+    // Rola adnotacji na składowej klasy
+    private enum MemberAnnotation { AUTOWIRED, INJECT, BEAN, SCOPE, SCHEDULED, EVENT_LISTENER, MAPPING }
+
+    private static final Map<String, MemberAnnotation> MEMBER_ANNOTATIONS = memberAnnotations();
+
+    // Wartości adnotacji drukowane bez komentarzy - tryb shallow nie przypisuje komentarzy do węzłów
+    private static final PrinterConfiguration NO_COMMENTS = new DefaultPrinterConfiguration()
+        .removeOption(new DefaultConfigurationOption(ConfigOption.PRINT_COMMENTS));
+
+    private final ClassInfo info;
+    private BeanType beanType = BeanType.UNKNOWN;
+    private RequestMappings.Mapping typeMapping = RequestMappings.Mapping.NONE;
+    private boolean controller;
+    private boolean scheduled;
+    private boolean eventListener;
+    // Wstrzykiwanie przez konstruktor rozstrzyga się po wszystkich polach i zna liczbę konstruktorów
+    private int constructors;
+    private ConstructorDeclaration firstConstructor;
+    private List<ConstructorDeclaration> autowiredConstructors = List.of();
+
+    private static Map<String, MemberAnnotation> memberAnnotations() {
+        Map<String, MemberAnnotation> roles = new HashMap<>();
+        roles.put("Autowired", MemberAnnotation.AUTOWIRED);
+        roles.put("Inject", MemberAnnotation.INJECT);
+        roles.put("Resource", MemberAnnotation.INJECT);
+        roles.put("Bean", MemberAnnotation.BEAN);
+        roles.put("Scope", MemberAnnotation.SCOPE);
+        roles.put("Scheduled", MemberAnnotation.SCHEDULED);
+        roles.put("EventListener", MemberAnnotation.EVENT_LISTENER);
+        roles.put("TransactionalEventListener", MemberAnnotation.EVENT_LISTENER);
+        for (String mapping : RequestMappings.annotationNames()) {
+            roles.put(mapping, MemberAnnotation.MAPPING);
+        }
+        return Map.copyOf(roles);
+    }
+
+    private ClassVisitor(Symbols symbols) {
+        this.info = new ClassInfo(symbols);
+    }
+
+    static ClassInfo analyze(ClassOrInterfaceDeclaration classDecl, String packageName, Path basePath, Path filePath,
+                             Symbols symbols) {
+        ClassVisitor visitor = new ClassVisitor(symbols);
+        visitor.visitClass(classDecl, packageName, basePath, filePath);
+        NodeList<BodyDeclaration<?>> members = classDecl.getMembers();
+        for (int i = 0; i < members.size(); i++) {
+            BodyDeclaration<?> member = members.get(i);
+            if (member instanceof MethodDeclaration method) {
+                visitor.visitMethod(method);
+            } else if (member instanceof FieldDeclaration field) {
+                visitor.visitField(field);
+            } else if (member instanceof ConstructorDeclaration constructor) {
+                visitor.visitConstructor(constructor);
+            }
+        }
+        return visitor.finish();
+    }
+
+    private void visitClass(ClassOrInterfaceDeclaration classDecl, String packageName, Path basePath, Path filePath) {
+        String className = classDecl.getNameAsString();
+        info.setClassName(className);
+        info.setPackageName(packageName);
+        info.setFullName(packageName + "." + className);
+        info.setFilePath(basePath, filePath);
+        info.setLineNumber(line(classDecl));
+
+        if (classDecl.getExtendedTypes().isNonEmpty()) {
+            info.setParentClass(classDecl.getExtendedTypes(0).getNameAsString());
+        }
+        for (ClassOrInterfaceType impl : classDecl.getImplementedTypes()) {
+            info.addInterface(impl.getNameAsString());
+        }
+
+        for (AnnotationExpr annotation : classDecl.getAnnotations()) {
+            String annotationName = annotation.getNameAsString();
+            info.addAnnotation(annotationName);
+
+            BeanType type = SpringBootAnalyzer.ANNOTATION_TO_TYPE.get(annotationName);
+            if (type != null) {
+                beanType = type;
+            }
+            if ("RestController".equals(annotationName) || "Controller".equals(annotationName)) {
+                controller = true;
+            }
+            if ("Scope".equals(annotationName)) {
+                extractScope(annotation);
+            }
+            if (annotationName.contains("Mapping")) {
+                extractMapping(annotation);
+                if ("RequestMapping".equals(annotationName)) {
+                    typeMapping = requestMapping(annotation);
+                }
+            }
+        }
+        info.setBeanType(beanType);
+    }
+
+    // Zależności z pól @Autowired/@Inject/@Resource, po jednej na zmienną
+    private void visitField(FieldDeclaration field) {
+        for (AnnotationExpr annotation : field.getAnnotations()) {
+            MemberAnnotation role = MEMBER_ANNOTATIONS.get(annotation.getNameAsString());
+            if (role == MemberAnnotation.AUTOWIRED || role == MemberAnnotation.INJECT) {
+                String type = field.getElementType().asString();
+                for (int i = 0; i < field.getVariables().size(); i++) {
+                    info.addDependency(type);
+                }
+                return;
+            }
+        }
+    }
+
+    private void visitConstructor(ConstructorDeclaration constructor) {
+        if (constructors++ == 0) {
+            firstConstructor = constructor;
+        }
+        for (AnnotationExpr annotation : constructor.getAnnotations()) {
+            if (MEMBER_ANNOTATIONS.get(annotation.getNameAsString()) == MemberAnnotation.AUTOWIRED) {
+                if (autowiredConstructors.isEmpty()) {
+                    autowiredConstructors = new ArrayList<>(2);
+                }
+                autowiredConstructors.add(constructor);
+                return;
+            }
+        }
+    }
+
+    private void visitMethod(MethodDeclaration method) {
+        boolean bean = false;
+        for (AnnotationExpr annotation : method.getAnnotations()) {
+            MemberAnnotation role = MEMBER_ANNOTATIONS.get(annotation.getNameAsString());
+            if (role == null) {
+                continue;
+            }
+            switch (role) {
+                // Spring mapuje tylko metody beanów @Controller
+                case MAPPING -> {
+                    if (controller) {
+                        RequestMappings.addRoutes(info, typeMapping, requestMapping(annotation), method.getNameAsString(),
+                            line(method));
+                    }
+                }
+                case BEAN -> bean = true;
+                case SCHEDULED -> scheduled = true;
+                case EVENT_LISTENER -> eventListener = true;
+                default -> { }
+            }
+        }
+        if (bean && beanType == BeanType.CONFIGURATION) {
+            info.addBeanMethod(beanMethod(method));
+        }
+    }
+
+    private ClassInfo finish() {
+        // Konstruktor jedyny albo oznaczony @Autowired, po zależnościach z pól
+        if (constructors == 1) {
+            addParameters(firstConstructor);
+        } else {
+            autowiredConstructors.forEach(this::addParameters);
+        }
+        if (scheduled && (beanType == BeanType.UNKNOWN || beanType == BeanType.COMPONENT)) {
+            beanType = BeanType.SCHEDULED;
+        }
+        if (eventListener && (beanType == BeanType.UNKNOWN || beanType == BeanType.COMPONENT)) {
+            beanType = BeanType.EVENT_LISTENER;
+        }
+        info.setBeanType(beanType);
+        return info;
+    }
+
+    private void addParameters(ConstructorDeclaration constructor) {
+        for (Parameter param : constructor.getParameters()) {
+            info.addDependency(param.getType().asString());
+        }
+    }
+
+    private MethodInfo beanMethod(MethodDeclaration method) {
+        MethodInfo methodInfo = new MethodInfo(info.getSymbols());
+        methodInfo.setName(method.getNameAsString());
+        methodInfo.setReturnType(method.getType().asString());
+        methodInfo.setLineNumber(line(method));
+        for (AnnotationExpr annotation : method.getAnnotations()) {
+            String annotationName = annotation.getNameAsString();
+            methodInfo.addAnnotation(annotationName);
+            if ("Scope".equals(annotationName) && annotation instanceof SingleMemberAnnotationExpr sma) {
+                methodInfo.setScope(unquoted(sma.getMemberValue()).toLowerCase());
+            }
+            if (annotationName.startsWith("ConditionalOn")) {
+                methodInfo.addConditional(print(annotation));
+            }
+        }
+        return methodInfo;
+    }
+
+    private void extractScope(AnnotationExpr annotation) {
+        if (annotation instanceof SingleMemberAnnotationExpr sma) {
+            info.setScope(unquoted(sma.getMemberValue()).toLowerCase());
+        } else if (annotation instanceof NormalAnnotationExpr na) {
+            for (MemberValuePair pair : na.getPairs()) {
+                if ("value".equals(pair.getNameAsString())) {
+                    info.setScope(unquoted(pair.getValue()).toLowerCase());
+                    return;
+                }
+            }
+        }
+    }
+
+    private void extractMapping(AnnotationExpr annotation) {
+        if (annotation instanceof SingleMemberAnnotationExpr sma) {
+            info.addMapping(mappingValue(sma.getMemberValue()));
+        } else if (annotation instanceof NormalAnnotationExpr na) {
+            for (MemberValuePair pair : na.getPairs()) {
+                if ("value".equals(pair.getNameAsString()) || "path".equals(pair.getNameAsString())) {
+                    info.addMapping(mappingValue(pair.getValue()));
+                    return;
+                }
+            }
+        } else if (annotation instanceof MarkerAnnotationExpr) {
+            // No value specified, just the annotation name
+            info.addMapping("/");
+        }
+    }
+
+    private static RequestMappings.Mapping requestMapping(AnnotationExpr annotation) {
+        List<String> paths = new ArrayList<>();
+        List<String> methods = new ArrayList<>();
+        List<String> consumes = new ArrayList<>();
+        List<String> produces = new ArrayList<>();
+        String implied = RequestMappings.impliedMethod(annotation.getNameAsString());
+        if (implied != null) {
+            methods.add(implied);
+        }
+        if (annotation instanceof SingleMemberAnnotationExpr sma) {
+            collectStrings(sma.getMemberValue(), paths);
+        } else if (annotation instanceof NormalAnnotationExpr na) {
+            for (MemberValuePair pair : na.getPairs()) {
+                switch (pair.getNameAsString()) {
+                    case "value", "path" -> collectStrings(pair.getValue(), paths);
+                    case "method" -> collectStrings(pair.getValue(), methods);
+                    case "consumes" -> collectStrings(pair.getValue(), consumes);
+                    case "produces" -> collectStrings(pair.getValue(), produces);
+                    default -> { }
+                }
+            }
+        }
+        // RequestMethod.GET -> GET, MediaType.APPLICATION_JSON_VALUE -> application/json
+        methods.replaceAll(m -> m.substring(m.lastIndexOf('.') + 1));
+        consumes.replaceAll(RequestMappings::mediaType);
+        produces.replaceAll(RequestMappings::mediaType);
+        return new RequestMappings.Mapping(paths, methods, consumes, produces);
+    }
+
+    private static void collectStrings(Expression value, List<String> values) {
+        if (value instanceof ArrayInitializerExpr array) {
+            array.getValues().forEach(element -> collectStrings(element, values));
+        } else {
+            values.add(stringValue(value));
+        }
+    }
+
+    // Literały i ich konkatenacje; stała z innej klasy zostaje swoją nazwą
+    private static String stringValue(Expression value) {
+        if (value instanceof StringLiteralExpr literal) {
+            return literal.asString();
+        }
+        if (value instanceof BinaryExpr binary && binary.getOperator() == BinaryExpr.Operator.PLUS) {
+            return stringValue(binary.getLeft()) + stringValue(binary.getRight());
+        }
+        return print(value);
+    }
+
+    /**
+     * The value as written, without quotes: {@code "prototype"} becomes {@code prototype}. A literal is
+     * taken as it is instead of printing it.
+     */
+    private static String unquoted(Expression value) {
+        return value instanceof StringLiteralExpr literal
+            ? without(literal.getValue(), '"', '"', '"')
+            : without(print(value), '"', '"', '"');
+    }
+
+    // Wartość mapowania klasy bez cudzysłowów i nawiasów klamrowych: "/api/{id}" -> /api/id
+    private static String mappingValue(Expression value) {
+        return value instanceof StringLiteralExpr literal
+            ? without(literal.getValue(), '"', '{', '}')
+            : without(print(value), '"', '{', '}');
+    }
+
+    // Usuwa podane znaki w jednym przejściu; bez kopii, gdy żadnego nie ma
+    private static String without(String value, char a, char b, char c) {
+        int i = 0;
+        while (i < value.length()) {
+            char ch = value.charAt(i);
+            if (ch == a || ch == b || ch == c) {
+                break;
+            }
+            i++;
+        }
+        if (i == value.length()) {
+            return value;
+        }
+        StringBuilder sb = new StringBuilder(value.length() - 1).append(value, 0, i);
+        for (; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            if (ch != a && ch != b && ch != c) {
+                sb.append(ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String print(Node node) {
+        return node.toString(NO_COMMENTS);
+    }
+
+    private static int line(Node node) {
+        Optional<Position> begin = node.getBegin();
+        return begin.isPresent() ? begin.get().line : 1;
+    }
+}
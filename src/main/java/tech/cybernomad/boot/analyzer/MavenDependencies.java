@@ -0,0 +1,434 @@
+package tech.cybernomad.boot.analyzer;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import javax.xml.parsers.DocumentBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the runtime dependency jars of a Maven project offline, from the poms in the local repository.
+ * <p>
+ * A simplified version of Maven's own resolution: parents and {@code import}-scoped BOMs are merged into
+ * an effective model, {@code ${...}} properties are interpolated, the project's {@code dependencyManagement}
+ * overrides versions of transitive dependencies, and the nearest declaration of an artifact wins
+ * (breadth-first). {@code test}, {@code provided} and {@code system} dependencies, optional transitive
+ * ones and exclusions are left out. Nothing is downloaded; artifacts missing from the repository are
+ * reported in {@link Resolution#getMissing()}. Gradle builds are not supported.
+ */
+public class MavenDependencies {
+
+    private static final Pattern PROPERTY = Pattern.compile("\\$\\{([^}]+)}");
+    private static final Set<String> RUNTIME_SCOPES = Set.of("compile", "runtime");
+
+    /**
+     * A dependency jar in the local repository.
+     */
+    public record Artifact(String groupId, String artifactId, String version, Path jar) {
+        public String coordinates() { return groupId + ":" + artifactId + ":" + version; }
+    }
+
+    public static final class Resolution {
+        private final List<Artifact> artifacts = new ArrayList<>();
+        private final List<String> missing = new ArrayList<>();
+
+        public List<Artifact> getArtifacts() { return artifacts; }
+
+        /**
+         * Coordinates whose pom or jar is not in the local repository, or whose version could not be determined.
+         */
+        public List<String> getMissing() { return missing; }
+    }
+
+    private record Dependency(String groupId, String artifactId, String version, String scope, String type,
+                              boolean optional, Set<String> exclusions) {
+        String key() { return groupId + ":" + artifactId; }
+    }
+
+    // Efektywny model pom: po scaleniu rodziców i BOM-ów, z podstawionymi właściwościami
+    private static final class Model {
+        String groupId;
+        String artifactId;
+        String version;
+        final Map<String, String> properties = new HashMap<>();
+        final Map<String, Dependency> management = new LinkedHashMap<>();
+        final List<Dependency> dependencies = new ArrayList<>();
+    }
+
+    private final Path repository;
+    private final Map<String, Model> models = new HashMap<>();
+    private DocumentBuilder documentBuilder;
+
+    public MavenDependencies(Path repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * The local repository: {@code maven.repo.local}, {@code <localRepository>} from {@code ~/.m2/settings.xml},
+     * or {@code ~/.m2/repository}.
+     */
+    public static Path defaultRepository() {
+        String configured = System.getProperty("maven.repo.local");
+        if (configured != null && !configured.isBlank()) {
+            return Path.of(configured);
+        }
+        Path home = Path.of(System.getProperty("user.home"));
+        Path settings = home.resolve(".m2/settings.xml");
+        if (Files.isRegularFile(settings)) {
+            try {
+                Document document = ModuleDiscovery.newDocumentBuilder().parse(settings.toFile());
+                String local = text(document.getDocumentElement(), "localRepository");
+                if (local != null && !local.isBlank()) {
+                    return Path.of(local.replace("${user.home}", home.toString()));
+                }
+            } catch (Exception e) {
+                System.err.println("Cannot read " + settings + " - " + e.getMessage());
+            }
+        }
+        return home.resolve(".m2/repository");
+    }
+
+    public Path getRepository() { return repository; }
+
+    /**
+     * Resolves the dependencies of every Maven module of the project. Modules of the same build depend on
+     * each other through the reactor, not the repository, so they are skipped.
+     */
+    public Resolution resolve(Path basePath) {
+        Resolution resolution = new Resolution();
+        List<Model> roots = new ArrayList<>();
+        Set<String> reactor = new HashSet<>();
+        for (Path dir : mavenModules(basePath)) {
+            Model model = load(dir.resolve("pom.xml"), new HashSet<>());
+            if (model != null) {
+                roots.add(model);
+                reactor.add(model.groupId + ":" + model.artifactId);
+            }
+        }
+
+        // Zarządzanie wersjami projektu obowiązuje w całym drzewie, także dla zależności przechodnich
+        Map<String, Dependency> management = new HashMap<>();
+        ArrayDeque<Dependency> queue = new ArrayDeque<>();
+        for (Model root : roots) {
+            root.management.forEach(management::putIfAbsent);
+            for (Dependency dependency : root.dependencies) {
+                if (RUNTIME_SCOPES.contains(dependency.scope() == null ? "compile" : dependency.scope()) && isJar(dependency)) {
+                    queue.add(manage(dependency, root.management));
+                }
+            }
+        }
+
+        Set<String> seen = new HashSet<>(reactor);
+        while (!queue.isEmpty()) {
+            Dependency dependency = queue.poll();
+            if (!RUNTIME_SCOPES.contains(dependency.scope()) || !seen.add(dependency.key())) {
+                continue;
+            }
+            String version = dependency.version();
+            if (version == null || version.isEmpty() || version.contains("${") || isRange(version)) {
+                resolution.missing.add(dependency.key() + ":" + (version == null ? "?" : version));
+                continue;
+            }
+            Path jar = artifactDirectory(dependency.groupId(), dependency.artifactId(), version)
+                .resolve(dependency.artifactId() + "-" + version + ".jar");
+            if (!Files.isRegularFile(jar)) {
+                resolution.missing.add(dependency.key() + ":" + version);
+                continue;
+            }
+            resolution.artifacts.add(new Artifact(dependency.groupId(), dependency.artifactId(), version, jar));
+
+            Model model = loadArtifact(dependency.groupId(), dependency.artifactId(), version);
+            if (model == null) {
+                continue;
+            }
+            Set<String> exclusions = dependency.exclusions();
+            for (Dependency transitive : model.dependencies) {
+                String scope = transitive.scope() == null ? "compile" : transitive.scope();
+                if (!RUNTIME_SCOPES.contains(scope) || transitive.optional() || !isJar(transitive)
+                    || exclusions.contains(transitive.key()) || exclusions.contains(transitive.groupId() + ":*")
+                    || exclusions.contains("*:*")) {
+                    continue;
+                }
+                Dependency managed = manage(manage(transitive, model.management), management, true);
+                queue.add(withExclusions(managed, exclusions));
+            }
+        }
+        return resolution;
+    }
+
+    private static List<Path> mavenModules(Path basePath) {
+        List<Path> dirs = new ArrayList<>();
+        if (Files.isRegularFile(basePath.resolve("pom.xml"))) {
+            dirs.add(basePath);
+        }
+        for (var module : ModuleDiscovery.discover(basePath)) {
+            Path dir = module.getDirectory();
+            if (!dirs.contains(dir) && Files.isRegularFile(dir.resolve("pom.xml"))) {
+                dirs.add(dir);
+            }
+        }
+        return dirs;
+    }
+
+    private static boolean isJar(Dependency dependency) {
+        return dependency.type() == null || "jar".equals(dependency.type());
+    }
+
+    private static boolean isRange(String version) {
+        return version.startsWith("[") || version.startsWith("(");
+    }
+
+    private Path artifactDirectory(String groupId, String artifactId, String version) {
+        return repository.resolve(groupId.replace('.', '/')).resolve(artifactId).resolve(version);
+    }
+
+    private static Dependency manage(Dependency dependency, Map<String, Dependency> management) {
+        return manage(dependency, management, false);
+    }
+
+    /**
+     * Fills in the version, scope and exclusions from the managed declaration; with {@code override} the
+     * managed version and scope replace the declared ones, as the project's management does for transitive
+     * dependencies.
+     */
+    private static Dependency manage(Dependency dependency, Map<String, Dependency> management, boolean override) {
+        Dependency managed = management.get(dependency.key());
+        String version = dependency.version();
+        String scope = dependency.scope();
+        Set<String> exclusions = dependency.exclusions();
+        if (managed != null) {
+            if (version == null || version.isEmpty() || override && managed.version() != null) {
+                version = managed.version();
+            }
+            if (scope == null || override && managed.scope() != null) {
+                scope = managed.scope();
+            }
+            if (exclusions.isEmpty()) {
+                exclusions = managed.exclusions();
+            }
+        }
+        return new Dependency(dependency.groupId(), dependency.artifactId(), version,
+            scope == null ? "compile" : scope, dependency.type(), dependency.optional(), exclusions);
+    }
+
+    private static Dependency withExclusions(Dependency dependency, Set<String> inherited) {
+        if (inherited.isEmpty()) {
+            return dependency;
+        }
+        Set<String> exclusions = new HashSet<>(dependency.exclusions());
+        exclusions.addAll(inherited); // wykluczenia działają na całe poddrzewo
+        return new Dependency(dependency.groupId(), dependency.artifactId(), dependency.version(),
+            dependency.scope(), dependency.type(), dependency.optional(), exclusions);
+    }
+
+    private Model loadArtifact(String groupId, String artifactId, String version) {
+        String key = groupId + ":" + artifactId + ":" + version;
+        if (models.containsKey(key)) {
+            return models.get(key);
+        }
+        Path pom = artifactDirectory(groupId, artifactId, version).resolve(artifactId + "-" + version + ".pom");
+        Model model = Files.isRegularFile(pom) ? load(pom, new HashSet<>()) : null;
+        models.put(key, model);
+        return model;
+    }
+
+    private Model load(Path pom, Set<Path> visiting) {
+        if (!visiting.add(pom.toAbsolutePath().normalize())) {
+            return null;
+        }
+        Element project;
+        try {
+            project = parse(pom);
+        } catch (Exception e) {
+            System.err.println("Cannot read " + pom + " - " + e.getMessage());
+            return null;
+        }
+
+        Model model = new Model();
+        Model parent = null;
+        Element parentElement = child(project, "parent");
+        if (parentElement != null) {
+            parent = loadParent(pom, parentElement, visiting);
+            if (parent != null) {
+                model.properties.putAll(parent.properties);
+            }
+        }
+        model.groupId = text(project, "groupId");
+        model.artifactId = text(project, "artifactId");
+        model.version = text(project, "version");
+        if (model.groupId == null && parentElement != null) {
+            model.groupId = text(parentElement, "groupId");
+        }
+        if (model.version == null && parentElement != null) {
+            model.version = text(parentElement, "version");
+        }
+
+        Element properties = child(project, "properties");
+        if (properties != null) {
+            for (Element property : children(properties)) {
+                model.properties.put(property.getTagName(), property.getTextContent().trim());
+            }
+        }
+        model.properties.put("project.groupId", String.valueOf(model.groupId));
+        model.properties.put("project.artifactId", String.valueOf(model.artifactId));
+        model.properties.put("project.version", String.valueOf(model.version));
+        model.properties.put("pom.version", String.valueOf(model.version));
+        if (parentElement != null) {
+            model.properties.put("project.parent.groupId", String.valueOf(text(parentElement, "groupId")));
+            model.properties.put("project.parent.version", String.valueOf(text(parentElement, "version")));
+        }
+        model.groupId = interpolate(model.groupId, model.properties);
+        model.version = interpolate(model.version, model.properties);
+
+        // Deklaracje w tym pomie mają pierwszeństwo przed rodzicem, rodzic przed importowanymi BOM-ami
+        Element management = child(project, "dependencyManagement");
+        List<Dependency> imports = new ArrayList<>();
+        if (management != null && child(management, "dependencies") != null) {
+            for (Element element : children(child(management, "dependencies"))) {
+                Dependency dependency = dependency(element, model.properties);
+                if ("import".equals(dependency.scope()) && "pom".equals(dependency.type())) {
+                    imports.add(dependency);
+                } else {
+                    model.management.putIfAbsent(dependency.key(), dependency);
+                }
+            }
+        }
+        if (parent != null) {
+            parent.management.forEach(model.management::putIfAbsent);
+        }
+        for (Dependency bom : imports) {
+            Model imported = loadArtifact(bom.groupId(), bom.artifactId(), bom.version());
+            if (imported != null) {
+                imported.management.forEach(model.management::putIfAbsent);
+            }
+        }
+
+        if (parent != null) {
+            model.dependencies.addAll(parent.dependencies);
+        }
+        Element dependencies = child(project, "dependencies");
+        if (dependencies != null) {
+            for (Element element : children(dependencies)) {
+                model.dependencies.add(dependency(element, model.properties));
+            }
+        }
+        return model;
+    }
+
+    // Rodzic z relativePath (domyślnie ../pom.xml), jeśli to ten sam artefakt, inaczej z repozytorium
+    private Model loadParent(Path pom, Element parent, Set<Path> visiting) {
+        String groupId = text(parent, "groupId");
+        String artifactId = text(parent, "artifactId");
+        String version = text(parent, "version");
+        String relativePath = text(parent, "relativePath");
+        Path dir = pom.toAbsolutePath().getParent();
+        if (relativePath == null || !relativePath.isEmpty()) {
+            Path local = dir.resolve(relativePath == null ? "../pom.xml" : relativePath).normalize();
+            if (Files.isDirectory(local)) {
+                local = local.resolve("pom.xml");
+            }
+            if (Files.isRegularFile(local)) {
+                try {
+                    Element candidate = parse(local);
+                    if (Objects.equals(artifactId, text(candidate, "artifactId"))) {
+                        return load(local, visiting);
+                    }
+                } catch (Exception e) {
+                    System.err.println("Cannot read " + local + " - " + e.getMessage());
+                }
+            }
+        }
+        if (groupId == null || artifactId == null || version == null) {
+            return null;
+        }
+        return loadArtifact(groupId, artifactId, version);
+    }
+
+    // Fabryka szuka implementacji przez ServiceLoader, więc jeden parser na całe rozwiązywanie
+    private Element parse(Path pom) throws Exception {
+        if (documentBuilder == null) {
+            documentBuilder = ModuleDiscovery.newDocumentBuilder();
+        }
+        return documentBuilder.parse(pom.toFile()).getDocumentElement();
+    }
+
+    private static Dependency dependency(Element element, Map<String, String> properties) {
+        Set<String> exclusions = new HashSet<>();
+        Element exclusionsElement = child(element, "exclusions");
+        if (exclusionsElement != null) {
+            for (Element exclusion : children(exclusionsElement)) {
+                exclusions.add(interpolate(text(exclusion, "groupId"), properties) + ":"
+                    + interpolate(text(exclusion, "artifactId"), properties));
+            }
+        }
+        String classifier = text(element, "classifier");
+        String type = interpolate(text(element, "type"), properties);
+        if (classifier != null && type == null) {
+            type = "classified"; // jar z klasyfikatorem nie jest głównym artefaktem - pomijany jak inne typy
+        }
+        return new Dependency(
+            interpolate(text(element, "groupId"), properties),
+            interpolate(text(element, "artifactId"), properties),
+            interpolate(text(element, "version"), properties),
+            interpolate(text(element, "scope"), properties),
+            type,
+            "true".equals(interpolate(text(element, "optional"), properties)),
+            exclusions);
+    }
+
+    static String interpolate(String value, Map<String, String> properties) {
+        if (value == null || !value.contains("${")) {
+            return value;
+        }
+        String result = value;
+        // Właściwości mogą odwoływać się do innych właściwości; limit chroni przed cyklami
+        for (int depth = 0; depth < 10 && result.contains("${"); depth++) {
+            Matcher matcher = PROPERTY.matcher(result);
+            StringBuilder out = new StringBuilder();
+            boolean replaced = false;
+            while (matcher.find()) {
+                String replacement = properties.get(matcher.group(1));
+                if (replacement != null) {
+                    replaced = true;
+                }
+                matcher.appendReplacement(out, Matcher.quoteReplacement(replacement != null ? replacement : matcher.group()));
+            }
+            matcher.appendTail(out);
+            result = out.toString();
+            if (!replaced) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private static Element child(Element parent, String name) {
+        for (Node node = parent.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node instanceof Element element && name.equals(element.getTagName())) {
+                return element;
+            }
+        }
+        return null;
+    }
+
+    private static List<Element> children(Element parent) {
+        List<Element> elements = new ArrayList<>();
+        for (Node node = parent.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node instanceof Element element) {
+                elements.add(element);
+            }
+        }
+        return elements;
+    }
+
+    private static String text(Element parent, String name) {
+        Element element = child(parent, name);
+        return element == null ? null : element.getTextContent().trim();
+    }
+}
@@ -0,0 +1,176 @@
+package tech.cybernomad.boot.analyzer;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import tech.cybernomad.boot.model.ModuleInfo;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Finds the modules of a project and their {@code src/main/java} source roots.
+ * <p>
+ * Maven {@code <modules>} are followed recursively from the root {@code pom.xml} (profiles included),
+ * and Gradle {@code include} / {@code projectDir} entries are read from {@code settings.gradle(.kts)}.
+ * When neither build file declares a module with sources, the directory tree is searched for
+ * {@code src/main/java} instead; a tree without any is analyzed as a single plain source directory.
+ */
+public final class ModuleDiscovery {
+
+    private static final String SOURCE_ROOT = "src/main/java";
+    private static final int MAX_WALK_DEPTH = 8;
+    private static final Set<String> IGNORED_DIRECTORIES = Set.of("target", "build", "out", "bin", "node_modules");
+
+    private static final Pattern GRADLE_INCLUDE = Pattern.compile("^\\s*include\\b\\s*(\\([^)]*\\)|[^\\n]*)", Pattern.MULTILINE);
+    private static final Pattern GRADLE_PROJECT_DIR = Pattern.compile(
+        "project\\(\\s*['\"]([^'\"]+)['\"]\\s*\\)\\.projectDir\\s*=\\s*(?:new\\s+File\\(\\s*(?:rootDir|settingsDir)\\s*,\\s*|file\\(\\s*)['\"]([^'\"]+)['\"]");
+    private static final Pattern QUOTED = Pattern.compile("['\"]([^'\"]+)['\"]");
+
+    private ModuleDiscovery() {
+    }
+
+    public static List<ModuleInfo> discover(Path basePath) {
+        // Ścieżki zostają względne, jeśli taka była ścieżka projektu - tak jak ścieżki plików w wyniku
+        Path base = basePath.normalize();
+        Set<Path> directories = new LinkedHashSet<>();
+        readMaven(base, directories, new HashSet<>());
+        readGradle(base, directories);
+
+        List<ModuleInfo> modules = toModules(base, directories);
+        if (modules.isEmpty()) {
+            modules = toModules(base, walkForSourceRoots(base));
+        }
+        if (modules.isEmpty()) {
+            // Zwykły katalog ze źródłami - cały traktowany jako jeden moduł
+            modules = List.of(new ModuleInfo(moduleName(base, base), base, List.of(base)));
+        }
+        return modules;
+    }
+
+    private static List<ModuleInfo> toModules(Path base, Collection<Path> directories) {
+        List<ModuleInfo> modules = new ArrayList<>();
+        for (Path dir : directories) {
+            Path root = dir.resolve(SOURCE_ROOT);
+            if (Files.isDirectory(root)) {
+                modules.add(new ModuleInfo(moduleName(base, dir), dir, List.of(root)));
+            }
+        }
+        return modules;
+    }
+
+    private static String moduleName(Path base, Path dir) {
+        String relative = base.relativize(dir).toString().replace('\\', '/');
+        return relative.isEmpty() ? String.valueOf(base.toAbsolutePath().normalize().getFileName()) : relative;
+    }
+
+    private static void readMaven(Path dir, Set<Path> directories, Set<Path> visited) {
+        Path pom = dir.resolve("pom.xml");
+        if (!visited.add(dir.toAbsolutePath().normalize()) || !Files.isRegularFile(pom)) {
+            return;
+        }
+        directories.add(dir);
+        Document document;
+        try {
+            document = newDocumentBuilder().parse(pom.toFile());
+        } catch (Exception e) {
+            System.err.println("Cannot read " + pom + " - " + e.getMessage());
+            return;
+        }
+        NodeList entries = document.getElementsByTagName("module");
+        for (int i = 0; i < entries.getLength(); i++) {
+            Element entry = (Element) entries.item(i);
+            if (!(entry.getParentNode() instanceof Element parent) || !"modules".equals(parent.getTagName())) {
+                continue;
+            }
+            Path module = dir.resolve(entry.getTextContent().trim()).normalize();
+            // <module> może wskazywać bezpośrednio na plik pom
+            if (module.getFileName() != null && module.getFileName().toString().endsWith(".xml")) {
+                module = module.getParent();
+            }
+            readMaven(module, directories, visited);
+        }
+    }
+
+    static DocumentBuilder newDocumentBuilder() throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+        factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+        factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
+        return factory.newDocumentBuilder();
+    }
+
+    private static void readGradle(Path base, Set<Path> directories) {
+        Path settings = base.resolve("settings.gradle");
+        if (!Files.isRegularFile(settings)) {
+            settings = base.resolve("settings.gradle.kts");
+            if (!Files.isRegularFile(settings)) {
+                return;
+            }
+        }
+        String script;
+        try {
+            script = Files.readString(settings);
+        } catch (IOException e) {
+            System.err.println("Cannot read " + settings + " - " + e.getMessage());
+            return;
+        }
+        script = script.replaceAll("(?s)/\\*.*?\\*/", "").replaceAll("//[^\\n]*", "");
+
+        Map<String, Path> projectDirs = new HashMap<>();
+        Matcher dirs = GRADLE_PROJECT_DIR.matcher(script);
+        while (dirs.find()) {
+            projectDirs.put(normalizeGradlePath(dirs.group(1)), base.resolve(dirs.group(2)).normalize());
+        }
+
+        directories.add(base);
+        Matcher includes = GRADLE_INCLUDE.matcher(script);
+        while (includes.find()) {
+            Matcher names = QUOTED.matcher(includes.group(1));
+            while (names.find()) {
+                String path = normalizeGradlePath(names.group(1));
+                directories.add(projectDirs.getOrDefault(path, base.resolve(path.replace(':', '/')).normalize()));
+            }
+        }
+    }
+
+    private static String normalizeGradlePath(String path) {
+        return path.startsWith(":") ? path.substring(1) : path;
+    }
+
+    private static List<Path> walkForSourceRoots(Path base) {
+        List<Path> directories = new ArrayList<>();
+        try {
+            Files.walkFileTree(base, EnumSet.noneOf(FileVisitOption.class), MAX_WALK_DEPTH, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    String name = String.valueOf(dir.getFileName());
+                    if (!dir.equals(base) && (name.startsWith(".") || IGNORED_DIRECTORIES.contains(name))) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    if (Files.isDirectory(dir.resolve(SOURCE_ROOT))) {
+                        directories.add(dir);
+                    }
+                    // src nie zawiera kolejnych modułów
+                    return name.equals("src") ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            System.err.println("Cannot scan " + base + " - " + e.getMessage());
+        }
+        Collections.sort(directories);
+        return directories;
+    }
+}
@@ -0,0 +1,98 @@
+package tech.cybernomad.boot.analyzer;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Cheap change detector for a source tree: number of {@code .java} files, newest modification
+ * time and an order-independent hash of every file's path, size and mtime. Only file attributes
+ * are read, no content. Other file types (class files, archives) can be fingerprinted the same way.
+ */
+public final class ProjectFingerprint {
+
+    private final int fileCount;
+    private final long lastModified;
+    private final long hash;
+
+    public ProjectFingerprint(int fileCount, long lastModified, long hash) {
+        this.fileCount = fileCount;
+        this.lastModified = lastModified;
+        this.hash = hash;
+    }
+
+    public static ProjectFingerprint of(Path sourceRoot) throws IOException {
+        return of(List.of(sourceRoot));
+    }
+
+    /**
+     * Fingerprint of several source roots together, e.g. every module of a multi-module build.
+     */
+    public static ProjectFingerprint of(Collection<Path> sourceRoots) throws IOException {
+        return of(sourceRoots, ".java");
+    }
+
+    /**
+     * Fingerprint of the files with the given suffix under the roots; a root that is a regular file (e.g. a jar)
+     * is taken itself when its name matches.
+     */
+    public static ProjectFingerprint of(Collection<Path> roots, String suffix) throws IOException {
+        long[] acc = new long[3]; // count, max mtime, hash
+        for (Path root : roots) {
+            walk(root, suffix, acc);
+        }
+        return new ProjectFingerprint((int) acc[0], acc[1], acc[2]);
+    }
+
+    private static void walk(Path sourceRoot, String suffix, long[] acc) throws IOException {
+        Files.walkFileTree(sourceRoot, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (file.toString().endsWith(suffix)) {
+                    long modified = attrs.lastModifiedTime().toMillis();
+                    acc[0]++;
+                    acc[1] = Math.max(acc[1], modified);
+                    acc[2] += mix(file.toString().hashCode() * 31L + attrs.size() * 17L + modified);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static long mix(long z) {
+        // SplitMix64 - rozprasza bity, żeby suma nie znosiła podobnych wartości
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    public int getFileCount() { return fileCount; }
+    public long getLastModified() { return lastModified; }
+    public long getHash() { return hash; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ProjectFingerprint)) return false;
+        ProjectFingerprint that = (ProjectFingerprint) o;
+        return fileCount == that.fileCount && lastModified == that.lastModified && hash == that.hash;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(fileCount, lastModified, hash);
+    }
+
+    @Override
+    public String toString() {
+        return fileCount + ":" + lastModified + ":" + Long.toHexString(hash);
+    }
+}
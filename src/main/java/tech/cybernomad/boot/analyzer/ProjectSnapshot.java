@@ -0,0 +1,494 @@
+package tech.cybernomad.boot.analyzer;
+
+import tech.cybernomad.boot.model.*;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Binary snapshot of a whole {@link ProjectInfo}, so that a restarted server can serve reports
+ * without parsing the project again.
+ * <p>
+ * The file is a fixed header followed by a string table and fixed-width int records for modules,
+ * classes, methods, routes and rule findings; string lists live in a shared int area and are referenced by offset. Every
+ * name is stored once and referenced by its index. Snapshots are read through a memory-mapped
+ * {@link FileChannel}: {@link #open} only touches the header, so the fingerprint can be checked before
+ * any record is read, and strings are decoded once each when {@link #load()} first refers to them.
+ * The header also records the {@linkplain tech.cybernomad.boot.rules.RuleSet#getKey() rules} that produced
+ * the findings.
+ */
+public final class ProjectSnapshot {
+
+    private static final int MAGIC = 0x4342534E; // "CBSN"
+    private static final int VERSION = 3;
+
+    private static final int HEADER_SIZE = 104;
+    private static final int MODULE_RECORD = 3;
+    private static final int CLASS_RECORD = 20;
+    private static final int METHOD_RECORD = 6;
+    private static final int ROUTE_RECORD = 6;
+    private static final int FINDING_RECORD = 4;
+    private static final int EMPTY_LIST = 0; // lists[0] = 0 - wspólna pusta lista
+
+    private final MappedByteBuffer buffer;
+    private final Path basePath;
+    private final ProjectFingerprint fingerprint;
+    private final Instant created;
+    private final String rules;
+
+    private ProjectSnapshot(MappedByteBuffer buffer, Path basePath, ProjectFingerprint fingerprint, Instant created,
+                            String rules) {
+        this.buffer = buffer;
+        this.basePath = basePath;
+        this.fingerprint = fingerprint;
+        this.created = created;
+        this.rules = rules;
+    }
+
+    /**
+     * Snapshot file of the project in the given directory.
+     */
+    public static Path file(Path snapshotDir, Path basePath) {
+        Path absolute = basePath.toAbsolutePath().normalize();
+        return snapshotDir.resolve(Integer.toHexString(absolute.toString().hashCode()) + ".snap");
+    }
+
+    public Path getBasePath() { return basePath; }
+    public ProjectFingerprint getFingerprint() { return fingerprint; }
+    public Instant getCreated() { return created; }
+
+    /**
+     * Key of the rules whose findings the snapshot contains.
+     */
+    public String getRules() { return rules; }
+
+    // ----------------------------------------------------------------------------------------------
+    // Zapis
+    // ----------------------------------------------------------------------------------------------
+
+    /**
+     * Writes the snapshot to a temporary file of its own and moves it in place, so readers never see a
+     * half-written file and two writers of the same project never write into one file; the last move wins.
+     *
+     * @param rules key of the rules the project was analyzed with
+     */
+    public static void write(Path file, ProjectInfo project, ProjectFingerprint fingerprint, String rules) throws IOException {
+        Writer writer = new Writer(project.getBasePath());
+        ByteBuffer out = writer.encode(project, fingerprint, rules);
+        Files.createDirectories(file.getParent());
+        Path tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                while (out.hasRemaining()) {
+                    channel.write(out);
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static final class Writer {
+        private final Path basePath;
+        private final Map<String, Integer> stringIds = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+        private final Ints modules = new Ints();
+        private final Ints classes = new Ints();
+        private final Ints methods = new Ints();
+        private final Ints routes = new Ints();
+        private final Ints findings = new Ints();
+        private final Ints lists = new Ints();
+
+        Writer(Path basePath) {
+            this.basePath = basePath;
+            lists.add(0);
+        }
+
+        ByteBuffer encode(ProjectInfo project, ProjectFingerprint fingerprint, String rules) {
+            int base = string(basePath != null ? basePath.toString() : null);
+            int name = string(project.getProjectName());
+            int ruleKey = string(rules);
+            for (ModuleInfo module : project.getModules()) {
+                modules.add(string(module.getName()));
+                modules.add(string(module.getDirectory() != null ? module.getDirectory().toString() : null));
+                modules.add(list(module.getSourceRoots().stream().map(Path::toString).toList()));
+            }
+            for (ClassInfo cls : project.getAllClasses()) {
+                addClass(cls);
+            }
+
+            byte[][] encoded = new byte[strings.size()][];
+            int stringBytes = 0;
+            for (int i = 0; i < encoded.length; i++) {
+                encoded[i] = strings.get(i).getBytes(StandardCharsets.UTF_8);
+                stringBytes += encoded[i].length;
+            }
+            int paddedBytes = (stringBytes + 3) & ~3;
+            long size = HEADER_SIZE + 4L * (encoded.length + 1) + paddedBytes
+                + 4L * (modules.size + classes.size + methods.size + routes.size + findings.size + lists.size);
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Snapshot too large: " + size + " bytes");
+            }
+
+            ByteBuffer out = ByteBuffer.allocate((int) size).order(ByteOrder.LITTLE_ENDIAN);
+            AnalysisStats stats = project.getAnalysisStats();
+            out.putInt(MAGIC).putInt(VERSION)
+                .putLong(fingerprint.getLastModified()).putLong(fingerprint.getHash()).putInt(fingerprint.getFileCount())
+                .putInt(encoded.length).putInt(modules.size / MODULE_RECORD).putInt(classes.size / CLASS_RECORD)
+                .putInt(methods.size / METHOD_RECORD).putInt(lists.size).putInt(stringBytes)
+                .putInt(base).putInt(name)
+                .putInt(stats.getFilesDiscovered()).putInt(stats.getFilesParsed()).putInt(stats.getFilesCached())
+                .putInt(stats.getFilesSkipped()).putInt(stats.getFilesFailed()).putInt(stats.getPrefilterMisses())
+                .putLong(System.currentTimeMillis())
+                .putInt(routes.size / ROUTE_RECORD)
+                .putInt(findings.size / FINDING_RECORD).putInt(ruleKey);
+            out.position(HEADER_SIZE);
+
+            int offset = 0;
+            for (byte[] bytes : encoded) {
+                out.putInt(offset);
+                offset += bytes.length;
+            }
+            out.putInt(offset);
+            for (byte[] bytes : encoded) {
+                out.put(bytes);
+            }
+            out.position(out.position() + paddedBytes - stringBytes);
+            modules.writeTo(out);
+            classes.writeTo(out);
+            methods.writeTo(out);
+            routes.writeTo(out);
+            findings.writeTo(out);
+            lists.writeTo(out);
+            return out.flip();
+        }
+
+        private void addClass(ClassInfo cls) {
+            Path file = cls.getFilePath();
+            Path parent = file != null ? file.getParent() : null;
+            String directory = parent == null ? (file != null ? "" : null)
+                : basePath != null && parent.startsWith(basePath) ? basePath.relativize(parent).toString()
+                : parent.toString();
+            String fileName = file != null ? file.getFileName().toString() : null;
+
+            classes.add(string(cls.getClassName()));
+            classes.add(string(cls.getPackageName()));
+            classes.add(string(cls.getFullName()));
+            classes.add(string(directory));
+            classes.add(string(fileName));
+            classes.add(cls.getLineNumber());
+            classes.add(cls.getBeanType().ordinal());
+            classes.add(string(cls.getScope()));
+            classes.add(list(cls.getAnnotations()));
+            classes.add(list(cls.getMappings()));
+            classes.add(list(cls.getDependencies()));
+            classes.add(string(cls.getParentClass()));
+            classes.add(list(cls.getInterfaces()));
+            classes.add(string(cls.getModule()));
+            classes.add(methods.size / METHOD_RECORD);
+            classes.add(cls.getBeanMethods().size());
+            for (MethodInfo method : cls.getBeanMethods()) {
+                methods.add(string(method.getName()));
+                methods.add(string(method.getReturnType()));
+                methods.add(method.getLineNumber());
+                methods.add(string(method.getScope()));
+                methods.add(list(method.getAnnotations()));
+                methods.add(list(method.getConditionalOn()));
+            }
+            classes.add(routes.size / ROUTE_RECORD);
+            classes.add(cls.getRoutes().size());
+            for (RouteInfo route : cls.getRoutes()) {
+                routes.add(string(route.getPath()));
+                routes.add(string(route.getHandlerMethod()));
+                routes.add(route.getLineNumber());
+                routes.add(list(route.getMethods()));
+                routes.add(list(route.getConsumes()));
+                routes.add(list(route.getProduces()));
+            }
+            classes.add(findings.size / FINDING_RECORD);
+            classes.add(cls.getFindings().size());
+            for (Finding finding : cls.getFindings()) {
+                findings.add(string(finding.getRule()));
+                findings.add(finding.getSeverity().ordinal());
+                findings.add(string(finding.getMessage()));
+                findings.add(finding.getLineNumber());
+            }
+        }
+
+        private int string(String value) {
+            if (value == null) {
+                return -1;
+            }
+            Integer id = stringIds.get(value);
+            if (id == null) {
+                id = strings.size();
+                strings.add(value);
+                stringIds.put(value, id);
+            }
+            return id;
+        }
+
+        private int list(List<String> values) {
+            if (values.isEmpty()) {
+                return EMPTY_LIST;
+            }
+            int offset = lists.size;
+            lists.add(values.size());
+            for (String value : values) {
+                lists.add(string(value));
+            }
+            return offset;
+        }
+    }
+
+    private static final class Ints {
+        private int[] values = new int[1024];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void writeTo(ByteBuffer out) {
+            out.asIntBuffer().put(values, 0, size);
+            out.position(out.position() + 4 * size);
+        }
+    }
+
+    // ----------------------------------------------------------------------------------------------
+    // Odczyt
+    // ----------------------------------------------------------------------------------------------
+
+    /**
+     * Maps the snapshot and reads its header.
+     *
+     * @return {@code null} if the file is missing, not a snapshot or of another format version
+     */
+    public static ProjectSnapshot open(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+                return null;
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            return null;
+        }
+        ProjectFingerprint fingerprint = new ProjectFingerprint(buffer.getInt(24), buffer.getLong(8), buffer.getLong(16));
+        Instant created = Instant.ofEpochMilli(buffer.getLong(84));
+        ProjectSnapshot snapshot = new ProjectSnapshot(buffer, null, fingerprint, created, null);
+        Reader reader = snapshot.new Reader();
+        if (!reader.valid()) {
+            return null;
+        }
+        String base = reader.string(buffer.getInt(52));
+        return new ProjectSnapshot(buffer, base != null ? Path.of(base) : null, fingerprint, created,
+            reader.string(buffer.getInt(100)));
+    }
+
+    /**
+     * Rebuilds the project from the records.
+     *
+     * @throws IOException if the records are inconsistent (e.g. a truncated or corrupt file)
+     */
+    public ProjectInfo load() throws IOException {
+        try {
+            return new Reader().read();
+        } catch (IndexOutOfBoundsException | BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Corrupt snapshot: " + e, e);
+        }
+    }
+
+    private final class Reader {
+        private final int stringCount = buffer.getInt(28);
+        private final int moduleCount = buffer.getInt(32);
+        private final int classCount = buffer.getInt(36);
+        private final int methodCount = buffer.getInt(40);
+        private final int routeCount = buffer.getInt(92);
+        private final int findingCount = buffer.getInt(96);
+        private final int listsLength = buffer.getInt(44);
+        private final int stringBytes = buffer.getInt(48);
+        private final int offsetsStart = HEADER_SIZE;
+        private final int bytesStart = offsetsStart + 4 * (stringCount + 1);
+        private final int modulesStart = bytesStart + ((stringBytes + 3) & ~3);
+        private final int classesStart = modulesStart + 4 * MODULE_RECORD * moduleCount;
+        private final int methodsStart = classesStart + 4 * CLASS_RECORD * classCount;
+        private final int routesStart = methodsStart + 4 * METHOD_RECORD * methodCount;
+        private final int findingsStart = routesStart + 4 * ROUTE_RECORD * routeCount;
+        private final int listsStart = findingsStart + 4 * FINDING_RECORD * findingCount;
+        private final String[] strings = new String[Math.max(0, stringCount)];
+        private final byte[] directoryKinds = new byte[strings.length];
+        // Wczytany projekt to osobny przebieg analizy z własnymi tablicami symboli
+        private final Symbols symbols = new Symbols();
+
+        boolean valid() {
+            long end = (long) listsStart + 4L * listsLength;
+            return stringCount >= 0 && moduleCount >= 0 && classCount >= 0 && methodCount >= 0 && routeCount >= 0
+                && findingCount >= 0 && listsLength > 0 && stringBytes >= 0 && end == buffer.capacity();
+        }
+
+        ProjectInfo read() throws IOException {
+            if (!valid()) {
+                throw new IOException("Corrupt snapshot: section sizes do not match the file size");
+            }
+            ProjectInfo project = new ProjectInfo();
+            project.setBasePath(basePath);
+            project.setProjectName(string(buffer.getInt(56)));
+            project.setAnalysisStats(AnalysisStats.of(buffer.getInt(60), buffer.getInt(64), buffer.getInt(68),
+                buffer.getInt(72), buffer.getInt(76), buffer.getInt(80)));
+
+            for (int i = 0; i < moduleCount; i++) {
+                int at = modulesStart + 4 * MODULE_RECORD * i;
+                String directory = string(buffer.getInt(at + 4));
+                List<Path> roots = new ArrayList<>();
+                for (String root : list(buffer.getInt(at + 8))) {
+                    roots.add(Path.of(root));
+                }
+                project.addModule(new ModuleInfo(string(buffer.getInt(at)),
+                    directory != null ? Path.of(directory) : null, roots));
+            }
+
+            BeanType[] types = BeanType.values();
+            for (int i = 0; i < classCount; i++) {
+                int at = classesStart + 4 * CLASS_RECORD * i;
+                ClassInfo cls = new ClassInfo(symbols);
+                cls.setClassName(string(buffer.getInt(at)));
+                cls.setPackageName(string(buffer.getInt(at + 4)));
+                cls.setFullName(string(buffer.getInt(at + 8)));
+                int directory = buffer.getInt(at + 12);
+                if (directory >= 0) {
+                    cls.setFilePath(isRelative(directory) ? basePath : null, string(directory),
+                        string(buffer.getInt(at + 16)));
+                }
+                cls.setLineNumber(buffer.getInt(at + 20));
+                cls.setBeanType(types[buffer.getInt(at + 24)]);
+                cls.setScope(string(buffer.getInt(at + 28)));
+                cls.setAnnotations(list(buffer.getInt(at + 32)));
+                cls.setMappings(list(buffer.getInt(at + 36)));
+                cls.setDependencies(list(buffer.getInt(at + 40)));
+                cls.setParentClass(string(buffer.getInt(at + 44)));
+                cls.setInterfaces(list(buffer.getInt(at + 48)));
+                cls.setModule(string(buffer.getInt(at + 52)));
+                int firstMethod = buffer.getInt(at + 56);
+                int methods = buffer.getInt(at + 60);
+                for (int m = firstMethod; m < firstMethod + methods; m++) {
+                    cls.addBeanMethod(method(methodsStart + 4 * METHOD_RECORD * m));
+                }
+                int firstRoute = buffer.getInt(at + 64);
+                int routes = buffer.getInt(at + 68);
+                for (int r = firstRoute; r < firstRoute + routes; r++) {
+                    cls.addRoute(route(routesStart + 4 * ROUTE_RECORD * r));
+                }
+                int firstFinding = buffer.getInt(at + 72);
+                int findings = buffer.getInt(at + 76);
+                for (int f = firstFinding; f < firstFinding + findings; f++) {
+                    cls.addFinding(finding(findingsStart + 4 * FINDING_RECORD * f));
+                }
+                project.addClass(cls);
+            }
+            return project;
+        }
+
+        private MethodInfo method(int at) {
+            if (at + 4 * METHOD_RECORD > routesStart) {
+                throw new IndexOutOfBoundsException("method record " + at);
+            }
+            MethodInfo method = new MethodInfo(symbols);
+            method.setName(string(buffer.getInt(at)));
+            method.setReturnType(string(buffer.getInt(at + 4)));
+            method.setLineNumber(buffer.getInt(at + 8));
+            method.setScope(string(buffer.getInt(at + 12)));
+            method.setAnnotations(list(buffer.getInt(at + 16)));
+            method.setConditionalOn(list(buffer.getInt(at + 20)));
+            return method;
+        }
+
+        private RouteInfo route(int at) {
+            if (at < routesStart || at + 4 * ROUTE_RECORD > findingsStart) {
+                throw new IndexOutOfBoundsException("route record " + at);
+            }
+            RouteInfo route = new RouteInfo(symbols);
+            route.setPath(string(buffer.getInt(at)));
+            route.setHandlerMethod(string(buffer.getInt(at + 4)));
+            route.setLineNumber(buffer.getInt(at + 8));
+            route.setMethods(list(buffer.getInt(at + 12)));
+            route.setConsumes(list(buffer.getInt(at + 16)));
+            route.setProduces(list(buffer.getInt(at + 20)));
+            return route;
+        }
+
+        private Finding finding(int at) {
+            if (at < findingsStart || at + 4 * FINDING_RECORD > listsStart) {
+                throw new IndexOutOfBoundsException("finding record " + at);
+            }
+            Finding finding = new Finding();
+            finding.setRule(string(buffer.getInt(at)));
+            finding.setSeverity(Finding.Severity.values()[buffer.getInt(at + 4)]);
+            finding.setMessage(string(buffer.getInt(at + 8)));
+            finding.setLineNumber(buffer.getInt(at + 12));
+            return finding;
+        }
+
+        // Katalogi spoza basePath są zapisane jako ścieżki bezwzględne; sprawdzane raz na katalog
+        private boolean isRelative(int id) {
+            if (directoryKinds[id] == 0) {
+                directoryKinds[id] = (byte) (basePath != null && !Path.of(string(id)).isAbsolute() ? 1 : 2);
+            }
+            return directoryKinds[id] == 1;
+        }
+
+        private String string(int id) {
+            if (id < 0) {
+                return null;
+            }
+            String value = strings[id];
+            if (value == null) {
+                int start = buffer.getInt(offsetsStart + 4 * id);
+                int end = buffer.getInt(offsetsStart + 4 * id + 4);
+                if (start < 0 || end < start || end > stringBytes) {
+                    throw new IndexOutOfBoundsException("string " + id);
+                }
+                byte[] bytes = new byte[end - start];
+                buffer.get(bytesStart + start, bytes);
+                value = new String(bytes, StandardCharsets.UTF_8);
+                strings[id] = value;
+            }
+            return value;
+        }
+
+        private List<String> list(int offset) {
+            if (offset < 0 || offset >= listsLength) {
+                throw new IndexOutOfBoundsException("list " + offset);
+            }
+            int count = buffer.getInt(listsStart + 4 * offset);
+            if (count == 0) {
+                return List.of();
+            }
+            if (count < 0 || offset + count >= listsLength) {
+                throw new IndexOutOfBoundsException("list " + offset);
+            }
+            String[] values = new String[count];
+            for (int i = 0; i < count; i++) {
+                values[i] = string(buffer.getInt(listsStart + 4 * (offset + 1 + i)));
+            }
+            return Arrays.asList(values);
+        }
+    }
+}
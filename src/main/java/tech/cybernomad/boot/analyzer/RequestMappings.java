@@ -0,0 +1,137 @@
+package tech.cybernomad.boot.analyzer;
+
+import tech.cybernomad.boot.model.ClassInfo;
+import tech.cybernomad.boot.model.RouteInfo;
+
+import java.util.*;
+
+/**
+ * Turns {@code @RequestMapping} and its shortcuts into {@link RouteInfo}s, the same way for sources and
+ * class files. Combination follows Spring MVC: every class-level path is joined with every method-level
+ * path, HTTP methods of both levels are merged, and method-level {@code consumes}/{@code produces}
+ * replace the class-level ones.
+ */
+final class RequestMappings {
+
+    /**
+     * Attributes of one mapping annotation; an empty list means the attribute was not given.
+     */
+    record Mapping(List<String> paths, List<String> methods, List<String> consumes, List<String> produces) {
+        static final Mapping NONE = new Mapping(List.of(), List.of(), List.of(), List.of());
+    }
+
+    private static final Map<String, String> SHORTCUTS = Map.of(
+        "GetMapping", "GET",
+        "PostMapping", "POST",
+        "PutMapping", "PUT",
+        "DeleteMapping", "DELETE",
+        "PatchMapping", "PATCH");
+
+    // Stałe MediaType.*_VALUE, które w źródłach widać tylko z nazwy
+    private static final Map<String, String> MEDIA_TYPES = Map.ofEntries(
+        Map.entry("ALL_VALUE", "*/*"),
+        Map.entry("APPLICATION_JSON_VALUE", "application/json"),
+        Map.entry("APPLICATION_XML_VALUE", "application/xml"),
+        Map.entry("APPLICATION_FORM_URLENCODED_VALUE", "application/x-www-form-urlencoded"),
+        Map.entry("APPLICATION_OCTET_STREAM_VALUE", "application/octet-stream"),
+        Map.entry("APPLICATION_PDF_VALUE", "application/pdf"),
+        Map.entry("APPLICATION_PROBLEM_JSON_VALUE", "application/problem+json"),
+        Map.entry("APPLICATION_NDJSON_VALUE", "application/x-ndjson"),
+        Map.entry("APPLICATION_CBOR_VALUE", "application/cbor"),
+        Map.entry("MULTIPART_FORM_DATA_VALUE", "multipart/form-data"),
+        Map.entry("MULTIPART_MIXED_VALUE", "multipart/mixed"),
+        Map.entry("TEXT_PLAIN_VALUE", "text/plain"),
+        Map.entry("TEXT_HTML_VALUE", "text/html"),
+        Map.entry("TEXT_XML_VALUE", "text/xml"),
+        Map.entry("TEXT_EVENT_STREAM_VALUE", "text/event-stream"),
+        Map.entry("IMAGE_PNG_VALUE", "image/png"),
+        Map.entry("IMAGE_JPEG_VALUE", "image/jpeg"),
+        Map.entry("IMAGE_GIF_VALUE", "image/gif"));
+
+    private RequestMappings() {
+    }
+
+    static boolean isMapping(String annotationName) {
+        return "RequestMapping".equals(annotationName) || SHORTCUTS.containsKey(annotationName);
+    }
+
+    /**
+     * {@code RequestMapping} and the names of all its shortcuts.
+     */
+    static Set<String> annotationNames() {
+        Set<String> names = new HashSet<>(SHORTCUTS.keySet());
+        names.add("RequestMapping");
+        return names;
+    }
+
+    /**
+     * The HTTP method implied by a shortcut annotation ({@code GetMapping} -> {@code GET}), or {@code null}.
+     */
+    static String impliedMethod(String annotationName) {
+        return SHORTCUTS.get(annotationName);
+    }
+
+    /**
+     * A media type written as a {@code MediaType} constant, by its simple name; other values are returned as they are.
+     */
+    static String mediaType(String value) {
+        String constant = value.substring(value.lastIndexOf('.') + 1);
+        return MEDIA_TYPES.getOrDefault(constant, value);
+    }
+
+    /**
+     * Adds one route per combined path of a handler method.
+     *
+     * @param type the class-level mapping, {@link Mapping#NONE} if the class has none
+     */
+    static void addRoutes(ClassInfo info, Mapping type, Mapping method, String handlerMethod, int lineNumber) {
+        List<String> typePaths = type.paths().isEmpty() ? List.of("") : type.paths();
+        List<String> methodPaths = method.paths().isEmpty() ? List.of("") : method.paths();
+        List<String> methods = merge(type.methods(), method.methods());
+        List<String> consumes = method.consumes().isEmpty() ? type.consumes() : method.consumes();
+        List<String> produces = method.produces().isEmpty() ? type.produces() : method.produces();
+        for (String typePath : typePaths) {
+            for (String methodPath : methodPaths) {
+                RouteInfo route = new RouteInfo(info.getSymbols());
+                route.setPath(combine(typePath, methodPath));
+                route.setHandlerMethod(handlerMethod);
+                route.setLineNumber(lineNumber);
+                route.setMethods(methods);
+                route.setConsumes(consumes);
+                route.setProduces(produces);
+                info.addRoute(route);
+            }
+        }
+    }
+
+    /**
+     * Joins a class-level and a method-level path with exactly one slash; the result always starts with one.
+     */
+    static String combine(String typePath, String methodPath) {
+        String path;
+        if (typePath.isEmpty()) {
+            path = methodPath;
+        } else if (methodPath.isEmpty()) {
+            path = typePath;
+        } else if (typePath.endsWith("/") && methodPath.startsWith("/")) {
+            path = typePath + methodPath.substring(1);
+        } else if (typePath.endsWith("/") || methodPath.startsWith("/")) {
+            path = typePath + methodPath;
+        } else {
+            path = typePath + "/" + methodPath;
+        }
+        return path.startsWith("/") ? path : "/" + path;
+    }
+
+    private static List<String> merge(List<String> a, List<String> b) {
+        if (a.isEmpty()) {
+            return b;
+        }
+        if (b.isEmpty()) {
+            return a;
+        }
+        Set<String> merged = new LinkedHashSet<>(a);
+        merged.addAll(b);
+        return new ArrayList<>(merged);
+    }
+}
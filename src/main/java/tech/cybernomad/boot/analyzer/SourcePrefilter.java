@@ -0,0 +1,59 @@
+package tech.cybernomad.boot.analyzer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Byte-level scan deciding whether a source file can contain a Spring bean at all.
+ * <p>
+ * A file passes when any of the given annotation names occurs as a whole identifier
+ * (e.g. {@code Service} in {@code @Service} or in an import, but not in {@code UserService}).
+ * Every annotation the analyzer reacts to has to appear in the source as such an identifier,
+ * so rejected files never produce a bean. Unicode escapes in identifiers are not decoded.
+ */
+public class SourcePrefilter {
+
+    private final byte[][][] namesByFirstByte = new byte[128][][];
+
+    public SourcePrefilter(Collection<String> annotationNames) {
+        for (String name : annotationNames) {
+            byte[] bytes = name.getBytes(StandardCharsets.US_ASCII);
+            byte[][] group = namesByFirstByte[bytes[0]];
+            group = group == null ? new byte[1][] : Arrays.copyOf(group, group.length + 1);
+            group[group.length - 1] = bytes;
+            namesByFirstByte[bytes[0]] = group;
+        }
+    }
+
+    public boolean mayContainBean(byte[] content) {
+        int length = content.length;
+        int i = 0;
+        while (i < length) {
+            if (!isIdentifierByte(content[i])) {
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < length && isIdentifierByte(content[i])) {
+                i++;
+            }
+            byte first = content[start];
+            byte[][] candidates = first >= 0 ? namesByFirstByte[first] : null;
+            if (candidates != null) {
+                for (byte[] name : candidates) {
+                    if (Arrays.equals(content, start, i, name, 0, name.length)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isIdentifierByte(byte b) {
+        // bajty >= 0x80 to fragmenty znaków UTF-8, które mogą być częścią identyfikatora
+        return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || (b >= '0' && b <= '9')
+            || b == '_' || b == '$' || b < 0;
+    }
+}
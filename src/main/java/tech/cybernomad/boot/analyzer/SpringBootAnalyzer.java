@@ -2,15 +2,21 @@ package tech.cybernomad.boot.analyzer;
 
 import com.github.javaparser.JavaParser;
 import com.github.javaparser.ParseResult;
+import com.github.javaparser.ParserConfiguration;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.body.*;
-import com.github.javaparser.ast.expr.*;
-import com.github.javaparser.ast.nodeTypes.NodeWithAnnotations;
 import tech.cybernomad.boot.model.*;
+import tech.cybernomad.boot.rules.RuleSet;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 public class SpringBootAnalyzer {
@@ -21,7 +27,8 @@ public class SpringBootAnalyzer {
         "Entity", "Aspect", "ControllerAdvice", "RestControllerAdvice"
     );
 
-    private static final Map<String, BeanType> ANNOTATION_TO_TYPE = Map.ofEntries(
+    // Wspólne z BytecodeAnalyzer - oba silniki klasyfikują beany tak samo
+    static final Map<String, BeanType> ANNOTATION_TO_TYPE = Map.ofEntries(
         Map.entry("SpringBootApplication", BeanType.SPRING_APPLICATION),
         Map.entry("Configuration", BeanType.CONFIGURATION),
         Map.entry("Controller", BeanType.CONTROLLER),
@@ -35,245 +42,499 @@ public class SpringBootAnalyzer {
         Map.entry("RestControllerAdvice", BeanType.REST_CONTROLLER)
     );
 
-    private final JavaParser parser;
+    // Wszystko, na co reaguje ClassVisitor - plik bez żadnej z tych nazw nie zawiera beana
+    private static final SourcePrefilter PREFILTER = new SourcePrefilter(concat(SPRING_ANNOTATIONS,
+        Set.of("Scheduled", "EventListener", "TransactionalEventListener", "Bean")));
+
+    // JavaParser nie jest thread-safe - każdy wątek roboczy dostaje własną instancję
+    private final ThreadLocal<JavaParser> parser = ThreadLocal.withInitial(JavaParser::new);
+    private final ThreadLocal<JavaParser> shallowParser = ThreadLocal.withInitial(() -> new JavaParser(
+        new ParserConfiguration().setAttributeComments(false)));
     private final Path basePath;
+    private final int parallelism;
+    private Path cacheDirectory;
+    private boolean prefilterEnabled = true;
+    private boolean prefilterVerification;
+    private boolean shallowParsing = true;
+    private Duration timeLimit;
+    private AnalysisListener listener = AnalysisListener.NONE;
+    private RuleSet rules = RuleSet.NONE;
+    // Termin ustawiany na początku każdego analyze(); porównywany tylko w trakcie przebiegu z limitem czasu
+    private volatile boolean hasDeadline;
+    private volatile long deadline;
+    private volatile boolean cancelled;
+    private List<ModuleInfo> modules;
 
     public SpringBootAnalyzer(Path basePath) {
+        this(basePath, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param parallelism number of worker threads parsing files; values below 2 analyze on the calling thread
+     */
+    public SpringBootAnalyzer(Path basePath, int parallelism) {
         this.basePath = basePath;
-        this.parser = new JavaParser();
+        this.parallelism = Math.max(1, parallelism);
     }
 
+    public Path getBasePath() { return basePath; }
+
+    public int getParallelism() { return parallelism; }
+
+    public Path getCacheDirectory() { return cacheDirectory; }
+
+    /**
+     * Enables the incremental {@link AnalysisCache} stored in the given directory; {@code null} disables it.
+     */
+    public void setCacheDirectory(Path cacheDirectory) { this.cacheDirectory = cacheDirectory; }
+
+    public boolean isPrefilterEnabled() { return prefilterEnabled; }
+
+    /**
+     * Enables the {@link SourcePrefilter} that skips files which cannot contain a bean without parsing them.
+     */
+    public void setPrefilterEnabled(boolean prefilterEnabled) { this.prefilterEnabled = prefilterEnabled; }
+
+    public boolean isPrefilterVerification() { return prefilterVerification; }
+
+    /**
+     * Parses the files rejected by the prefilter anyway and counts every bean it would have dropped
+     * in {@link AnalysisStats#getPrefilterMisses()}. Such beans are still added to the result.
+     */
+    public void setPrefilterVerification(boolean prefilterVerification) { this.prefilterVerification = prefilterVerification; }
+
+    public boolean isShallowParsing() { return shallowParsing; }
+
+    /**
+     * Shallow mode parses only declarations: member bodies are removed by {@link BodyStripper}
+     * and comment attribution is disabled. Files the shallow parse rejects fall back to a full
+     * parse; {@code false} always parses the complete source.
+     */
+    public void setShallowParsing(boolean shallowParsing) { this.shallowParsing = shallowParsing; }
+
+    public Duration getTimeLimit() { return timeLimit; }
+
+    /**
+     * Limits how long {@link #analyze()} may run. When the limit is reached no further files are
+     * analyzed and the result is marked {@linkplain AnalysisStats#isPartial() partial}.
+     */
+    public void setTimeLimit(Duration timeLimit) { this.timeLimit = timeLimit; }
+
+    public AnalysisListener getListener() { return listener; }
+
+    /**
+     * Receives phase timings and file outcomes of every run, e.g. for metrics. Default: none.
+     */
+    public void setListener(AnalysisListener listener) { this.listener = listener; }
+
+    public RuleSet getRules() { return rules; }
+
+    /**
+     * Class-level rules run on every bean right after it is extracted; their findings are stored with the
+     * class. Default: none.
+     */
+    public void setRules(RuleSet rules) { this.rules = rules; }
+
+    /**
+     * Stops a running analysis as soon as the files already being parsed are done.
+     * The analysis returns what it has collected so far, marked as partial.
+     */
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    public boolean isCancelled() { return cancelled; }
+
     public ProjectInfo analyze() throws IOException {
+        return analyze(new AnalysisStats());
+    }
+
+    /**
+     * @param stats progress counters, updated while the analysis runs and attached to the result
+     */
+    public ProjectInfo analyze(AnalysisStats stats) throws IOException {
+        long start = System.nanoTime();
         ProjectInfo project = new ProjectInfo();
         project.setBasePath(basePath);
         project.setProjectName(basePath.getFileName().toString());
+        project.setAnalysisStats(stats);
+        if (timeLimit != null) {
+            deadline = System.nanoTime() + timeLimit.toNanos();
+        }
+        hasDeadline = timeLimit != null;
 
-        Path srcMain = findSourceRoot();
-        if (srcMain == null) {
-            System.err.println("Could not find src/main/java directory");
-            return project;
+        List<ModuleInfo> modules = findModules();
+        modules.forEach(project::addModule);
+
+        Symbols symbols = new Symbols();
+        long cacheStart = System.nanoTime();
+        AnalysisCache cache = cacheDirectory != null
+            ? AnalysisCache.open(cacheDirectory, basePath, rules.getKey(), symbols) : null;
+        listener.phaseCompleted(AnalysisListener.Phase.CACHE, System.nanoTime() - cacheStart);
+        try {
+            analyzeModules(modules, stats, cache, symbols, project::addClass);
+        } finally {
+            // Limit dotyczy tylko tego przebiegu, nie plików analizowanych później pojedynczo
+            hasDeadline = false;
         }
 
-        try (Stream<Path> paths = Files.walk(srcMain)) {
-            paths.filter(p -> p.toString().endsWith(".java"))
-                 .forEach(path -> analyzeFile(path, project));
+        // Częściowy wynik nie zna wszystkich plików - zapis usunąłby z cache te nieodwiedzone
+        if (cache != null && !stats.isPartial()) {
+            cacheStart = System.nanoTime();
+            try {
+                cache.save();
+            } catch (IOException e) {
+                System.err.println("Could not write analysis cache - " + e.getMessage());
+            }
+            listener.phaseCompleted(AnalysisListener.Phase.CACHE, System.nanoTime() - cacheStart);
         }
 
+        stats.finished(System.nanoTime() - start);
+        listener.analysisCompleted(stats);
         return project;
     }
 
-    private Path findSourceRoot() {
-        Path srcMainJava = basePath.resolve("src/main/java");
-        if (Files.exists(srcMainJava)) {
-            return srcMainJava;
+    /**
+     * Analyzes one module again and returns a copy of the project in which only that module's beans
+     * were replaced. The other modules' classes are shared with {@code project}, which is not modified.
+     *
+     * @throws IllegalArgumentException if the project has no module of that name
+     */
+    public ProjectInfo reanalyzeModule(ProjectInfo project, String moduleName) throws IOException {
+        ModuleInfo module = project.getModule(moduleName);
+        if (module == null) {
+            throw new IllegalArgumentException("Unknown module: " + moduleName);
         }
-        // Try to find any java files
-        try (Stream<Path> paths = Files.walk(basePath, 3)) {
-            return paths.filter(p -> p.toString().endsWith("src/main/java"))
-                       .findFirst()
-                       .orElse(basePath);
-        } catch (IOException e) {
-            return basePath;
+        List<ClassInfo> classes = new ArrayList<>();
+        // Bez cache na dysku - zapis z jednego modułu usunąłby wpisy pozostałych
+        analyzeModules(List.of(module), new AnalysisStats(), null, new Symbols(), classes::add);
+
+        ProjectInfo copy = new ProjectInfo();
+        copy.setBasePath(project.getBasePath());
+        copy.setProjectName(project.getProjectName());
+        copy.setAnalysisStats(project.getAnalysisStats());
+        for (ModuleInfo m : project.getModules()) {
+            copy.addModule(new ModuleInfo(m.getName(), m.getDirectory(), m.getSourceRoots()));
         }
-    }
-
-    private void analyzeFile(Path filePath, ProjectInfo project) {
-        try {
-            ParseResult<CompilationUnit> result = parser.parse(filePath);
-            if (result.isSuccessful() && result.getResult().isPresent()) {
-                CompilationUnit cu = result.getResult().get();
-                analyzeCompilationUnit(cu, filePath, project);
+        for (ClassInfo cls : project.getAllClasses()) {
+            if (!moduleName.equals(cls.getModule())) {
+                copy.addClass(cls);
             }
-        } catch (IOException e) {
-            System.err.println("Error parsing: " + filePath + " - " + e.getMessage());
         }
+        classes.forEach(copy::addClass);
+        return copy;
     }
 
-    private void analyzeCompilationUnit(CompilationUnit cu, Path filePath, ProjectInfo project) {
-        String packageName = cu.getPackageDeclaration()
-            .map(pd -> pd.getNameAsString())
-            .orElse("");
-
-        for (TypeDeclaration<?> type : cu.getTypes()) {
-            if (type instanceof ClassOrInterfaceDeclaration) {
-                ClassOrInterfaceDeclaration classDecl = (ClassOrInterfaceDeclaration) type;
-                if (!classDecl.isInterface()) {
-                    ClassInfo classInfo = analyzeClass(classDecl, packageName, filePath);
-                    if (classInfo.getBeanType() != BeanType.UNKNOWN) {
-                        project.addClass(classInfo);
+    /**
+     * Files of all modules go through one pool: a module's files are already being parsed while the
+     * next module is walked, and large and small modules share the workers evenly.
+     */
+    private void analyzeModules(List<ModuleInfo> modules, AnalysisStats stats, AnalysisCache cache, Symbols symbols,
+                                Consumer<ClassInfo> sink) throws IOException {
+        if (parallelism == 1) {
+            for (ModuleInfo module : modules) {
+                for (Path root : module.getSourceRoots()) {
+                    try (Stream<Path> paths = Files.walk(root)) {
+                        TimedIterator files = new TimedIterator(paths.filter(p -> p.toString().endsWith(".java")).iterator());
+                        while (files.hasNext() && !checkStopped(stats)) {
+                            Path path = files.next();
+                            stats.fileDiscovered();
+                            assign(module, analyzeFile(path, stats, cache, symbols)).forEach(sink);
+                        }
+                        listener.phaseCompleted(AnalysisListener.Phase.WALK, files.nanos);
                     }
                 }
             }
+        } else {
+            analyzeParallel(modules, stats, cache, symbols, sink);
         }
     }
 
-    private ClassInfo analyzeClass(ClassOrInterfaceDeclaration classDecl, String packageName, Path filePath) {
-        ClassInfo info = new ClassInfo();
-        info.setClassName(classDecl.getNameAsString());
-        info.setPackageName(packageName);
-        info.setFullName(packageName + "." + classDecl.getNameAsString());
-        info.setFilePath(filePath);
-        info.setLineNumber(classDecl.getBegin().map(p -> p.line).orElse(1));
-
-        // Analyze parent class
-        classDecl.getExtendedTypes().stream()
-            .findFirst()
-            .ifPresent(ext -> info.setParentClass(ext.getNameAsString()));
-
-        // Analyze interfaces
-        classDecl.getImplementedTypes()
-            .forEach(impl -> info.addInterface(impl.getNameAsString()));
-
-        // Analyze annotations
-        BeanType determinedType = BeanType.UNKNOWN;
-        for (AnnotationExpr annotation : classDecl.getAnnotations()) {
-            String annotationName = annotation.getNameAsString();
-            info.addAnnotation(annotationName);
-
-            // Determine bean type
-            if (ANNOTATION_TO_TYPE.containsKey(annotationName)) {
-                determinedType = ANNOTATION_TO_TYPE.get(annotationName);
-            }
-
-            // Check for scope
-            if ("Scope".equals(annotationName)) {
-                extractScope(annotation, info);
+    /**
+     * Files are handed to the workers in walk order through a bounded queue (the walking thread
+     * parses itself when the queue is full), and results are collected in the same order, so the
+     * resulting {@link ProjectInfo} is identical to a sequential run.
+     */
+    private void analyzeParallel(List<ModuleInfo> modules, AnalysisStats stats, AnalysisCache cache, Symbols symbols,
+                                 Consumer<ClassInfo> sink) throws IOException {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(parallelism * 4),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+        List<Future<List<ClassInfo>>> results = new ArrayList<>();
+        try {
+            for (ModuleInfo module : modules) {
+                for (Path root : module.getSourceRoots()) {
+                    try (Stream<Path> paths = Files.walk(root)) {
+                        TimedIterator files = new TimedIterator(paths.filter(p -> p.toString().endsWith(".java")).iterator());
+                        while (files.hasNext() && !checkStopped(stats)) {
+                            Path path = files.next();
+                            stats.fileDiscovered();
+                            results.add(executor.submit(() -> assign(module, analyzeFile(path, stats, cache, symbols))));
+                        }
+                        listener.phaseCompleted(AnalysisListener.Phase.WALK, files.nanos);
+                    }
+                }
             }
-
-            // Check for request mappings
-            if (annotationName.contains("Mapping") || "RequestMapping".equals(annotationName)) {
-                extractMapping(annotation, info);
+            for (Future<List<ClassInfo>> result : results) {
+                result.get().forEach(sink);
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Analysis interrupted");
+        } catch (ExecutionException e) {
+            throw new IOException("Analysis failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            executor.shutdownNow();
         }
+    }
 
-        info.setBeanType(determinedType);
+    /**
+     * The walk is lazy and advances inside {@code hasNext()}; the time spent there is the walk time,
+     * without the parsing that happens between the calls.
+     */
+    private static final class TimedIterator implements Iterator<Path> {
+        private final Iterator<Path> files;
+        private long nanos;
 
-        // Analyze fields for @Autowired dependencies
-        analyzeFields(classDecl, info);
+        TimedIterator(Iterator<Path> files) {
+            this.files = files;
+        }
 
-        // Analyze methods for @Bean definitions (in @Configuration classes)
-        if (determinedType == BeanType.CONFIGURATION) {
-            analyzeBeanMethods(classDecl, info);
+        @Override
+        public boolean hasNext() {
+            long start = System.nanoTime();
+            boolean hasNext = files.hasNext();
+            nanos += System.nanoTime() - start;
+            return hasNext;
         }
 
-        // Check for @Scheduled methods
-        analyzeScheduledMethods(classDecl, info);
+        @Override
+        public Path next() {
+            return files.next();
+        }
+    }
 
-        // Check for @EventListener methods
-        analyzeEventListenerMethods(classDecl, info);
+    private static List<ClassInfo> assign(ModuleInfo module, List<ClassInfo> classes) {
+        for (ClassInfo cls : classes) {
+            cls.setModule(module.getName());
+        }
+        return classes;
+    }
 
-        return info;
+    private boolean checkStopped(AnalysisStats stats) {
+        if (cancelled || hasDeadline && System.nanoTime() - deadline > 0) {
+            stats.markPartial();
+            return true;
+        }
+        return false;
     }
 
-    private void extractScope(AnnotationExpr annotation, ClassInfo info) {
-        if (annotation instanceof SingleMemberAnnotationExpr) {
-            SingleMemberAnnotationExpr sma = (SingleMemberAnnotationExpr) annotation;
-            String value = sma.getMemberValue().toString().replace("\"", "");
-            info.setScope(value.toLowerCase());
-        } else if (annotation instanceof NormalAnnotationExpr) {
-            NormalAnnotationExpr na = (NormalAnnotationExpr) annotation;
-            na.getPairs().stream()
-                .filter(p -> "value".equals(p.getNameAsString()))
-                .findFirst()
-                .ifPresent(p -> info.setScope(p.getValue().toString().replace("\"", "").toLowerCase()));
+    /**
+     * The project's modules as found by {@link ModuleDiscovery}; discovered once per analyzer.
+     */
+    public List<ModuleInfo> findModules() {
+        if (modules == null) {
+            modules = ModuleDiscovery.discover(basePath);
         }
+        return modules;
     }
 
-    private void extractMapping(AnnotationExpr annotation, ClassInfo info) {
-        if (annotation instanceof SingleMemberAnnotationExpr) {
-            SingleMemberAnnotationExpr sma = (SingleMemberAnnotationExpr) annotation;
-            info.addMapping(cleanMappingValue(sma.getMemberValue().toString()));
-        } else if (annotation instanceof NormalAnnotationExpr) {
-            NormalAnnotationExpr na = (NormalAnnotationExpr) annotation;
-            na.getPairs().stream()
-                .filter(p -> "value".equals(p.getNameAsString()) || "path".equals(p.getNameAsString()))
-                .findFirst()
-                .ifPresent(p -> info.addMapping(cleanMappingValue(p.getValue().toString())));
-        } else if (annotation instanceof MarkerAnnotationExpr) {
-            // No value specified, just the annotation name
-            info.addMapping("/");
+    public List<Path> findSourceRoots() {
+        List<Path> roots = new ArrayList<>();
+        for (ModuleInfo module : findModules()) {
+            roots.addAll(module.getSourceRoots());
         }
+        return roots;
     }
 
-    private String cleanMappingValue(String value) {
-        return value.replace("\"", "").replace("{", "").replace("}", "");
+    /**
+     * Analyzes a single source file outside of a full run, e.g. after it changed on disk.
+     * The incremental cache is not consulted, and the classes get symbol tables of their own.
+     */
+    public List<ClassInfo> analyzeFile(Path filePath) {
+        return analyzeFile(filePath, new Symbols());
     }
 
-    private void analyzeFields(ClassOrInterfaceDeclaration classDecl, ClassInfo info) {
-        for (FieldDeclaration field : classDecl.getFields()) {
-            boolean isAutowired = hasAnnotation(field, "Autowired", "Inject", "Resource");
-            if (isAutowired) {
-                field.getVariables().forEach(v -> {
-                    String type = field.getElementType().asString();
-                    info.addDependency(type);
-                });
-            }
-        }
+    /**
+     * Same as {@link #analyzeFile(Path)}, interning into {@code symbols}; callers that analyze many single
+     * files, like the watcher, pass the same tables every time so that the names are stored once.
+     */
+    public List<ClassInfo> analyzeFile(Path filePath, Symbols symbols) {
+        return analyzeFile(filePath, new AnalysisStats(), null, symbols);
+    }
 
-        // Also check constructor injection
-        for (ConstructorDeclaration ctor : classDecl.getConstructors()) {
-            if (hasAnnotation(ctor, "Autowired") || classDecl.getConstructors().size() == 1) {
-                ctor.getParameters().forEach(param -> {
-                    info.addDependency(param.getType().asString());
-                });
-            }
+    /**
+     * Analyzes source that was read from elsewhere, e.g. the file at another git revision; {@code filePath}
+     * is only recorded in the result. Unparseable source yields no beans. Like {@link #analyzeFile(Path)}, the
+     * classes get symbol tables of their own.
+     */
+    public List<ClassInfo> analyzeContent(byte[] content, Path filePath) {
+        return analyzeContent(content, filePath, new Symbols());
+    }
+
+    /**
+     * Same as {@link #analyzeContent(byte[], Path)}, interning into {@code symbols}.
+     */
+    public List<ClassInfo> analyzeContent(byte[] content, Path filePath, Symbols symbols) {
+        if (prefilterEnabled && !PREFILTER.mayContainBean(content)) {
+            return List.of();
+        }
+        try {
+            return analyzeSource(content, filePath, null, symbols);
+        } catch (IOException e) {
+            return List.of();
         }
     }
 
-    private void analyzeBeanMethods(ClassOrInterfaceDeclaration classDecl, ClassInfo info) {
-        for (MethodDeclaration method : classDecl.getMethods()) {
-            if (hasAnnotation(method, "Bean")) {
-                MethodInfo methodInfo = new MethodInfo();
-                methodInfo.setName(method.getNameAsString());
-                methodInfo.setReturnType(method.getType().asString());
-                methodInfo.setLineNumber(method.getBegin().map(p -> p.line).orElse(1));
-
-                // Check for scope on bean method
-                method.getAnnotations().forEach(ann -> {
-                    methodInfo.addAnnotation(ann.getNameAsString());
-                    if ("Scope".equals(ann.getNameAsString())) {
-                        extractMethodScope(ann, methodInfo);
-                    }
-                    if (ann.getNameAsString().startsWith("ConditionalOn")) {
-                        methodInfo.addConditional(ann.toString());
-                    }
-                });
+    private List<ClassInfo> analyzeFile(Path filePath, AnalysisStats stats, AnalysisCache cache, Symbols symbols) {
+        if (checkStopped(stats)) {
+            return List.of();
+        }
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(filePath, BasicFileAttributes.class);
+            long modified = attrs.lastModifiedTime().toMillis();
+            if (cache != null) {
+                long lookupStart = System.nanoTime();
+                List<ClassInfo> cached = cache.lookup(filePath, attrs.size(), modified);
+                listener.phaseCompleted(AnalysisListener.Phase.CACHE, System.nanoTime() - lookupStart);
+                if (cached != null) {
+                    stats.fileCached();
+                    listener.fileCached(filePath);
+                    return cached;
+                }
+            }
 
-                info.addBeanMethod(methodInfo);
+            long start = System.nanoTime();
+            byte[] content = Files.readAllBytes(filePath);
+            listener.phaseCompleted(AnalysisListener.Phase.READ, System.nanoTime() - start);
+            List<ClassInfo> classes;
+            if (prefilterEnabled && !PREFILTER.mayContainBean(content)) {
+                stats.fileSkipped();
+                classes = prefilterVerification ? verifySkipped(content, filePath, stats, symbols) : List.of();
+                stats.fileTimed(filePath, content.length, System.nanoTime() - start);
+                listener.fileSkipped(filePath, content.length);
+            } else {
+                classes = analyzeSource(content, filePath, stats, symbols);
+                long nanos = System.nanoTime() - start;
+                stats.fileParsed();
+                stats.fileTimed(filePath, content.length, nanos);
+                listener.fileParsed(filePath, content.length, nanos);
+            }
+            if (cache != null) {
+                long storeStart = System.nanoTime();
+                cache.store(filePath, attrs.size(), modified, content, classes);
+                listener.phaseCompleted(AnalysisListener.Phase.CACHE, System.nanoTime() - storeStart);
             }
+            return classes;
+        } catch (IOException e) {
+            stats.fileFailed(filePath, e.getMessage());
+            listener.fileFailed(filePath, e.getMessage());
+            System.err.println("Error parsing: " + filePath + " - " + e.getMessage());
         }
+        return List.of();
     }
 
-    private void extractMethodScope(AnnotationExpr annotation, MethodInfo info) {
-        if (annotation instanceof SingleMemberAnnotationExpr) {
-            SingleMemberAnnotationExpr sma = (SingleMemberAnnotationExpr) annotation;
-            info.setScope(sma.getMemberValue().toString().replace("\"", "").toLowerCase());
+    private List<ClassInfo> verifySkipped(byte[] content, Path filePath, AnalysisStats stats, Symbols symbols) {
+        List<ClassInfo> classes;
+        try {
+            classes = analyzeSource(content, filePath, stats, symbols);
+        } catch (IOException e) {
+            return List.of();
+        }
+        for (ClassInfo cls : classes) {
+            stats.prefilterMiss();
+            System.err.println("Prefilter dropped bean: " + cls.getFullName() + " in " + filePath);
         }
+        return classes;
     }
 
-    private void analyzeScheduledMethods(ClassOrInterfaceDeclaration classDecl, ClassInfo info) {
-        for (MethodDeclaration method : classDecl.getMethods()) {
-            if (hasAnnotation(method, "Scheduled")) {
-                if (info.getBeanType() == BeanType.UNKNOWN || info.getBeanType() == BeanType.COMPONENT) {
-                    info.setBeanType(BeanType.SCHEDULED);
-                }
-            }
+    /**
+     * Returns the beans defined in the source.
+     *
+     * @param stats receives the time spent in the rules, {@code null} outside of a run
+     * @param symbols tables of the run the classes belong to
+     * @throws IOException if the source cannot be parsed; the message names the first problem
+     */
+    private List<ClassInfo> analyzeSource(byte[] content, Path filePath, AnalysisStats stats, Symbols symbols)
+            throws IOException {
+        long start = System.nanoTime();
+        String source = new String(content, StandardCharsets.UTF_8);
+        ParseResult<CompilationUnit> result = null;
+        if (shallowParsing) {
+            result = shallowParser.get().parse(BodyStripper.strip(source));
+        }
+        if (result == null || !result.isSuccessful()) {
+            result = parser.get().parse(source);
+        }
+        long parsed = System.nanoTime();
+        listener.phaseCompleted(AnalysisListener.Phase.PARSE, parsed - start);
+        if (!result.isSuccessful() || result.getResult().isEmpty()) {
+            throw new IOException(result.getProblems().isEmpty()
+                ? "Parse error" : "Parse error: " + result.getProblem(0).getVerboseMessage());
         }
+        List<ClassInfo> classes = analyzeCompilationUnit(result.getResult().get(), filePath, source, stats, symbols);
+        listener.phaseCompleted(AnalysisListener.Phase.ANALYZE, System.nanoTime() - parsed);
+        return classes;
+    }
+
+    public List<ClassInfo> analyzeCompilationUnit(CompilationUnit cu, Path filePath) {
+        return analyzeCompilationUnit(cu, filePath, null, new Symbols());
+    }
+
+    /**
+     * The classes get symbol tables of their own - the single file is an analysis run by itself.
+     *
+     * @param source the text {@code cu} was parsed from; rules that look into member bodies read it there
+     */
+    public List<ClassInfo> analyzeCompilationUnit(CompilationUnit cu, Path filePath, String source) {
+        return analyzeCompilationUnit(cu, filePath, source, new Symbols());
+    }
+
+    /**
+     * Same as {@link #analyzeCompilationUnit(CompilationUnit, Path, String)}, interning into {@code symbols}
+     * shared with other files of the same run.
+     */
+    public List<ClassInfo> analyzeCompilationUnit(CompilationUnit cu, Path filePath, String source, Symbols symbols) {
+        return analyzeCompilationUnit(cu, filePath, source, null, symbols);
     }
 
-    private void analyzeEventListenerMethods(ClassOrInterfaceDeclaration classDecl, ClassInfo info) {
-        for (MethodDeclaration method : classDecl.getMethods()) {
-            if (hasAnnotation(method, "EventListener", "TransactionalEventListener")) {
-                if (info.getBeanType() == BeanType.UNKNOWN || info.getBeanType() == BeanType.COMPONENT) {
-                    info.setBeanType(BeanType.EVENT_LISTENER);
+    private List<ClassInfo> analyzeCompilationUnit(CompilationUnit cu, Path filePath, String source, AnalysisStats stats,
+                                                   Symbols symbols) {
+        List<ClassInfo> classes = new ArrayList<>();
+        long ruleNanos = 0;
+        String packageName = cu.getPackageDeclaration()
+            .map(pd -> pd.getNameAsString())
+            .orElse("");
+
+        for (TypeDeclaration<?> type : cu.getTypes()) {
+            if (type instanceof ClassOrInterfaceDeclaration) {
+                ClassOrInterfaceDeclaration classDecl = (ClassOrInterfaceDeclaration) type;
+                if (!classDecl.isInterface()) {
+                    ClassInfo classInfo = ClassVisitor.analyze(classDecl, packageName, basePath, filePath, symbols);
+                    if (classInfo.getBeanType() != BeanType.UNKNOWN) {
+                        if (!rules.isEmpty()) {
+                            long start = System.nanoTime();
+                            rules.checkClass(classDecl, classInfo, source);
+                            ruleNanos += System.nanoTime() - start;
+                        }
+                        classes.add(classInfo);
+                    }
                 }
             }
         }
+        if (ruleNanos > 0) {
+            listener.phaseCompleted(AnalysisListener.Phase.RULES, ruleNanos);
+            if (stats != null) {
+                stats.rulesTimed(ruleNanos);
+            }
+        }
+        return classes;
     }
 
-    private boolean hasAnnotation(NodeWithAnnotations<?> node, String... annotationNames) {
-        Set<String> names = Set.of(annotationNames);
-        return node.getAnnotations().stream()
-            .anyMatch(a -> names.contains(a.getNameAsString()));
+    private static Set<String> concat(Set<String> a, Set<String> b) {
+        Set<String> result = new HashSet<>(a);
+        result.addAll(b);
+        return result;
     }
 }
@@ -0,0 +1,149 @@
+package tech.cybernomad.boot.bytecode;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The parts of a class file the analyzer needs: names, access flags, generic signatures, runtime-visible
+ * annotations and the first source line of each method. Read by {@link ClassFileReader}.
+ * <p>
+ * Names are in internal form ({@code com/example/Foo}); types are descriptors or, where present, generic
+ * signatures. {@link TypeSignatures} turns both into Java source notation.
+ */
+public class ClassFile {
+
+    public static final int ACC_PUBLIC = 0x0001;
+    public static final int ACC_STATIC = 0x0008;
+    public static final int ACC_INTERFACE = 0x0200;
+    public static final int ACC_ABSTRACT = 0x0400;
+    public static final int ACC_SYNTHETIC = 0x1000;
+    public static final int ACC_ANNOTATION = 0x2000;
+    public static final int ACC_ENUM = 0x4000;
+    public static final int ACC_MODULE = 0x8000;
+
+    private final int accessFlags;
+    private final String name;
+    private final String superName;
+    private final List<String> interfaces;
+    private final String signature;
+    private final List<Annotation> annotations;
+    private final List<Member> fields;
+    private final List<Member> methods;
+
+    ClassFile(int accessFlags, String name, String superName, List<String> interfaces, String signature,
+              List<Annotation> annotations, List<Member> fields, List<Member> methods) {
+        this.accessFlags = accessFlags;
+        this.name = name;
+        this.superName = superName;
+        this.interfaces = interfaces;
+        this.signature = signature;
+        this.annotations = annotations;
+        this.fields = fields;
+        this.methods = methods;
+    }
+
+    public int getAccessFlags() { return accessFlags; }
+    public boolean is(int flag) { return (accessFlags & flag) != 0; }
+
+    /**
+     * Internal name, e.g. {@code com/example/Foo}.
+     */
+    public String getName() { return name; }
+
+    /**
+     * Internal name of the superclass; {@code null} only for {@code java.lang.Object}.
+     */
+    public String getSuperName() { return superName; }
+    public List<String> getInterfaces() { return interfaces; }
+
+    /**
+     * Generic signature of the class, or {@code null} if it is not generic.
+     */
+    public String getSignature() { return signature; }
+    public List<Annotation> getAnnotations() { return annotations; }
+    public List<Member> getFields() { return fields; }
+    public List<Member> getMethods() { return methods; }
+
+    /**
+     * A field or method.
+     */
+    public static class Member {
+        private final int accessFlags;
+        private final String name;
+        private final String descriptor;
+        private final String signature;
+        private final List<Annotation> annotations;
+        private final int line;
+
+        Member(int accessFlags, String name, String descriptor, String signature, List<Annotation> annotations, int line) {
+            this.accessFlags = accessFlags;
+            this.name = name;
+            this.descriptor = descriptor;
+            this.signature = signature;
+            this.annotations = annotations;
+            this.line = line;
+        }
+
+        public int getAccessFlags() { return accessFlags; }
+        public boolean is(int flag) { return (accessFlags & flag) != 0; }
+        public String getName() { return name; }
+        public String getDescriptor() { return descriptor; }
+
+        /**
+         * Generic signature, or {@code null} when the descriptor says it all.
+         */
+        public String getSignature() { return signature; }
+        public List<Annotation> getAnnotations() { return annotations; }
+
+        /**
+         * Lowest line of the method's code in its {@code LineNumberTable}; 0 for fields, abstract methods
+         * and classes compiled without debug information.
+         */
+        public int getLine() { return line; }
+
+        public boolean isConstructor() { return "<init>".equals(name); }
+
+        public boolean hasAnnotation(String simpleName) {
+            for (Annotation annotation : annotations) {
+                if (annotation.getSimpleName().equals(simpleName)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * A runtime-visible annotation. Element values are {@link String}, boxed primitives, {@link EnumValue},
+     * {@link ClassValue}, nested {@link Annotation}s or {@link List}s of these, in declaration order.
+     */
+    public static class Annotation {
+        private final String descriptor;
+        private final Map<String, Object> values;
+
+        Annotation(String descriptor, Map<String, Object> values) {
+            this.descriptor = descriptor;
+            this.values = values;
+        }
+
+        /**
+         * Type descriptor, e.g. {@code Lorg/springframework/stereotype/Service;}.
+         */
+        public String getDescriptor() { return descriptor; }
+
+        /**
+         * Annotation type name as written in source without imports, e.g. {@code Service}.
+         */
+        public String getSimpleName() { return TypeSignatures.simpleName(TypeSignatures.descriptorToType(descriptor)); }
+
+        public Map<String, Object> getValues() { return values; }
+
+        public Object getValue(String name) { return values.get(name); }
+    }
+
+    public record EnumValue(String typeDescriptor, String constant) {
+    }
+
+    public record ClassValue(String descriptor) {
+    }
+}
@@ -0,0 +1,273 @@
+package tech.cybernomad.boot.bytecode;
+
+import tech.cybernomad.boot.bytecode.ClassFile.Annotation;
+import tech.cybernomad.boot.bytecode.ClassFile.ClassValue;
+import tech.cybernomad.boot.bytecode.ClassFile.EnumValue;
+import tech.cybernomad.boot.bytecode.ClassFile.Member;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Minimal class file reader (JVMS chapter 4). The constant pool is indexed in one pass and its UTF-8
+ * entries are decoded only when referenced; of the attributes only {@code RuntimeVisibleAnnotations},
+ * {@code Signature} and the {@code LineNumberTable} inside {@code Code} are read, everything else is skipped
+ * by its length. Method bodies are never decoded.
+ */
+public final class ClassFileReader {
+
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private static final int UTF8 = 1;
+    private static final int INTEGER = 3;
+    private static final int FLOAT = 4;
+    private static final int LONG = 5;
+    private static final int DOUBLE = 6;
+    private static final int CLASS = 7;
+    private static final int STRING = 8;
+    private static final int FIELD_REF = 9;
+    private static final int METHOD_REF = 10;
+    private static final int INTERFACE_METHOD_REF = 11;
+    private static final int NAME_AND_TYPE = 12;
+    private static final int METHOD_HANDLE = 15;
+    private static final int METHOD_TYPE = 16;
+    private static final int DYNAMIC = 17;
+    private static final int INVOKE_DYNAMIC = 18;
+    private static final int MODULE = 19;
+    private static final int PACKAGE = 20;
+
+    private final byte[] data;
+    private final int[] offsets; // początek wpisu puli stałych (za znacznikiem)
+    private final String[] strings;
+    private int position;
+
+    private ClassFileReader(byte[] data) throws IOException {
+        this.data = data;
+        if (data.length < 10 || readInt(0) != MAGIC) {
+            throw new IOException("Not a class file");
+        }
+        int count = readUnsignedShort(8);
+        this.offsets = new int[count];
+        this.strings = new String[count];
+        position = 10;
+        for (int i = 1; i < count; i++) {
+            int tag = data[position++] & 0xFF;
+            offsets[i] = position;
+            switch (tag) {
+                case UTF8 -> position += 2 + readUnsignedShort(position);
+                case INTEGER, FLOAT, FIELD_REF, METHOD_REF, INTERFACE_METHOD_REF, NAME_AND_TYPE, DYNAMIC,
+                     INVOKE_DYNAMIC -> position += 4;
+                case LONG, DOUBLE -> {
+                    position += 8;
+                    i++; // zajmują dwa miejsca w puli
+                }
+                case CLASS, STRING, METHOD_TYPE, MODULE, PACKAGE -> position += 2;
+                case METHOD_HANDLE -> position += 3;
+                default -> throw new IOException("Unknown constant pool tag " + tag + " at " + (position - 1));
+            }
+        }
+    }
+
+    /**
+     * @throws IOException if the data is not a well-formed class file
+     */
+    public static ClassFile read(byte[] data) throws IOException {
+        try {
+            return new ClassFileReader(data).readClass();
+        } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Malformed class file: " + e, e);
+        }
+    }
+
+    private ClassFile readClass() {
+        int access = u2();
+        String name = className(u2());
+        int superIndex = u2();
+        String superName = superIndex == 0 ? null : className(superIndex);
+        int interfaceCount = u2();
+        List<String> interfaces = new ArrayList<>(interfaceCount);
+        for (int i = 0; i < interfaceCount; i++) {
+            interfaces.add(className(u2()));
+        }
+        List<Member> fields = readMembers();
+        List<Member> methods = readMembers();
+
+        String signature = null;
+        List<Annotation> annotations = List.of();
+        int attributes = u2();
+        for (int i = 0; i < attributes; i++) {
+            String attribute = utf8(u2());
+            int length = u4();
+            int end = position + length;
+            if ("RuntimeVisibleAnnotations".equals(attribute)) {
+                annotations = readAnnotations();
+            } else if ("Signature".equals(attribute)) {
+                signature = utf8(u2());
+            }
+            position = end;
+        }
+        return new ClassFile(access, name, superName, interfaces, signature, annotations, fields, methods);
+    }
+
+    private List<Member> readMembers() {
+        int count = u2();
+        List<Member> members = new ArrayList<>(count);
+        for (int m = 0; m < count; m++) {
+            int access = u2();
+            String name = utf8(u2());
+            String descriptor = utf8(u2());
+            String signature = null;
+            List<Annotation> annotations = List.of();
+            int line = 0;
+            int attributes = u2();
+            for (int i = 0; i < attributes; i++) {
+                String attribute = utf8(u2());
+                int length = u4();
+                int end = position + length;
+                switch (attribute) {
+                    case "RuntimeVisibleAnnotations" -> annotations = readAnnotations();
+                    case "Signature" -> signature = utf8(u2());
+                    case "Code" -> line = readFirstLine();
+                    default -> { }
+                }
+                position = end;
+            }
+            members.add(new Member(access, name, descriptor, signature, annotations, line));
+        }
+        return members;
+    }
+
+    // Code: max_stack, max_locals, kod, tablica wyjątków, atrybuty - z nich tylko LineNumberTable
+    private int readFirstLine() {
+        position += 4;
+        int codeLength = u4();
+        position += codeLength;
+        int exceptions = u2();
+        position += 8 * exceptions;
+        int first = 0;
+        int attributes = u2();
+        for (int i = 0; i < attributes; i++) {
+            String attribute = utf8(u2());
+            int length = u4();
+            int end = position + length;
+            if ("LineNumberTable".equals(attribute)) {
+                int entries = u2();
+                for (int e = 0; e < entries; e++) {
+                    position += 2;
+                    int line = u2();
+                    if (first == 0 || line < first) {
+                        first = line;
+                    }
+                }
+            }
+            position = end;
+        }
+        return first;
+    }
+
+    private List<Annotation> readAnnotations() {
+        int count = u2();
+        List<Annotation> annotations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            annotations.add(readAnnotation());
+        }
+        return annotations;
+    }
+
+    private Annotation readAnnotation() {
+        String descriptor = utf8(u2());
+        int pairs = u2();
+        Map<String, Object> values = pairs == 0 ? Map.of() : new LinkedHashMap<>();
+        for (int i = 0; i < pairs; i++) {
+            String name = utf8(u2());
+            values.put(name, readElementValue());
+        }
+        return new Annotation(descriptor, values);
+    }
+
+    private Object readElementValue() {
+        char tag = (char) (data[position++] & 0xFF);
+        switch (tag) {
+            case 'B': return (byte) readInt(offsets[u2()]);
+            case 'C': return (char) readInt(offsets[u2()]);
+            case 'S': return (short) readInt(offsets[u2()]);
+            case 'Z': return readInt(offsets[u2()]) != 0;
+            case 'I': return readInt(offsets[u2()]);
+            case 'F': return Float.intBitsToFloat(readInt(offsets[u2()]));
+            case 'J': return readLong(offsets[u2()]);
+            case 'D': return Double.longBitsToDouble(readLong(offsets[u2()]));
+            case 's': return utf8(u2());
+            case 'e': return new EnumValue(utf8(u2()), utf8(u2()));
+            case 'c': return new ClassValue(utf8(u2()));
+            case '@': return readAnnotation();
+            case '[': {
+                int count = u2();
+                List<Object> values = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    values.add(readElementValue());
+                }
+                return values;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown element value tag '" + tag + "'");
+        }
+    }
+
+    private String className(int index) {
+        return utf8(readUnsignedShort(offsets[index]));
+    }
+
+    private String utf8(int index) {
+        String value = strings[index];
+        if (value == null) {
+            int offset = offsets[index];
+            value = decodeUtf8(offset + 2, readUnsignedShort(offset));
+            strings[index] = value;
+        }
+        return value;
+    }
+
+    // "Modified UTF-8" z JVMS 4.4.7: bez bajtów zerowych, znaki spoza BMP jako pary surogatów po 3 bajty
+    private String decodeUtf8(int offset, int length) {
+        char[] chars = new char[length];
+        int count = 0;
+        int i = offset;
+        int end = offset + length;
+        while (i < end) {
+            int b = data[i++] & 0xFF;
+            if (b < 0x80) {
+                chars[count++] = (char) b;
+            } else if ((b & 0xE0) == 0xC0) {
+                chars[count++] = (char) (((b & 0x1F) << 6) | (data[i++] & 0x3F));
+            } else {
+                chars[count++] = (char) (((b & 0x0F) << 12) | ((data[i++] & 0x3F) << 6) | (data[i++] & 0x3F));
+            }
+        }
+        return new String(chars, 0, count);
+    }
+
+    private int u2() {
+        int value = readUnsignedShort(position);
+        position += 2;
+        return value;
+    }
+
+    private int u4() {
+        int value = readInt(position);
+        position += 4;
+        return value;
+    }
+
+    private int readUnsignedShort(int offset) {
+        return ((data[offset] & 0xFF) << 8) | (data[offset + 1] & 0xFF);
+    }
+
+    private int readInt(int offset) {
+        return ((data[offset] & 0xFF) << 24) | ((data[offset + 1] & 0xFF) << 16)
+            | ((data[offset + 2] & 0xFF) << 8) | (data[offset + 3] & 0xFF);
+    }
+
+    private long readLong(int offset) {
+        return ((long) readInt(offset) << 32) | (readInt(offset + 4) & 0xFFFFFFFFL);
+    }
+}
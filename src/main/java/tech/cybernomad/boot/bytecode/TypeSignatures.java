@@ -0,0 +1,164 @@
+package tech.cybernomad.boot.bytecode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts JVM descriptors and generic signatures to Java source notation with fully qualified names:
+ * {@code Ljava/util/List<Lcom/example/Foo;>;} becomes {@code java.util.List<com.example.Foo>}.
+ * Nested classes use dots ({@code Outer.Inner}), as they are written in source.
+ */
+public final class TypeSignatures {
+
+    private TypeSignatures() {
+    }
+
+    public static String internalToType(String internalName) {
+        return internalName.replace('/', '.').replace('$', '.');
+    }
+
+    /**
+     * Type of a field descriptor or field signature.
+     */
+    public static String descriptorToType(String descriptor) {
+        StringBuilder out = new StringBuilder();
+        parseType(descriptor, 0, out);
+        return out.toString();
+    }
+
+    /**
+     * Parameter types of a method descriptor or method signature; type parameters are skipped.
+     */
+    public static List<String> parameterTypes(String methodDescriptor) {
+        int i = skipTypeParameters(methodDescriptor, 0);
+        List<String> types = new ArrayList<>();
+        i++; // '('
+        while (methodDescriptor.charAt(i) != ')') {
+            StringBuilder out = new StringBuilder();
+            i = parseType(methodDescriptor, i, out);
+            types.add(out.toString());
+        }
+        return types;
+    }
+
+    /**
+     * Return type of a method descriptor or method signature.
+     */
+    public static String returnType(String methodDescriptor) {
+        int i = skipTypeParameters(methodDescriptor, 0);
+        // Typy w deskryptorach i sygnaturach nie zawierają nawiasów, więc pierwszy ')' zamyka parametry
+        i = methodDescriptor.indexOf(')', i) + 1;
+        StringBuilder out = new StringBuilder();
+        parseType(methodDescriptor, i, out);
+        return out.toString();
+    }
+
+    /**
+     * Superclass and interfaces of a class signature, superclass first.
+     */
+    public static List<String> superTypes(String classSignature) {
+        int i = skipTypeParameters(classSignature, 0);
+        List<String> types = new ArrayList<>();
+        while (i < classSignature.length()) {
+            StringBuilder out = new StringBuilder();
+            i = parseType(classSignature, i, out);
+            types.add(out.toString());
+        }
+        return types;
+    }
+
+    /**
+     * {@code com.example.Repo<User>} becomes {@code Repo<User>}.
+     */
+    public static String simpleName(String type) {
+        int open = type.indexOf('<');
+        int dot = type.lastIndexOf('.', open < 0 ? type.length() : open);
+        return dot < 0 ? type : type.substring(dot + 1);
+    }
+
+    private static int skipTypeParameters(String signature, int i) {
+        if (signature.charAt(i) != '<') {
+            return i;
+        }
+        int depth = 0;
+        do {
+            char c = signature.charAt(i++);
+            if (c == '<') depth++;
+            else if (c == '>') depth--;
+        } while (depth > 0);
+        return i;
+    }
+
+    private static int parseType(String s, int i, StringBuilder out) {
+        char c = s.charAt(i);
+        switch (c) {
+            case 'B': out.append("byte"); return i + 1;
+            case 'C': out.append("char"); return i + 1;
+            case 'D': out.append("double"); return i + 1;
+            case 'F': out.append("float"); return i + 1;
+            case 'I': out.append("int"); return i + 1;
+            case 'J': out.append("long"); return i + 1;
+            case 'S': out.append("short"); return i + 1;
+            case 'Z': out.append("boolean"); return i + 1;
+            case 'V': out.append("void"); return i + 1;
+            case '[': {
+                int next = parseType(s, i + 1, out);
+                out.append("[]");
+                return next;
+            }
+            case 'T': {
+                int end = s.indexOf(';', i);
+                out.append(s, i + 1, end);
+                return end + 1;
+            }
+            case 'L':
+                return parseClassType(s, i + 1, out);
+            default:
+                throw new IllegalArgumentException("Bad signature at " + i + ": " + s);
+        }
+    }
+
+    private static int parseClassType(String s, int i, StringBuilder out) {
+        while (true) {
+            char c = s.charAt(i);
+            if (c == ';') {
+                return i + 1;
+            }
+            if (c == '<') {
+                out.append('<');
+                i = parseTypeArguments(s, i + 1, out);
+                out.append('>');
+            } else if (c == '/' || c == '$' || c == '.') {
+                out.append('.');
+                i++;
+            } else {
+                out.append(c);
+                i++;
+            }
+        }
+    }
+
+    private static int parseTypeArguments(String s, int i, StringBuilder out) {
+        boolean first = true;
+        while (s.charAt(i) != '>') {
+            if (!first) {
+                out.append(", ");
+            }
+            first = false;
+            char c = s.charAt(i);
+            if (c == '*') {
+                out.append('?');
+                i++;
+            } else if (c == '+') {
+                out.append("? extends ");
+                i = parseType(s, i + 1, out);
+            } else if (c == '-') {
+                out.append("? super ");
+                i = parseType(s, i + 1, out);
+            } else {
+                i = parseType(s, i, out);
+            }
+        }
+        return i + 1;
+    }
+}
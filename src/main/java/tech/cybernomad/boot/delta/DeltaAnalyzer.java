@@ -0,0 +1,118 @@
+package tech.cybernomad.boot.delta;
+
+import tech.cybernomad.boot.analyzer.SpringBootAnalyzer;
+import tech.cybernomad.boot.model.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Computes the {@link ProjectDelta} between two git revisions of a project. Only the {@code .java} files
+ * that differ are read - from git for revisions, from disk for the working tree - and each version is
+ * analyzed with the project's {@link SpringBootAnalyzer}, so the cost follows the size of the diff, not of
+ * the project.
+ */
+public class DeltaAnalyzer {
+
+    private final SpringBootAnalyzer analyzer;
+
+    public DeltaAnalyzer(SpringBootAnalyzer analyzer) {
+        this.analyzer = analyzer;
+    }
+
+    /**
+     * @param to newer revision, or {@code null} for the working tree
+     * @throws IllegalArgumentException if a revision is not a commit of the project's repository
+     * @throws IOException if the project is not in a git work tree or git fails
+     */
+    public ProjectDelta analyze(String from, String to) throws IOException {
+        long start = System.nanoTime();
+        Path base = analyzer.getBasePath().toAbsolutePath().normalize();
+        GitRepository git = GitRepository.open(base);
+        String fromCommit = git.resolveCommit(from);
+        String toCommit = to != null ? git.resolveCommit(to) : null;
+        String pathspec = git.getRoot().relativize(base.toRealPath()).toString().replace('\\', '/');
+
+        List<GitRepository.Change> changes = git.diff(fromCommit, toCommit, pathspec).stream()
+            .filter(change -> change.path().endsWith(".java"))
+            .toList();
+
+        // Wszystkie potrzebne wersje plików jednym wywołaniem gita
+        List<String> objects = new ArrayList<>();
+        for (GitRepository.Change change : changes) {
+            if (change.existsBefore()) {
+                objects.add(fromCommit + ":" + change.path());
+            }
+            if (change.existsAfter() && toCommit != null) {
+                objects.add(toCommit + ":" + change.path());
+            }
+        }
+        Iterator<byte[]> contents = git.read(objects).iterator();
+
+        // Jedne tablice symboli na całe porównanie, jak w pełnej analizie
+        Symbols symbols = new Symbols();
+        Map<String, ClassInfo> before = new LinkedHashMap<>();
+        Map<String, ClassInfo> after = new LinkedHashMap<>();
+        int analyzed = 0;
+        for (GitRepository.Change change : changes) {
+            // Ścieżka w katalogu roboczym, także dla starej wersji - tak jak w zwykłym raporcie
+            Path file = base.resolve(pathspec.isEmpty() ? change.path() : change.path().substring(pathspec.length() + 1));
+            if (change.existsBefore()) {
+                analyzed += collect(contents.next(), file, symbols, before);
+            }
+            if (change.existsAfter()) {
+                byte[] content = toCommit != null ? contents.next() : readIfExists(file);
+                analyzed += collect(content, file, symbols, after);
+            }
+        }
+
+        ProjectDelta delta = new ProjectDelta();
+        delta.setBasePath(analyzer.getBasePath());
+        delta.setFrom(from);
+        delta.setTo(to);
+        delta.setFromCommit(fromCommit);
+        delta.setToCommit(toCommit);
+        delta.setFilesChanged(changes.size());
+        delta.setFilesAnalyzed(analyzed);
+        for (Map.Entry<String, ClassInfo> entry : after.entrySet()) {
+            ClassInfo old = before.get(entry.getKey());
+            if (old == null) {
+                delta.getAdded().add(entry.getValue());
+            } else {
+                BeanChange change = new BeanChange(old, entry.getValue());
+                if (!change.isEmpty()) {
+                    delta.getChanged().add(change);
+                }
+            }
+        }
+        for (Map.Entry<String, ClassInfo> entry : before.entrySet()) {
+            if (!after.containsKey(entry.getKey())) {
+                delta.getRemoved().add(entry.getValue());
+            }
+        }
+        delta.setDurationMillis((System.nanoTime() - start) / 1_000_000);
+        return delta;
+    }
+
+    private int collect(byte[] content, Path file, Symbols symbols, Map<String, ClassInfo> beans) {
+        if (content == null) {
+            return 0;
+        }
+        for (ClassInfo cls : analyzer.analyzeContent(content, file, symbols)) {
+            for (ModuleInfo module : analyzer.findModules()) {
+                if (module.contains(cls.getFilePath())) {
+                    cls.setModule(module.getName());
+                    break;
+                }
+            }
+            beans.putIfAbsent(cls.getFullName(), cls);
+        }
+        return 1;
+    }
+
+    private static byte[] readIfExists(Path file) throws IOException {
+        return Files.isRegularFile(file) ? Files.readAllBytes(file) : null;
+    }
+}
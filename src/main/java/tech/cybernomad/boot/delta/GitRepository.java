@@ -0,0 +1,205 @@
+package tech.cybernomad.boot.delta;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * The few git operations a delta needs, run through the {@code git} command line: resolving revisions,
+ * listing changed files and reading file contents at a revision. Each call costs one process, and
+ * {@link #read} fetches any number of files through a single {@code git cat-file --batch}.
+ */
+public class GitRepository {
+
+    /**
+     * A changed file, path relative to the repository root. Renames are reported as a deletion and an addition.
+     */
+    public record Change(char status, String path) {
+        public boolean existsBefore() { return status != 'A'; }
+        public boolean existsAfter() { return status != 'D'; }
+    }
+
+    /**
+     * Git ran but exited with an error.
+     */
+    public static class GitException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        public GitException(String message) {
+            super(message);
+        }
+    }
+
+    private final Path root;
+
+    private GitRepository(Path root) {
+        this.root = root;
+    }
+
+    /**
+     * The repository containing the directory.
+     *
+     * @throws IllegalArgumentException if the directory is not inside a git work tree
+     * @throws IOException if git cannot be run
+     */
+    public static GitRepository open(Path directory) throws IOException {
+        byte[] output;
+        try {
+            output = run(directory, List.of("rev-parse", "--show-toplevel"), null);
+        } catch (GitException e) {
+            throw new IllegalArgumentException("Not a git work tree: " + directory);
+        }
+        return new GitRepository(Path.of(text(output).trim()).toRealPath());
+    }
+
+    public Path getRoot() { return root; }
+
+    /**
+     * Full commit id of a revision (branch, tag, {@code HEAD~3}, ...).
+     *
+     * @throws IllegalArgumentException if the revision does not name a commit
+     */
+    public String resolveCommit(String revision) throws IOException {
+        // Rewizja zaczynająca się od '-' byłaby dla gita opcją
+        if (revision.isBlank() || revision.startsWith("-") || revision.contains("\n")) {
+            throw new IllegalArgumentException("Invalid revision: " + revision);
+        }
+        try {
+            return text(run(root, List.of("rev-parse", "--verify", "--quiet", revision + "^{commit}"), null)).trim();
+        } catch (GitException e) {
+            throw new IllegalArgumentException("Unknown revision: " + revision);
+        }
+    }
+
+    /**
+     * Files changed between two commits under {@code pathspec} (relative to the root, empty = whole repository).
+     * With {@code toCommit == null} the working tree is compared instead, untracked files included.
+     */
+    public List<Change> diff(String fromCommit, String toCommit, String pathspec) throws IOException {
+        List<String> args = new ArrayList<>(List.of("diff", "--name-status", "-z", "--no-renames", fromCommit));
+        if (toCommit != null) {
+            args.add(toCommit);
+        }
+        args.add("--");
+        args.add(pathspec.isEmpty() ? "." : pathspec);
+        String[] fields = text(run(root, args, null)).split("\0");
+        List<Change> changes = new ArrayList<>();
+        for (int i = 0; i + 1 < fields.length; i += 2) {
+            changes.add(new Change(fields[i].charAt(0), fields[i + 1]));
+        }
+        if (toCommit == null) {
+            List<String> untracked = List.of("ls-files", "-z", "--others", "--exclude-standard", "--",
+                pathspec.isEmpty() ? "." : pathspec);
+            for (String path : text(run(root, untracked, null)).split("\0")) {
+                if (!path.isEmpty()) {
+                    changes.add(new Change('A', path));
+                }
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Contents of {@code commit:path} objects, in the order given; {@code null} for objects that do not exist.
+     */
+    public List<byte[]> read(List<String> objects) throws IOException {
+        if (objects.isEmpty()) {
+            return List.of();
+        }
+        StringBuilder input = new StringBuilder();
+        for (String object : objects) {
+            input.append(object).append('\n');
+        }
+        byte[] output = run(root, List.of("cat-file", "--batch"), input.toString().getBytes(StandardCharsets.UTF_8));
+
+        // Dla każdego obiektu: "<oid> <typ> <rozmiar>\n<treść>\n" albo "<nazwa> missing\n"
+        List<byte[]> contents = new ArrayList<>(objects.size());
+        int position = 0;
+        for (int i = 0; i < objects.size(); i++) {
+            int newline = indexOf(output, (byte) '\n', position);
+            if (newline < 0) {
+                throw new IOException("Truncated output of git cat-file");
+            }
+            String header = new String(output, position, newline - position, StandardCharsets.UTF_8);
+            position = newline + 1;
+            if (header.endsWith(" missing") || header.endsWith(" ambiguous")) {
+                contents.add(null);
+                continue;
+            }
+            int size = Integer.parseInt(header.substring(header.lastIndexOf(' ') + 1));
+            contents.add(header.contains(" blob ") ? Arrays.copyOfRange(output, position, position + size) : null);
+            position += size + 1;
+        }
+        return contents;
+    }
+
+    private static int indexOf(byte[] data, byte value, int from) {
+        for (int i = from; i < data.length; i++) {
+            if (data[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String text(byte[] output) {
+        return new String(output, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Runs git and returns its standard output. The input is written and standard error is read from separate
+     * threads, since git starts answering before it has read all of its input and any of the pipes could fill up.
+     */
+    private static byte[] run(Path directory, List<String> args, byte[] input) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add("git");
+        command.add("-C");
+        command.add(directory.toString());
+        command.addAll(args);
+        Process process = new ProcessBuilder(command).start();
+        Thread writer = null;
+        if (input != null) {
+            writer = new Thread(() -> {
+                try (OutputStream stdin = process.getOutputStream()) {
+                    stdin.write(input);
+                } catch (IOException ignored) {
+                    // git zakończył się wcześniej - błąd zgłosi kod wyjścia
+                }
+            }, "git-input");
+            writer.start();
+        } else {
+            process.getOutputStream().close();
+        }
+        // stderr czytany równolegle - git piszący dużo na stderr nie zablokuje się, zanim skończymy stdout
+        ByteArrayOutputStream errors = new ByteArrayOutputStream();
+        Thread errorReader = new Thread(() -> {
+            try (InputStream stderr = process.getErrorStream()) {
+                stderr.transferTo(errors);
+            } catch (IOException ignored) {
+                // strumień zamknięty razem z procesem
+            }
+        }, "git-errors");
+        errorReader.start();
+        byte[] output;
+        try (InputStream stdout = process.getInputStream()) {
+            output = stdout.readAllBytes();
+        }
+        try {
+            int exit = process.waitFor();
+            if (writer != null) {
+                writer.join();
+            }
+            errorReader.join();
+            if (exit != 0) {
+                throw new GitException("git " + args.get(0) + " failed (" + exit + "): "
+                    + text(errors.toByteArray()).trim());
+            }
+        } catch (InterruptedException e) {
+            process.destroy();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("git " + args.get(0) + " interrupted");
+        }
+        return output;
+    }
+}
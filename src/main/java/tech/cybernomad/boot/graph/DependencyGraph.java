@@ -0,0 +1,409 @@
+package tech.cybernomad.boot.graph;
+
+import tech.cybernomad.boot.model.ClassInfo;
+import tech.cybernomad.boot.model.MethodInfo;
+import tech.cybernomad.boot.model.ProjectInfo;
+
+import java.util.*;
+
+/**
+ * Injection graph of the beans of a project: an edge {@code a -> b} means that {@code a} injects
+ * a type provided by {@code b}.
+ * <p>
+ * Nodes are the project's classes, numbered in {@link ProjectInfo#getAllClasses()} order. Both directions
+ * are stored as compressed adjacency arrays (offsets + targets), so every query below runs in
+ * O(V + E) time without allocating per node. Injected types are resolved through a name index that maps
+ * a type to its providers: the class itself (simple and qualified name), its superclass and interfaces,
+ * and the return types of {@code @Bean} methods, which resolve to the declaring configuration class.
+ * Collection-like injection points ({@code List<X>}, {@code Optional<X>}, {@code ObjectProvider<X>}, ...)
+ * resolve to the element type. A type with several providers links to all of them; a type without a
+ * provider in the project (JDK, framework or repository interfaces) is counted as unresolved.
+ * <p>
+ * The graph is a snapshot; it does not follow later changes of the project.
+ */
+public final class DependencyGraph {
+
+    private static final Set<String> WRAPPER_TYPES = Set.of(
+        "List", "Set", "Collection", "Iterable", "SortedSet", "Optional",
+        "ObjectProvider", "ObjectFactory", "Provider", "Supplier", "Lazy");
+
+    private final List<ClassInfo> nodes;
+    private final Map<String, Integer> nodeIndex;
+    private final int[] outOffsets;
+    private final int[] outTargets;
+    private final int[] inOffsets;
+    private final int[] inTargets;
+    private final int[] component;
+    private int componentCount;
+    private final List<int[]> cycles;
+    private final BitSet inCycle;
+    private final int unresolved;
+    private final int ambiguous;
+
+    private DependencyGraph(List<ClassInfo> nodes, Map<String, Integer> nodeIndex,
+                            int[] outOffsets, int[] outTargets, int unresolved, int ambiguous) {
+        this.nodes = nodes;
+        this.nodeIndex = nodeIndex;
+        this.outOffsets = outOffsets;
+        this.outTargets = outTargets;
+        this.unresolved = unresolved;
+        this.ambiguous = ambiguous;
+        int n = nodes.size();
+        this.inOffsets = new int[n + 1];
+        this.inTargets = new int[outTargets.length];
+        transpose(n);
+        this.component = new int[n];
+        this.cycles = new ArrayList<>();
+        this.inCycle = new BitSet(n);
+        findStronglyConnectedComponents(n);
+    }
+
+    public static DependencyGraph build(ProjectInfo project) {
+        List<ClassInfo> nodes = List.copyOf(project.getAllClasses());
+        int n = nodes.size();
+
+        // Indeks nazw typów -> dostawcy; nazwy są internowane, żeby ta sama nazwa była jednym kluczem
+        Map<String, int[]> providers = new HashMap<>();
+        Map<String, Integer> nodeIndex = new HashMap<>(n * 2);
+        for (int id = 0; id < n; id++) {
+            ClassInfo cls = nodes.get(id);
+            nodeIndex.putIfAbsent(cls.getFullName(), id);
+            addProvider(providers, cls.getClassName(), id);
+            addProvider(providers, cls.getFullName(), id);
+            if (cls.getParentClass() != null) {
+                addProvider(providers, typeName(cls.getParentClass()), id);
+            }
+            for (String iface : cls.getInterfaces()) {
+                addProvider(providers, typeName(iface), id);
+            }
+            for (MethodInfo method : cls.getBeanMethods()) {
+                addProvider(providers, typeName(elementType(method.getReturnType())), id);
+            }
+        }
+
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[Math.max(16, n * 2)];
+        int edges = 0;
+        int unresolved = 0;
+        int ambiguous = 0;
+        BitSet seen = new BitSet(n);
+        for (int id = 0; id < n; id++) {
+            offsets[id] = edges;
+            for (String dependency : nodes.get(id).getDependencies()) {
+                String element = elementType(dependency);
+                int[] candidates = providers.get(element);
+                if (candidates == null) {
+                    candidates = providers.get(typeName(element));
+                }
+                if (candidates == null) {
+                    unresolved++;
+                    continue;
+                }
+                if (candidates[0] > 1 && element.equals(dependency)) {
+                    ambiguous++;
+                }
+                for (int i = 1; i <= candidates[0]; i++) {
+                    int target = candidates[i];
+                    // bez pętli własnych (dekorator wstrzykujący własny interfejs) i duplikatów
+                    if (target == id || seen.get(target)) {
+                        continue;
+                    }
+                    seen.set(target);
+                    if (edges == targets.length) {
+                        targets = Arrays.copyOf(targets, edges * 2);
+                    }
+                    targets[edges++] = target;
+                }
+            }
+            for (int e = offsets[id]; e < edges; e++) {
+                seen.clear(targets[e]);
+            }
+        }
+        offsets[n] = edges;
+        return new DependencyGraph(nodes, nodeIndex, offsets, Arrays.copyOf(targets, edges), unresolved, ambiguous);
+    }
+
+    // Lista dostawców: [liczba, id1, id2, ...]
+    private static void addProvider(Map<String, int[]> providers, String name, int id) {
+        int[] list = providers.get(name);
+        if (list == null) {
+            providers.put(name.intern(), new int[] {1, id, 0});
+            return;
+        }
+        int count = list[0];
+        if (list[count] == id) {
+            return;
+        }
+        if (count + 1 == list.length) {
+            list = Arrays.copyOf(list, list.length * 2);
+            providers.put(name, list);
+        }
+        list[++count] = id;
+        list[0] = count;
+    }
+
+    /**
+     * The injected element type: {@code List<Foo>}, {@code Optional<Foo>} and {@code Foo[]} become {@code Foo};
+     * for maps the value type is taken.
+     */
+    public static String elementType(String type) {
+        String t = type.trim();
+        if (t.endsWith("[]")) {
+            return elementType(t.substring(0, t.length() - 2));
+        }
+        int open = t.indexOf('<');
+        if (open < 0 || !t.endsWith(">")) {
+            return t;
+        }
+        String raw = typeName(t.substring(0, open));
+        String arguments = t.substring(open + 1, t.length() - 1);
+        if (WRAPPER_TYPES.contains(raw)) {
+            return elementType(arguments);
+        }
+        if (raw.equals("Map")) {
+            int comma = topLevelComma(arguments);
+            return comma < 0 ? t : elementType(arguments.substring(comma + 1));
+        }
+        return t;
+    }
+
+    /**
+     * Simple name without type arguments: {@code com.example.Repo<User>} becomes {@code Repo}.
+     */
+    public static String typeName(String type) {
+        String t = type.trim();
+        int open = t.indexOf('<');
+        if (open >= 0) {
+            t = t.substring(0, open);
+        }
+        int dot = t.lastIndexOf('.');
+        return dot >= 0 ? t.substring(dot + 1) : t;
+    }
+
+    private static int topLevelComma(String arguments) {
+        int depth = 0;
+        for (int i = 0; i < arguments.length(); i++) {
+            char c = arguments.charAt(i);
+            if (c == '<') depth++;
+            else if (c == '>') depth--;
+            else if (c == ',' && depth == 0) return i;
+        }
+        return -1;
+    }
+
+    private void transpose(int n) {
+        for (int e = 0; e < outTargets.length; e++) {
+            inOffsets[outTargets[e] + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            inOffsets[i + 1] += inOffsets[i];
+        }
+        int[] fill = Arrays.copyOf(inOffsets, n);
+        for (int source = 0; source < n; source++) {
+            for (int e = outOffsets[source]; e < outOffsets[source + 1]; e++) {
+                inTargets[fill[outTargets[e]]++] = source;
+            }
+        }
+    }
+
+    /**
+     * Tarjan's algorithm with an explicit stack, so that long dependency chains cannot overflow the
+     * thread stack. Components with more than one node are the dependency cycles.
+     */
+    private void findStronglyConnectedComponents(int n) {
+        int[] index = new int[n];
+        int[] lowLink = new int[n];
+        int[] edgeCursor = new int[n];
+        boolean[] onStack = new boolean[n];
+        int[] stack = new int[n];
+        int[] callStack = new int[n];
+        Arrays.fill(index, -1);
+        int nextIndex = 0;
+        int stackSize = 0;
+        int componentCount = 0;
+
+        for (int root = 0; root < n; root++) {
+            if (index[root] >= 0) {
+                continue;
+            }
+            int depth = 0;
+            callStack[depth++] = root;
+            index[root] = lowLink[root] = nextIndex++;
+            edgeCursor[root] = outOffsets[root];
+            stack[stackSize++] = root;
+            onStack[root] = true;
+
+            while (depth > 0) {
+                int v = callStack[depth - 1];
+                if (edgeCursor[v] < outOffsets[v + 1]) {
+                    int w = outTargets[edgeCursor[v]++];
+                    if (index[w] < 0) {
+                        index[w] = lowLink[w] = nextIndex++;
+                        edgeCursor[w] = outOffsets[w];
+                        stack[stackSize++] = w;
+                        onStack[w] = true;
+                        callStack[depth++] = w;
+                    } else if (onStack[w]) {
+                        lowLink[v] = Math.min(lowLink[v], index[w]);
+                    }
+                    continue;
+                }
+                depth--;
+                if (depth > 0) {
+                    int parent = callStack[depth - 1];
+                    lowLink[parent] = Math.min(lowLink[parent], lowLink[v]);
+                }
+                if (lowLink[v] == index[v]) {
+                    int start = stackSize;
+                    do {
+                        start--;
+                    } while (stack[start] != v);
+                    for (int i = start; i < stackSize; i++) {
+                        onStack[stack[i]] = false;
+                        component[stack[i]] = componentCount;
+                    }
+                    if (stackSize - start > 1) {
+                        int[] members = Arrays.copyOfRange(stack, start, stackSize);
+                        Arrays.sort(members);
+                        cycles.add(members);
+                        for (int member : members) {
+                            inCycle.set(member);
+                        }
+                    }
+                    stackSize = start;
+                    componentCount++;
+                }
+            }
+        }
+        this.componentCount = componentCount;
+        cycles.sort(Comparator.comparingInt((int[] c) -> -c.length).thenComparingInt(c -> c[0]));
+    }
+
+    public int getNodeCount() { return nodes.size(); }
+    public int getEdgeCount() { return outTargets.length; }
+
+    /**
+     * Number of injection points whose type no class of the project provides.
+     */
+    public int getUnresolvedCount() { return unresolved; }
+
+    /**
+     * Number of single-valued injection points with more than one candidate provider.
+     */
+    public int getAmbiguousCount() { return ambiguous; }
+
+    public ClassInfo getNode(int id) { return nodes.get(id); }
+
+    /**
+     * Node id of the class with the given fully qualified name, or -1.
+     */
+    public int findNode(String fullName) {
+        Integer id = nodeIndex.get(fullName);
+        return id != null ? id : -1;
+    }
+
+    public int getFanOut(int id) { return outOffsets[id + 1] - outOffsets[id]; }
+    public int getFanIn(int id) { return inOffsets[id + 1] - inOffsets[id]; }
+
+    public int[] getDependencies(int id) {
+        return Arrays.copyOfRange(outTargets, outOffsets[id], outOffsets[id + 1]);
+    }
+
+    public int[] getDependents(int id) {
+        return Arrays.copyOfRange(inTargets, inOffsets[id], inOffsets[id + 1]);
+    }
+
+    /**
+     * Every bean that depends on {@code id} directly or through other beans, in breadth-first order.
+     */
+    public int[] getTransitiveDependents(int id) {
+        return reach(id, inOffsets, inTargets);
+    }
+
+    /**
+     * Every bean that {@code id} depends on directly or indirectly, in breadth-first order.
+     */
+    public int[] getTransitiveDependencies(int id) {
+        return reach(id, outOffsets, outTargets);
+    }
+
+    private int[] reach(int start, int[] offsets, int[] targets) {
+        BitSet visited = new BitSet(nodes.size());
+        int[] queue = new int[nodes.size()];
+        int head = 0;
+        int tail = 0;
+        visited.set(start);
+        queue[tail++] = start;
+        while (head < tail) {
+            int v = queue[head++];
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                int w = targets[e];
+                if (!visited.get(w)) {
+                    visited.set(w);
+                    queue[tail++] = w;
+                }
+            }
+        }
+        return Arrays.copyOfRange(queue, 1, tail);
+    }
+
+    /**
+     * Dependency cycles (strongly connected components with more than one bean), largest first.
+     * Each cycle lists node ids in ascending order.
+     */
+    public List<int[]> getCycles() { return cycles; }
+
+    public boolean isInCycle(int id) {
+        return inCycle.get(id);
+    }
+
+    /**
+     * Id of the strongly connected component the node belongs to. Components are numbered in reverse
+     * topological order: the components a node depends on have lower ids than its own.
+     */
+    public int getComponent(int id) { return component[id]; }
+
+    public int getComponentCount() { return componentCount; }
+
+    /**
+     * Up to {@code limit} node ids with the highest fan-in; ties keep node order. Nodes without
+     * dependents are left out.
+     */
+    public int[] topByFanIn(int limit) {
+        return top(limit, inOffsets);
+    }
+
+    /**
+     * Up to {@code limit} node ids with the highest fan-out; nodes without dependencies are left out.
+     */
+    public int[] topByFanOut(int limit) {
+        return top(limit, outOffsets);
+    }
+
+    // Sortowanie przez zliczanie po stopniu - O(V + maks. stopień), kolejność węzłów zachowana w remisach
+    private int[] top(int limit, int[] offsets) {
+        int n = nodes.size();
+        int maxDegree = 0;
+        for (int i = 0; i < n; i++) {
+            maxDegree = Math.max(maxDegree, offsets[i + 1] - offsets[i]);
+        }
+        int[] start = new int[maxDegree + 1];
+        for (int i = 0; i < n; i++) {
+            start[offsets[i + 1] - offsets[i]]++;
+        }
+        int position = 0;
+        for (int degree = maxDegree; degree > 0; degree--) {
+            int count = start[degree];
+            start[degree] = position;
+            position += count;
+        }
+        int[] order = new int[position];
+        for (int i = 0; i < n; i++) {
+            int degree = offsets[i + 1] - offsets[i];
+            if (degree > 0) {
+                order[start[degree]++] = i;
+            }
+        }
+        return Arrays.copyOf(order, Math.min(limit, order.length));
+    }
+}
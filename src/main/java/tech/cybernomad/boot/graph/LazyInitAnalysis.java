@@ -0,0 +1,271 @@
+package tech.cybernomad.boot.graph;
+
+import tech.cybernomad.boot.model.BeanType;
+import tech.cybernomad.boot.model.ClassInfo;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Beans worth initializing lazily, ranked by how much eager startup work that would save.
+ * <p>
+ * Entry points are the beans that must exist right after startup: controllers with request mappings,
+ * scheduled tasks, event listeners and the application class. Everything else is created eagerly only
+ * because an entry point (or another eager bean) injects it. Injecting a bean lazily ({@code @Lazy} on the
+ * injection points, or excluding it from eager init) defers the bean itself and every bean that can only be
+ * reached through it - exactly the beans it dominates in the injection graph seen from the entry points.
+ * Dominators are computed with the iterative algorithm of Cooper, Harvey and Kennedy over a virtual root
+ * linked to all entry points. Beans no entry point reaches are linked to the root as well and marked
+ * unreachable: deferring them costs no request anything.
+ * <p>
+ * A candidate's savings are the beans it dominates and the {@code @Bean} methods of those beans. Candidates
+ * reached from fewer entry points come first among equal savings - they sit on the rarer paths.
+ */
+public final class LazyInitAnalysis {
+
+    /**
+     * @param deferredBeans beans created later if the candidate is lazy, itself included
+     * @param factoryCalls  {@code @Bean} methods of the deferred beans
+     * @param estimatedMillis estimated startup cost of the deferred beans, see {@link StartupPlan#estimate}
+     * @param entryPoints   entry points that reach the candidate; 0 if it is unreachable
+     */
+    public record Candidate(int node, int deferredBeans, int factoryCalls, double estimatedMillis, int entryPoints) {
+        public boolean isReachable() { return entryPoints > 0; }
+        public int getSavings() { return deferredBeans + factoryCalls; }
+    }
+
+    private final DependencyGraph graph;
+    private final int[] entryPoints;
+    private final List<Candidate> candidates;
+    private final int reachable;
+
+    private LazyInitAnalysis(DependencyGraph graph, int[] entryPoints, List<Candidate> candidates, int reachable) {
+        this.graph = graph;
+        this.entryPoints = entryPoints;
+        this.candidates = candidates;
+        this.reachable = reachable;
+    }
+
+    public static LazyInitAnalysis build(DependencyGraph graph) {
+        int n = graph.getNodeCount();
+        int[] entries = IntStream.range(0, n).filter(id -> isEntryPoint(graph.getNode(id))).toArray();
+
+        // DFS z wirtualnego korzenia (id n): najpierw punkty wejścia, potem to, czego nie osiągnęły
+        int root = n;
+        int[] order = new int[n + 1];     // węzły w odwrotnej kolejności postorder
+        int[] position = new int[n + 1];  // numer postorder, -1 = nieodwiedzony
+        boolean[] rootLinked = new boolean[n];
+        Arrays.fill(position, -1);
+        int[] postorder = new int[n + 1];
+        int visited = 0;
+        int[] stack = new int[n];
+        int[][] edges = new int[n][];
+        int[] cursor = new int[n];
+        for (int entry : entries) {
+            if (position[entry] < 0) {
+                rootLinked[entry] = true;
+                visited = dfs(graph, entry, position, postorder, visited, stack, edges, cursor);
+            }
+        }
+        int reachable = visited;
+        // Nieosiągalne: najpierw te, których nikt nie wstrzykuje, potem reszta (cykle)
+        for (int pass = 0; pass < 2; pass++) {
+            for (int id = 0; id < n; id++) {
+                if (position[id] < 0 && (pass == 1 || graph.getFanIn(id) == 0)) {
+                    rootLinked[id] = true;
+                    visited = dfs(graph, id, position, postorder, visited, stack, edges, cursor);
+                }
+            }
+        }
+        postorder[visited] = root;
+        for (int i = 0; i <= n; i++) {
+            order[n - i] = postorder[i];
+            position[postorder[i]] = i;
+        }
+
+        int[] idom = dominators(graph, order, position, rootLinked, root);
+
+        // Rozmiary poddrzew dominatorów i liczby metod @Bean - dzieci mają mniejszy numer postorder
+        int[] subtree = new int[n + 1];
+        int[] factories = new int[n + 1];
+        double[] millis = new double[n + 1];
+        for (int i = 0; i < n; i++) {
+            int v = postorder[i];
+            ClassInfo cls = graph.getNode(v);
+            if (cls.getBeanType() != BeanType.ENTITY) {
+                subtree[v] += 1;
+                factories[v] += cls.getBeanMethods().size();
+                millis[v] += StartupPlan.estimate(cls, graph.getFanOut(v));
+            }
+            int d = idom[v];
+            subtree[d] += subtree[v];
+            factories[d] += factories[v];
+            millis[d] += millis[v];
+        }
+
+        int[] reachCount = countEntryPoints(graph, entries);
+        Set<Integer> entrySet = new HashSet<>();
+        for (int entry : entries) {
+            entrySet.add(entry);
+        }
+        List<Candidate> candidates = new ArrayList<>();
+        for (int id = 0; id < n; id++) {
+            ClassInfo cls = graph.getNode(id);
+            if (entrySet.contains(id) || cls.getBeanType() == BeanType.ENTITY || isLazy(cls)) {
+                continue;
+            }
+            candidates.add(new Candidate(id, subtree[id], factories[id], millis[id], reachCount[id]));
+        }
+        candidates.sort(Comparator.comparingInt((Candidate c) -> -c.getSavings())
+            .thenComparingDouble(c -> -c.estimatedMillis())
+            .thenComparingInt(Candidate::entryPoints)
+            .thenComparingInt(Candidate::node));
+        return new LazyInitAnalysis(graph, entries, List.copyOf(candidates), reachable);
+    }
+
+    static boolean isEntryPoint(ClassInfo cls) {
+        return switch (cls.getBeanType()) {
+            case CONTROLLER, REST_CONTROLLER -> !cls.getMappings().isEmpty() || !cls.getRoutes().isEmpty();
+            case SCHEDULED, EVENT_LISTENER, SPRING_APPLICATION -> true;
+            default -> false;
+        };
+    }
+
+    private static boolean isLazy(ClassInfo cls) {
+        return cls.hasAnnotation("Lazy");
+    }
+
+    // Iteracyjny DFS (długie łańcuchy nie przepełnią stosu); dopisuje węzły do postorder
+    private static int dfs(DependencyGraph graph, int start, int[] position, int[] postorder, int visited,
+                           int[] stack, int[][] edges, int[] cursor) {
+        int depth = 0;
+        position[start] = 0;
+        stack[depth] = start;
+        edges[depth] = graph.getDependencies(start);
+        cursor[depth++] = 0;
+        while (depth > 0) {
+            int top = depth - 1;
+            if (cursor[top] < edges[top].length) {
+                int w = edges[top][cursor[top]++];
+                if (position[w] < 0) {
+                    position[w] = 0;
+                    stack[depth] = w;
+                    edges[depth] = graph.getDependencies(w);
+                    cursor[depth++] = 0;
+                }
+                continue;
+            }
+            depth--;
+            postorder[visited++] = stack[depth];
+            edges[depth] = null;
+        }
+        return visited;
+    }
+
+    /**
+     * Cooper-Harvey-Kennedy: immediate dominators by intersecting the dominators of the predecessors until
+     * nothing changes, visiting nodes in reverse postorder. {@code position} holds postorder numbers.
+     */
+    private static int[] dominators(DependencyGraph graph, int[] order, int[] position, boolean[] rootLinked, int root) {
+        int n = root;
+        int[] idom = new int[n + 1];
+        Arrays.fill(idom, -1);
+        idom[root] = root;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int i = 1; i <= n; i++) {
+                int v = order[i];
+                int candidate = rootLinked[v] ? root : -1;
+                for (int p : graph.getDependents(v)) {
+                    if (idom[p] < 0) {
+                        continue;
+                    }
+                    candidate = candidate < 0 ? p : intersect(idom, position, p, candidate);
+                }
+                if (candidate >= 0 && idom[v] != candidate) {
+                    idom[v] = candidate;
+                    changed = true;
+                }
+            }
+        }
+        return idom;
+    }
+
+    private static int intersect(int[] idom, int[] position, int a, int b) {
+        while (a != b) {
+            while (position[a] < position[b]) {
+                a = idom[a];
+            }
+            while (position[b] < position[a]) {
+                b = idom[b];
+            }
+        }
+        return a;
+    }
+
+    // Liczba punktów wejścia osiągających każdy węzeł: bitsety przepychane od zależnych do zależności
+    // w kolejności topologicznej komponentów
+    private static int[] countEntryPoints(DependencyGraph graph, int[] entries) {
+        int n = graph.getNodeCount();
+        int k = graph.getComponentCount();
+        BitSet[] reachedBy = new BitSet[k];
+        for (int i = 0; i < entries.length; i++) {
+            int c = graph.getComponent(entries[i]);
+            if (reachedBy[c] == null) {
+                reachedBy[c] = new BitSet(entries.length);
+            }
+            reachedBy[c].set(i);
+        }
+        List<List<Integer>> members = new ArrayList<>(k);
+        for (int c = 0; c < k; c++) {
+            members.add(new ArrayList<>(1));
+        }
+        for (int id = 0; id < n; id++) {
+            members.get(graph.getComponent(id)).add(id);
+        }
+        for (int c = k - 1; c >= 0; c--) {
+            BitSet bits = reachedBy[c];
+            if (bits == null) {
+                continue;
+            }
+            for (int v : members.get(c)) {
+                for (int w : graph.getDependencies(v)) {
+                    int d = graph.getComponent(w);
+                    if (d == c) {
+                        continue;
+                    }
+                    if (reachedBy[d] == null) {
+                        reachedBy[d] = new BitSet(entries.length);
+                    }
+                    reachedBy[d].or(bits);
+                }
+            }
+        }
+        int[] counts = new int[n];
+        for (int id = 0; id < n; id++) {
+            BitSet bits = reachedBy[graph.getComponent(id)];
+            counts[id] = bits != null ? bits.cardinality() : 0;
+        }
+        return counts;
+    }
+
+    public DependencyGraph getGraph() { return graph; }
+
+    public int[] getEntryPoints() { return entryPoints; }
+
+    /**
+     * Number of beans reachable from the entry points, entry points included.
+     */
+    public int getReachableCount() { return reachable; }
+
+    /**
+     * Candidates with the largest savings first; entry points, entities and beans already marked
+     * {@code @Lazy} are left out.
+     */
+    public List<Candidate> getCandidates(int limit) {
+        return candidates.subList(0, Math.min(limit, candidates.size()));
+    }
+
+    public int getCandidateCount() { return candidates.size(); }
+}
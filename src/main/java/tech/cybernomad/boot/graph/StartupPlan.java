@@ -0,0 +1,312 @@
+package tech.cybernomad.boot.graph;
+
+import tech.cybernomad.boot.model.BeanType;
+import tech.cybernomad.boot.model.ClassInfo;
+import tech.cybernomad.boot.model.MethodInfo;
+
+import java.util.*;
+
+/**
+ * Startup schedule of a {@link DependencyGraph}: which beans have to be created one after another and how
+ * many could be created at the same time.
+ * <p>
+ * Every bean gets a cost - its measured time from {@link StartupTimings}, or otherwise an estimate based on
+ * its type (see {@link #estimate}). A bean can only be created after all of its dependencies, so the beans
+ * are split into layers: layer 0 has no dependencies, layer {@code i} depends on at least one bean of layer
+ * {@code i - 1}. The width of a layer is how many beans could be initialized in parallel. The longest chain
+ * by cost is the critical path - even with unlimited threads startup cannot take less. A dependency cycle is
+ * scheduled as a single unit whose cost is the sum of its beans.
+ * <p>
+ * Everything is computed in one pass over the strongly connected components in topological order, O(V + E).
+ * Entities are part of the graph but not beans, so they are left out of layers and chains.
+ */
+public final class StartupPlan {
+
+    /**
+     * A chain of beans, each depending on the one before it; {@code cost} is the sum of their costs.
+     */
+    public record Chain(int[] nodes, double cost) { }
+
+    /**
+     * Beans that could be initialized at the same time, most expensive first.
+     */
+    public record Layer(int[] nodes, double cost, double maxCost) { }
+
+    private final DependencyGraph graph;
+    private final double[] cost;
+    private final double[] finish;
+    private final int[] layer;
+    private final List<Layer> layers;
+    private final List<Chain> chains;
+    private final double totalCost;
+    private final boolean measured;
+    private final int timedBeans;
+    private final List<String> unmatched;
+    private final double unmatchedMillis;
+
+    private StartupPlan(DependencyGraph graph, double[] cost, boolean measured, int timedBeans,
+                        List<String> unmatched, double unmatchedMillis) {
+        this.graph = graph;
+        this.cost = cost;
+        this.measured = measured;
+        this.timedBeans = timedBeans;
+        this.unmatched = unmatched;
+        this.unmatchedMillis = unmatchedMillis;
+
+        int n = graph.getNodeCount();
+        int k = graph.getComponentCount();
+        // Węzły pogrupowane po komponentach (zliczanie), komponenty są już w kolejności topologicznej
+        int[] memberOffsets = new int[k + 1];
+        for (int id = 0; id < n; id++) {
+            memberOffsets[graph.getComponent(id) + 1]++;
+        }
+        for (int c = 0; c < k; c++) {
+            memberOffsets[c + 1] += memberOffsets[c];
+        }
+        int[] members = new int[n];
+        int[] fill = Arrays.copyOf(memberOffsets, k);
+        for (int id = 0; id < n; id++) {
+            members[fill[graph.getComponent(id)]++] = id;
+        }
+
+        double[] componentFinish = new double[k];
+        int[] componentLevel = new int[k];
+        int[] predecessor = new int[k];
+        boolean[] hasDependents = new boolean[k];
+        double total = 0;
+        for (int c = 0; c < k; c++) {
+            double own = 0;
+            double longest = 0;
+            int level = 0;
+            int best = -1;
+            for (int m = memberOffsets[c]; m < memberOffsets[c + 1]; m++) {
+                int v = members[m];
+                own += cost[v];
+                for (int w : graph.getDependencies(v)) {
+                    int d = graph.getComponent(w);
+                    if (d == c) {
+                        continue;
+                    }
+                    hasDependents[d] = true;
+                    level = Math.max(level, componentLevel[d] + 1);
+                    if (best < 0 || componentFinish[d] > longest) {
+                        longest = componentFinish[d];
+                        best = d;
+                    }
+                }
+            }
+            componentFinish[c] = own + longest;
+            componentLevel[c] = level;
+            predecessor[c] = best;
+            total += own;
+        }
+        this.totalCost = total;
+
+        this.finish = new double[n];
+        this.layer = new int[n];
+        List<List<Integer>> byLevel = new ArrayList<>();
+        for (int id = 0; id < n; id++) {
+            int c = graph.getComponent(id);
+            finish[id] = componentFinish[c];
+            if (!isBean(id)) {
+                layer[id] = -1;
+                continue;
+            }
+            layer[id] = componentLevel[c];
+            while (byLevel.size() <= layer[id]) {
+                byLevel.add(new ArrayList<>());
+            }
+            byLevel.get(layer[id]).add(id);
+        }
+        List<Layer> layers = new ArrayList<>(byLevel.size());
+        for (List<Integer> ids : byLevel) {
+            int[] nodes = ids.stream().sorted(byCost()).mapToInt(Integer::intValue).toArray();
+            double sum = 0;
+            for (int id : nodes) {
+                sum += cost[id];
+            }
+            layers.add(new Layer(nodes, sum, nodes.length > 0 ? cost[nodes[0]] : 0));
+        }
+        this.layers = List.copyOf(layers);
+
+        // Łańcuchy kończą się na beanach, od których nic nie zależy; odtwarzane po najdroższym poprzedniku
+        List<Integer> ends = new ArrayList<>();
+        for (int c = 0; c < k; c++) {
+            if (!hasDependents[c] && containsBean(members, memberOffsets, c)) {
+                ends.add(c);
+            }
+        }
+        ends.sort(Comparator.comparingDouble((Integer c) -> -componentFinish[c]).thenComparingInt(c -> c));
+        List<Chain> chains = new ArrayList<>(ends.size());
+        for (int end : ends) {
+            List<Integer> nodes = new ArrayList<>();
+            for (int c = end; c >= 0; c = predecessor[c]) {
+                for (int m = memberOffsets[c + 1] - 1; m >= memberOffsets[c]; m--) {
+                    if (isBean(members[m])) {
+                        nodes.add(members[m]);
+                    }
+                }
+            }
+            Collections.reverse(nodes);
+            chains.add(new Chain(nodes.stream().mapToInt(Integer::intValue).toArray(), componentFinish[end]));
+        }
+        this.chains = chains;
+    }
+
+    /**
+     * Plan with estimated costs.
+     */
+    public static StartupPlan build(DependencyGraph graph) {
+        double[] cost = new double[graph.getNodeCount()];
+        for (int id = 0; id < cost.length; id++) {
+            cost[id] = estimate(graph.getNode(id), graph.getFanOut(id));
+        }
+        return new StartupPlan(graph, cost, false, 0, List.of(), 0);
+    }
+
+    /**
+     * Plan with measured costs. A timed bean name is matched to a class by its default bean name
+     * ({@code userService} for {@code UserService}) or fully qualified name; the name of a {@code @Bean}
+     * method is matched to its configuration class, which the graph uses as the provider of that bean.
+     * Classes without a timing cost nothing - they were not created, or not by that name.
+     */
+    public static StartupPlan build(DependencyGraph graph, StartupTimings timings) {
+        Map<String, Integer> names = new HashMap<>();
+        for (int id = 0; id < graph.getNodeCount(); id++) {
+            ClassInfo cls = graph.getNode(id);
+            names.putIfAbsent(cls.getFullName(), id);
+            names.putIfAbsent(beanName(cls), id);
+            for (MethodInfo method : cls.getBeanMethods()) {
+                names.putIfAbsent(method.getName(), id);
+            }
+        }
+
+        double[] cost = new double[graph.getNodeCount()];
+        BitSet timed = new BitSet(cost.length);
+        List<String> unmatched = new ArrayList<>();
+        double unmatchedMillis = 0;
+        for (String name : timings.getBeanNames()) {
+            Integer id = names.get(name);
+            if (id != null) {
+                cost[id] += timings.getMillis(name);
+                timed.set(id);
+            } else {
+                unmatched.add(name);
+                unmatchedMillis += timings.getMillis(name);
+            }
+        }
+        return new StartupPlan(graph, cost, true, timed.cardinality(), List.copyOf(unmatched), unmatchedMillis);
+    }
+
+    /**
+     * Rough cost in milliseconds when nothing was measured. Only the proportions matter: a Spring Data
+     * repository (proxy, query derivation) costs much more than a plain component, configuration classes pay
+     * for each {@code @Bean} method, controllers for each route (handler mapping registration), and every
+     * injection point adds a little for resolving it.
+     */
+    static double estimate(ClassInfo cls, int dependencies) {
+        double base = switch (cls.getBeanType()) {
+            case ENTITY -> 0;
+            case REPOSITORY -> 15;
+            case CONFIGURATION, SPRING_APPLICATION -> 1 + 2 * cls.getBeanMethods().size();
+            case CONTROLLER, REST_CONTROLLER -> 2 + 0.5 * cls.getRoutes().size();
+            case ASPECT -> 5;
+            default -> 1;
+        };
+        return base == 0 ? 0 : base + 0.2 * dependencies;
+    }
+
+    /**
+     * Default name of a scanned component: the simple class name with the first letter lowered, unless
+     * the first two letters are upper case ({@code URLService} stays as it is).
+     */
+    static String beanName(ClassInfo cls) {
+        String name = cls.getClassName();
+        if (name.isEmpty() || (name.length() > 1 && Character.isUpperCase(name.charAt(1)) && Character.isUpperCase(name.charAt(0)))) {
+            return name;
+        }
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private boolean isBean(int id) {
+        return graph.getNode(id).getBeanType() != BeanType.ENTITY;
+    }
+
+    private boolean containsBean(int[] members, int[] offsets, int component) {
+        for (int m = offsets[component]; m < offsets[component + 1]; m++) {
+            if (isBean(members[m])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Comparator<Integer> byCost() {
+        return Comparator.comparingDouble((Integer id) -> -cost[id]).thenComparingInt(id -> id);
+    }
+
+    public DependencyGraph getGraph() { return graph; }
+
+    /**
+     * Whether costs are measured times rather than estimates.
+     */
+    public boolean isMeasured() { return measured; }
+
+    public double getCost(int id) { return cost[id]; }
+
+    /**
+     * Earliest time the bean can be ready: its cost plus the most expensive chain of its dependencies.
+     */
+    public double getFinish(int id) { return finish[id]; }
+
+    /**
+     * Layer of the bean, -1 for entities.
+     */
+    public int getLayer(int id) { return layer[id]; }
+
+    public List<Layer> getLayers() { return layers; }
+
+    public int getMaxWidth() {
+        int max = 0;
+        for (Layer l : layers) {
+            max = Math.max(max, l.nodes().length);
+        }
+        return max;
+    }
+
+    /**
+     * Longest chain ending in each bean nobody depends on, longest first. The first is the critical path.
+     */
+    public List<Chain> getChains(int limit) {
+        return chains.subList(0, Math.min(limit, chains.size()));
+    }
+
+    public Chain getCriticalPath() {
+        return chains.isEmpty() ? new Chain(new int[0], 0) : chains.get(0);
+    }
+
+    /**
+     * Sum of all costs - the startup time of a single thread.
+     */
+    public double getTotalCost() { return totalCost; }
+
+    /**
+     * How many times faster startup could be with unlimited threads: total cost over critical path cost.
+     */
+    public double getParallelism() {
+        double critical = getCriticalPath().cost();
+        return critical > 0 ? totalCost / critical : 1;
+    }
+
+    /**
+     * Number of classes of the project that have a measured time.
+     */
+    public int getTimedBeans() { return timedBeans; }
+
+    /**
+     * Timed bean names without a class in the project - framework and auto-configured beans.
+     */
+    public List<String> getUnmatched() { return unmatched; }
+
+    public double getUnmatchedMillis() { return unmatchedMillis; }
+}
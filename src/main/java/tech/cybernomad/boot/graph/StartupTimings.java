@@ -0,0 +1,146 @@
+package tech.cybernomad.boot.graph;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * Measured initialization time per bean name, in milliseconds, read from one of two formats:
+ * <ul>
+ *   <li>the JSON of the {@code /actuator/startup} endpoint (an application started with
+ *       {@code BufferingApplicationStartup}). The {@code spring.beans.instantiate} steps nest - a bean's step
+ *       contains the steps of the beans it caused to be created - so every bean gets its own time only,
+ *       the duration of its step minus the durations of the steps directly inside it;</li>
+ *   <li>plain text, one {@code beanName millis} pair per line (separated by whitespace, {@code ,} or
+ *       {@code =}); lines starting with {@code #} are comments.</li>
+ * </ul>
+ * Times of a bean name that occurs more than once are added up.
+ */
+public final class StartupTimings {
+
+    private static final String INSTANTIATE_STEP = "spring.beans.instantiate";
+
+    private final Map<String, Double> millis;
+
+    private StartupTimings(Map<String, Double> millis) {
+        this.millis = millis;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the file is in neither format
+     */
+    public static StartupTimings read(Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            int first;
+            do {
+                reader.mark(1);
+                first = reader.read();
+            } while (first >= 0 && Character.isWhitespace(first));
+            reader.reset();
+            return first == '{' ? readActuator(reader) : readText(reader);
+        }
+    }
+
+    public static StartupTimings of(Map<String, Double> millis) {
+        return new StartupTimings(new LinkedHashMap<>(millis));
+    }
+
+    private static StartupTimings readActuator(BufferedReader reader) throws IOException {
+        JsonNode events;
+        try {
+            events = new ObjectMapper().readTree(reader).path("timeline").path("events");
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid JSON: " + e.getOriginalMessage());
+        }
+        if (!events.isArray()) {
+            throw new IllegalArgumentException("Not an /actuator/startup response: no timeline.events");
+        }
+
+        // Pierwsze przejście: czas każdego kroku i suma czasów jego bezpośrednich dzieci
+        Map<Long, Double> durations = new HashMap<>();
+        Map<Long, Double> children = new HashMap<>();
+        for (JsonNode event : events) {
+            JsonNode step = event.path("startupStep");
+            double duration = duration(event.path("duration").asText());
+            durations.put(step.path("id").asLong(), duration);
+            if (step.hasNonNull("parentId")) {
+                children.merge(step.path("parentId").asLong(), duration, Double::sum);
+            }
+        }
+
+        Map<String, Double> millis = new LinkedHashMap<>();
+        for (JsonNode event : events) {
+            JsonNode step = event.path("startupStep");
+            if (!INSTANTIATE_STEP.equals(step.path("name").asText())) {
+                continue;
+            }
+            String bean = null;
+            for (JsonNode tag : step.path("tags")) {
+                if ("beanName".equals(tag.path("key").asText())) {
+                    bean = tag.path("value").asText();
+                }
+            }
+            if (bean != null) {
+                long id = step.path("id").asLong();
+                double self = durations.get(id) - children.getOrDefault(id, 0.0);
+                millis.merge(bean, Math.max(0, self), Double::sum);
+            }
+        }
+        return new StartupTimings(millis);
+    }
+
+    private static double duration(String text) {
+        try {
+            return Duration.parse(text).toNanos() / 1e6;
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid step duration: " + text);
+        }
+    }
+
+    private static StartupTimings readText(BufferedReader reader) throws IOException {
+        Map<String, Double> millis = new LinkedHashMap<>();
+        String line;
+        int number = 0;
+        while ((line = reader.readLine()) != null) {
+            number++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split("[\\s,=]+");
+            try {
+                if (fields.length != 2) {
+                    throw new NumberFormatException();
+                }
+                millis.merge(fields[0], Double.parseDouble(fields[1]), Double::sum);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Line " + number + ": expected 'beanName millis', got: " + line);
+            }
+        }
+        return new StartupTimings(millis);
+    }
+
+    /**
+     * Bean names in the order they were first timed.
+     */
+    public Set<String> getBeanNames() { return millis.keySet(); }
+
+    /**
+     * Time of the bean in milliseconds, or -1 if it was not timed.
+     */
+    public double getMillis(String beanName) {
+        Double value = millis.get(beanName);
+        return value != null ? value : -1;
+    }
+
+    public int size() { return millis.size(); }
+}
@@ -0,0 +1,110 @@
+package tech.cybernomad.boot.job;
+
+import tech.cybernomad.boot.analyzer.SpringBootAnalyzer;
+import tech.cybernomad.boot.model.AnalysisStats;
+import tech.cybernomad.boot.model.ProjectInfo;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Future;
+
+/**
+ * A single analysis submitted through the job API. Progress is read from the live {@link AnalysisStats}
+ * while the analyzer is running.
+ */
+public class AnalysisJob {
+
+    public enum State {
+        QUEUED, RUNNING, COMPLETED, PARTIAL, CANCELLED, FAILED;
+
+        public boolean isFinished() {
+            return this != QUEUED && this != RUNNING;
+        }
+    }
+
+    private final String id;
+    private final Path projectPath;
+    private final Duration timeLimit;
+    private final SpringBootAnalyzer analyzer;
+    private final AnalysisStats stats = new AnalysisStats();
+    private final Instant submitted = Instant.now();
+    private volatile State state = State.QUEUED;
+    private volatile Instant started;
+    private volatile Instant finished;
+    private volatile ProjectInfo project;
+    private volatile String error;
+    private volatile Future<?> future;
+
+    AnalysisJob(String id, Path projectPath, SpringBootAnalyzer analyzer, Duration timeLimit) {
+        this.id = id;
+        this.projectPath = projectPath;
+        this.analyzer = analyzer;
+        this.timeLimit = timeLimit;
+        analyzer.setTimeLimit(timeLimit);
+    }
+
+    public String getId() { return id; }
+    public Path getProjectPath() { return projectPath; }
+    public Duration getTimeLimit() { return timeLimit; }
+    public AnalysisStats getStats() { return stats; }
+    public State getState() { return state; }
+    public Instant getSubmitted() { return submitted; }
+    public Instant getStarted() { return started; }
+    public Instant getFinished() { return finished; }
+    public String getError() { return error; }
+
+    /**
+     * The analysis result; {@code null} until the job has finished. Partial when the job
+     * hit its deadline or was cancelled while running.
+     */
+    public ProjectInfo getProject() { return project; }
+
+    void setFuture(Future<?> future) { this.future = future; }
+
+    void run() {
+        synchronized (this) {
+            if (state != State.QUEUED) {
+                return;
+            }
+            state = State.RUNNING;
+            started = Instant.now();
+        }
+        try {
+            ProjectInfo result = analyzer.analyze(stats);
+            project = result;
+            finish(analyzer.isCancelled() ? State.CANCELLED
+                : stats.isPartial() ? State.PARTIAL
+                : State.COMPLETED);
+        } catch (Exception e) {
+            error = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+            finish(State.FAILED);
+        }
+    }
+
+    /**
+     * A queued job is dropped; a running one stops after the files being parsed and keeps what it has.
+     *
+     * @return false if the job had already finished
+     */
+    synchronized boolean cancel() {
+        if (state == State.QUEUED) {
+            Future<?> f = future;
+            if (f != null) {
+                f.cancel(false);
+            }
+            finish(State.CANCELLED);
+            return true;
+        }
+        if (state == State.RUNNING) {
+            analyzer.cancel();
+            return true;
+        }
+        return false;
+    }
+
+    private synchronized void finish(State result) {
+        finished = Instant.now();
+        state = result;
+    }
+}
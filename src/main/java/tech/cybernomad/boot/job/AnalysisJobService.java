@@ -0,0 +1,130 @@
+package tech.cybernomad.boot.job;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import tech.cybernomad.boot.analyzer.ProjectFingerprint;
+import tech.cybernomad.boot.analyzer.SpringBootAnalyzer;
+import tech.cybernomad.boot.service.AnalysisService;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs analyses in the background so that request threads return immediately.
+ * <p>
+ * Jobs run on a small fixed pool with a bounded queue; when the queue is full a submission is rejected
+ * with {@link RejectedExecutionException} instead of piling up work. Each job has a deadline measured
+ * from the moment it starts running. Finished jobs are kept for the retention period so that their
+ * progress and report can still be fetched.
+ */
+@Service
+public class AnalysisJobService implements DisposableBean {
+
+    private final AnalysisService analysisService;
+    private final Duration defaultTimeLimit;
+    private final Duration maxTimeLimit;
+    private final Duration retention;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, AnalysisJob> jobs = new ConcurrentHashMap<>();
+
+    public AnalysisJobService(AnalysisService analysisService,
+                              @Value("${analyzer.jobs.threads:2}") int threads,
+                              @Value("${analyzer.jobs.queue:16}") int queueCapacity,
+                              @Value("${analyzer.jobs.deadline:10m}") Duration defaultTimeLimit,
+                              @Value("${analyzer.jobs.max-deadline:1h}") Duration maxTimeLimit,
+                              @Value("${analyzer.jobs.retention:1h}") Duration retention) {
+        this.analysisService = analysisService;
+        this.defaultTimeLimit = defaultTimeLimit;
+        this.maxTimeLimit = maxTimeLimit;
+        this.retention = retention;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), task -> {
+                Thread thread = new Thread(task, "analysis-job-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    /**
+     * Queues an analysis of the project.
+     *
+     * @param timeLimit deadline counted from the start of the analysis; {@code null} uses the configured
+     *                  default, longer values are capped at the configured maximum
+     * @throws RejectedExecutionException when the job queue is full
+     */
+    public AnalysisJob submit(Path projectPath, Duration timeLimit) {
+        purgeExpired();
+        Path key = AnalysisService.normalize(projectPath);
+        Duration limit = timeLimit == null ? defaultTimeLimit
+            : timeLimit.compareTo(maxTimeLimit) > 0 ? maxTimeLimit : timeLimit;
+        SpringBootAnalyzer analyzer = analysisService.createAnalyzer(key);
+        AnalysisJob job = new AnalysisJob(UUID.randomUUID().toString(), key, analyzer, limit);
+        jobs.put(job.getId(), job);
+        try {
+            job.setFuture(executor.submit(() -> run(job, analyzer)));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            throw e;
+        }
+        return job;
+    }
+
+    public AnalysisJob get(String id) {
+        return jobs.get(id);
+    }
+
+    public List<AnalysisJob> getJobs() {
+        purgeExpired();
+        List<AnalysisJob> list = new ArrayList<>(jobs.values());
+        list.sort(Comparator.comparing(AnalysisJob::getSubmitted));
+        return list;
+    }
+
+    /**
+     * @return false if there is no such job or it has already finished
+     */
+    public boolean cancel(String id) {
+        AnalysisJob job = jobs.get(id);
+        return job != null && job.cancel();
+    }
+
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+
+    public int getRunningCount() {
+        return executor.getActiveCount();
+    }
+
+    private void run(AnalysisJob job, SpringBootAnalyzer analyzer) {
+        // Odcisk liczony przed analizą - zmiany w trakcie unieważnią wpis przy następnym odczycie
+        ProjectFingerprint fingerprint = null;
+        try {
+            fingerprint = ProjectFingerprint.of(analyzer.findSourceRoots());
+        } catch (IOException e) {
+            System.err.println("Cannot fingerprint " + job.getProjectPath() + " - " + e.getMessage());
+        }
+        job.run();
+        if (job.getState() == AnalysisJob.State.COMPLETED && fingerprint != null) {
+            analysisService.cacheResult(job.getProjectPath(), fingerprint, job.getProject());
+        }
+    }
+
+    private void purgeExpired() {
+        Instant cutoff = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> job.getFinished() != null && job.getFinished().isBefore(cutoff));
+    }
+
+    @Override
+    public void destroy() {
+        jobs.values().forEach(AnalysisJob::cancel);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,155 @@
+package tech.cybernomad.boot.model;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters collected during a single analysis run. Updated concurrently by the analyzer workers.
+ * <p>
+ * Besides the counters a run keeps its diagnostics: the {@value #SLOWEST_FILES} files that took longest
+ * to analyze and the reasons of the first {@value #MAX_FAILURES} failures. They are not part of snapshots.
+ */
+public class AnalysisStats {
+
+    public static final int SLOWEST_FILES = 10;
+    public static final int MAX_FAILURES = 100;
+
+    /**
+     * Time spent on one file, from reading it to the extracted beans.
+     */
+    public record FileTiming(Path file, long bytes, long nanos) { }
+
+    public record FileFailure(Path file, String reason) { }
+
+    private final AtomicInteger filesDiscovered = new AtomicInteger();
+    private final AtomicInteger filesParsed = new AtomicInteger();
+    private final AtomicInteger filesCached = new AtomicInteger();
+    private final AtomicInteger filesSkipped = new AtomicInteger();
+    private final AtomicInteger filesFailed = new AtomicInteger();
+    private final AtomicInteger prefilterMisses = new AtomicInteger();
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong fileNanos = new AtomicLong();
+    private final AtomicLong ruleNanos = new AtomicLong();
+    private volatile boolean partial;
+    private volatile long durationNanos;
+
+    // Kopiec z najszybszym z zapamiętanych na wierzchu; szybsze pliki odpadają bez blokady
+    private final PriorityQueue<FileTiming> slowest = new PriorityQueue<>(Comparator.comparingLong(FileTiming::nanos));
+    private volatile long slowestThreshold;
+    private final List<FileFailure> failures = new ArrayList<>();
+
+    /**
+     * Counters of an earlier run, e.g. read back from a snapshot.
+     */
+    public static AnalysisStats of(int discovered, int parsed, int cached, int skipped, int failed, int prefilterMisses) {
+        AnalysisStats stats = new AnalysisStats();
+        stats.filesDiscovered.set(discovered);
+        stats.filesParsed.set(parsed);
+        stats.filesCached.set(cached);
+        stats.filesSkipped.set(skipped);
+        stats.filesFailed.set(failed);
+        stats.prefilterMisses.set(prefilterMisses);
+        return stats;
+    }
+
+    public int getFilesDiscovered() { return filesDiscovered.get(); }
+    public int getFilesParsed() { return filesParsed.get(); }
+    public int getFilesCached() { return filesCached.get(); }
+    public int getFilesSkipped() { return filesSkipped.get(); }
+    public int getFilesFailed() { return filesFailed.get(); }
+    public int getPrefilterMisses() { return prefilterMisses.get(); }
+
+    /**
+     * Bytes of the files read in this run; cached files are not read.
+     */
+    public long getBytesRead() { return bytesRead.get(); }
+
+    /**
+     * Sum of the analysis times of the files read in this run, over all workers.
+     */
+    public long getFileNanos() { return fileNanos.get(); }
+
+    /**
+     * Part of {@link #getFileNanos()} spent in the analysis rules.
+     */
+    public long getRuleNanos() { return ruleNanos.get(); }
+
+    /**
+     * Wall-clock time of the run, 0 while it is running or when the stats come from a snapshot.
+     */
+    public long getDurationNanos() { return durationNanos; }
+
+    /**
+     * Bytes read per second of the run, 0 when its duration is unknown.
+     */
+    public double getBytesPerSecond() {
+        long nanos = durationNanos;
+        return nanos > 0 ? bytesRead.get() * 1e9 / nanos : 0;
+    }
+
+    /**
+     * True when the analysis stopped early (deadline or cancellation) and not every file was analyzed.
+     */
+    public boolean isPartial() { return partial; }
+
+    /**
+     * The slowest files of the run, slowest first.
+     */
+    public List<FileTiming> getSlowestFiles() {
+        synchronized (slowest) {
+            List<FileTiming> files = new ArrayList<>(slowest);
+            files.sort(Comparator.comparingLong(FileTiming::nanos).reversed());
+            return files;
+        }
+    }
+
+    /**
+     * The first {@value #MAX_FAILURES} failed files of the run, in the order they failed.
+     */
+    public List<FileFailure> getFailures() {
+        synchronized (failures) {
+            return new ArrayList<>(failures);
+        }
+    }
+
+    public void fileDiscovered() { filesDiscovered.incrementAndGet(); }
+    public void fileParsed() { filesParsed.incrementAndGet(); }
+    public void fileCached() { filesCached.incrementAndGet(); }
+    public void fileSkipped() { filesSkipped.incrementAndGet(); }
+    public void fileFailed() { filesFailed.incrementAndGet(); }
+    public void prefilterMiss() { prefilterMisses.incrementAndGet(); }
+    public void markPartial() { partial = true; }
+    public void finished(long durationNanos) { this.durationNanos = durationNanos; }
+    public void rulesTimed(long nanos) { ruleNanos.addAndGet(nanos); }
+
+    public void fileFailed(Path file, String reason) {
+        fileFailed();
+        synchronized (failures) {
+            if (failures.size() < MAX_FAILURES) {
+                failures.add(new FileFailure(file, reason));
+            }
+        }
+    }
+
+    /**
+     * Records a file that was read and analyzed (parsed or dropped by the prefilter).
+     */
+    public void fileTimed(Path file, long bytes, long nanos) {
+        bytesRead.addAndGet(bytes);
+        fileNanos.addAndGet(nanos);
+        if (nanos <= slowestThreshold) {
+            return;
+        }
+        synchronized (slowest) {
+            slowest.add(new FileTiming(file, bytes, nanos));
+            if (slowest.size() > SLOWEST_FILES) {
+                slowest.poll();
+            }
+            if (slowest.size() == SLOWEST_FILES) {
+                slowestThreshold = slowest.peek().nanos();
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package tech.cybernomad.boot.model;
+
+import java.util.BitSet;
+import java.util.Collection;
+
+/**
+ * Annotation names in declaration order, with a bitset over {@link Symbols#getAnnotations()} ids for
+ * constant-time membership tests. The first 64 annotation names seen by the analysis run fit in a single
+ * {@code long}; a {@link BitSet} is only allocated for the rest.
+ */
+public class AnnotationList extends SymbolList {
+
+    private long bits;
+    private BitSet overflow;
+
+    public AnnotationList(SymbolTable table) {
+        super(table);
+    }
+
+    public AnnotationList(SymbolTable table, Collection<String> values) {
+        super(table, values);
+        changed();
+    }
+
+    @Override
+    public boolean containsId(int id) {
+        if (id < 0) {
+            return false;
+        }
+        if (id < 64) {
+            return (bits & (1L << id)) != 0;
+        }
+        return overflow != null && overflow.get(id);
+    }
+
+    @Override
+    protected void changed() {
+        bits = 0;
+        overflow = null;
+        for (int i = 0; i < size(); i++) {
+            int id = getId(i);
+            if (id < 64) {
+                bits |= 1L << id;
+            } else {
+                if (overflow == null) {
+                    overflow = new BitSet();
+                }
+                overflow.set(id);
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package tech.cybernomad.boot.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A candidate auto-configuration declared by a dependency jar, with the conditions on its class.
+ */
+public class AutoConfigurationInfo {
+    private String className;
+    private String artifact; // groupId:artifactId:version
+    private String source;   // "imports" albo "spring.factories"
+    private boolean found;   // klasa jest w tym samym jarze, warunki zostały odczytane
+    private List<String> conditions = new ArrayList<>();
+    private int beanMethods;
+
+    public String getClassName() { return className; }
+    public void setClassName(String className) { this.className = className; }
+
+    public String getArtifact() { return artifact; }
+    public void setArtifact(String artifact) { this.artifact = artifact; }
+
+    /**
+     * {@code imports} for {@code AutoConfiguration.imports}, {@code spring.factories} for the legacy
+     * {@code EnableAutoConfiguration} key.
+     */
+    public String getSource() { return source; }
+    public void setSource(String source) { this.source = source; }
+
+    /**
+     * False when the class is not in the jar that declares it, so its conditions are unknown.
+     */
+    public boolean isFound() { return found; }
+    public void setFound(boolean found) { this.found = found; }
+
+    /**
+     * Class-level {@code @ConditionalOn*} and {@code @Conditional} annotations as written in source.
+     */
+    public List<String> getConditions() { return conditions; }
+    public void setConditions(List<String> conditions) { this.conditions = conditions; }
+
+    public void addCondition(String condition) {
+        this.conditions.add(condition);
+    }
+
+    public int getBeanMethods() { return beanMethods; }
+    public void setBeanMethods(int beanMethods) { this.beanMethods = beanMethods; }
+}
@@ -0,0 +1,38 @@
+package tech.cybernomad.boot.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Auto-configurations of all dependency jars of a project, in dependency order.
+ */
+public class AutoConfigurationInventory {
+    private final List<AutoConfigurationInfo> autoConfigurations = new ArrayList<>();
+    private final List<String> missing = new ArrayList<>();
+    private int jars;
+    private int jarsScanned;
+    private int jarsCached;
+    private long durationMillis;
+
+    public List<AutoConfigurationInfo> getAutoConfigurations() { return autoConfigurations; }
+
+    /**
+     * Dependencies that could not be resolved from the local repository.
+     */
+    public List<String> getMissing() { return missing; }
+
+    public int getJars() { return jars; }
+    public void setJars(int jars) { this.jars = jars; }
+
+    /**
+     * Jars opened during this run; the rest came from the per-jar cache.
+     */
+    public int getJarsScanned() { return jarsScanned; }
+    public void setJarsScanned(int jarsScanned) { this.jarsScanned = jarsScanned; }
+
+    public int getJarsCached() { return jarsCached; }
+    public void setJarsCached(int jarsCached) { this.jarsCached = jarsCached; }
+
+    public long getDurationMillis() { return durationMillis; }
+    public void setDurationMillis(long durationMillis) { this.durationMillis = durationMillis; }
+}
@@ -0,0 +1,50 @@
+package tech.cybernomad.boot.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A bean present at both revisions of a {@link ProjectDelta} whose type, scope, dependencies or mappings differ.
+ */
+public class BeanChange {
+    private final ClassInfo before;
+    private final ClassInfo after;
+    private final List<String> addedDependencies = new ArrayList<>();
+    private final List<String> removedDependencies = new ArrayList<>();
+    private final List<String> addedMappings = new ArrayList<>();
+    private final List<String> removedMappings = new ArrayList<>();
+
+    public BeanChange(ClassInfo before, ClassInfo after) {
+        this.before = before;
+        this.after = after;
+        difference(after.getDependencies(), before.getDependencies(), addedDependencies);
+        difference(before.getDependencies(), after.getDependencies(), removedDependencies);
+        difference(after.getMappings(), before.getMappings(), addedMappings);
+        difference(before.getMappings(), after.getMappings(), removedMappings);
+    }
+
+    public String getFullName() { return after.getFullName(); }
+    public ClassInfo getBefore() { return before; }
+    public ClassInfo getAfter() { return after; }
+
+    public boolean isRetyped() { return before.getBeanType() != after.getBeanType(); }
+    public boolean isScopeChanged() { return !before.getScope().equals(after.getScope()); }
+
+    public List<String> getAddedDependencies() { return addedDependencies; }
+    public List<String> getRemovedDependencies() { return removedDependencies; }
+    public List<String> getAddedMappings() { return addedMappings; }
+    public List<String> getRemovedMappings() { return removedMappings; }
+
+    public boolean isEmpty() {
+        return !isRetyped() && !isScopeChanged() && addedDependencies.isEmpty() && removedDependencies.isEmpty()
+            && addedMappings.isEmpty() && removedMappings.isEmpty();
+    }
+
+    private static void difference(List<String> values, List<String> minus, List<String> out) {
+        for (String value : values) {
+            if (!minus.contains(value) && !out.contains(value)) {
+                out.add(value);
+            }
+        }
+    }
+}
@@ -4,43 +4,132 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * A class found by the analyzer.
+ * <p>
+ * Stored compactly for very large projects: names are ids in the {@link Symbols} of the analysis run, the
+ * string lists are {@link SymbolList} views over id arrays, and the file is kept as its directory relative
+ * to a shared base path plus the file name (omitted when it is the class name). The getters and setters
+ * work with plain strings, lists and paths as before.
+ */
 public class ClassInfo {
+    private final Symbols symbols;
     private String className;
-    private String packageName;
-    private String fullName;
-    private Path filePath;
+    private int packageName = SymbolTable.NONE;
+    private String fullName; // null, gdy równa pakiet + "." + klasa
+    private boolean derivedFullName;
+    private Path basePath; // wspólna instancja dla wszystkich klas projektu
+    private int directory = SymbolTable.NONE; // względem basePath
+    private String fileName; // null, gdy równa nazwa klasy + ".java"
     private int lineNumber;
     private BeanType beanType;
-    private String scope; // singleton, prototype, request, session
-    private List<String> annotations;
-    private List<String> mappings; // dla kontrolerów: /api/users etc
-    private List<String> dependencies; // @Autowired pola
+    private int scope; // singleton, prototype, request, session
+    private final AnnotationList annotations;
+    private final SymbolList mappings; // dla kontrolerów: /api/users etc
+    private final SymbolList dependencies; // @Autowired pola
     private List<MethodInfo> beanMethods; // metody @Bean w @Configuration
-    private String parentClass;
-    private List<String> interfaces;
-
-    public ClassInfo() {
-        this.annotations = new ArrayList<>();
-        this.mappings = new ArrayList<>();
-        this.dependencies = new ArrayList<>();
-        this.beanMethods = new ArrayList<>();
-        this.interfaces = new ArrayList<>();
-        this.scope = "singleton";
+    private List<RouteInfo> routes = List.of(); // mapowania metod kontrolera; lista tworzona przy pierwszej trasie
+    private List<Finding> findings = List.of(); // wyniki reguł dla klasy, zwykle brak
+    private int parentClass = SymbolTable.NONE;
+    private final SymbolList interfaces;
+    private int module = SymbolTable.NONE; // nazwa ModuleInfo, do którego należy plik
+
+    /**
+     * @param symbols tables of the analysis run creating the class; its bean methods and routes use the same
+     */
+    public ClassInfo(Symbols symbols) {
+        SymbolTable names = symbols.getNames();
+        this.symbols = symbols;
+        this.annotations = new AnnotationList(symbols.getAnnotations());
+        this.mappings = new SymbolList(names);
+        this.dependencies = new SymbolList(names);
+        this.beanMethods = new ArrayList<>(0);
+        this.interfaces = new SymbolList(names);
+        this.scope = names.intern("singleton");
         this.beanType = BeanType.UNKNOWN;
     }
 
+    public Symbols getSymbols() { return symbols; }
+
     // Getters and setters
     public String getClassName() { return className; }
-    public void setClassName(String className) { this.className = className; }
+    public void setClassName(String className) {
+        materializeFullName();
+        if (fileName == null && directory != SymbolTable.NONE) {
+            fileName = this.className + ".java";
+        }
+        this.className = className;
+    }
+
+    public String getPackageName() { return names().get(packageName); }
+    public void setPackageName(String packageName) {
+        materializeFullName();
+        this.packageName = names().intern(packageName);
+    }
 
-    public String getPackageName() { return packageName; }
-    public void setPackageName(String packageName) { this.packageName = packageName; }
+    public String getFullName() {
+        return derivedFullName ? getPackageName() + "." + className : fullName;
+    }
 
-    public String getFullName() { return fullName; }
-    public void setFullName(String fullName) { this.fullName = fullName; }
+    public void setFullName(String fullName) {
+        this.derivedFullName = fullName != null && className != null
+            && fullName.equals(getPackageName() + "." + className);
+        this.fullName = derivedFullName ? null : fullName;
+    }
 
-    public Path getFilePath() { return filePath; }
-    public void setFilePath(Path filePath) { this.filePath = filePath; }
+    private void materializeFullName() {
+        if (derivedFullName) {
+            fullName = getFullName();
+            derivedFullName = false;
+        }
+    }
+
+    public Path getFilePath() {
+        if (fileName == null && directory == SymbolTable.NONE) {
+            return null;
+        }
+        String name = fileName != null ? fileName : className + ".java";
+        String dir = names().get(directory);
+        Path parent = basePath != null ? basePath.resolve(dir) : Path.of(dir);
+        return parent.resolve(name);
+    }
+
+    public void setFilePath(Path filePath) {
+        setFilePath(null, filePath);
+    }
+
+    /**
+     * Stores the file relative to {@code basePath}; the same base instance should be passed for every
+     * class of a project so that it is shared. Files outside the base are stored as they are.
+     */
+    public void setFilePath(Path basePath, Path filePath) {
+        if (filePath == null) {
+            this.basePath = null;
+            this.directory = SymbolTable.NONE;
+            this.fileName = null;
+            return;
+        }
+        Path parent = filePath.getParent();
+        if (basePath != null && parent != null && parent.startsWith(basePath)) {
+            this.basePath = basePath;
+            this.directory = names().intern(basePath.relativize(parent).toString());
+        } else {
+            this.basePath = null;
+            this.directory = names().intern(parent != null ? parent.toString() : "");
+        }
+        String name = filePath.getFileName().toString();
+        this.fileName = className != null && name.equals(className + ".java") ? null : name;
+    }
+
+    /**
+     * Same as {@link #setFilePath(Path, Path)} for a file already split into its directory, relative to
+     * {@code basePath} or absolute when {@code basePath} is null, and its name. No paths are built.
+     */
+    public void setFilePath(Path basePath, String directory, String fileName) {
+        this.basePath = basePath;
+        this.directory = names().intern(directory);
+        this.fileName = className != null && fileName.equals(className + ".java") ? null : fileName;
+    }
 
     public int getLineNumber() { return lineNumber; }
     public void setLineNumber(int lineNumber) { this.lineNumber = lineNumber; }
@@ -48,26 +137,60 @@ public class ClassInfo {
     public BeanType getBeanType() { return beanType; }
     public void setBeanType(BeanType beanType) { this.beanType = beanType; }
 
-    public String getScope() { return scope; }
-    public void setScope(String scope) { this.scope = scope; }
+    public String getScope() { return names().get(scope); }
+    public void setScope(String scope) { this.scope = names().intern(scope); }
 
     public List<String> getAnnotations() { return annotations; }
-    public void setAnnotations(List<String> annotations) { this.annotations = annotations; }
+    public void setAnnotations(List<String> annotations) { replace(this.annotations, annotations); }
+
+    /**
+     * Constant-time check against the annotation bitset.
+     */
+    public boolean hasAnnotation(String annotation) {
+        return annotations.contains(annotation);
+    }
 
     public List<String> getMappings() { return mappings; }
-    public void setMappings(List<String> mappings) { this.mappings = mappings; }
+    public void setMappings(List<String> mappings) { replace(this.mappings, mappings); }
 
     public List<String> getDependencies() { return dependencies; }
-    public void setDependencies(List<String> dependencies) { this.dependencies = dependencies; }
+    public void setDependencies(List<String> dependencies) { replace(this.dependencies, dependencies); }
 
     public List<MethodInfo> getBeanMethods() { return beanMethods; }
     public void setBeanMethods(List<MethodInfo> beanMethods) { this.beanMethods = beanMethods; }
 
-    public String getParentClass() { return parentClass; }
-    public void setParentClass(String parentClass) { this.parentClass = parentClass; }
+    /**
+     * Request mappings of the controller's methods, combined with the class-level mapping.
+     */
+    public List<RouteInfo> getRoutes() { return routes; }
+    public void setRoutes(List<RouteInfo> routes) { this.routes = routes.isEmpty() ? List.of() : new ArrayList<>(routes); }
+
+    /**
+     * Findings of the class-level analysis rules, see {@code tech.cybernomad.boot.rules}.
+     */
+    public List<Finding> getFindings() { return findings; }
+    public void setFindings(List<Finding> findings) { this.findings = findings.isEmpty() ? List.of() : new ArrayList<>(findings); }
+
+    public String getParentClass() { return names().get(parentClass); }
+    public void setParentClass(String parentClass) { this.parentClass = names().intern(parentClass); }
 
     public List<String> getInterfaces() { return interfaces; }
-    public void setInterfaces(List<String> interfaces) { this.interfaces = interfaces; }
+    public void setInterfaces(List<String> interfaces) { replace(this.interfaces, interfaces); }
+
+    public String getModule() { return names().get(module); }
+    public void setModule(String module) { this.module = names().intern(module); }
+
+    private SymbolTable names() {
+        return symbols.getNames();
+    }
+
+    private static void replace(SymbolList target, List<String> values) {
+        if (target == values) {
+            return;
+        }
+        target.clear();
+        target.addAll(values);
+    }
 
     public void addAnnotation(String annotation) {
         this.annotations.add(annotation);
@@ -85,11 +208,31 @@ public class ClassInfo {
         this.beanMethods.add(method);
     }
 
+    public void addRoute(RouteInfo route) {
+        if (routes.isEmpty()) {
+            routes = new ArrayList<>(4);
+        }
+        this.routes.add(route);
+    }
+
+    public void addFinding(Finding finding) {
+        if (findings.isEmpty()) {
+            findings = new ArrayList<>(2);
+        }
+        this.findings.add(finding);
+    }
+
     public void addInterface(String iface) {
         this.interfaces.add(iface);
     }
 
     public String getRelativePath(Path basePath) {
+        if (basePath != null && basePath == this.basePath) {
+            String dir = names().get(directory);
+            String name = fileName != null ? fileName : className + ".java";
+            return dir.isEmpty() ? name : dir + basePath.getFileSystem().getSeparator() + name;
+        }
+        Path filePath = getFilePath();
         if (filePath != null && basePath != null) {
             return basePath.relativize(filePath).toString();
         }
@@ -0,0 +1,44 @@
+package tech.cybernomad.boot.model;
+
+/**
+ * A problem reported by an analysis rule for a class: the rule id, how serious it is, a message and the line
+ * it refers to. Findings are rare, so the rule id and the message are kept as plain strings.
+ */
+public class Finding {
+    public enum Severity { INFO, WARNING, ERROR }
+
+    private String rule; // np. unpooled-rest-template
+    private Severity severity = Severity.WARNING;
+    private String message;
+    private int lineNumber;
+
+    public Finding() {
+    }
+
+    public Finding(String rule, Severity severity, String message, int lineNumber) {
+        setRule(rule);
+        this.severity = severity;
+        this.message = message;
+        this.lineNumber = lineNumber;
+    }
+
+    public String getRule() { return rule; }
+    public void setRule(String rule) { this.rule = rule; }
+
+    public Severity getSeverity() { return severity; }
+    public void setSeverity(Severity severity) { this.severity = severity; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public int getLineNumber() { return lineNumber; }
+    public void setLineNumber(int lineNumber) { this.lineNumber = lineNumber; }
+
+    /**
+     * E.g. {@code WARNING unpooled-rest-template:12 RestTemplate without a pooled ...}.
+     */
+    @Override
+    public String toString() {
+        return severity + " " + getRule() + ":" + lineNumber + " " + message;
+    }
+}
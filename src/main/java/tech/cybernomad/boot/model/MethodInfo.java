@@ -1,39 +1,49 @@
 package tech.cybernomad.boot.model;
 
-import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * A {@code @Bean} method. Type names, scope and annotations are {@link SymbolTable} ids, like in {@link ClassInfo}.
+ */
 public class MethodInfo {
+    private final SymbolTable names;
     private String name;
-    private String returnType;
+    private int returnType = SymbolTable.NONE;
     private int lineNumber;
-    private String scope; // singleton, prototype
-    private List<String> annotations;
-    private List<String> conditionalOn; // @ConditionalOnProperty etc
-
-    public MethodInfo() {
-        this.annotations = new ArrayList<>();
-        this.conditionalOn = new ArrayList<>();
-        this.scope = "singleton";
+    private int scope; // singleton, prototype
+    private final AnnotationList annotations;
+    private final SymbolList conditionalOn; // @ConditionalOnProperty etc
+
+    public MethodInfo(Symbols symbols) {
+        this.names = symbols.getNames();
+        this.annotations = new AnnotationList(symbols.getAnnotations());
+        this.conditionalOn = new SymbolList(names);
+        this.scope = names.intern("singleton");
     }
 
     public String getName() { return name; }
     public void setName(String name) { this.name = name; }
 
-    public String getReturnType() { return returnType; }
-    public void setReturnType(String returnType) { this.returnType = returnType; }
+    public String getReturnType() { return names.get(returnType); }
+    public void setReturnType(String returnType) { this.returnType = names.intern(returnType); }
 
     public int getLineNumber() { return lineNumber; }
     public void setLineNumber(int lineNumber) { this.lineNumber = lineNumber; }
 
-    public String getScope() { return scope; }
-    public void setScope(String scope) { this.scope = scope; }
+    public String getScope() { return names.get(scope); }
+    public void setScope(String scope) { this.scope = names.intern(scope); }
 
     public List<String> getAnnotations() { return annotations; }
-    public void setAnnotations(List<String> annotations) { this.annotations = annotations; }
+    public void setAnnotations(List<String> annotations) {
+        this.annotations.clear();
+        this.annotations.addAll(annotations);
+    }
 
     public List<String> getConditionalOn() { return conditionalOn; }
-    public void setConditionalOn(List<String> conditionalOn) { this.conditionalOn = conditionalOn; }
+    public void setConditionalOn(List<String> conditionalOn) {
+        this.conditionalOn.clear();
+        this.conditionalOn.addAll(conditionalOn);
+    }
 
     public void addAnnotation(String annotation) {
         this.annotations.add(annotation);
@@ -0,0 +1,55 @@
+package tech.cybernomad.boot.model;
+
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * One module of a (possibly multi-module) build and the beans found in its source roots.
+ */
+public class ModuleInfo {
+    private String name; // ścieżka względem katalogu projektu, np. "services/billing"
+    private Path directory;
+    private List<Path> sourceRoots;
+    private final List<ClassInfo> classes = new ArrayList<>();
+
+    public ModuleInfo(String name, Path directory, List<Path> sourceRoots) {
+        this.name = name;
+        this.directory = directory;
+        this.sourceRoots = sourceRoots;
+    }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public Path getDirectory() { return directory; }
+    public void setDirectory(Path directory) { this.directory = directory; }
+
+    public List<Path> getSourceRoots() { return sourceRoots; }
+    public void setSourceRoots(List<Path> sourceRoots) { this.sourceRoots = sourceRoots; }
+
+    /**
+     * Beans of this module; maintained by {@link ProjectInfo#addClass} and {@link ProjectInfo#removeClass}.
+     */
+    public List<ClassInfo> getClasses() { return classes; }
+
+    public int getTotalBeans() {
+        return classes.size();
+    }
+
+    public Map<BeanType, Integer> getCountsByType() {
+        Map<BeanType, Integer> counts = new EnumMap<>(BeanType.class);
+        for (ClassInfo cls : classes) {
+            counts.merge(cls.getBeanType(), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    public boolean contains(Path file) {
+        for (Path root : sourceRoots) {
+            if (file.startsWith(root)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
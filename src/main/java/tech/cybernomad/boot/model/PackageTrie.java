@@ -0,0 +1,118 @@
+package tech.cybernomad.boot.model;
+
+import java.util.*;
+
+/**
+ * Classes indexed by package, one node per package name segment. Answers package prefix queries by
+ * visiting only the matching subtrees. Each class is stored with its position in the order of the
+ * project's classes, so that results come back in that order rather than grouped by package.
+ */
+class PackageTrie {
+
+    private record Entry(long order, ClassInfo cls) {
+    }
+
+    private static final class Node {
+        private final TreeMap<String, Node> children = new TreeMap<>();
+        private final List<Entry> classes = new ArrayList<>(2);
+        private int size; // klasy w tym węźle i wszystkich poniżej
+    }
+
+    private final Node root = new Node();
+
+    /**
+     * @param order position of the class among the project's classes; queries return classes sorted by it
+     */
+    void add(String packageName, ClassInfo cls, long order) {
+        Node node = root;
+        node.size++;
+        if (!packageName.isEmpty()) {
+            for (String segment : packageName.split("\\.", -1)) {
+                node = node.children.computeIfAbsent(segment, s -> new Node());
+                node.size++;
+            }
+        }
+        node.classes.add(new Entry(order, cls));
+    }
+
+    /**
+     * Returns the order the class was added with, or -1 if it is not indexed under that package.
+     */
+    long remove(String packageName, ClassInfo cls) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        if (!packageName.isEmpty()) {
+            for (String segment : packageName.split("\\.", -1)) {
+                node = node.children.get(segment);
+                if (node == null) {
+                    return -1;
+                }
+                path.add(node);
+            }
+        }
+        Entry entry = null;
+        for (Iterator<Entry> it = node.classes.iterator(); it.hasNext() && entry == null; ) {
+            Entry candidate = it.next();
+            if (candidate.cls() == cls) {
+                entry = candidate;
+                it.remove();
+            }
+        }
+        if (entry == null) {
+            return -1;
+        }
+        for (Node n : path) {
+            n.size--;
+        }
+        // Puste gałęzie są usuwane, żeby zapytania ich nie odwiedzały
+        for (int i = path.size() - 1; i > 0; i--) {
+            if (path.get(i).size == 0) {
+                path.get(i - 1).children.values().remove(path.get(i));
+            }
+        }
+        return entry.order();
+    }
+
+    /**
+     * Classes whose package name starts with the prefix (as in {@link String#startsWith}), so {@code "com.ex"}
+     * also matches {@code com.example}. In the order the classes were added with.
+     */
+    List<ClassInfo> findByPrefix(String prefix) {
+        int dot = prefix.lastIndexOf('.');
+        Node node = root;
+        if (dot >= 0) {
+            for (String segment : prefix.substring(0, dot).split("\\.", -1)) {
+                node = node.children.get(segment);
+                if (node == null) {
+                    return new ArrayList<>();
+                }
+            }
+        }
+        // Ostatni, być może niepełny segment - pasujące gałęzie leżą w TreeMap obok siebie, zaczynając od niego
+        String partial = prefix.substring(dot + 1);
+        List<Entry> found = new ArrayList<>();
+        if (prefix.isEmpty()) {
+            found.addAll(root.classes);
+        }
+        for (Map.Entry<String, Node> child : node.children.tailMap(partial).entrySet()) {
+            if (!child.getKey().startsWith(partial)) {
+                break;
+            }
+            collect(child.getValue(), found);
+        }
+        found.sort(Comparator.comparingLong(Entry::order));
+        List<ClassInfo> result = new ArrayList<>(found.size());
+        for (Entry entry : found) {
+            result.add(entry.cls());
+        }
+        return result;
+    }
+
+    private static void collect(Node node, List<Entry> result) {
+        result.addAll(node.classes);
+        for (Node child : node.children.values()) {
+            collect(child, result);
+        }
+    }
+}
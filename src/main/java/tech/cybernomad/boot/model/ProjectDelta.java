@@ -0,0 +1,73 @@
+package tech.cybernomad.boot.model;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Differences in the beans of a project between two git revisions, computed from the changed files only.
+ * Beans are matched by fully qualified name, so a class moved to another file is a change, not a removal
+ * and an addition.
+ */
+public class ProjectDelta {
+    private Path basePath;
+    private String from;
+    private String to;   // null = katalog roboczy
+    private String fromCommit;
+    private String toCommit;
+    private int filesChanged;
+    private int filesAnalyzed;
+    private long durationMillis;
+    private final List<ClassInfo> added = new ArrayList<>();
+    private final List<ClassInfo> removed = new ArrayList<>();
+    private final List<BeanChange> changed = new ArrayList<>();
+
+    public Path getBasePath() { return basePath; }
+    public void setBasePath(Path basePath) { this.basePath = basePath; }
+
+    public String getFrom() { return from; }
+    public void setFrom(String from) { this.from = from; }
+
+    /**
+     * The newer revision as given, or {@code null} when it is the working tree.
+     */
+    public String getTo() { return to; }
+    public void setTo(String to) { this.to = to; }
+
+    public String getFromCommit() { return fromCommit; }
+    public void setFromCommit(String fromCommit) { this.fromCommit = fromCommit; }
+
+    public String getToCommit() { return toCommit; }
+    public void setToCommit(String toCommit) { this.toCommit = toCommit; }
+
+    /**
+     * Changed {@code .java} files under the project directory.
+     */
+    public int getFilesChanged() { return filesChanged; }
+    public void setFilesChanged(int filesChanged) { this.filesChanged = filesChanged; }
+
+    /**
+     * File versions parsed: up to two per changed file.
+     */
+    public int getFilesAnalyzed() { return filesAnalyzed; }
+    public void setFilesAnalyzed(int filesAnalyzed) { this.filesAnalyzed = filesAnalyzed; }
+
+    public long getDurationMillis() { return durationMillis; }
+    public void setDurationMillis(long durationMillis) { this.durationMillis = durationMillis; }
+
+    public List<ClassInfo> getAdded() { return added; }
+    public List<ClassInfo> getRemoved() { return removed; }
+    public List<BeanChange> getChanged() { return changed; }
+
+    public List<BeanChange> getRetyped() {
+        return changed.stream().filter(BeanChange::isRetyped).toList();
+    }
+
+    public List<BeanChange> getScopeChanges() {
+        return changed.stream().filter(BeanChange::isScopeChanged).toList();
+    }
+
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+    }
+}
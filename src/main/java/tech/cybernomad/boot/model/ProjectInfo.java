@@ -2,14 +2,24 @@ package tech.cybernomad.boot.model;
 
 import java.nio.file.Path;
 import java.util.*;
-import java.util.stream.Collectors;
 
+/**
+ * The analyzed project. Besides the list of all classes it keeps indexes by bean type, scope and package,
+ * maintained by {@link #addClass}, {@link #removeClass}, {@link #removeClasses} and {@link #replaceClass},
+ * so that queries cost in proportion to their result. The indexes use the type, scope and package a class
+ * had when it was added: to change them, replace the class.
+ */
 public class ProjectInfo {
     private String projectName;
     private Path basePath;
     private ClassInfo mainApplication;
     private List<ClassInfo> allClasses;
     private Map<BeanType, List<ClassInfo>> byType;
+    private AnalysisStats analysisStats;
+    private Map<String, ModuleInfo> modules;
+    private final Map<String, List<ClassInfo>> byScope = new HashMap<>();
+    private final PackageTrie byPackage = new PackageTrie();
+    private long nextOrder; // kolejność klas w allClasses dla indeksu pakietów
 
     public ProjectInfo() {
         this.allClasses = new ArrayList<>();
@@ -17,6 +27,8 @@ public class ProjectInfo {
         for (BeanType type : BeanType.values()) {
             byType.put(type, new ArrayList<>());
         }
+        this.analysisStats = new AnalysisStats();
+        this.modules = new LinkedHashMap<>();
     }
 
     public String getProjectName() { return projectName; }
@@ -30,16 +42,133 @@ public class ProjectInfo {
         this.mainApplication = mainApplication;
     }
 
+    public AnalysisStats getAnalysisStats() { return analysisStats; }
+    public void setAnalysisStats(AnalysisStats analysisStats) { this.analysisStats = analysisStats; }
+
+    public Collection<ModuleInfo> getModules() { return modules.values(); }
+
+    public ModuleInfo getModule(String name) { return modules.get(name); }
+
+    public void addModule(ModuleInfo module) {
+        modules.put(module.getName(), module);
+    }
+
+    /**
+     * The module whose source roots contain the file, or {@code null}.
+     */
+    public ModuleInfo findModule(Path file) {
+        for (ModuleInfo module : modules.values()) {
+            if (module.contains(file)) {
+                return module;
+            }
+        }
+        return null;
+    }
+
     public List<ClassInfo> getAllClasses() { return allClasses; }
 
     public void addClass(ClassInfo classInfo) {
         allClasses.add(classInfo);
+        index(classInfo, nextOrder++);
+    }
+
+    public void removeClass(ClassInfo classInfo) {
+        if (allClasses.remove(classInfo)) {
+            unindex(classInfo);
+        }
+    }
+
+    /**
+     * Removes several classes at once; each list is filtered in one pass instead of once per class.
+     * Classes that are not part of the project are ignored.
+     */
+    public void removeClasses(Collection<ClassInfo> classes) {
+        Set<ClassInfo> candidates = Collections.newSetFromMap(new IdentityHashMap<>());
+        candidates.addAll(classes);
+        Set<ClassInfo> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+        allClasses.removeIf(cls -> candidates.contains(cls) && removed.add(cls));
+        if (removed.isEmpty()) {
+            return;
+        }
+        Set<BeanType> types = EnumSet.noneOf(BeanType.class);
+        Set<String> scopes = new HashSet<>();
+        Set<String> moduleNames = new HashSet<>();
+        for (ClassInfo cls : removed) {
+            types.add(cls.getBeanType());
+            scopes.add(cls.getScope());
+            if (cls.getModule() != null) {
+                moduleNames.add(cls.getModule());
+            }
+            if (cls.getPackageName() != null) {
+                byPackage.remove(cls.getPackageName(), cls);
+            }
+            if (mainApplication == cls) {
+                this.mainApplication = null;
+            }
+        }
+        types.forEach(type -> byType.get(type).removeIf(removed::contains));
+        for (String scope : scopes) {
+            List<ClassInfo> sameScope = byScope.get(scope);
+            if (sameScope != null && sameScope.removeIf(removed::contains) && sameScope.isEmpty()) {
+                byScope.remove(scope);
+            }
+        }
+        for (String name : moduleNames) {
+            ModuleInfo module = modules.get(name);
+            if (module != null) {
+                module.getClasses().removeIf(removed::contains);
+            }
+        }
+    }
+
+    /**
+     * Puts {@code replacement} in place of {@code existing}, keeping its position among all classes;
+     * adds it at the end if {@code existing} is not part of the project.
+     */
+    public void replaceClass(ClassInfo existing, ClassInfo replacement) {
+        int position = allClasses.indexOf(existing);
+        if (position < 0) {
+            addClass(replacement);
+            return;
+        }
+        long order = unindex(existing);
+        allClasses.set(position, replacement);
+        index(replacement, order >= 0 ? order : nextOrder++);
+    }
+
+    private void index(ClassInfo classInfo, long order) {
+        ModuleInfo module = classInfo.getModule() != null ? modules.get(classInfo.getModule()) : null;
+        if (module != null) {
+            module.getClasses().add(classInfo);
+        }
         byType.get(classInfo.getBeanType()).add(classInfo);
+        byScope.computeIfAbsent(classInfo.getScope(), scope -> new ArrayList<>()).add(classInfo);
+        if (classInfo.getPackageName() != null) {
+            byPackage.add(classInfo.getPackageName(), classInfo, order);
+        }
         if (classInfo.getBeanType() == BeanType.SPRING_APPLICATION) {
             this.mainApplication = classInfo;
         }
     }
 
+    // Zwraca pozycję klasy w indeksie pakietów, -1 dla klasy bez pakietu
+    private long unindex(ClassInfo classInfo) {
+        byType.get(classInfo.getBeanType()).remove(classInfo);
+        List<ClassInfo> sameScope = byScope.get(classInfo.getScope());
+        if (sameScope != null && sameScope.remove(classInfo) && sameScope.isEmpty()) {
+            byScope.remove(classInfo.getScope());
+        }
+        long order = classInfo.getPackageName() != null ? byPackage.remove(classInfo.getPackageName(), classInfo) : -1;
+        ModuleInfo module = classInfo.getModule() != null ? modules.get(classInfo.getModule()) : null;
+        if (module != null) {
+            module.getClasses().remove(classInfo);
+        }
+        if (mainApplication == classInfo) {
+            this.mainApplication = null;
+        }
+        return order;
+    }
+
     public List<ClassInfo> getByType(BeanType type) {
         return byType.getOrDefault(type, Collections.emptyList());
     }
@@ -52,23 +181,34 @@ public class ProjectInfo {
         return allClasses.size();
     }
 
+    /**
+     * Number of classes per bean type label; types without classes are left out.
+     */
     public Map<String, Long> getStatsByType() {
-        return allClasses.stream()
-            .collect(Collectors.groupingBy(
-                c -> c.getBeanType().getLabel(),
-                Collectors.counting()
-            ));
+        Map<String, Long> stats = new LinkedHashMap<>();
+        byType.forEach((type, classes) -> {
+            if (!classes.isEmpty()) {
+                stats.merge(type.getLabel(), (long) classes.size(), Long::sum);
+            }
+        });
+        return stats;
+    }
+
+    /**
+     * Classes with the given scope, in the order they were added.
+     */
+    public List<ClassInfo> getByScope(String scope) {
+        return Collections.unmodifiableList(byScope.getOrDefault(scope, Collections.emptyList()));
     }
 
     public List<ClassInfo> getPrototypeBeans() {
-        return allClasses.stream()
-            .filter(c -> "prototype".equals(c.getScope()))
-            .collect(Collectors.toList());
+        return new ArrayList<>(getByScope("prototype"));
     }
 
+    /**
+     * Classes whose package name starts with the prefix, in the order they were added (as in {@link #getAllClasses()}).
+     */
     public List<ClassInfo> getByPackage(String packagePrefix) {
-        return allClasses.stream()
-            .filter(c -> c.getPackageName() != null && c.getPackageName().startsWith(packagePrefix))
-            .collect(Collectors.toList());
+        return byPackage.findByPrefix(packagePrefix);
     }
 }
@@ -0,0 +1,60 @@
+package tech.cybernomad.boot.model;
+
+import java.util.List;
+
+/**
+ * One request mapping of a controller method: the full path pattern (class-level path combined with the
+ * method-level one), the HTTP methods and the {@code consumes}/{@code produces} media types. An empty list
+ * means no restriction. A method mapped to several paths yields one route per path.
+ * Strings are {@link SymbolTable} ids, like in {@link ClassInfo}.
+ */
+public class RouteInfo {
+    private final SymbolTable names;
+    private int path = SymbolTable.NONE; // np. /api/users/{id}
+    private int handlerMethod = SymbolTable.NONE;
+    private int lineNumber;
+    private final SymbolList methods; // GET, POST, ...
+    private final SymbolList consumes;
+    private final SymbolList produces;
+
+    public RouteInfo(Symbols symbols) {
+        this.names = symbols.getNames();
+        this.methods = new SymbolList(names);
+        this.consumes = new SymbolList(names);
+        this.produces = new SymbolList(names);
+    }
+
+    public String getPath() { return names.get(path); }
+    public void setPath(String path) { this.path = names.intern(path); }
+
+    public String getHandlerMethod() { return names.get(handlerMethod); }
+    public void setHandlerMethod(String handlerMethod) { this.handlerMethod = names.intern(handlerMethod); }
+
+    public int getLineNumber() { return lineNumber; }
+    public void setLineNumber(int lineNumber) { this.lineNumber = lineNumber; }
+
+    public List<String> getMethods() { return methods; }
+    public void setMethods(List<String> methods) { replace(this.methods, methods); }
+
+    public List<String> getConsumes() { return consumes; }
+    public void setConsumes(List<String> consumes) { replace(this.consumes, consumes); }
+
+    public List<String> getProduces() { return produces; }
+    public void setProduces(List<String> produces) { replace(this.produces, produces); }
+
+    private static void replace(SymbolList target, List<String> values) {
+        if (target == values) {
+            return;
+        }
+        target.clear();
+        target.addAll(values);
+    }
+
+    /**
+     * E.g. {@code GET,POST /api/users/{id}}; {@code *} when any method is accepted.
+     */
+    @Override
+    public String toString() {
+        return (methods.isEmpty() ? "*" : String.join(",", methods)) + " " + getPath();
+    }
+}
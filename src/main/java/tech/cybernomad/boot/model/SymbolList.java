@@ -0,0 +1,110 @@
+package tech.cybernomad.boot.model;
+
+import java.util.*;
+
+/**
+ * Mutable {@code List<String>} view over an array of {@link SymbolTable} ids.
+ * An element costs four bytes and equal strings are shared by every list.
+ */
+public class SymbolList extends AbstractList<String> implements RandomAccess {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final SymbolTable table;
+    private int[] ids = EMPTY;
+    private int size;
+
+    public SymbolList(SymbolTable table) {
+        this.table = table;
+    }
+
+    public SymbolList(SymbolTable table, Collection<String> values) {
+        this(table);
+        if (!values.isEmpty()) {
+            ids = new int[values.size()];
+            for (String value : values) {
+                ids[size++] = table.intern(value);
+            }
+        }
+    }
+
+    public SymbolTable getTable() { return table; }
+
+    public int getId(int index) {
+        Objects.checkIndex(index, size);
+        return ids[index];
+    }
+
+    @Override
+    public String get(int index) {
+        return table.get(getId(index));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String set(int index, String element) {
+        String previous = get(index);
+        ids[index] = table.intern(element);
+        modCount++;
+        changed();
+        return previous;
+    }
+
+    @Override
+    public void add(int index, String element) {
+        Objects.checkIndex(index, size + 1);
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, Math.max(2, size + (size >> 1) + 1));
+        }
+        System.arraycopy(ids, index, ids, index + 1, size - index);
+        ids[index] = table.intern(element);
+        size++;
+        modCount++;
+        changed();
+    }
+
+    @Override
+    public String remove(int index) {
+        String previous = get(index);
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        size--;
+        modCount++;
+        changed();
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        ids = EMPTY;
+        size = 0;
+        modCount++;
+        changed();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof String s && containsId(table.find(s));
+    }
+
+    public boolean containsId(int id) {
+        if (id == SymbolTable.NONE) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (ids[i] == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Called after every modification.
+     */
+    protected void changed() {
+    }
+}
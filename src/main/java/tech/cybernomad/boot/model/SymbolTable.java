@@ -0,0 +1,65 @@
+package tech.cybernomad.boot.model;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns strings as dense int ids, shared by the model objects of one analysis run (see {@link Symbols}).
+ * <p>
+ * Names repeat across hundreds of thousands of classes (annotation, type and package names, scopes,
+ * mappings, directories), so the model stores their ids instead of private copies. Interning is
+ * thread-safe; looking up an id never locks. Symbols are never removed from a table: it grows with the
+ * number of distinct names of its run, not with the number of classes, and is dropped as a whole with
+ * the run's result.
+ */
+public final class SymbolTable {
+
+    public static final int NONE = -1;
+
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] symbols = new String[256];
+    private int size;
+
+    /**
+     * Returns the id of the symbol, adding it on first use; {@code null} maps to {@link #NONE}.
+     */
+    public int intern(String symbol) {
+        if (symbol == null) {
+            return NONE;
+        }
+        Integer id = ids.get(symbol);
+        return id != null ? id : add(symbol);
+    }
+
+    /**
+     * Returns the id of an already interned symbol, or {@link #NONE}.
+     */
+    public int find(String symbol) {
+        Integer id = symbol != null ? ids.get(symbol) : null;
+        return id != null ? id : NONE;
+    }
+
+    public String get(int id) {
+        return id == NONE ? null : symbols[id];
+    }
+
+    public int size() {
+        return ids.size();
+    }
+
+    // Tablica jest zapisywana przed opublikowaniem id w mapie, więc każdy, kto zna id, widzi też napis
+    private synchronized int add(String symbol) {
+        Integer existing = ids.get(symbol);
+        if (existing != null) {
+            return existing;
+        }
+        String[] array = symbols;
+        if (size == array.length) {
+            array = Arrays.copyOf(array, size * 2);
+        }
+        array[size] = symbol;
+        symbols = array;
+        ids.put(symbol, size);
+        return size++;
+    }
+}
@@ -0,0 +1,26 @@
+package tech.cybernomad.boot.model;
+
+/**
+ * The symbol tables of one analysis run (a parse, a bytecode scan or a snapshot load): every model object
+ * created by the run interns into them and keeps a reference to them.
+ * <p>
+ * The tables live exactly as long as the objects of that run - once its result is dropped from the caches,
+ * they are garbage collected with it. Models of different runs can be mixed (e.g. a project where one
+ * module was analyzed again); each object reads its ids from its own tables.
+ */
+public final class Symbols {
+
+    /**
+     * Type, package, scope, mapping and directory names.
+     */
+    private final SymbolTable names = new SymbolTable();
+
+    /**
+     * Annotation names. Kept apart so that their ids stay small and fit in the bitsets of {@link AnnotationList}.
+     */
+    private final SymbolTable annotations = new SymbolTable();
+
+    public SymbolTable getNames() { return names; }
+
+    public SymbolTable getAnnotations() { return annotations; }
+}
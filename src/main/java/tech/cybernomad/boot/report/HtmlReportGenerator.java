@@ -1,13 +1,18 @@
 package tech.cybernomad.boot.report;
 
+import tech.cybernomad.boot.analyzer.AnalysisListener;
+import tech.cybernomad.boot.graph.DependencyGraph;
+import tech.cybernomad.boot.graph.LazyInitAnalysis;
+import tech.cybernomad.boot.graph.StartupPlan;
+import tech.cybernomad.boot.route.RouteTable;
 import tech.cybernomad.boot.model.*;
+import tech.cybernomad.boot.rules.RuleSet;
 
-import java.io.IOException;
+import java.io.*;
 import java.nio.file.*;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class HtmlReportGenerator {
 
@@ -247,28 +252,466 @@ public class HtmlReportGenerator {
             color: #3fc99a;
             text-decoration: none;
         }
+
+        .live {
+            color: #43D079;
+            font-size: 12px;
+            margin-bottom: 20px;
+        }
+
+        .live.stale { color: #f39c12; }
+
+        tr.changed td {
+            background: #1a2a20;
+        }
+
+        .module {
+            color: #9b59b6;
+            font-size: 11px;
+        }
+
+        tr.cycle td {
+            color: #e74c3c;
+        }
+
+        tr.warning td {
+            color: #f39c12;
+        }
+
+        table.fan {
+            margin-top: 20px;
+        }
+
+        .type-count {
+            margin-right: 12px;
+            white-space: nowrap;
+        }
+
+        .diff-added { color: #3fc99a; }
+        .diff-added::before { content: '+ '; }
+        .diff-removed { color: #e74c3c; text-decoration: line-through; }
+        .diff-removed::before { content: '- '; }
+        td.diff-side { width: 40%; }
+
+        td.num { text-align: right; white-space: nowrap; }
+
+        .filters {
+            display: flex;
+            gap: 10px;
+            flex-wrap: wrap;
+            margin-bottom: 10px;
+        }
+
+        .filters select, .filters input {
+            background: #1a1a1a;
+            border: 1px solid #333;
+            color: #3fc99a;
+            font-family: inherit;
+            font-size: 12px;
+            padding: 5px 8px;
+        }
+
+        .viewport {
+            height: 70vh;
+            overflow-y: auto;
+        }
+
+        .vrow {
+            display: grid;
+            grid-template-columns: 3fr 3fr 2fr 1.5fr 0.7fr 3fr;
+            gap: 12px;
+            align-items: center;
+            height: 28px;
+            padding: 0 12px;
+            border-bottom: 1px solid #222;
+            font-size: 13px;
+            white-space: nowrap;
+            cursor: pointer;
+        }
+
+        .vrow > div { overflow: hidden; text-overflow: ellipsis; }
+        .vrow .num { text-align: right; }
+        .vrow:hover, .vrow.selected { background: #1a1a1a; }
+
+        .vhead {
+            color: #666;
+            font-size: 11px;
+            text-transform: uppercase;
+            letter-spacing: 1px;
+            border-bottom: 1px solid #333;
+            background: #111;
+            position: sticky;
+            top: 0;
+            z-index: 1;
+            cursor: default;
+        }
+
+        .vhead:hover { background: #111; }
+        .vhead [data-sort] { cursor: pointer; }
+        .vhead .sorted-asc::after { content: ' ▲'; }
+        .vhead .sorted-desc::after { content: ' ▼'; }
+        .count.stale { color: #f39c12; }
+
+        .bean-detail {
+            margin-top: 15px;
+            padding: 15px;
+            background: #1a1a1a;
+            border-left: 2px solid #3fc99a33;
+            font-size: 12px;
+        }
+
+        .bean-detail:empty { display: none; }
+        .failure { color: #e74c3c; font-size: 12px; white-space: pre-wrap; }
+        """;
+
+    // Klient trybu watch: usuwa i wstawia wiersze według delt przysyłanych przez SSE
+    private static final String LIVE_SCRIPT = """
+        (function () {
+            var live = document.getElementById('live');
+            var changes = 0;
+            var source = new EventSource('%EVENTS_URL%');
+            source.addEventListener('delta', function (event) {
+                var delta = JSON.parse(event.data);
+                delta.removed.forEach(function (name) {
+                    document.querySelectorAll('tr[data-class="' + CSS.escape(name) + '"]')
+                        .forEach(function (row) { row.remove(); });
+                });
+                var missing = false;
+                delta.added.forEach(function (cls) {
+                    var body = document.querySelector('tbody[data-type="' + cls.type + '"]');
+                    if (!body) { missing = true; return; }
+                    body.insertAdjacentHTML('beforeend', cls.row);
+                    body.lastElementChild.classList.add('changed');
+                });
+                document.querySelectorAll('div.section[data-type]').forEach(function (section) {
+                    section.querySelector('.count').textContent = '(' + section.querySelectorAll('tbody tr').length + ')';
+                });
+                changes += delta.removed.length + delta.added.length;
+                live.textContent = '● LIVE - ' + delta.totalBeans + ' beans, ' + changes + ' changes, last update '
+                    + new Date().toLocaleTimeString();
+                if (missing) {
+                    live.classList.add('stale');
+                    live.innerHTML += ' - <a href="" style="color:inherit">new section, reload</a>';
+                }
+            });
+            source.onerror = function () { live.classList.add('stale'); };
+        })();
+        """;
+
+    // Klient trybu wirtualnego: beany doczytywane porcjami do kolumn, w DOM tylko widoczne wiersze
+    private static final String VIRTUAL_SCRIPT = """
+        (function () {
+            var ROW_HEIGHT = 28, OVERSCAN = 20, CHUNK = 5000;
+            var DATA_URL = '%DATA_URL%';
+            var TYPES = %TYPES%;
+            var total = %TOTAL%, selected = -1;
+            // Indeks beana = pozycja w ProjectInfo.getAllClasses(), jak w odpowiedziach serwera
+            var names = [], packages = [], types = [], scopes = [], deps = [], mappings = [];
+            var packageNames = [], packageIds = new Map(), scopeNames = new Set();
+            var view = [], sortKey = null, sortDir = 1, drawn = '', scheduled = false, timer;
+            var $ = function (id) { return document.getElementById(id); };
+            var viewport = $('beans-viewport'), spacer = $('beans-spacer'), rows = $('beans-rows'), status = $('beans-status');
+            var filterType = $('filter-type'), filterScope = $('filter-scope'), filterPackage = $('filter-package'),
+                filterDeps = $('filter-deps'), filterName = $('filter-name');
+            var KEYS = {
+                name: function (i) { return names[i]; },
+                package: function (i) { return packageNames[packages[i]]; },
+                type: function (i) { return types[i]; },
+                scope: function (i) { return scopes[i]; },
+                deps: function (i) { return deps[i]; }
+            };
+
+            function url(part, params) { return DATA_URL.replace('{part}', part) + params; }
+
+            function esc(s) {
+                return String(s).replace(/&/g, '&amp;').replace(/</g, '&lt;').replace(/>/g, '&gt;').replace(/"/g, '&quot;');
+            }
+
+            function fail(response) {
+                throw new Error(response.status === 409 ? 'analysis changed, reload the page' : 'HTTP ' + response.status);
+            }
+
+            function load(offset) {
+                fetch(url('beans', '&offset=' + offset + '&limit=' + CHUNK))
+                    .then(function (response) { return response.ok ? response.json() : fail(response); })
+                    .then(function (chunk) {
+                        total = chunk.total;
+                        var ids = chunk.packages.map(function (name) {
+                            if (!packageIds.has(name)) {
+                                packageIds.set(name, packageNames.length);
+                                packageNames.push(name);
+                            }
+                            return packageIds.get(name);
+                        });
+                        chunk.rows.forEach(function (row) {
+                            names.push(row[0]);
+                            packages.push(ids[row[1]]);
+                            types.push(row[2]);
+                            scopes.push(row[3]);
+                            deps.push(row[4]);
+                            mappings.push(row[5]);
+                            if (!scopeNames.has(row[3])) {
+                                scopeNames.add(row[3]);
+                                filterScope.add(new Option(row[3], row[3]));
+                            }
+                        });
+                        refresh(false);
+                        if (offset === 0) {
+                            loadSections();
+                        }
+                        if (chunk.rows.length > 0 && names.length < total) {
+                            load(names.length);
+                        }
+                    })
+                    .catch(function (error) {
+                        status.textContent = '(' + names.length + ' of ' + total + ' loaded - ' + error.message + ')';
+                        status.classList.add('stale');
+                    });
+            }
+
+            function loadSections() {
+                fetch(url('sections', ''))
+                    .then(function (response) { return response.ok ? response.text() : fail(response); })
+                    .then(function (html) { $('analysis').innerHTML = html; })
+                    .catch(function (error) {
+                        $('analysis').innerHTML = '<div class="meta">Analysis sections unavailable: ' + esc(error.message) + '</div>';
+                    });
+            }
+
+            function refresh(reset) {
+                var type = filterType.value, scope = filterScope.value, prefix = filterPackage.value.trim(),
+                    minDeps = parseInt(filterDeps.value, 10) || 0, name = filterName.value.trim().toLowerCase();
+                view = [];
+                for (var i = 0; i < names.length; i++) {
+                    if ((!type || types[i] === type) && (!scope || scopes[i] === scope) && deps[i] >= minDeps
+                            && (!prefix || packageNames[packages[i]].startsWith(prefix))
+                            && (!name || names[i].toLowerCase().indexOf(name) >= 0)) {
+                        view.push(i);
+                    }
+                }
+                if (sortKey) {
+                    var key = KEYS[sortKey];
+                    view.sort(function (a, b) {
+                        var x = key(a), y = key(b);
+                        return x < y ? -sortDir : x > y ? sortDir : a - b;
+                    });
+                }
+                spacer.style.height = view.length * ROW_HEIGHT + 'px';
+                status.textContent = '(' + view.length + (view.length !== names.length ? ' of ' + names.length : '')
+                    + (names.length < total ? ', loading ' + names.length + ' / ' + total : '') + ')';
+                if (reset) {
+                    viewport.scrollTop = 0;
+                }
+                drawn = '';
+                draw();
+            }
+
+            function draw() {
+                var top = viewport.scrollTop;
+                var first = Math.max(0, Math.floor(top / ROW_HEIGHT) - OVERSCAN);
+                var last = Math.min(view.length, Math.ceil((top + viewport.clientHeight) / ROW_HEIGHT) + OVERSCAN);
+                if (drawn === first + ':' + last) {
+                    return;
+                }
+                drawn = first + ':' + last;
+                var html = [];
+                for (var r = first; r < last; r++) {
+                    html.push(row(view[r]));
+                }
+                rows.style.transform = 'translateY(' + first * ROW_HEIGHT + 'px)';
+                rows.innerHTML = html.join('');
+            }
+
+            function row(i) {
+                var type = TYPES[types[i]] || [types[i], '?', '#666'];
+                return '<div class="vrow' + (i === selected ? ' selected' : '') + '" data-index="' + i + '">'
+                    + '<div class="class-name">' + esc(names[i]) + '</div>'
+                    + '<div class="package">' + esc(packageNames[packages[i]]) + '</div>'
+                    + '<div><span style="color:' + type[2] + ';">' + type[1] + '</span> ' + esc(type[0]) + '</div>'
+                    + '<div><span class="scope scope-' + esc(scopes[i]) + '">' + esc(scopes[i]) + '</span></div>'
+                    + '<div class="num">' + deps[i] + '</div>'
+                    + '<div class="mapping">' + esc(mappings[i].join(', ')) + '</div></div>';
+            }
+
+            function list(label, values) {
+                return values && values.length ? '<div class="deps">' + label + ': ' + values.map(esc).join(', ') + '</div>' : '';
+            }
+
+            function showDetail(cls) {
+                var html = '<div class="class-name">' + esc(cls.fullName) + '</div>'
+                    + '<div class="package">' + esc(cls.file) + ':' + cls.line + (cls.module ? ' | module ' + esc(cls.module) : '') + '</div>'
+                    + list('Annotations', cls.annotations) + list('Dependencies', cls.dependencies)
+                    + list('Mappings', cls.mappings) + list('Extends', cls.parentClass ? [cls.parentClass] : [])
+                    + list('Interfaces', cls.interfaces);
+                (cls.beanMethods || []).forEach(function (method) {
+                    html += '<div class="bean-method"><span class="name">' + esc(method.name) + '()</span> '
+                        + '<span class="return-type">→ ' + esc(method.returnType || '') + '</span></div>';
+                });
+                (cls.routes || []).forEach(function (route) {
+                    html += '<div class="mapping">' + esc((route.methods || ['ANY']).join(',')) + ' ' + esc(route.path)
+                        + ' → ' + esc(route.handler) + '</div>';
+                });
+                (cls.findings || []).forEach(function (finding) {
+                    html += '<div class="failure">' + esc(finding.severity + ' ' + finding.rule + ': ' + finding.message) + '</div>';
+                });
+                $('bean-detail').innerHTML = html;
+            }
+
+            viewport.addEventListener('scroll', function () {
+                if (!scheduled) {
+                    scheduled = true;
+                    requestAnimationFrame(function () { scheduled = false; draw(); });
+                }
+            });
+            window.addEventListener('resize', function () { drawn = ''; draw(); });
+            [filterType, filterScope].forEach(function (input) {
+                input.addEventListener('change', function () { refresh(true); });
+            });
+            [filterPackage, filterDeps, filterName].forEach(function (input) {
+                input.addEventListener('input', function () {
+                    clearTimeout(timer);
+                    timer = setTimeout(function () { refresh(true); }, 150);
+                });
+            });
+            document.querySelectorAll('#beans .vhead [data-sort]').forEach(function (header) {
+                header.addEventListener('click', function () {
+                    var key = header.getAttribute('data-sort');
+                    sortDir = key === sortKey ? -sortDir : 1;
+                    sortKey = key;
+                    document.querySelectorAll('#beans .vhead [data-sort]').forEach(function (h) { h.className = ''; });
+                    header.className = sortDir > 0 ? 'sorted-asc' : 'sorted-desc';
+                    refresh(true);
+                });
+            });
+            rows.addEventListener('click', function (event) {
+                var target = event.target.closest('.vrow');
+                if (!target) {
+                    return;
+                }
+                selected = parseInt(target.getAttribute('data-index'), 10);
+                drawn = '';
+                draw();
+                fetch(url('bean', '&index=' + selected))
+                    .then(function (response) { return response.ok ? response.json() : fail(response); })
+                    .then(showDetail)
+                    .catch(function (error) { $('bean-detail').textContent = error.message; });
+            });
+            load(0);
+        })();
         """;
 
     public String generateString(ProjectInfo project) {
-        StringBuilder html = new StringBuilder();
+        StringWriter html = new StringWriter();
+        try {
+            write(project, html);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return html.toString();
+    }
 
-        html.append("<!DOCTYPE html>\n");
-        html.append("<html lang=\"en\">\n<head>\n");
-        html.append("<meta charset=\"UTF-8\">\n");
-        html.append("<meta name=\"viewport\" content=\"width=device-width, initial-scale=1.0\">\n");
-        html.append("<title>").append(escape(project.getProjectName())).append(" - Spring Boot Analysis</title>\n");
-        html.append("<style>\n").append(CSS).append("\n</style>\n");
-        html.append("</head>\n<body>\n");
-        html.append("<div class=\"container\">\n");
+    // Więcej wierszy tylko spowalnia stronę; pełna lista: /analyze/findings
+    private static final int MAX_FINDINGS = 500;
 
-        // Header with back link
-        html.append("<header>\n");
-        html.append("<h1><a href=\"/\" style=\"color:#3fc99a;text-decoration:none;\">CBRNMD//BOOT</a><span class=\"sub\">Spring Boot Codebase Analysis</span></h1>\n");
+    // Sekcje doczytywane do raportu wirtualnego; pełna lista: /analyze/routes
+    private static final int MAX_ROUTES = 500;
+
+    private final AnalysisListener listener;
+    private final RuleSet rules;
+
+    public HtmlReportGenerator() {
+        this(AnalysisListener.NONE);
+    }
+
+    /**
+     * @param listener receives the rendering time of every report as {@link AnalysisListener.Phase#REPORT}
+     */
+    public HtmlReportGenerator(AnalysisListener listener) {
+        this(listener, RuleSet.NONE);
+    }
+
+    /**
+     * @param rules adds the findings of its project-level rules to those stored with the classes
+     */
+    public HtmlReportGenerator(AnalysisListener listener, RuleSet rules) {
+        this.listener = listener;
+        this.rules = rules;
+    }
+
+    public void generate(ProjectInfo project, Path outputPath) throws IOException {
+        try (Writer out = Files.newBufferedWriter(outputPath)) {
+            write(project, out);
+        }
+    }
+
+    /**
+     * Renders the report straight into {@code html}, section by section and row by row, without
+     * building the document in memory first. The writer is neither flushed nor closed.
+     */
+    public void write(ProjectInfo project, Writer html) throws IOException {
+        write(project, html, null);
+    }
+
+    /**
+     * Same as {@link #write(ProjectInfo, Writer)}; when {@code liveEventsUrl} is given the page
+     * subscribes to that Server-Sent Events stream and patches its rows from the received deltas.
+     */
+    public void write(ProjectInfo project, Writer html, String liveEventsUrl) throws IOException {
+        long start = System.nanoTime();
+        appendHead(html, project.getProjectName() + " - Spring Boot Analysis", "Spring Boot Codebase Analysis");
+        appendMeta(html, project);
+        html.append("</div>\n</header>\n");
+
+        if (liveEventsUrl != null) {
+            html.append("<div class=\"live\" id=\"live\">● LIVE - waiting for changes</div>\n");
+        }
+
+        renderSummary(html, project);
+
+        // Sections by type
+        renderSection(html, project, BeanType.CONFIGURATION, "Configuration Classes");
+        renderSection(html, project, BeanType.REST_CONTROLLER, "REST Controllers");
+        renderSection(html, project, BeanType.CONTROLLER, "Controllers");
+        renderSection(html, project, BeanType.SERVICE, "Services");
+        renderSection(html, project, BeanType.REPOSITORY, "Repositories");
+        renderSection(html, project, BeanType.COMPONENT, "Components");
+        renderSection(html, project, BeanType.ENTITY, "Entities");
+        renderSection(html, project, BeanType.SCHEDULED, "Scheduled Tasks");
+        renderSection(html, project, BeanType.EVENT_LISTENER, "Event Listeners");
+        renderSection(html, project, BeanType.ASPECT, "Aspects");
+
+        renderAnalysis(html, project, Integer.MAX_VALUE);
+
+        appendFooter(html);
+
+        html.append("</div>\n");
+        if (liveEventsUrl != null) {
+            html.append("<script>\n").append(LIVE_SCRIPT.replace("%EVENTS_URL%", escapeJs(liveEventsUrl))).append("</script>\n");
+        }
+        html.append("</body>\n</html>");
+        listener.phaseCompleted(AnalysisListener.Phase.REPORT, System.nanoTime() - start);
+    }
+
+    private void appendMeta(Writer html, ProjectInfo project) throws IOException {
         html.append("<div class=\"meta\">Project: ").append(escape(project.getProjectName()));
         html.append(" | Path: ").append(escape(project.getBasePath().toString()));
         html.append(" | Generated: ").append(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")));
-        html.append("</div>\n</header>\n");
+        AnalysisStats stats = project.getAnalysisStats();
+        html.append(" | Files: ").append(String.valueOf(stats.getFilesDiscovered()));
+        html.append(" (parsed ").append(String.valueOf(stats.getFilesParsed()))
+            .append(", cached ").append(String.valueOf(stats.getFilesCached()))
+            .append(", skipped ").append(String.valueOf(stats.getFilesSkipped()));
+        if (stats.getFilesFailed() > 0) {
+            html.append(", failed ").append(String.valueOf(stats.getFilesFailed()));
+        }
+        html.append(")");
+        if (stats.isPartial()) {
+            html.append(" | <span style=\"color:#f39c12;\">PARTIAL - analysis stopped before all files were read</span>");
+        }
+    }
 
+    // Liczby beanów, klasa główna i moduły - wspólne dla pełnego raportu i trybu wirtualnego
+    private void renderSummary(Writer html, ProjectInfo project) throws IOException {
         // Stats
         html.append("<div class=\"stats\">\n");
         html.append(statBox(String.valueOf(project.getTotalBeans()), "Total Beans"));
@@ -291,45 +734,599 @@ public class HtmlReportGenerator {
             html.append("</div>\n");
         }
 
-        // Sections by type
-        renderSection(html, project, BeanType.CONFIGURATION, "Configuration Classes");
-        renderSection(html, project, BeanType.REST_CONTROLLER, "REST Controllers");
-        renderSection(html, project, BeanType.CONTROLLER, "Controllers");
-        renderSection(html, project, BeanType.SERVICE, "Services");
-        renderSection(html, project, BeanType.REPOSITORY, "Repositories");
-        renderSection(html, project, BeanType.COMPONENT, "Components");
-        renderSection(html, project, BeanType.ENTITY, "Entities");
-        renderSection(html, project, BeanType.SCHEDULED, "Scheduled Tasks");
-        renderSection(html, project, BeanType.EVENT_LISTENER, "Event Listeners");
-        renderSection(html, project, BeanType.ASPECT, "Aspects");
+        // Modules (multi-module builds only)
+        if (project.getModules().size() > 1) {
+            renderModules(html, project);
+        }
+    }
 
-        // Footer
-        html.append("<footer>\n");
-        html.append("Generated by <a href=\"https://cybernomad.tech\">CBRNMD//BOOT</a> v0.1.0\n");
-        html.append("</footer>\n");
+    // Analizy całego projektu; w trybie wirtualnym doczytywane osobno, z listą tras przyciętą do maxRoutes
+    private void renderAnalysis(Writer html, ProjectInfo project, int maxRoutes) throws IOException {
+        renderFindings(html, project, rules.check(project));
+
+        renderRoutes(html, project, RouteTable.build(project), maxRoutes);
+
+        // Dependency graph
+        if (project.getTotalBeans() > 0) {
+            DependencyGraph graph = DependencyGraph.build(project);
+            renderDependencyGraph(html, graph);
+            renderStartupPlan(html, StartupPlan.build(graph));
+            renderLazyInit(html, project, LazyInitAnalysis.build(graph));
+        }
+
+        renderDiagnostics(html, project);
+    }
+
+    /**
+     * Renders the virtual report: a shell with the summary and an empty bean table that loads its data
+     * from JSON endpoints in chunks. The browser keeps only the visible rows in the DOM and filters and
+     * sorts the loaded beans itself, so the page opens at the same speed whatever the number of beans.
+     * The analysis sections (findings, routes, graph, startup) follow as a separate request, see
+     * {@link #writeSections}.
+     *
+     * @param dataUrl URL of the data endpoints with a query that pins the analysis result; {@code {part}} is
+     *                replaced by {@code beans}, {@code bean} or {@code sections}
+     * @param fullReportUrl link to the static report
+     */
+    public void writeShell(ProjectInfo project, Writer html, String dataUrl, String fullReportUrl) throws IOException {
+        long start = System.nanoTime();
+        appendHead(html, project.getProjectName() + " - Spring Boot Analysis", "Spring Boot Codebase Analysis");
+        appendMeta(html, project);
+        html.append(" | <a href=\"").append(escape(fullReportUrl)).append("\" style=\"color:#4a90d9;\">static report</a>");
+        html.append("</div>\n</header>\n");
+
+        renderSummary(html, project);
+
+        List<ClassInfo> classes = project.getAllClasses();
+        html.append("<div class=\"section\" id=\"beans\">\n");
+        html.append("<div class=\"section-header\">\n");
+        html.append("<span class=\"icon\">≡</span>\n");
+        html.append("<h2>Beans</h2>\n");
+        html.append("<span class=\"count\" id=\"beans-status\">(loading 0 / ").append(String.valueOf(classes.size()))
+            .append(")</span>\n");
+        html.append("</div>\n");
+
+        html.append("<div class=\"filters\">\n<select id=\"filter-type\"><option value=\"\">All types</option>");
+        StringBuilder types = new StringBuilder("{");
+        for (BeanType type : BeanType.values()) {
+            types.append(types.length() > 1 ? ", " : "").append('\'').append(type.name()).append("': ['")
+                .append(escapeJs(type.getLabel())).append("', '").append(escapeJs(type.getIcon())).append("', '")
+                .append(escapeJs(type.getColor())).append("']");
+            int count = project.getByType(type).size();
+            if (count > 0) {
+                html.append("<option value=\"").append(type.name()).append("\">").append(type.getIcon()).append(" ")
+                    .append(type.getLabel()).append(" (").append(String.valueOf(count)).append(")</option>");
+            }
+        }
+        types.append("}");
+        html.append("</select>\n");
+        html.append("<select id=\"filter-scope\"><option value=\"\">All scopes</option></select>\n");
+        html.append("<input id=\"filter-package\" placeholder=\"package prefix\">\n");
+        html.append("<input id=\"filter-deps\" type=\"number\" min=\"0\" placeholder=\"min dependencies\">\n");
+        html.append("<input id=\"filter-name\" placeholder=\"class name\">\n");
+        html.append("</div>\n");
+
+        // Nagłówek przyklejony wewnątrz przewijanego obszaru - kolumny zgadzają się z wierszami mimo paska przewijania
+        html.append("<div class=\"viewport\" id=\"beans-viewport\">\n");
+        html.append("<div class=\"vrow vhead\"><div data-sort=\"name\">Class</div><div data-sort=\"package\">Package</div>");
+        html.append("<div data-sort=\"type\">Type</div><div data-sort=\"scope\">Scope</div>");
+        html.append("<div data-sort=\"deps\" class=\"num\">Deps</div><div>Mappings</div></div>\n");
+        html.append("<div id=\"beans-spacer\">");
+        html.append("<div id=\"beans-rows\"></div></div></div>\n");
+        html.append("<div class=\"bean-detail\" id=\"bean-detail\"></div>\n");
+        html.append("</div>\n");
+
+        html.append("<div id=\"analysis\"><div class=\"section\"><div class=\"meta\">Loading analysis...</div></div></div>\n");
+
+        appendFooter(html);
+        html.append("</div>\n");
+        html.append("<script>\n").append(VIRTUAL_SCRIPT
+            .replace("%DATA_URL%", escapeJs(dataUrl))
+            .replace("%TYPES%", types)
+            .replace("%TOTAL%", String.valueOf(classes.size()))).append("</script>\n");
+        html.append("</body>\n</html>");
+        listener.phaseCompleted(AnalysisListener.Phase.REPORT, System.nanoTime() - start);
+    }
+
+    /**
+     * The analysis sections of the virtual report as an HTML fragment: the same findings, graph, startup
+     * and diagnostics as the static report, with the route list cut to its first {@value #MAX_ROUTES} rows.
+     */
+    public void writeSections(ProjectInfo project, Writer html) throws IOException {
+        long start = System.nanoTime();
+        renderAnalysis(html, project, MAX_ROUTES);
+        listener.phaseCompleted(AnalysisListener.Phase.REPORT, System.nanoTime() - start);
+    }
+
+    /**
+     * Renders the beans that changed between two revisions: added and removed beans as tables, changed
+     * beans side by side with their state before and after.
+     */
+    public void writeDelta(ProjectDelta delta, Writer html) throws IOException {
+        long start = System.nanoTime();
+        String projectName = String.valueOf(delta.getBasePath().toAbsolutePath().normalize().getFileName());
+        String to = delta.getTo() != null ? delta.getTo() : "working tree";
+        appendHead(html, projectName + " - " + delta.getFrom() + ".." + to, "Bean Delta");
+        html.append("<div class=\"meta\">Project: ").append(escape(projectName));
+        html.append(" | From: ").append(escape(delta.getFrom())).append(" (").append(shortCommit(delta.getFromCommit())).append(")");
+        html.append(" | To: ").append(escape(to));
+        if (delta.getToCommit() != null) {
+            html.append(" (").append(shortCommit(delta.getToCommit())).append(")");
+        }
+        html.append(" | Files changed: ").append(String.valueOf(delta.getFilesChanged()));
+        html.append(" (versions analyzed ").append(String.valueOf(delta.getFilesAnalyzed())).append(")");
+        html.append(" | ").append(String.valueOf(delta.getDurationMillis())).append(" ms");
+        html.append("</div>\n</header>\n");
+
+        html.append("<div class=\"stats\">\n");
+        html.append(statBox(String.valueOf(delta.getAdded().size()), "Added"));
+        html.append(statBox(String.valueOf(delta.getRemoved().size()), "Removed"));
+        html.append(statBox(String.valueOf(delta.getChanged().size()), "Changed"));
+        html.append(statBox(String.valueOf(delta.getRetyped().size()), "Retyped"));
+        html.append(statBox(String.valueOf(delta.getScopeChanges().size()), "Scope Changes"));
+        html.append("</div>\n");
+
+        if (delta.isEmpty()) {
+            html.append("<div class=\"section\"><div class=\"meta\">No bean changes between these revisions.</div></div>\n");
+        }
+        renderDeltaBeans(html, delta, delta.getAdded(), "Added Beans", "+");
+        renderDeltaBeans(html, delta, delta.getRemoved(), "Removed Beans", "−");
+
+        if (!delta.getChanged().isEmpty()) {
+            html.append("<div class=\"section\" id=\"changed\">\n");
+            html.append("<div class=\"section-header\">\n<span class=\"icon\">±</span>\n<h2>Changed Beans</h2>\n");
+            html.append("<span class=\"count\">(").append(String.valueOf(delta.getChanged().size())).append(")</span>\n</div>\n");
+            html.append("<table>\n<thead><tr><th>Class</th><th>Before</th><th>After</th></tr></thead>\n<tbody>\n");
+            for (BeanChange change : delta.getChanged()) {
+                ClassInfo before = change.getBefore();
+                ClassInfo after = change.getAfter();
+                html.append("<tr data-class=\"").append(escape(change.getFullName())).append("\">");
+                html.append("<td><div class=\"class-name\">").append(escape(after.getClassName())).append("</div>");
+                html.append("<div class=\"package\">").append(escape(after.getPackageName())).append("</div></td>");
+
+                html.append("<td class=\"diff-side\">");
+                renderDeltaState(html, before, change.isRetyped(), change.isScopeChanged(), "diff-removed");
+                renderDeltaList(html, "Dependencies", before.getDependencies(), change.getRemovedDependencies(), "diff-removed");
+                renderDeltaList(html, "Mappings", before.getMappings(), change.getRemovedMappings(), "diff-removed");
+                html.append("</td>");
+
+                html.append("<td class=\"diff-side\">");
+                renderDeltaState(html, after, change.isRetyped(), change.isScopeChanged(), "diff-added");
+                renderDeltaList(html, "Dependencies", after.getDependencies(), change.getAddedDependencies(), "diff-added");
+                renderDeltaList(html, "Mappings", after.getMappings(), change.getAddedMappings(), "diff-added");
+                html.append("</td>");
+                html.append("</tr>\n");
+            }
+            html.append("</tbody></table>\n</div>\n");
+        }
 
+        appendFooter(html);
         html.append("</div>\n</body>\n</html>");
+        listener.phaseCompleted(AnalysisListener.Phase.REPORT, System.nanoTime() - start);
+    }
 
-        return html.toString();
+    private void renderDeltaBeans(Writer html, ProjectDelta delta, List<ClassInfo> classes, String title, String icon) throws IOException {
+        if (classes.isEmpty()) return;
+        html.append("<div class=\"section\">\n");
+        html.append("<div class=\"section-header\">\n<span class=\"icon\">").append(icon).append("</span>\n<h2>")
+            .append(title).append("</h2>\n");
+        html.append("<span class=\"count\">(").append(String.valueOf(classes.size())).append(")</span>\n</div>\n");
+        html.append("<table>\n<thead><tr><th>Class</th><th>Type</th><th>Scope</th><th>Mappings</th><th>Dependencies</th><th>File</th></tr></thead>\n<tbody>\n");
+        for (ClassInfo cls : classes) {
+            BeanType type = cls.getBeanType();
+            html.append("<tr data-class=\"").append(escape(cls.getFullName())).append("\">");
+            html.append("<td><div class=\"class-name\">").append(escape(cls.getClassName())).append("</div>");
+            html.append("<div class=\"package\">").append(escape(cls.getPackageName())).append("</div></td>");
+            html.append("<td><span style=\"color:").append(type.getColor()).append(";\">").append(type.getIcon()).append("</span> ")
+                .append(type.getLabel()).append("</td>");
+            html.append("<td><span class=\"scope scope-").append(cls.getScope()).append("\">")
+                .append(cls.getScope()).append("</span></td>");
+            html.append("<td class=\"mapping\">");
+            appendJoined(html, cls.getMappings(), "<br>");
+            html.append("</td><td class=\"deps\">");
+            appendJoined(html, cls.getDependencies(), ", ");
+            html.append("</td><td>").append(escape(cls.getRelativePath(delta.getBasePath()))).append(":")
+                .append(String.valueOf(cls.getLineNumber())).append("</td>");
+            html.append("</tr>\n");
+        }
+        html.append("</tbody></table>\n</div>\n");
     }
 
-    public void generate(ProjectInfo project, Path outputPath) throws IOException {
-        Files.writeString(outputPath, generateString(project));
+    private void renderDeltaState(Writer html, ClassInfo cls, boolean retyped, boolean scopeChanged, String marker) throws IOException {
+        BeanType type = cls.getBeanType();
+        html.append("<div").append(retyped ? " class=\"" + marker + "\"" : "").append(">")
+            .append("<span style=\"color:").append(type.getColor()).append(";\">").append(type.getIcon()).append("</span> ")
+            .append(type.getLabel()).append("</div>");
+        html.append("<div").append(scopeChanged ? " class=\"" + marker + "\"" : "").append(">")
+            .append("<span class=\"scope scope-").append(cls.getScope()).append("\">").append(cls.getScope()).append("</span></div>");
+    }
+
+    // Lista z wyróżnionymi elementami, które zniknęły (przed) albo się pojawiły (po)
+    private void renderDeltaList(Writer html, String label, List<String> values, List<String> marked, String marker) throws IOException {
+        if (values.isEmpty()) return;
+        html.append("<div class=\"deps\">").append(label).append(":");
+        for (String value : values) {
+            html.append("<div").append(marked.contains(value) ? " class=\"" + marker + "\"" : "").append(">")
+                .append(escape(value)).append("</div>");
+        }
+        html.append("</div>");
+    }
+
+    private static String shortCommit(String commit) {
+        return commit.length() > 10 ? commit.substring(0, 10) : commit;
+    }
+
+    private void appendHead(Writer html, String title, String subtitle) throws IOException {
+        html.append("<!DOCTYPE html>\n");
+        html.append("<html lang=\"en\">\n<head>\n");
+        html.append("<meta charset=\"UTF-8\">\n");
+        html.append("<meta name=\"viewport\" content=\"width=device-width, initial-scale=1.0\">\n");
+        html.append("<title>").append(escape(title)).append("</title>\n");
+        html.append("<style>\n").append(CSS).append("\n</style>\n");
+        html.append("</head>\n<body>\n");
+        html.append("<div class=\"container\">\n");
+
+        // Header with back link
+        html.append("<header>\n");
+        html.append("<h1><a href=\"/\" style=\"color:#3fc99a;text-decoration:none;\">CBRNMD//BOOT</a><span class=\"sub\">")
+            .append(subtitle).append("</span></h1>\n");
+    }
+
+    private void appendFooter(Writer html) throws IOException {
+        html.append("<footer>\n");
+        html.append("Generated by <a href=\"https://cybernomad.tech\">CBRNMD//BOOT</a> v0.1.0\n");
+        html.append("</footer>\n");
     }
 
     private String statBox(String value, String label) {
         return "<div class=\"stat-box\"><div class=\"value\">" + value + "</div><div class=\"label\">" + label + "</div></div>\n";
     }
 
-    private void renderSection(StringBuilder html, ProjectInfo project, BeanType type, String title) {
+    private void renderModules(Writer html, ProjectInfo project) throws IOException {
+        html.append("<div class=\"section\" id=\"modules\">\n");
+        html.append("<div class=\"section-header\">\n");
+        html.append("<span class=\"icon\">▣</span>\n");
+        html.append("<h2>Modules</h2>\n");
+        html.append("<span class=\"count\">(").append(String.valueOf(project.getModules().size())).append(")</span>\n");
+        html.append("</div>\n");
+
+        html.append("<table>\n<thead><tr><th>Module</th><th>Beans</th><th>By Type</th><th>Source Roots</th></tr></thead>\n<tbody>\n");
+        for (ModuleInfo module : project.getModules()) {
+            html.append("<tr data-module=\"").append(escape(module.getName())).append("\">");
+            html.append("<td class=\"class-name\">").append(escape(module.getName())).append("</td>");
+            html.append("<td>").append(String.valueOf(module.getTotalBeans())).append("</td>");
+            html.append("<td>");
+            for (Map.Entry<BeanType, Integer> entry : module.getCountsByType().entrySet()) {
+                BeanType type = entry.getKey();
+                html.append("<span class=\"type-count\" title=\"").append(type.getLabel()).append("\">")
+                    .append("<span style=\"color:").append(type.getColor()).append(";\">").append(type.getIcon()).append("</span> ")
+                    .append(String.valueOf(entry.getValue())).append("</span>");
+            }
+            html.append("</td>");
+            html.append("<td class=\"deps\">");
+            List<Path> roots = module.getSourceRoots();
+            for (int i = 0; i < roots.size(); i++) {
+                if (i > 0) {
+                    html.append("<br>");
+                }
+                html.append(escape(relativize(project.getBasePath(), roots.get(i))));
+            }
+            html.append("</td>");
+            html.append("</tr>\n");
+        }
+        html.append("</tbody></table>\n</div>\n");
+    }
+
+    private String relativize(Path basePath, Path path) {
+        try {
+            return basePath.relativize(path).toString();
+        } catch (IllegalArgumentException e) {
+            return path.toString();
+        }
+    }
+
+    // Diagnostyka przebiegu: najwolniejsze pliki i błędy; wynik ze snapshotu ich nie ma
+    private void renderDiagnostics(Writer html, ProjectInfo project) throws IOException {
+        AnalysisStats stats = project.getAnalysisStats();
+        List<AnalysisStats.FileTiming> slowest = stats.getSlowestFiles();
+        List<AnalysisStats.FileFailure> failures = stats.getFailures();
+        if (slowest.isEmpty() && failures.isEmpty()) return;
+
+        html.append("<div class=\"section\" id=\"diagnostics\">\n");
+        html.append("<div class=\"section-header\">\n");
+        html.append("<span class=\"icon\">⏱</span>\n");
+        html.append("<h2>Diagnostics</h2>\n");
+        html.append("<span class=\"count\">(");
+        if (stats.getDurationNanos() > 0) {
+            html.append(String.format(Locale.ROOT, "%.1f ms, %.2f MB/s, ",
+                stats.getDurationNanos() / 1e6, stats.getBytesPerSecond() / (1024 * 1024)));
+        }
+        html.append(String.valueOf(stats.getBytesRead())).append(" bytes read");
+        if (stats.getRuleNanos() > 0 && stats.getFileNanos() > 0) {
+            html.append(String.format(Locale.ROOT, ", rules %.1f ms = %.1f%% of file analysis",
+                stats.getRuleNanos() / 1e6, 100.0 * stats.getRuleNanos() / stats.getFileNanos()));
+        }
+        html.append(")</span>\n");
+        html.append("</div>\n");
+
+        if (!slowest.isEmpty()) {
+            html.append("<table>\n<thead><tr><th>Slowest Files</th><th>Size</th><th>Time</th></tr></thead>\n<tbody>\n");
+            for (AnalysisStats.FileTiming timing : slowest) {
+                html.append("<tr><td>").append(escape(relativize(project.getBasePath(), timing.file()))).append("</td>");
+                html.append("<td class=\"num\">").append(String.valueOf(timing.bytes())).append(" B</td>");
+                html.append("<td class=\"num\">").append(String.format(Locale.ROOT, "%.2f ms", timing.nanos() / 1e6)).append("</td></tr>\n");
+            }
+            html.append("</tbody></table>\n");
+        }
+
+        if (!failures.isEmpty()) {
+            html.append("<table class=\"fan\">\n<thead><tr><th>Failed Files (").append(String.valueOf(stats.getFilesFailed()))
+                .append(")</th><th>Reason</th></tr></thead>\n<tbody>\n");
+            for (AnalysisStats.FileFailure failure : failures) {
+                html.append("<tr><td>").append(escape(relativize(project.getBasePath(), failure.file()))).append("</td>");
+                html.append("<td class=\"failure\">").append(escape(String.valueOf(failure.reason()))).append("</td></tr>\n");
+            }
+            html.append("</tbody></table>\n");
+        }
+        html.append("</div>\n");
+    }
+
+    private void renderRoutes(Writer html, ProjectInfo project, RouteTable table, int maxRoutes) throws IOException {
+        if (table.getRoutes().isEmpty()) return;
+        List<RouteTable.Conflict> conflicts = table.getConflicts();
+
+        html.append("<div class=\"section\" id=\"routes\">\n");
+        html.append("<div class=\"section-header\">\n");
+        html.append("<span class=\"icon\">↪</span>\n");
+        html.append("<h2>Routes</h2>\n");
+        html.append("<span class=\"count\">(").append(String.valueOf(table.getRoutes().size())).append(" routes, ")
+            .append(String.valueOf(conflicts.size())).append(" conflicts)</span>\n");
+        html.append("</div>\n");
+
+        if (!conflicts.isEmpty()) {
+            html.append("<table>\n<thead><tr><th>Conflict</th><th>Example</th><th>Wins</th><th>Shadowed</th></tr></thead>\n<tbody>\n");
+            for (RouteTable.Conflict conflict : conflicts) {
+                // Duplikaty i niejednoznaczności psują start albo żądania; zwykłe przesłonięcie bywa zamierzone
+                html.append(conflict.kind() == RouteTable.ConflictKind.OVERLAP ? "<tr>" : "<tr class=\"cycle\">")
+                    .append("<td>").append(conflict.kind().name()).append("</td>");
+                html.append("<td><code>").append(escape(conflict.example())).append("</code></td>");
+                html.append("<td>");
+                renderRoute(html, conflict.first());
+                html.append("</td><td>");
+                renderRoute(html, conflict.second());
+                html.append("</td></tr>\n");
+            }
+            html.append("</tbody></table>\n");
+        }
+
+        html.append("<table class=\"fan\">\n<thead><tr><th>Route</th><th>Consumes / Produces</th><th>Handler</th></tr></thead>\n<tbody>\n");
+        int shown = Math.min(table.getRoutes().size(), maxRoutes);
+        for (RouteTable.Route route : table.getRoutes().subList(0, shown)) {
+            RouteInfo info = route.info();
+            html.append("<tr><td>");
+            renderRoute(html, route);
+            html.append("</td><td class=\"package\">");
+            html.append(escape(String.join(", ", info.getConsumes()))).append(" → ")
+                .append(escape(String.join(", ", info.getProduces())));
+            html.append("</td><td><div class=\"class-name\">").append(escape(route.controller().getClassName()))
+                .append("#").append(escape(info.getHandlerMethod())).append("</div>");
+            html.append("<div class=\"package\">").append(escape(route.controller().getRelativePath(project.getBasePath())))
+                .append(":").append(String.valueOf(info.getLineNumber())).append("</div></td></tr>\n");
+        }
+        html.append("</tbody></table>\n");
+        if (shown < table.getRoutes().size()) {
+            html.append("<div class=\"package\">").append(String.valueOf(table.getRoutes().size() - shown))
+                .append(" more routes not shown</div>\n");
+        }
+
+        if (!table.getInvalid().isEmpty()) {
+            html.append("<table class=\"fan\">\n<thead><tr><th>Invalid Patterns</th></tr></thead>\n<tbody>\n");
+            for (String invalid : table.getInvalid()) {
+                html.append("<tr><td class=\"failure\">").append(escape(invalid)).append("</td></tr>\n");
+            }
+            html.append("</tbody></table>\n");
+        }
+        html.append("</div>\n");
+    }
+
+    private void renderRoute(Writer html, RouteTable.Route route) throws IOException {
+        List<String> methods = route.info().getMethods();
+        html.append("<span class=\"mapping\">").append(methods.isEmpty() ? "ANY" : escape(String.join(",", methods)))
+            .append(" ").append(escape(route.info().getPath())).append("</span>");
+    }
+
+    private void renderDependencyGraph(Writer html, DependencyGraph graph) throws IOException {
+        html.append("<div class=\"section\" id=\"dependency-graph\">\n");
+        html.append("<div class=\"section-header\">\n");
+        html.append("<span class=\"icon\">⇄</span>\n");
+        html.append("<h2>Dependency Graph</h2>\n");
+        html.append("<span class=\"count\">(").append(String.valueOf(graph.getEdgeCount())).append(" edges, ")
+            .append(String.valueOf(graph.getCycles().size())).append(" cycles, ")
+            .append(String.valueOf(graph.getUnresolvedCount())).append(" unresolved, ")
+            .append(String.valueOf(graph.getAmbiguousCount())).append(" ambiguous)</span>\n");
+        html.append("</div>\n");
+
+        if (!graph.getCycles().isEmpty()) {
+            html.append("<table>\n<thead><tr><th>Cycle</th><th>Beans</th></tr></thead>\n<tbody>\n");
+            int number = 1;
+            for (int[] cycle : graph.getCycles()) {
+                html.append("<tr class=\"cycle\"><td>#").append(String.valueOf(number++)).append(" (")
+                    .append(String.valueOf(cycle.length)).append(")</td><td>");
+                for (int i = 0; i < cycle.length; i++) {
+                    if (i > 0) {
+                        html.append(" ⇄ ");
+                    }
+                    html.append("<span class=\"class-name\" title=\"").append(escape(graph.getNode(cycle[i]).getFullName())).append("\">")
+                        .append(escape(graph.getNode(cycle[i]).getClassName())).append("</span>");
+                }
+                html.append("</td></tr>\n");
+            }
+            html.append("</tbody></table>\n");
+        }
+
+        renderFanTable(html, graph, graph.topByFanIn(10), "Most Depended On");
+        renderFanTable(html, graph, graph.topByFanOut(10), "Most Dependencies");
+        html.append("</div>\n");
+    }
+
+    // Warstwy startu i ścieżka krytyczna; w raporcie zawsze koszty szacowane
+    private void renderStartupPlan(Writer html, StartupPlan plan) throws IOException {
+        if (plan.getLayers().isEmpty()) return;
+        DependencyGraph graph = plan.getGraph();
+        StartupPlan.Chain critical = plan.getCriticalPath();
+
+        html.append("<div class=\"section\" id=\"startup\">\n");
+        html.append("<div class=\"section-header\">\n");
+        html.append("<span class=\"icon\">⏵</span>\n");
+        html.append("<h2>Startup Plan</h2>\n");
+        html.append("<span class=\"count\">(").append(String.valueOf(plan.getLayers().size())).append(" layers, max width ")
+            .append(String.valueOf(plan.getMaxWidth()))
+            .append(String.format(Locale.ROOT, ", critical path %.1f of %.1f est. ms, parallelism %.1f×)",
+                critical.cost(), plan.getTotalCost(), plan.getParallelism()))
+            .append("</span>\n");
+        html.append("</div>\n");
+
+        html.append("<table>\n<thead><tr><th>Critical Path</th><th>Cost</th><th>Ready At</th></tr></thead>\n<tbody>\n");
+        for (int id : critical.nodes()) {
+            ClassInfo cls = graph.getNode(id);
+            html.append("<tr><td><div class=\"class-name\">").append(escape(cls.getClassName())).append("</div>");
+            html.append("<div class=\"package\">").append(escape(cls.getPackageName())).append("</div></td>");
+            html.append("<td class=\"num\">").append(String.format(Locale.ROOT, "%.1f", plan.getCost(id))).append("</td>");
+            html.append("<td class=\"num\">").append(String.format(Locale.ROOT, "%.1f", plan.getFinish(id))).append("</td></tr>\n");
+        }
+        html.append("</tbody></table>\n");
+
+        html.append("<table class=\"fan\">\n<thead><tr><th>Layer</th><th>Width</th><th>Cost</th><th>Most Expensive</th></tr></thead>\n<tbody>\n");
+        List<StartupPlan.Layer> layers = plan.getLayers();
+        for (int i = 0; i < layers.size(); i++) {
+            StartupPlan.Layer layer = layers.get(i);
+            html.append("<tr><td>").append(String.valueOf(i)).append("</td>");
+            html.append("<td class=\"num\">").append(String.valueOf(layer.nodes().length)).append("</td>");
+            html.append("<td class=\"num\">").append(String.format(Locale.ROOT, "%.1f", layer.cost())).append("</td><td>");
+            int shown = Math.min(5, layer.nodes().length);
+            for (int j = 0; j < shown; j++) {
+                if (j > 0) {
+                    html.append(", ");
+                }
+                ClassInfo cls = graph.getNode(layer.nodes()[j]);
+                html.append("<span class=\"class-name\" title=\"").append(escape(cls.getFullName())).append("\">")
+                    .append(escape(cls.getClassName())).append("</span>");
+            }
+            if (layer.nodes().length > shown) {
+                html.append(" +").append(String.valueOf(layer.nodes().length - shown));
+            }
+            html.append("</td></tr>\n");
+        }
+        html.append("</tbody></table>\n");
+        html.append("</div>\n");
+    }
+
+    private void renderLazyInit(Writer html, ProjectInfo project, LazyInitAnalysis analysis) throws IOException {
+        List<LazyInitAnalysis.Candidate> candidates = analysis.getCandidates(20);
+        if (candidates.isEmpty()) return;
+        DependencyGraph graph = analysis.getGraph();
+
+        html.append("<div class=\"section\" id=\"lazy-init\">\n");
+        html.append("<div class=\"section-header\">\n");
+        html.append("<span class=\"icon\">◌</span>\n");
+        html.append("<h2>Lazy-Init Candidates</h2>\n");
+        html.append("<span class=\"count\">(").append(String.valueOf(analysis.getEntryPoints().length)).append(" entry points reach ")
+            .append(String.valueOf(analysis.getReachableCount())).append(" of ").append(String.valueOf(graph.getNodeCount()))
+            .append(" classes)</span>\n");
+        html.append("</div>\n");
+
+        html.append("<table>\n<thead><tr><th>Bean</th><th>Deferred Beans</th><th>@Bean Calls</th><th>Est. ms</th>")
+            .append("<th>Entry Points</th><th>File</th></tr></thead>\n<tbody>\n");
+        for (LazyInitAnalysis.Candidate candidate : candidates) {
+            ClassInfo cls = graph.getNode(candidate.node());
+            html.append("<tr><td><div class=\"class-name\">").append(escape(cls.getClassName())).append("</div>");
+            html.append("<div class=\"package\">").append(escape(cls.getPackageName())).append("</div></td>");
+            html.append("<td class=\"num\">").append(String.valueOf(candidate.deferredBeans())).append("</td>");
+            html.append("<td class=\"num\">").append(String.valueOf(candidate.factoryCalls())).append("</td>");
+            html.append("<td class=\"num\">").append(String.format(Locale.ROOT, "%.1f", candidate.estimatedMillis())).append("</td>");
+            html.append("<td class=\"num\">").append(candidate.isReachable() ? String.valueOf(candidate.entryPoints()) : "unreachable")
+                .append("</td><td>");
+            appendFileLink(html, project, cls);
+            html.append("</td></tr>\n");
+        }
+        html.append("</tbody></table>\n");
+        html.append("</div>\n");
+    }
+
+    private void renderFindings(Writer html, ProjectInfo project, List<RuleSet.Located> findings) throws IOException {
+        if (findings.isEmpty()) return;
+        Map<Finding.Severity, Integer> bySeverity = new EnumMap<>(Finding.Severity.class);
+        for (RuleSet.Located located : findings) {
+            bySeverity.merge(located.finding().getSeverity(), 1, Integer::sum);
+        }
+
+        html.append("<div class=\"section\" id=\"findings\">\n");
+        html.append("<div class=\"section-header\">\n");
+        html.append("<span class=\"icon\">⚠</span>\n");
+        html.append("<h2>Findings</h2>\n");
+        html.append("<span class=\"count\">(");
+        String separator = "";
+        for (int i = Finding.Severity.values().length - 1; i >= 0; i--) {
+            Finding.Severity severity = Finding.Severity.values()[i];
+            Integer count = bySeverity.get(severity);
+            if (count != null) {
+                html.append(separator).append(String.valueOf(count)).append(" ").append(severity.name().toLowerCase(Locale.ROOT));
+                separator = ", ";
+            }
+        }
+        html.append(")</span>\n");
+        html.append("</div>\n");
+
+        html.append("<table>\n<thead><tr><th>Severity</th><th>Rule</th><th>Class</th><th>Message</th><th>File</th></tr></thead>\n<tbody>\n");
+        int shown = Math.min(findings.size(), MAX_FINDINGS);
+        for (RuleSet.Located located : findings.subList(0, shown)) {
+            Finding finding = located.finding();
+            ClassInfo cls = located.cls();
+            String rowClass = switch (finding.getSeverity()) {
+                case ERROR -> " class=\"cycle\"";
+                case WARNING -> " class=\"warning\"";
+                case INFO -> "";
+            };
+            html.append("<tr").append(rowClass).append("><td>").append(finding.getSeverity().name()).append("</td>");
+            html.append("<td>").append(escape(finding.getRule())).append("</td>");
+            html.append("<td><div class=\"class-name\">").append(escape(cls.getClassName())).append("</div>");
+            html.append("<div class=\"package\">").append(escape(cls.getPackageName())).append("</div></td>");
+            html.append("<td>").append(escape(finding.getMessage())).append("</td><td>");
+            appendFileLink(html, project, cls, finding.getLineNumber());
+            html.append("</td></tr>\n");
+        }
+        html.append("</tbody></table>\n");
+        if (shown < findings.size()) {
+            html.append("<div class=\"package\">").append(String.valueOf(findings.size() - shown))
+                .append(" more findings not shown</div>\n");
+        }
+        html.append("</div>\n");
+    }
+
+    private void renderFanTable(Writer html, DependencyGraph graph, int[] nodes, String title) throws IOException {
+        if (nodes.length == 0) return;
+        html.append("<table class=\"fan\">\n<thead><tr><th>").append(title)
+            .append("</th><th>Fan-in</th><th>Fan-out</th><th>Transitive Dependents</th></tr></thead>\n<tbody>\n");
+        for (int id : nodes) {
+            ClassInfo cls = graph.getNode(id);
+            html.append("<tr><td><div class=\"class-name\">").append(escape(cls.getClassName())).append("</div>");
+            html.append("<div class=\"package\">").append(escape(cls.getPackageName())).append("</div></td>");
+            html.append("<td>").append(String.valueOf(graph.getFanIn(id))).append("</td>");
+            html.append("<td>").append(String.valueOf(graph.getFanOut(id))).append("</td>");
+            html.append("<td>").append(String.valueOf(graph.getTransitiveDependents(id).length)).append("</td></tr>\n");
+        }
+        html.append("</tbody></table>\n");
+    }
+
+    private void renderSection(Writer html, ProjectInfo project, BeanType type, String title) throws IOException {
         List<ClassInfo> classes = project.getByType(type);
         if (classes.isEmpty()) return;
 
-        html.append("<div class=\"section\">\n");
+        html.append("<div class=\"section\" data-type=\"").append(type.name()).append("\">\n");
         html.append("<div class=\"section-header\">\n");
         html.append("<span class=\"icon\" style=\"color:").append(type.getColor()).append(";\">").append(type.getIcon()).append("</span>\n");
         html.append("<h2>").append(title).append("</h2>\n");
-        html.append("<span class=\"count\">(").append(classes.size()).append(")</span>\n");
+        html.append("<span class=\"count\">(").append(String.valueOf(classes.size())).append(")</span>\n");
         html.append("</div>\n");
 
         html.append("<table>\n<thead><tr>");
@@ -342,59 +1339,102 @@ public class HtmlReportGenerator {
             html.append("<th>@Bean Methods</th>");
         }
         html.append("<th>File</th>");
-        html.append("</tr></thead>\n<tbody>\n");
+        html.append("</tr></thead>\n<tbody data-type=\"").append(type.name()).append("\">\n");
 
         for (ClassInfo cls : classes) {
-            html.append("<tr>");
+            renderRow(html, project, cls);
+        }
 
-            // Class name
-            html.append("<td><div class=\"class-name\">").append(escape(cls.getClassName())).append("</div>");
-            html.append("<div class=\"package\">").append(escape(cls.getPackageName())).append("</div></td>");
+        html.append("</tbody></table>\n</div>\n");
+    }
 
-            // Scope
-            html.append("<td><span class=\"scope scope-").append(cls.getScope()).append("\">")
-                .append(cls.getScope()).append("</span></td>");
+    /**
+     * Renders the table row of a single class, as it appears in its type section.
+     */
+    public String renderRow(ProjectInfo project, ClassInfo cls) {
+        StringWriter html = new StringWriter();
+        try {
+            renderRow(html, project, cls);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return html.toString();
+    }
 
-            // Mappings (for controllers)
-            if (type == BeanType.CONTROLLER || type == BeanType.REST_CONTROLLER) {
-                html.append("<td class=\"mapping\">");
-                html.append(cls.getMappings().stream().map(this::escape).collect(Collectors.joining("<br>")));
-                html.append("</td>");
-            }
+    private void renderRow(Writer html, ProjectInfo project, ClassInfo cls) throws IOException {
+        BeanType type = cls.getBeanType();
+        html.append("<tr data-class=\"").append(escape(cls.getFullName())).append("\">");
 
-            // Dependencies
-            html.append("<td class=\"deps\">");
-            html.append(cls.getDependencies().stream().map(this::escape).collect(Collectors.joining(", ")));
+        // Class name
+        html.append("<td><div class=\"class-name\">").append(escape(cls.getClassName())).append("</div>");
+        html.append("<div class=\"package\">").append(escape(cls.getPackageName())).append("</div>");
+        if (cls.getModule() != null && project.getModules().size() > 1) {
+            html.append("<div class=\"module\">").append(escape(cls.getModule())).append("</div>");
+        }
+        html.append("</td>");
+
+        // Scope
+        html.append("<td><span class=\"scope scope-").append(cls.getScope()).append("\">")
+            .append(cls.getScope()).append("</span></td>");
+
+        // Mappings (for controllers)
+        if (type == BeanType.CONTROLLER || type == BeanType.REST_CONTROLLER) {
+            html.append("<td class=\"mapping\">");
+            appendJoined(html, cls.getMappings(), "<br>");
             html.append("</td>");
+        }
 
-            // Bean methods (for configuration)
-            if (type == BeanType.CONFIGURATION) {
-                html.append("<td>");
-                for (MethodInfo method : cls.getBeanMethods()) {
-                    html.append("<div class=\"bean-method\">");
-                    html.append("<span class=\"name\">").append(escape(method.getName())).append("()</span> ");
-                    html.append("<span class=\"return-type\">→ ").append(escape(method.getReturnType())).append("</span>");
-                    if (!"singleton".equals(method.getScope())) {
-                        html.append(" <span class=\"scope scope-").append(method.getScope()).append("\">")
-                            .append(method.getScope()).append("</span>");
-                    }
-                    html.append("</div>");
-                }
-                html.append("</td>");
-            }
+        // Dependencies
+        html.append("<td class=\"deps\">");
+        appendJoined(html, cls.getDependencies(), ", ");
+        html.append("</td>");
 
-            // File link
+        // Bean methods (for configuration)
+        if (type == BeanType.CONFIGURATION) {
             html.append("<td>");
-            String relativePath = cls.getRelativePath(project.getBasePath());
-            html.append("<a href=\"file://").append(cls.getFilePath()).append("#L").append(cls.getLineNumber())
-                .append("\" style=\"color:#4a90d9;\" title=\"Line ").append(cls.getLineNumber()).append("\">")
-                .append(escape(relativePath)).append("</a>");
+            for (MethodInfo method : cls.getBeanMethods()) {
+                html.append("<div class=\"bean-method\">");
+                html.append("<span class=\"name\">").append(escape(method.getName())).append("()</span> ");
+                html.append("<span class=\"return-type\">→ ").append(escape(method.getReturnType())).append("</span>");
+                if (!"singleton".equals(method.getScope())) {
+                    html.append(" <span class=\"scope scope-").append(method.getScope()).append("\">")
+                        .append(method.getScope()).append("</span>");
+                }
+                html.append("</div>");
+            }
             html.append("</td>");
+        }
 
-            html.append("</tr>\n");
+        // File link
+        html.append("<td>");
+        appendFileLink(html, project, cls);
+        html.append("</td>");
+
+        html.append("</tr>\n");
+    }
+
+    private void appendFileLink(Writer html, ProjectInfo project, ClassInfo cls) throws IOException {
+        appendFileLink(html, project, cls, cls.getLineNumber());
+    }
+
+    private void appendFileLink(Writer html, ProjectInfo project, ClassInfo cls, int line) throws IOException {
+        String relativePath = cls.getRelativePath(project.getBasePath());
+        html.append("<a href=\"file://").append(String.valueOf(cls.getFilePath())).append("#L").append(String.valueOf(line))
+            .append("\" style=\"color:#4a90d9;\" title=\"Line ").append(String.valueOf(line)).append("\">")
+            .append(escape(relativePath)).append("</a>");
+    }
+
+    private void appendJoined(Writer html, List<String> values, String separator) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                html.append(separator);
+            }
+            html.append(escape(values.get(i)));
         }
+    }
 
-        html.append("</tbody></table>\n</div>\n");
+    private String escapeJs(String s) {
+        return s.replace("\\", "\\\\").replace("'", "\\'").replace("<", "\\u003c");
     }
 
     private String escape(String s) {
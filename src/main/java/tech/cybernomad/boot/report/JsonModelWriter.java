@@ -0,0 +1,286 @@
+package tech.cybernomad.boot.report;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import tech.cybernomad.boot.model.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Writes the analysis model as JSON with the Jackson streaming {@link JsonGenerator}, straight from the
+ * {@link ClassInfo} getters: no maps or DTOs are built, and the generator flushes its buffer to the
+ * output as it fills, so memory use does not grow with the number of classes.
+ */
+public class JsonModelWriter {
+
+    private static final JsonFactory FACTORY = JsonFactory.builder().build();
+
+    /**
+     * Writes every matching class as one JSON object per line (NDJSON).
+     *
+     * @return number of classes written
+     */
+    public int writeNdjson(ProjectInfo project, List<ClassInfo> classes, Predicate<ClassInfo> filter,
+                           OutputStream out) throws IOException {
+        int written = 0;
+        try (JsonGenerator json = open(out)) {
+            // Obiekty rozdziela tylko nowa linia, bez domyślnej spacji między wartościami
+            json.setRootValueSeparator(null);
+            for (ClassInfo cls : classes) {
+                if (filter.test(cls)) {
+                    writeClass(json, cls, project.getBasePath());
+                    json.writeRaw('\n');
+                    written++;
+                }
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Writes one page of matching classes, starting at index {@code from} of {@code classes}:
+     * <pre>{"items": [...], "count": n, "nextCursor": "..." | null}</pre>
+     * The cursor of the next page is produced by {@code cursors} from the index the next page starts at.
+     */
+    public void writePage(ProjectInfo project, List<ClassInfo> classes, Predicate<ClassInfo> filter,
+                          int from, int limit, CursorEncoder cursors, OutputStream out) throws IOException {
+        try (JsonGenerator json = open(out)) {
+            json.writeStartObject();
+            json.writeArrayFieldStart("items");
+            int count = 0;
+            int index = from;
+            for (; index < classes.size() && count < limit; index++) {
+                ClassInfo cls = classes.get(index);
+                if (filter.test(cls)) {
+                    writeClass(json, cls, project.getBasePath());
+                    count++;
+                }
+            }
+            json.writeEndArray();
+            json.writeNumberField("count", count);
+            // Następna strona zaczyna się od pierwszego niesprawdzonego indeksu - kursor nie ma stanu po stronie serwera
+            if (hasMatch(classes, filter, index)) {
+                json.writeStringField("nextCursor", cursors.encode(index));
+            } else {
+                json.writeNullField("nextCursor");
+            }
+            json.writeEndObject();
+        }
+    }
+
+    /**
+     * Writes the rows of the virtual report table for {@code limit} classes starting at index {@code from}
+     * of {@link ProjectInfo#getAllClasses()}, only the columns the table shows:
+     * <pre>{"version": "...", "total": n, "offset": from, "packages": [...],
+     *  "rows": [[className, package, type, scope, dependencies, [mappings...]], ...]}</pre>
+     * {@code package} indexes the {@code packages} array of the same chunk - a package name is sent once per
+     * chunk instead of once per class. {@code dependencies} is their count; everything else is in
+     * {@link #writeClass(ProjectInfo, ClassInfo, OutputStream)}.
+     */
+    public void writeTableRows(ProjectInfo project, String version, int from, int limit, OutputStream out) throws IOException {
+        List<ClassInfo> classes = project.getAllClasses();
+        int to = Math.min(classes.size(), from + limit);
+        try (JsonGenerator json = open(out)) {
+            json.writeStartObject();
+            json.writeStringField("version", version);
+            json.writeNumberField("total", classes.size());
+            json.writeNumberField("offset", from);
+
+            Map<String, Integer> packageIds = new HashMap<>();
+            json.writeArrayFieldStart("packages");
+            for (int i = from; i < to; i++) {
+                String packageName = packageName(classes.get(i));
+                if (packageIds.putIfAbsent(packageName, packageIds.size()) == null) {
+                    json.writeString(packageName);
+                }
+            }
+            json.writeEndArray();
+
+            json.writeArrayFieldStart("rows");
+            for (int i = from; i < to; i++) {
+                ClassInfo cls = classes.get(i);
+                json.writeStartArray();
+                json.writeString(cls.getClassName());
+                json.writeNumber(packageIds.get(packageName(cls)));
+                json.writeString(cls.getBeanType().name());
+                json.writeString(cls.getScope());
+                json.writeNumber(cls.getDependencies().size());
+                json.writeStartArray();
+                for (String mapping : cls.getMappings()) {
+                    json.writeString(mapping);
+                }
+                json.writeEndArray();
+                json.writeEndArray();
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+    }
+
+    /**
+     * Writes a single class, in the same form as the listings.
+     */
+    public void writeClass(ProjectInfo project, ClassInfo cls, OutputStream out) throws IOException {
+        try (JsonGenerator json = open(out)) {
+            writeClass(json, cls, project.getBasePath());
+        }
+    }
+
+    @FunctionalInterface
+    public interface CursorEncoder {
+        String encode(int index);
+    }
+
+    public void writeClass(JsonGenerator json, ClassInfo cls, Path basePath) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("fullName", cls.getFullName());
+        json.writeStringField("className", cls.getClassName());
+        writeOptional(json, "packageName", cls.getPackageName());
+        json.writeStringField("type", cls.getBeanType().name());
+        json.writeStringField("scope", cls.getScope());
+        json.writeStringField("file", cls.getRelativePath(basePath));
+        json.writeNumberField("line", cls.getLineNumber());
+        writeOptional(json, "module", cls.getModule());
+        writeStrings(json, "annotations", cls.getAnnotations());
+        writeStrings(json, "mappings", cls.getMappings());
+        writeStrings(json, "dependencies", cls.getDependencies());
+        writeOptional(json, "parentClass", cls.getParentClass());
+        writeStrings(json, "interfaces", cls.getInterfaces());
+        if (!cls.getBeanMethods().isEmpty()) {
+            json.writeArrayFieldStart("beanMethods");
+            for (MethodInfo method : cls.getBeanMethods()) {
+                json.writeStartObject();
+                json.writeStringField("name", method.getName());
+                writeOptional(json, "returnType", method.getReturnType());
+                json.writeStringField("scope", method.getScope());
+                json.writeNumberField("line", method.getLineNumber());
+                writeStrings(json, "annotations", method.getAnnotations());
+                writeStrings(json, "conditionalOn", method.getConditionalOn());
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+        }
+        if (!cls.getRoutes().isEmpty()) {
+            json.writeArrayFieldStart("routes");
+            for (RouteInfo route : cls.getRoutes()) {
+                writeRoute(json, route);
+            }
+            json.writeEndArray();
+        }
+        if (!cls.getFindings().isEmpty()) {
+            json.writeArrayFieldStart("findings");
+            for (Finding finding : cls.getFindings()) {
+                json.writeStartObject();
+                json.writeStringField("rule", finding.getRule());
+                json.writeStringField("severity", finding.getSeverity().name());
+                json.writeNumberField("line", finding.getLineNumber());
+                json.writeStringField("message", finding.getMessage());
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+        }
+        json.writeEndObject();
+    }
+
+    public void writeRoute(JsonGenerator json, RouteInfo route) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("path", route.getPath());
+        writeStrings(json, "methods", route.getMethods());
+        writeStrings(json, "consumes", route.getConsumes());
+        writeStrings(json, "produces", route.getProduces());
+        json.writeStringField("handler", route.getHandlerMethod());
+        json.writeNumberField("line", route.getLineNumber());
+        json.writeEndObject();
+    }
+
+    /**
+     * Writes a delta between two revisions: added and removed beans in full, changed beans as the
+     * before/after type and scope with the added and removed dependencies and mappings.
+     */
+    public void writeDelta(ProjectDelta delta, OutputStream out) throws IOException {
+        try (JsonGenerator json = open(out)) {
+            Path basePath = delta.getBasePath();
+            json.writeStartObject();
+            json.writeStringField("from", delta.getFrom());
+            json.writeStringField("fromCommit", delta.getFromCommit());
+            writeOptional(json, "to", delta.getTo());
+            writeOptional(json, "toCommit", delta.getToCommit());
+            json.writeBooleanField("workingTree", delta.getToCommit() == null);
+            json.writeNumberField("filesChanged", delta.getFilesChanged());
+            json.writeNumberField("filesAnalyzed", delta.getFilesAnalyzed());
+            json.writeNumberField("durationMillis", delta.getDurationMillis());
+
+            json.writeArrayFieldStart("added");
+            for (ClassInfo cls : delta.getAdded()) {
+                writeClass(json, cls, basePath);
+            }
+            json.writeEndArray();
+            json.writeArrayFieldStart("removed");
+            for (ClassInfo cls : delta.getRemoved()) {
+                writeClass(json, cls, basePath);
+            }
+            json.writeEndArray();
+            json.writeArrayFieldStart("changed");
+            for (BeanChange change : delta.getChanged()) {
+                json.writeStartObject();
+                json.writeStringField("fullName", change.getFullName());
+                json.writeStringField("file", change.getAfter().getRelativePath(basePath));
+                json.writeStringField("typeBefore", change.getBefore().getBeanType().name());
+                json.writeStringField("type", change.getAfter().getBeanType().name());
+                json.writeStringField("scopeBefore", change.getBefore().getScope());
+                json.writeStringField("scope", change.getAfter().getScope());
+                writeStrings(json, "addedDependencies", change.getAddedDependencies());
+                writeStrings(json, "removedDependencies", change.getRemovedDependencies());
+                writeStrings(json, "addedMappings", change.getAddedMappings());
+                writeStrings(json, "removedMappings", change.getRemovedMappings());
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+    }
+
+    private static JsonGenerator open(OutputStream out) throws IOException {
+        JsonGenerator json = FACTORY.createGenerator(out, JsonEncoding.UTF8);
+        // Strumień odpowiedzi zamyka kontener, nie generator
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return json;
+    }
+
+    private static String packageName(ClassInfo cls) {
+        return cls.getPackageName() != null ? cls.getPackageName() : "";
+    }
+
+    private static boolean hasMatch(List<ClassInfo> classes, Predicate<ClassInfo> filter, int from) {
+        for (int i = from; i < classes.size(); i++) {
+            if (filter.test(classes.get(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void writeOptional(JsonGenerator json, String field, String value) throws IOException {
+        if (value != null) {
+            json.writeStringField(field, value);
+        }
+    }
+
+    private static void writeStrings(JsonGenerator json, String field, List<String> values) throws IOException {
+        if (values.isEmpty()) {
+            return;
+        }
+        json.writeArrayFieldStart(field);
+        for (String value : values) {
+            json.writeString(value);
+        }
+        json.writeEndArray();
+    }
+}
@@ -0,0 +1,87 @@
+package tech.cybernomad.boot.route;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Compatibility of the media types in {@code consumes}/{@code produces}: wildcards in the type or subtype
+ * ({@code *}{@code /*}, {@code text/*}, {@code application/*+json}) match, parameters are ignored. An empty list
+ * accepts everything; negated entries ({@code !text/plain}) are not evaluated.
+ */
+final class MediaTypes {
+
+    private MediaTypes() {
+    }
+
+    static boolean overlap(List<String> a, List<String> b) {
+        if (a.isEmpty() || b.isEmpty()) {
+            return true;
+        }
+        for (String x : a) {
+            for (String y : b) {
+                if (compatible(x, y)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param requested a {@code Content-Type} value or an {@code Accept} list
+     */
+    static boolean accepts(List<String> declared, String requested) {
+        if (declared.isEmpty()) {
+            return true;
+        }
+        for (String type : requested.split(",")) {
+            for (String candidate : declared) {
+                if (compatible(candidate, type)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    static boolean compatible(String a, String b) {
+        a = normalize(a);
+        b = normalize(b);
+        if (a.startsWith("!") || b.startsWith("!")) {
+            return true;
+        }
+        if (a.equals("*") || a.equals("*/*") || b.equals("*") || b.equals("*/*")) {
+            return true;
+        }
+        int slashA = a.indexOf('/');
+        int slashB = b.indexOf('/');
+        if (slashA < 0 || slashB < 0) {
+            return a.equals(b);
+        }
+        String typeA = a.substring(0, slashA);
+        String typeB = b.substring(0, slashB);
+        if (!typeA.equals(typeB) && !typeA.equals("*") && !typeB.equals("*")) {
+            return false;
+        }
+        return subtypeCompatible(a.substring(slashA + 1), b.substring(slashB + 1));
+    }
+
+    private static boolean subtypeCompatible(String a, String b) {
+        if (a.equals(b) || a.equals("*") || b.equals("*")) {
+            return true;
+        }
+        // *+json pasuje do każdego podtypu z sufiksem +json
+        if (a.startsWith("*+")) {
+            return b.endsWith(a.substring(1));
+        }
+        if (b.startsWith("*+")) {
+            return a.endsWith(b.substring(1));
+        }
+        return false;
+    }
+
+    private static String normalize(String type) {
+        int parameters = type.indexOf(';');
+        return (parameters >= 0 ? type.substring(0, parameters) : type).trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,303 @@
+package tech.cybernomad.boot.route;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * A parsed Spring MVC path pattern ({@code /users/{id}}, {@code /files/{name}.{ext}}, {@code /static/**},
+ * {@code /docs/{*path}}), split into segments.
+ * <p>
+ * Specificity follows Spring's {@code PathPattern}: a pattern ending in a catch-all loses to any other,
+ * then fewer captured variables and wildcards win (a wildcard weighs as much as 100 variables), then the
+ * longer pattern, counting every variable as one character.
+ */
+public final class RoutePattern {
+
+    enum Kind {
+        /** Plain text, matched exactly. */
+        LITERAL,
+        /** {@code {name}}, {@code {name:regex}} or {@code *} - one whole segment. */
+        VARIABLE,
+        /** Text mixed with variables or wildcards, e.g. {@code {name}.json}. */
+        PATTERN,
+        /** {@code **} or {@code {*name}} - the rest of the path, possibly nothing. */
+        CATCH_ALL
+    }
+
+    /**
+     * One segment. Segments with the same {@link #key} match the same values, so they share a tree node
+     * even when their variable names differ.
+     */
+    static final class Segment {
+        final Kind kind;
+        final String text;
+        final String key;
+        final Pattern regex; // null: dosłownie (LITERAL) albo dowolny niepusty segment (VARIABLE)
+        final List<String> names;
+        final int wildcards;
+
+        Segment(Kind kind, String text, String key, Pattern regex, List<String> names, int wildcards) {
+            this.kind = kind;
+            this.text = text;
+            this.key = key;
+            this.regex = regex;
+            this.names = names;
+            this.wildcards = wildcards;
+        }
+
+        boolean matches(String value) {
+            return switch (kind) {
+                case LITERAL -> key.equals(value);
+                case VARIABLE -> regex == null ? !value.isEmpty() : regex.matcher(value).matches();
+                case PATTERN -> regex.matcher(value).matches();
+                case CATCH_ALL -> true;
+            };
+        }
+
+        /**
+         * Whether some segment value could match both. Exact for a literal on either side; two different
+         * regular expressions are assumed to overlap.
+         */
+        boolean mayOverlap(Segment other) {
+            if (kind == Kind.CATCH_ALL || other.kind == Kind.CATCH_ALL) {
+                return true;
+            }
+            if (kind == Kind.LITERAL) {
+                return other.matches(key);
+            }
+            if (other.kind == Kind.LITERAL) {
+                return matches(other.key);
+            }
+            return true;
+        }
+    }
+
+    private final String pattern;
+    private final List<Segment> segments;
+    private final boolean catchAll;
+    private final int score;
+    private final int normalizedLength;
+
+    private RoutePattern(String pattern, List<Segment> segments) {
+        this.pattern = pattern;
+        this.segments = segments;
+        this.catchAll = !segments.isEmpty() && segments.get(segments.size() - 1).kind == Kind.CATCH_ALL;
+        int variables = 0;
+        int wildcards = 0;
+        int length = 0;
+        for (Segment segment : segments) {
+            length += 1 + normalizedLength(segment.text);
+            variables += segment.names.size();
+            wildcards += segment.wildcards;
+        }
+        this.score = variables + 100 * wildcards;
+        this.normalizedLength = length;
+    }
+
+    /**
+     * @throws IllegalArgumentException if a variable has an invalid regular expression
+     */
+    public static RoutePattern parse(String pattern) {
+        List<Segment> segments = new ArrayList<>();
+        for (String text : split(pattern)) {
+            segments.add(segment(text));
+        }
+        return new RoutePattern(pattern, List.copyOf(segments));
+    }
+
+    /**
+     * Segments of a path or pattern: {@code /} gives one empty segment, a trailing slash an empty last one.
+     * Slashes inside braces (variable regexes) do not split.
+     */
+    static List<String> split(String path) {
+        List<String> parts = new ArrayList<>();
+        int depth = 0;
+        int start = path.startsWith("/") ? 1 : 0;
+        for (int i = start; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (c == '{') {
+                depth++;
+            } else if (c == '}' && depth > 0) {
+                depth--;
+            } else if (c == '/' && depth == 0) {
+                parts.add(path.substring(start, i));
+                start = i + 1;
+            }
+        }
+        parts.add(path.substring(start));
+        return parts;
+    }
+
+    private static Segment segment(String text) {
+        if (text.equals("**")) {
+            return new Segment(Kind.CATCH_ALL, text, "**", null, List.of(), 1);
+        }
+        if (text.startsWith("{*") && text.endsWith("}")) {
+            return new Segment(Kind.CATCH_ALL, text, "**", null, List.of(text.substring(2, text.length() - 1)), 0);
+        }
+        if (text.equals("*")) {
+            return new Segment(Kind.VARIABLE, text, "{}", null, List.of(), 1);
+        }
+        if (text.indexOf('{') < 0 && text.indexOf('*') < 0 && text.indexOf('?') < 0) {
+            return new Segment(Kind.LITERAL, text, text, null, List.of(), 0);
+        }
+
+        // Cały segment jako jedna zmienna: {id} albo {id:\d+}
+        if (text.startsWith("{") && closingBrace(text, 0) == text.length() - 1) {
+            String body = text.substring(1, text.length() - 1);
+            int colon = body.indexOf(':');
+            if (colon < 0) {
+                return new Segment(Kind.VARIABLE, text, "{}", null, List.of(body), 0);
+            }
+            String regex = body.substring(colon + 1);
+            return new Segment(Kind.VARIABLE, text, "{:" + regex + "}", compile(regex), List.of(body.substring(0, colon)), 0);
+        }
+
+        StringBuilder regex = new StringBuilder();
+        List<String> names = new ArrayList<>();
+        int wildcards = 0;
+        int literalStart = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '{' || c == '*' || c == '?') {
+                if (i > literalStart) {
+                    regex.append(Pattern.quote(text.substring(literalStart, i)));
+                }
+                if (c == '{') {
+                    int end = closingBrace(text, i);
+                    if (end < 0) {
+                        throw new IllegalArgumentException("Unclosed variable in " + text);
+                    }
+                    String body = text.substring(i + 1, end);
+                    int colon = body.indexOf(':');
+                    names.add(colon < 0 ? body : body.substring(0, colon));
+                    regex.append('(').append(colon < 0 ? ".+?" : body.substring(colon + 1)).append(')');
+                    i = end;
+                } else if (c == '*') {
+                    regex.append(".*");
+                    wildcards++;
+                } else {
+                    regex.append('.');
+                }
+                literalStart = i + 1;
+            }
+        }
+        if (literalStart < text.length()) {
+            regex.append(Pattern.quote(text.substring(literalStart)));
+        }
+        return new Segment(Kind.PATTERN, text, regex.toString(), compile(regex.toString()), List.copyOf(names), wildcards);
+    }
+
+    private static int closingBrace(String text, int open) {
+        int depth = 0;
+        for (int i = open; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '{') {
+                depth++;
+            } else if (c == '}' && --depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Pattern compile(String regex) {
+        try {
+            return Pattern.compile(regex);
+        } catch (PatternSyntaxException e) {
+            throw new IllegalArgumentException("Invalid path variable pattern: " + regex, e);
+        }
+    }
+
+    private static int normalizedLength(String text) {
+        int length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '{') {
+                int end = closingBrace(text, i);
+                if (end > 0) {
+                    i = end;
+                }
+            }
+            length++;
+        }
+        return length;
+    }
+
+    public String getPattern() { return pattern; }
+
+    List<Segment> getSegments() { return segments; }
+
+    public boolean isCatchAll() { return catchAll; }
+
+    /**
+     * Captured variables plus 100 per wildcard; lower is more specific.
+     */
+    public int getScore() { return score; }
+
+    public int getNormalizedLength() { return normalizedLength; }
+
+    /**
+     * Negative if this pattern is more specific than {@code other}, 0 if Spring ranks them equally.
+     */
+    public int compareSpecificity(RoutePattern other) {
+        if (catchAll != other.catchAll) {
+            return catchAll ? 1 : -1;
+        }
+        if (score != other.score) {
+            return Integer.compare(score, other.score);
+        }
+        return Integer.compare(other.normalizedLength, normalizedLength);
+    }
+
+    /**
+     * The variables captured from a path split by {@link #split}, or {@code null} if it does not match.
+     */
+    Map<String, String> match(List<String> path) {
+        Map<String, String> variables = new LinkedHashMap<>();
+        for (int i = 0; i < segments.size(); i++) {
+            Segment segment = segments.get(i);
+            if (segment.kind == Kind.CATCH_ALL) {
+                if (!segment.names.isEmpty()) {
+                    variables.put(segment.names.get(0), i < path.size() ? "/" + String.join("/", path.subList(i, path.size())) : "");
+                }
+                return variables;
+            }
+            if (i >= path.size()) {
+                return null;
+            }
+            String value = path.get(i);
+            switch (segment.kind) {
+                case LITERAL -> {
+                    if (!segment.key.equals(value)) {
+                        return null;
+                    }
+                }
+                case VARIABLE -> {
+                    if (!segment.matches(value)) {
+                        return null;
+                    }
+                    if (!segment.names.isEmpty()) {
+                        variables.put(segment.names.get(0), value);
+                    }
+                }
+                default -> {
+                    Matcher matcher = segment.regex.matcher(value);
+                    if (!matcher.matches()) {
+                        return null;
+                    }
+                    for (int g = 0; g < segment.names.size() && g < matcher.groupCount(); g++) {
+                        variables.put(segment.names.get(g), matcher.group(g + 1));
+                    }
+                }
+            }
+        }
+        return segments.size() == path.size() ? variables : null;
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+}
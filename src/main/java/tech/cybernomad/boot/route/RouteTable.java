@@ -0,0 +1,188 @@
+package tech.cybernomad.boot.route;
+
+import tech.cybernomad.boot.model.ClassInfo;
+import tech.cybernomad.boot.model.ProjectInfo;
+import tech.cybernomad.boot.model.RouteInfo;
+
+import java.util.*;
+
+/**
+ * All request mappings of a project's controllers, indexed by path in a {@link RouteTree}.
+ * <p>
+ * {@link #match} resolves a concrete request the way Spring MVC would: routes whose pattern, HTTP method
+ * and media types fit, most specific pattern first. {@link #getConflicts()} lists routes that can match
+ * the same request. The table is a snapshot; it does not follow later changes of the project.
+ */
+public final class RouteTable {
+
+    /**
+     * A route together with its controller and parsed pattern.
+     */
+    public record Route(ClassInfo controller, RouteInfo info, RoutePattern pattern) {
+        public String handler() {
+            return controller.getFullName() + "#" + info.getHandlerMethod();
+        }
+    }
+
+    /**
+     * A route matching a request, with the values of its path variables.
+     */
+    public record Match(Route route, Map<String, String> variables) { }
+
+    public enum ConflictKind {
+        /** The same pattern and overlapping conditions - Spring refuses to start. */
+        DUPLICATE,
+        /** Different patterns ranked equally - which one wins depends only on the pattern text. */
+        AMBIGUOUS,
+        /** Different patterns where the more specific one wins; the other never sees these requests. */
+        OVERLAP
+    }
+
+    /**
+     * Two routes that can handle the same request. For overlaps {@code first} is the one Spring picks.
+     */
+    public record Conflict(ConflictKind kind, Route first, Route second, String example) { }
+
+    private final List<Route> routes;
+    private final RouteTree tree = new RouteTree();
+    private final List<String> invalid = new ArrayList<>();
+    private List<Conflict> conflicts;
+
+    private RouteTable(List<Route> routes) {
+        this.routes = routes;
+        routes.forEach(tree::insert);
+    }
+
+    public static RouteTable build(ProjectInfo project) {
+        List<Route> routes = new ArrayList<>();
+        List<String> invalid = new ArrayList<>();
+        for (ClassInfo cls : project.getAllClasses()) {
+            for (RouteInfo info : cls.getRoutes()) {
+                try {
+                    routes.add(new Route(cls, info, RoutePattern.parse(info.getPath())));
+                } catch (IllegalArgumentException e) {
+                    invalid.add(cls.getFullName() + "#" + info.getHandlerMethod() + ": " + e.getMessage());
+                }
+            }
+        }
+        routes.sort(Comparator.comparing((Route r) -> r.info().getPath())
+            .thenComparing(r -> String.join(",", r.info().getMethods())));
+        RouteTable table = new RouteTable(List.copyOf(routes));
+        table.invalid.addAll(invalid);
+        return table;
+    }
+
+    /**
+     * All routes, sorted by path.
+     */
+    public List<Route> getRoutes() { return routes; }
+
+    /**
+     * Routes whose pattern could not be parsed, as {@code handler: reason}.
+     */
+    public List<String> getInvalid() { return invalid; }
+
+    /**
+     * Routes handling the request, best match first.
+     *
+     * @param url request path; a query string or fragment is ignored
+     * @param method HTTP method, {@code null} for any
+     * @param contentType {@code Content-Type} of the request, {@code null} to ignore {@code consumes}
+     * @param accept accepted media type, {@code null} to ignore {@code produces}
+     */
+    public List<Match> match(String url, String method, String contentType, String accept) {
+        List<String> path = RoutePattern.split(stripQuery(url));
+        List<Match> matches = new ArrayList<>();
+        for (Route route : tree.match(path)) {
+            RouteInfo info = route.info();
+            if ((method == null || info.getMethods().isEmpty() || info.getMethods().contains(method.toUpperCase(Locale.ROOT)))
+                    && (contentType == null || MediaTypes.accepts(info.getConsumes(), contentType))
+                    && (accept == null || MediaTypes.accepts(info.getProduces(), accept))) {
+                Map<String, String> variables = route.pattern().match(path);
+                if (variables != null) {
+                    matches.add(new Match(route, variables));
+                }
+            }
+        }
+        matches.sort((a, b) -> compare(a.route(), b.route()));
+        return matches;
+    }
+
+    /**
+     * Routes whose pattern matches the path regardless of method and media types.
+     */
+    public List<Route> matchPath(String url) {
+        List<Route> matches = new ArrayList<>(tree.match(RoutePattern.split(stripQuery(url))));
+        matches.sort(RouteTable::compare);
+        return matches;
+    }
+
+    /**
+     * Pairs of routes with overlapping patterns, HTTP methods and media types; computed on first use.
+     */
+    public synchronized List<Conflict> getConflicts() {
+        if (conflicts == null) {
+            List<Conflict> found = new ArrayList<>();
+            tree.overlaps(
+                (a, b) -> {
+                    if (overlapping(a.info(), b.info())) {
+                        found.add(a.pattern().getPattern().equals(b.pattern().getPattern())
+                            ? new Conflict(ConflictKind.DUPLICATE, a, b, a.info().getPath())
+                            : conflict(a, b, a.info().getPath()));
+                    }
+                },
+                (a, b, example) -> {
+                    if (overlapping(a.info(), b.info())) {
+                        found.add(conflict(a, b, example));
+                    }
+                });
+            found.sort(Comparator.comparing(Conflict::kind).thenComparing(c -> c.first().info().getPath()));
+            conflicts = List.copyOf(found);
+        }
+        return conflicts;
+    }
+
+    private static Conflict conflict(Route a, Route b, String example) {
+        int specificity = a.pattern().compareSpecificity(b.pattern());
+        if (specificity == 0) {
+            // Spring rozstrzyga remis porównaniem tekstu wzorca
+            return a.pattern().getPattern().compareTo(b.pattern().getPattern()) <= 0
+                ? new Conflict(ConflictKind.AMBIGUOUS, a, b, example)
+                : new Conflict(ConflictKind.AMBIGUOUS, b, a, example);
+        }
+        return specificity < 0
+            ? new Conflict(ConflictKind.OVERLAP, a, b, example)
+            : new Conflict(ConflictKind.OVERLAP, b, a, example);
+    }
+
+    private static int compare(Route a, Route b) {
+        int specificity = a.pattern().compareSpecificity(b.pattern());
+        return specificity != 0 ? specificity : a.pattern().getPattern().compareTo(b.pattern().getPattern());
+    }
+
+    private static boolean overlapping(RouteInfo a, RouteInfo b) {
+        return (a.getMethods().isEmpty() || b.getMethods().isEmpty() || !Collections.disjoint(a.getMethods(), b.getMethods()))
+            && MediaTypes.overlap(a.getConsumes(), b.getConsumes())
+            && MediaTypes.overlap(a.getProduces(), b.getProduces());
+    }
+
+    private static String stripQuery(String url) {
+        // Pełny adres: http://host:port/ścieżka
+        int scheme = url.indexOf("://");
+        if (scheme >= 0) {
+            int slash = url.indexOf('/', scheme + 3);
+            url = slash >= 0 ? url.substring(slash) : "/";
+        }
+        int end = url.length();
+        int query = url.indexOf('?');
+        if (query >= 0) {
+            end = query;
+        }
+        int fragment = url.indexOf('#');
+        if (fragment >= 0 && fragment < end) {
+            end = fragment;
+        }
+        String path = url.substring(0, end);
+        return path.startsWith("/") ? path : "/" + path;
+    }
+}
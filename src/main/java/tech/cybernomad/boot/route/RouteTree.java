@@ -0,0 +1,236 @@
+package tech.cybernomad.boot.route;
+
+import tech.cybernomad.boot.route.RoutePattern.Kind;
+import tech.cybernomad.boot.route.RoutePattern.Segment;
+import tech.cybernomad.boot.route.RouteTable.Route;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * Radix tree over path segments. Literal children are found by a hash lookup; variable and pattern children
+ * are tried one by one, and a catch-all child matches whatever is left. Patterns that differ only in their
+ * variable names end on the same node.
+ */
+final class RouteTree {
+
+    static final class Node {
+        final Segment segment; // krawędź prowadząca do węzła, null w korzeniu
+        final Map<String, Node> literals = new HashMap<>(4);
+        final List<Node> patterns = new ArrayList<>(0);
+        Node catchAll;
+        final List<Route> routes = new ArrayList<>(0);
+        boolean catchAllBelow; // czy w poddrzewie (z węzłem włącznie) jest jakiś catch-all
+
+        Node(Segment segment) {
+            this.segment = segment;
+        }
+
+        Node child(Segment segment) {
+            switch (segment.kind) {
+                case LITERAL:
+                    return literals.computeIfAbsent(segment.key, key -> new Node(segment));
+                case CATCH_ALL:
+                    if (catchAll == null) {
+                        catchAll = new Node(segment);
+                    }
+                    return catchAll;
+                default:
+                    for (Node node : patterns) {
+                        if (node.segment.key.equals(segment.key)) {
+                            return node;
+                        }
+                    }
+                    Node node = new Node(segment);
+                    patterns.add(node);
+                    return node;
+            }
+        }
+    }
+
+    private final Node root = new Node(null);
+    private int size;
+
+    void insert(Route route) {
+        Node node = root;
+        List<Node> path = new ArrayList<>();
+        path.add(node);
+        for (Segment segment : route.pattern().getSegments()) {
+            node = node.child(segment);
+            path.add(node);
+            // Za catch-allem nic już nie pasuje
+            if (segment.kind == Kind.CATCH_ALL) {
+                break;
+            }
+        }
+        node.routes.add(route);
+        if (node.segment != null && node.segment.kind == Kind.CATCH_ALL) {
+            path.forEach(n -> n.catchAllBelow = true);
+        }
+        size++;
+    }
+
+    int size() { return size; }
+
+    /**
+     * Every route whose pattern matches the path, in no particular order.
+     */
+    List<Route> match(List<String> path) {
+        List<Route> matches = new ArrayList<>();
+        match(root, path, 0, matches);
+        return matches;
+    }
+
+    private static void match(Node node, List<String> path, int index, List<Route> matches) {
+        if (node.catchAll != null) {
+            matches.addAll(node.catchAll.routes);
+        }
+        if (index == path.size()) {
+            matches.addAll(node.routes);
+            return;
+        }
+        String segment = path.get(index);
+        Node literal = node.literals.get(segment);
+        if (literal != null) {
+            match(literal, path, index + 1, matches);
+        }
+        for (Node pattern : node.patterns) {
+            if (pattern.segment.matches(segment)) {
+                match(pattern, path, index + 1, matches);
+            }
+        }
+    }
+
+    /**
+     * Reports every pair of routes that can match the same path, with an example path.
+     * <p>
+     * The tree is walked against itself: a pair of nodes is only visited when their segments can match the
+     * same value, so literal subtrees that differ are never compared and the cost follows the number of
+     * overlapping node pairs, not the square of the number of routes. Pairs involving exactly one catch-all
+     * are not reported - Spring prefers any other match over a catch-all, so those overlaps are intended.
+     */
+    void overlaps(BiConsumer<Route, Route> sameNode, OverlapConsumer overlap) {
+        walkSame(root, new ArrayDeque<>(), sameNode, overlap);
+    }
+
+    @FunctionalInterface
+    interface OverlapConsumer {
+        void accept(Route first, Route second, String example);
+    }
+
+    private void walkSame(Node node, Deque<String> example, BiConsumer<Route, Route> sameNode, OverlapConsumer overlap) {
+        List<Route> routes = node.routes;
+        for (int i = 0; i < routes.size(); i++) {
+            for (int j = i + 1; j < routes.size(); j++) {
+                sameNode.accept(routes.get(i), routes.get(j));
+            }
+        }
+        for (Node child : node.literals.values()) {
+            descend(child, child, child.segment.text, example, sameNode, overlap);
+        }
+        for (int p = 0; p < node.patterns.size(); p++) {
+            Node pattern = node.patterns.get(p);
+            descend(pattern, pattern, pattern.segment.text, example, sameNode, overlap);
+            for (Node literal : node.literals.values()) {
+                if (pattern.segment.matches(literal.segment.key)) {
+                    descend(literal, pattern, literal.segment.text, example, sameNode, overlap);
+                }
+            }
+            for (int q = p + 1; q < node.patterns.size(); q++) {
+                Node other = node.patterns.get(q);
+                if (pattern.segment.mayOverlap(other.segment)) {
+                    descend(pattern, other, pattern.segment.text, example, sameNode, overlap);
+                }
+            }
+        }
+        if (node.catchAll != null) {
+            descend(node.catchAll, node.catchAll, node.catchAll.segment.text, example, sameNode, overlap);
+            catchAlls(node.catchAll, node, example, overlap, node.catchAll);
+        }
+    }
+
+    private void descend(Node a, Node b, String segment, Deque<String> example,
+                         BiConsumer<Route, Route> sameNode, OverlapConsumer overlap) {
+        example.addLast(segment);
+        if (a == b) {
+            walkSame(a, example, sameNode, overlap);
+        } else {
+            walkPair(a, b, example, overlap);
+        }
+        example.removeLast();
+    }
+
+    private void walkPair(Node a, Node b, Deque<String> example, OverlapConsumer overlap) {
+        if (!a.routes.isEmpty() && !b.routes.isEmpty()) {
+            String path = "/" + String.join("/", example);
+            for (Route first : a.routes) {
+                for (Route second : b.routes) {
+                    overlap.accept(first, second, path);
+                }
+            }
+        }
+        for (Node x : a.literals.values()) {
+            Node y = b.literals.get(x.segment.key);
+            if (y != null) {
+                descendPair(x, y, x.segment.text, example, overlap);
+            }
+            for (Node q : b.patterns) {
+                if (q.segment.matches(x.segment.key)) {
+                    descendPair(x, q, x.segment.text, example, overlap);
+                }
+            }
+        }
+        for (Node p : a.patterns) {
+            for (Node y : b.literals.values()) {
+                if (p.segment.matches(y.segment.key)) {
+                    descendPair(p, y, y.segment.text, example, overlap);
+                }
+            }
+            for (Node q : b.patterns) {
+                if (p.segment.mayOverlap(q.segment)) {
+                    descendPair(p, q, p.segment.text, example, overlap);
+                }
+            }
+        }
+        // Dwa catch-alle pasują do tych samych ścieżek od miejsca, w którym oba się zaczynają
+        if (a.catchAll != null && b.catchAllBelow) {
+            catchAlls(a.catchAll, b, example, overlap, null);
+        }
+        if (b.catchAll != null && a.catchAllBelow) {
+            catchAlls(b.catchAll, a, example, overlap, a.catchAll);
+        }
+    }
+
+    private void descendPair(Node a, Node b, String segment, Deque<String> example, OverlapConsumer overlap) {
+        example.addLast(segment);
+        walkPair(a, b, example, overlap);
+        example.removeLast();
+    }
+
+    private void catchAlls(Node catchAll, Node node, Deque<String> example, OverlapConsumer overlap, Node skip) {
+        if (node.catchAll != null && node.catchAll != skip) {
+            example.addLast(node.catchAll.segment.text);
+            String path = "/" + String.join("/", example);
+            example.removeLast();
+            for (Route first : catchAll.routes) {
+                for (Route second : node.catchAll.routes) {
+                    overlap.accept(first, second, path);
+                }
+            }
+        }
+        for (Node child : node.literals.values()) {
+            if (child.catchAllBelow) {
+                example.addLast(child.segment.text);
+                catchAlls(catchAll, child, example, overlap, null);
+                example.removeLast();
+            }
+        }
+        for (Node child : node.patterns) {
+            if (child.catchAllBelow) {
+                example.addLast(child.segment.text);
+                catchAlls(catchAll, child, example, overlap, null);
+                example.removeLast();
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package tech.cybernomad.boot.rules;
+
+import tech.cybernomad.boot.model.ClassInfo;
+import tech.cybernomad.boot.model.Finding.Severity;
+import tech.cybernomad.boot.model.ProjectInfo;
+
+/**
+ * A check for a performance anti-pattern, run by a {@link RuleSet}.
+ * <p>
+ * {@link #checkClass} sees the syntax tree of each bean while the analyzer extracts it, in the same pass, on the
+ * worker thread that parsed the file; its findings are stored with the class (and in caches and snapshots).
+ * {@link #checkProject} runs on a finished result, for rules that need other classes. One instance serves all
+ * workers, so a rule must not keep state between calls.
+ * <p>
+ * Rules outside this package are found through {@link java.util.ServiceLoader}: list the class in
+ * {@code META-INF/services/tech.cybernomad.boot.rules.AnalysisRule}.
+ */
+public interface AnalysisRule {
+
+    /**
+     * Stable id, e.g. {@code unpooled-rest-template}; configuration, caches and findings refer to the rule by it.
+     */
+    String getId();
+
+    /**
+     * One line for reports.
+     */
+    String getDescription();
+
+    default void checkClass(ClassContext context) { }
+
+    default void checkProject(ProjectInfo project, Reporter reporter) { }
+
+    @FunctionalInterface
+    interface Reporter {
+        void report(ClassInfo cls, int line, Severity severity, String message);
+    }
+}
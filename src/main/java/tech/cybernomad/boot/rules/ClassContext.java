@@ -0,0 +1,99 @@
+package tech.cybernomad.boot.rules;
+
+import com.github.javaparser.Range;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import tech.cybernomad.boot.model.ClassInfo;
+import tech.cybernomad.boot.model.Finding;
+import tech.cybernomad.boot.model.Finding.Severity;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * What a class-level rule sees of one bean: its declaration, the extracted {@link ClassInfo} and the source
+ * it came from.
+ * <p>
+ * With shallow parsing member bodies are not in the tree, so rules that look into bodies use {@link #text},
+ * which cuts the node's lines out of the original source (the stripped declarations keep their lines).
+ */
+public final class ClassContext {
+
+    private final ClassOrInterfaceDeclaration declaration;
+    private final ClassInfo classInfo;
+    private final String source;
+    private List<MethodDeclaration> methods;
+    private int[] lineStarts;
+    private String rule;
+
+    ClassContext(ClassOrInterfaceDeclaration declaration, ClassInfo classInfo, String source) {
+        this.declaration = declaration;
+        this.classInfo = classInfo;
+        this.source = source;
+    }
+
+    public ClassOrInterfaceDeclaration getDeclaration() { return declaration; }
+
+    public ClassInfo getClassInfo() { return classInfo; }
+
+    /**
+     * Methods of the class, collected once for all rules.
+     */
+    public List<MethodDeclaration> getMethods() {
+        if (methods == null) {
+            methods = declaration.getMethods();
+        }
+        return methods;
+    }
+
+    void setRule(String rule) { this.rule = rule; }
+
+    /**
+     * Whether the source of the file contains the text - a cheap test before walking the tree; always
+     * {@code true} when the source is not known.
+     */
+    public boolean sourceContains(String text) {
+        return source == null || source.contains(text);
+    }
+
+    /**
+     * Source lines of the node, bodies included; the printed node when the source is not known.
+     */
+    public String text(Node node) {
+        Range range = node.getRange().orElse(null);
+        if (source == null || range == null) {
+            return node.toString();
+        }
+        int[] starts = lineStarts();
+        int from = starts[Math.min(range.begin.line, starts.length) - 1];
+        int to = range.end.line < starts.length ? starts[range.end.line] : source.length();
+        return source.substring(from, to);
+    }
+
+    public void report(Node node, Severity severity, String message) {
+        report(node.getBegin().map(p -> p.line).orElse(classInfo.getLineNumber()), severity, message);
+    }
+
+    public void report(int line, Severity severity, String message) {
+        classInfo.addFinding(new Finding(rule, severity, message, line));
+    }
+
+    // Początki linii liczone przy pierwszym użyciu - większość klas nie potrzebuje tekstu
+    private int[] lineStarts() {
+        if (lineStarts == null) {
+            int[] starts = new int[64];
+            int count = 1;
+            for (int i = 0; i < source.length(); i++) {
+                if (source.charAt(i) == '\n') {
+                    if (count == starts.length) {
+                        starts = Arrays.copyOf(starts, count * 2);
+                    }
+                    starts[count++] = i + 1;
+                }
+            }
+            lineStarts = Arrays.copyOf(starts, count);
+        }
+        return lineStarts;
+    }
+}
@@ -0,0 +1,39 @@
+package tech.cybernomad.boot.rules;
+
+import com.github.javaparser.ast.body.FieldDeclaration;
+import tech.cybernomad.boot.model.BeanType;
+import tech.cybernomad.boot.model.ClassInfo;
+import tech.cybernomad.boot.model.Finding.Severity;
+
+/**
+ * Field injection in controllers that handle requests. Injected fields are set by reflection after the
+ * constructor and cannot be {@code final}; constructor injection avoids the reflective pass at startup and
+ * lets the fields be final, which is also what makes the controller safe to publish to request threads.
+ */
+final class ControllerFieldInjectionRule implements AnalysisRule {
+
+    @Override
+    public String getId() { return "controller-field-injection"; }
+
+    @Override
+    public String getDescription() { return "@Autowired field in a controller with request mappings"; }
+
+    @Override
+    public void checkClass(ClassContext context) {
+        ClassInfo info = context.getClassInfo();
+        if ((info.getBeanType() != BeanType.CONTROLLER && info.getBeanType() != BeanType.REST_CONTROLLER)
+                || (info.getRoutes().isEmpty() && info.getMappings().isEmpty())
+                || !(context.sourceContains("Autowired") || context.sourceContains("Inject") || context.sourceContains("Resource"))) {
+            return;
+        }
+        for (FieldDeclaration field : context.getDeclaration().getFields()) {
+            if (field.getAnnotationByName("Autowired").isPresent() || field.getAnnotationByName("Inject").isPresent()
+                    || field.getAnnotationByName("Resource").isPresent()) {
+                context.report(field, Severity.INFO, String.format(
+                    "Field %s %s is injected by reflection into a request-handling controller (%d routes); "
+                        + "use constructor injection and a final field", field.getElementType().asString(),
+                    field.getVariable(0).getNameAsString(), info.getRoutes().size()));
+            }
+        }
+    }
+}
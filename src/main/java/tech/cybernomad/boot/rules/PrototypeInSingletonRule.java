@@ -0,0 +1,77 @@
+package tech.cybernomad.boot.rules;
+
+import tech.cybernomad.boot.graph.DependencyGraph;
+import tech.cybernomad.boot.model.BeanType;
+import tech.cybernomad.boot.model.ClassInfo;
+import tech.cybernomad.boot.model.Finding.Severity;
+import tech.cybernomad.boot.model.MethodInfo;
+import tech.cybernomad.boot.model.ProjectInfo;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A prototype bean injected directly into a singleton is created once, when the singleton is, and then shared
+ * by every caller - usually not what the prototype scope was meant for, and per-call state leaks between
+ * requests. Injection through {@code ObjectProvider}, {@code ObjectFactory} or {@code Provider} gets a new
+ * instance per lookup and is not reported. Types are resolved by simple name, like in {@link DependencyGraph}.
+ */
+final class PrototypeInSingletonRule implements AnalysisRule {
+
+    private static final Set<String> LOOKUP_TYPES = Set.of("ObjectProvider", "ObjectFactory", "Provider", "Supplier", "Lazy");
+
+    @Override
+    public String getId() { return "prototype-in-singleton"; }
+
+    @Override
+    public String getDescription() { return "Prototype bean injected directly into a singleton"; }
+
+    @Override
+    public void checkProject(ProjectInfo project, Reporter reporter) {
+        // Prosta nazwa typu -> opis metody @Bean dostarczającej prototyp, pusty dla klasy
+        Map<String, String> prototypes = new HashMap<>();
+        for (ClassInfo cls : project.getAllClasses()) {
+            if (isPrototype(cls.getScope())) {
+                prototypes.putIfAbsent(cls.getClassName(), "");
+            }
+            for (MethodInfo method : cls.getBeanMethods()) {
+                if (isPrototype(method.getScope())) {
+                    prototypes.putIfAbsent(DependencyGraph.typeName(DependencyGraph.elementType(method.getReturnType())),
+                        " (@Bean " + cls.getClassName() + "#" + method.getName() + ")");
+                }
+            }
+        }
+        if (prototypes.isEmpty()) {
+            return;
+        }
+
+        for (ClassInfo cls : project.getAllClasses()) {
+            if (cls.getBeanType() == BeanType.ENTITY || !isSingleton(cls.getScope())) {
+                continue;
+            }
+            for (String dependency : cls.getDependencies()) {
+                if (LOOKUP_TYPES.contains(DependencyGraph.typeName(dependency))) {
+                    continue;
+                }
+                String type = DependencyGraph.typeName(DependencyGraph.elementType(dependency));
+                String provider = prototypes.get(type);
+                if (provider != null) {
+                    reporter.report(cls, cls.getLineNumber(), Severity.WARNING, String.format(
+                        "Prototype bean %s%s is injected into singleton %s once and shared by all its callers; "
+                            + "inject ObjectProvider<%s> or use a scoped proxy",
+                        type, provider, cls.getClassName(), type));
+                }
+            }
+        }
+    }
+
+    // Wartość @Scope jest zapisana małymi literami: "prototype" albo np. configurablebeanfactory.scope_prototype
+    static boolean isPrototype(String scope) {
+        return scope != null && scope.endsWith("prototype");
+    }
+
+    static boolean isSingleton(String scope) {
+        return scope == null || scope.isEmpty() || scope.endsWith("singleton");
+    }
+}
@@ -0,0 +1,102 @@
+package tech.cybernomad.boot.rules;
+
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import tech.cybernomad.boot.model.ClassInfo;
+import tech.cybernomad.boot.model.Finding;
+import tech.cybernomad.boot.model.ProjectInfo;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * The analysis rules of a run. Class-level rules are run by the analyzer for every bean it extracts
+ * ({@link #checkClass}); {@link #check} collects their findings from a result and adds those of the
+ * project-level rules.
+ */
+public final class RuleSet {
+
+    public static final RuleSet NONE = new RuleSet(List.of());
+
+    /**
+     * A finding together with the class it was reported for.
+     */
+    public record Located(ClassInfo cls, Finding finding) { }
+
+    private static final Comparator<Located> ORDER = Comparator
+        .comparing((Located l) -> l.finding().getSeverity(), Comparator.reverseOrder())
+        .thenComparing(l -> l.cls().getFullName())
+        .thenComparingInt(l -> l.finding().getLineNumber())
+        .thenComparing(l -> l.finding().getRule());
+
+    private final List<AnalysisRule> rules;
+    private final String key;
+
+    public RuleSet(List<AnalysisRule> rules) {
+        this.rules = List.copyOf(rules);
+        this.key = this.rules.stream().map(AnalysisRule::getId).sorted().collect(Collectors.joining(","));
+    }
+
+    /**
+     * The built-in rules and the ones registered through {@link ServiceLoader}.
+     */
+    public static RuleSet defaults() {
+        List<AnalysisRule> rules = new ArrayList<>(List.of(
+            new PrototypeInSingletonRule(),
+            new ShortScheduleRule(),
+            new UnpooledRestTemplateRule(),
+            new ControllerFieldInjectionRule(),
+            new SynchronizedSingletonRule()));
+        ServiceLoader.load(AnalysisRule.class).forEach(rules::add);
+        return new RuleSet(rules);
+    }
+
+    /**
+     * This set without the rules with the given ids.
+     */
+    public RuleSet without(Collection<String> ids) {
+        Set<String> disabled = new HashSet<>(ids);
+        return new RuleSet(rules.stream().filter(r -> !disabled.contains(r.getId())).toList());
+    }
+
+    public List<AnalysisRule> getRules() { return rules; }
+
+    public boolean isEmpty() { return rules.isEmpty(); }
+
+    /**
+     * Sorted rule ids, e.g. {@code a,b}. Stored with cached results: findings computed by a different set of
+     * rules are not reused.
+     */
+    public String getKey() { return key; }
+
+    /**
+     * Runs the class-level rules on one bean; findings are added to {@code info}.
+     *
+     * @param source the source the declaration was parsed from, {@code null} if unknown
+     */
+    public void checkClass(ClassOrInterfaceDeclaration declaration, ClassInfo info, String source) {
+        ClassContext context = new ClassContext(declaration, info, source);
+        for (AnalysisRule rule : rules) {
+            context.setRule(rule.getId());
+            rule.checkClass(context);
+        }
+    }
+
+    /**
+     * The findings stored with the project's classes and those of the project-level rules, most severe first,
+     * then by class and line. The classes are not modified.
+     */
+    public List<Located> check(ProjectInfo project) {
+        List<Located> found = new ArrayList<>();
+        for (ClassInfo cls : project.getAllClasses()) {
+            for (Finding finding : cls.getFindings()) {
+                found.add(new Located(cls, finding));
+            }
+        }
+        for (AnalysisRule rule : rules) {
+            rule.checkProject(project, (cls, line, severity, message) ->
+                found.add(new Located(cls, new Finding(rule.getId(), severity, message, line))));
+        }
+        found.sort(ORDER);
+        return found;
+    }
+}
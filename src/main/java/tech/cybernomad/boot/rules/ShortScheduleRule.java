@@ -0,0 +1,140 @@
+package tech.cybernomad.boot.rules;
+
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.expr.*;
+import tech.cybernomad.boot.model.Finding.Severity;
+
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code @Scheduled} tasks with a very short {@code fixedRate} or {@code fixedDelay}: below a second the task
+ * keeps a scheduler thread busy most of the time, below {@value #ERROR_MILLIS} ms it is effectively a busy loop.
+ * Literal values, their products and sums, the {@code *String} variants (plain numbers, ISO-8601 and
+ * {@code 10s}-style durations) and {@code timeUnit} are understood; placeholders and constants are skipped.
+ */
+final class ShortScheduleRule implements AnalysisRule {
+
+    static final long WARNING_MILLIS = 1000;
+    static final long ERROR_MILLIS = 100;
+
+    @Override
+    public String getId() { return "short-schedule"; }
+
+    @Override
+    public String getDescription() { return "@Scheduled task with a fixed rate or delay under " + WARNING_MILLIS + " ms"; }
+
+    @Override
+    public void checkClass(ClassContext context) {
+        if (!context.sourceContains("Scheduled")) {
+            return;
+        }
+        for (MethodDeclaration method : context.getMethods()) {
+            for (AnnotationExpr annotation : method.getAnnotations()) {
+                if ("Scheduled".equals(annotation.getNameAsString()) && annotation instanceof NormalAnnotationExpr na) {
+                    check(context, method, na);
+                }
+            }
+        }
+    }
+
+    private void check(ClassContext context, MethodDeclaration method, NormalAnnotationExpr annotation) {
+        TimeUnit unit = TimeUnit.MILLISECONDS;
+        for (MemberValuePair pair : annotation.getPairs()) {
+            if ("timeUnit".equals(pair.getNameAsString())) {
+                String name = pair.getValue().toString();
+                try {
+                    unit = TimeUnit.valueOf(name.substring(name.lastIndexOf('.') + 1));
+                } catch (IllegalArgumentException e) {
+                    return;
+                }
+            }
+        }
+        for (MemberValuePair pair : annotation.getPairs()) {
+            String name = pair.getNameAsString();
+            long millis = switch (name) {
+                case "fixedRate", "fixedDelay" -> toMillis(number(pair.getValue()), unit);
+                case "fixedRateString", "fixedDelayString" -> pair.getValue() instanceof StringLiteralExpr s
+                    ? parse(s.asString(), unit) : -1;
+                default -> -1;
+            };
+            if (millis < 0 || millis >= WARNING_MILLIS) {
+                continue;
+            }
+            boolean rate = name.startsWith("fixedRate");
+            context.report(method, millis < ERROR_MILLIS ? Severity.ERROR : Severity.WARNING, String.format(
+                "%s() runs %s %d ms%s; use a longer period, or an event or queue instead of polling",
+                method.getNameAsString(), rate ? "every" : "again", millis,
+                rate ? "" : " after each run"));
+        }
+    }
+
+    // Literał liczbowy albo iloczyn/suma literałów (fixedRate = 5 * 1000); -1 gdy nieznane
+    private static long number(Expression value) {
+        if (value instanceof EnclosedExpr enclosed) {
+            return number(enclosed.getInner());
+        }
+        if (value instanceof IntegerLiteralExpr i) {
+            return i.asNumber().longValue();
+        }
+        if (value instanceof LongLiteralExpr l) {
+            return l.asNumber().longValue();
+        }
+        if (value instanceof BinaryExpr binary) {
+            long left = number(binary.getLeft());
+            long right = number(binary.getRight());
+            if (left < 0 || right < 0) {
+                return -1;
+            }
+            return switch (binary.getOperator()) {
+                case MULTIPLY -> left * right;
+                case PLUS -> left + right;
+                default -> -1;
+            };
+        }
+        return -1;
+    }
+
+    private static long toMillis(long value, TimeUnit unit) {
+        return value < 0 ? -1 : unit.toMillis(value);
+    }
+
+    private static long parse(String text, TimeUnit unit) {
+        String value = text.trim();
+        if (value.isEmpty() || value.contains("${") || value.contains("#{")) {
+            return -1;
+        }
+        try {
+            if (Character.isDigit(value.charAt(value.length() - 1))) {
+                return toMillis(Long.parseLong(value), unit);
+            }
+            if (value.startsWith("P") || value.startsWith("p") || value.startsWith("-")) {
+                return Duration.parse(value).toMillis();
+            }
+            return simple(value.toLowerCase(Locale.ROOT));
+        } catch (NumberFormatException | DateTimeParseException | ArithmeticException e) {
+            return -1;
+        }
+    }
+
+    // Format prosty Springa: 500ms, 10s, 5m, 1h, 2d
+    private static long simple(String value) {
+        int end = 0;
+        while (end < value.length() && Character.isDigit(value.charAt(end))) {
+            end++;
+        }
+        long amount = Long.parseLong(value.substring(0, end));
+        return switch (value.substring(end)) {
+            case "ns" -> TimeUnit.NANOSECONDS.toMillis(amount);
+            case "us" -> TimeUnit.MICROSECONDS.toMillis(amount);
+            case "ms" -> amount;
+            case "s" -> TimeUnit.SECONDS.toMillis(amount);
+            case "m" -> TimeUnit.MINUTES.toMillis(amount);
+            case "h" -> TimeUnit.HOURS.toMillis(amount);
+            case "d" -> TimeUnit.DAYS.toMillis(amount);
+            default -> -1;
+        };
+    }
+}
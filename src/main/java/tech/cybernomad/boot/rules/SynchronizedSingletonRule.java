@@ -0,0 +1,50 @@
+package tech.cybernomad.boot.rules;
+
+import com.github.javaparser.ast.body.MethodDeclaration;
+import tech.cybernomad.boot.model.BeanType;
+import tech.cybernomad.boot.model.ClassInfo;
+import tech.cybernomad.boot.model.Finding.Severity;
+import tech.cybernomad.boot.model.RouteInfo;
+
+/**
+ * {@code synchronized} methods of singleton controllers and services. There is one instance for all request
+ * threads, so they queue on its monitor one by one; on a request handler that caps the endpoint at one
+ * request at a time, which is reported as an error.
+ */
+final class SynchronizedSingletonRule implements AnalysisRule {
+
+    @Override
+    public String getId() { return "synchronized-singleton"; }
+
+    @Override
+    public String getDescription() { return "synchronized method on a singleton controller or service"; }
+
+    @Override
+    public void checkClass(ClassContext context) {
+        ClassInfo info = context.getClassInfo();
+        BeanType type = info.getBeanType();
+        if ((type != BeanType.CONTROLLER && type != BeanType.REST_CONTROLLER && type != BeanType.SERVICE)
+                || !PrototypeInSingletonRule.isSingleton(info.getScope()) || !context.sourceContains("synchronized")) {
+            return;
+        }
+        for (MethodDeclaration method : context.getMethods()) {
+            if (!method.isSynchronized()) {
+                continue;
+            }
+            boolean handler = isHandler(info, method.getNameAsString());
+            context.report(method, handler ? Severity.ERROR : Severity.WARNING, String.format(
+                "synchronized %s() on singleton %s serializes all %s on one lock; guard only the shared state, "
+                    + "or use a concurrent structure", method.getNameAsString(), info.getClassName(),
+                handler ? "requests to this handler" : "callers"));
+        }
+    }
+
+    private static boolean isHandler(ClassInfo info, String method) {
+        for (RouteInfo route : info.getRoutes()) {
+            if (route.getHandlerMethod().equals(method)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,52 @@
+package tech.cybernomad.boot.rules;
+
+import com.github.javaparser.ast.body.MethodDeclaration;
+import tech.cybernomad.boot.model.Finding.Severity;
+
+import java.util.regex.Pattern;
+
+/**
+ * {@code @Bean} methods creating a {@code RestTemplate} on the default {@code SimpleClientHttpRequestFactory}:
+ * every request opens its own {@code HttpURLConnection}, there is no connection pool to reuse connections or
+ * to limit them per host. The method body is searched as text, so this works with shallow parsing too;
+ * a {@code RestTemplate} given a factory in its constructor or through {@code setRequestFactory} is left alone.
+ */
+final class UnpooledRestTemplateRule implements AnalysisRule {
+
+    private static final Pattern CONSTRUCTOR = Pattern.compile("\\bnew\\s+RestTemplate\\s*\\(");
+    private static final Pattern NO_FACTORY_CONSTRUCTOR = Pattern.compile("\\bnew\\s+RestTemplate\\s*\\(\\s*\\)");
+    private static final Pattern SET_REQUEST_FACTORY = Pattern.compile("\\bsetRequestFactory\\s*\\(");
+
+    @Override
+    public String getId() { return "unpooled-rest-template"; }
+
+    @Override
+    public String getDescription() { return "RestTemplate bean without a pooled request factory"; }
+
+    @Override
+    public void checkClass(ClassContext context) {
+        // Metody @Bean zbiera analizator (klasy @Configuration) - bez nich nie ma czego szukać
+        if (context.getClassInfo().getBeanMethods().isEmpty() || !context.sourceContains("RestTemplate")) {
+            return;
+        }
+        for (MethodDeclaration method : context.getMethods()) {
+            if (method.getAnnotationByName("Bean").isEmpty()) {
+                continue;
+            }
+            String body = context.text(method);
+            if (body.contains("RestTemplate") && isUnpooled(body)) {
+                context.report(method, Severity.WARNING, method.getNameAsString()
+                    + "() creates a RestTemplate on SimpleClientHttpRequestFactory - a new connection per request, "
+                    + "no pooling; pass a pooled factory such as HttpComponentsClientHttpRequestFactory");
+            }
+        }
+    }
+
+    private static boolean isUnpooled(String body) {
+        if (body.contains("SimpleClientHttpRequestFactory")) {
+            return CONSTRUCTOR.matcher(body).find();
+        }
+        // new RestTemplate() bez fabryki - chyba że ustawiona później; new RestTemplate(factory) tu nie pasuje
+        return NO_FACTORY_CONSTRUCTOR.matcher(body).find() && !SET_REQUEST_FACTORY.matcher(body).find();
+    }
+}
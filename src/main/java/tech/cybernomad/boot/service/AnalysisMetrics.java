@@ -0,0 +1,123 @@
+package tech.cybernomad.boot.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import tech.cybernomad.boot.analyzer.AnalysisListener;
+import tech.cybernomad.boot.model.AnalysisStats;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the analysis pipeline through Micrometer (Actuator: {@code /actuator/metrics},
+ * {@code /actuator/prometheus}):
+ * <ul>
+ *   <li>{@code analyzer.phase} - timer per phase ({@code phase} tag: walk, read, parse, analyze, rules, cache, report)</li>
+ *   <li>{@code analyzer.parse.latency} - histogram of the parse time of single files</li>
+ *   <li>{@code analyzer.files} - counter per outcome ({@code result} tag: parsed, skipped, cached, failed)</li>
+ *   <li>{@code analyzer.bytes.read} - counter of source bytes read</li>
+ *   <li>{@code analyzer.runs} - timer of whole runs ({@code partial} tag)</li>
+ *   <li>{@code analyzer.throughput} - bytes read per second by the last finished run</li>
+ * </ul>
+ * Meters are created up front, so recording one is a map lookup at most.
+ */
+@Component
+public class AnalysisMetrics implements AnalysisListener {
+
+    private final Map<Phase, Timer> phases = new EnumMap<>(Phase.class);
+    private final Timer parseLatency;
+    private final Counter parsed;
+    private final Counter skipped;
+    private final Counter cached;
+    private final Counter failed;
+    private final Counter bytesRead;
+    private final Timer completeRuns;
+    private final Timer partialRuns;
+    private volatile double throughput;
+
+    public AnalysisMetrics(MeterRegistry registry) {
+        for (Phase phase : Phase.values()) {
+            phases.put(phase, Timer.builder("analyzer.phase")
+                .description("Time spent in one phase of the analysis")
+                .tag("phase", phase.name().toLowerCase(Locale.ROOT))
+                .register(registry));
+        }
+        parseLatency = Timer.builder("analyzer.parse.latency")
+            .description("Parse time of a single source file")
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofMillis(1))
+            .maximumExpectedValue(Duration.ofSeconds(10))
+            .register(registry);
+        parsed = files(registry, "parsed");
+        skipped = files(registry, "skipped");
+        cached = files(registry, "cached");
+        failed = files(registry, "failed");
+        bytesRead = Counter.builder("analyzer.bytes.read")
+            .description("Source bytes read by the analyzer")
+            .baseUnit("bytes")
+            .register(registry);
+        completeRuns = runs(registry, false);
+        partialRuns = runs(registry, true);
+        Gauge.builder("analyzer.throughput", this, metrics -> metrics.throughput)
+            .description("Bytes read per second by the last finished analysis run")
+            .baseUnit("bytes.per.second")
+            .register(registry);
+    }
+
+    private static Counter files(MeterRegistry registry, String result) {
+        return Counter.builder("analyzer.files")
+            .description("Source files by analysis outcome")
+            .tag("result", result)
+            .register(registry);
+    }
+
+    private static Timer runs(MeterRegistry registry, boolean partial) {
+        return Timer.builder("analyzer.runs")
+            .description("Duration of full analysis runs")
+            .tag("partial", String.valueOf(partial))
+            .register(registry);
+    }
+
+    @Override
+    public void phaseCompleted(Phase phase, long nanos) {
+        phases.get(phase).record(nanos, TimeUnit.NANOSECONDS);
+        if (phase == Phase.PARSE) {
+            parseLatency.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void fileParsed(Path file, long bytes, long nanos) {
+        parsed.increment();
+        bytesRead.increment(bytes);
+    }
+
+    @Override
+    public void fileSkipped(Path file, long bytes) {
+        skipped.increment();
+        bytesRead.increment(bytes);
+    }
+
+    @Override
+    public void fileCached(Path file) {
+        cached.increment();
+    }
+
+    @Override
+    public void fileFailed(Path file, String reason) {
+        failed.increment();
+    }
+
+    @Override
+    public void analysisCompleted(AnalysisStats stats) {
+        (stats.isPartial() ? partialRuns : completeRuns).record(stats.getDurationNanos(), TimeUnit.NANOSECONDS);
+        throughput = stats.getBytesPerSecond();
+    }
+}
@@ -0,0 +1,236 @@
+package tech.cybernomad.boot.service;
+
+import tech.cybernomad.boot.analyzer.ProjectFingerprint;
+import tech.cybernomad.boot.graph.DependencyGraph;
+import tech.cybernomad.boot.graph.LazyInitAnalysis;
+import tech.cybernomad.boot.graph.StartupPlan;
+import tech.cybernomad.boot.model.ProjectInfo;
+import tech.cybernomad.boot.route.RouteTable;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Weight-bounded LRU cache of analysis results with a time-to-live.
+ * <p>
+ * An entry is keyed by the normalized absolute project path and only served while the project's
+ * {@link ProjectFingerprint} is unchanged. The weight of an entry is an estimate of its heap size:
+ * a fixed cost per class plus the size of the rendered report, if one has been stored.
+ */
+public class AnalysisResultCache {
+
+    private static final long BYTES_PER_CLASS = 1024;
+    // Początek od czasu uruchomienia - wersje sprzed restartu nie pokrywają się z nowymi
+    private static final AtomicLong VERSIONS = new AtomicLong(System.currentTimeMillis());
+
+    private final long maxWeight;
+    private final Duration ttl;
+    private final LinkedHashMap<Path, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalWeight;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    public static final class Entry {
+        private final Path projectPath;
+        private final ProjectFingerprint fingerprint;
+        private final ProjectInfo project;
+        private final Instant created;
+        private final String version;
+        private volatile byte[] report;
+        private volatile DependencyGraph dependencyGraph;
+        private volatile RouteTable routeTable;
+        private volatile StartupPlan startupPlan;
+        private volatile LazyInitAnalysis lazyInitAnalysis;
+        private long weight;
+
+        Entry(Path projectPath, ProjectFingerprint fingerprint, ProjectInfo project, Instant created) {
+            this.projectPath = projectPath;
+            this.fingerprint = fingerprint;
+            this.project = project;
+            this.created = created;
+            this.version = Long.toHexString(VERSIONS.incrementAndGet());
+        }
+
+        public Path getProjectPath() { return projectPath; }
+        public ProjectFingerprint getFingerprint() { return fingerprint; }
+        public ProjectInfo getProject() { return project; }
+        public Instant getCreated() { return created; }
+
+        /**
+         * Identifies this entry: every result put in the cache gets a new one, even with an unchanged
+         * fingerprint (e.g. a module analyzed again, which reorders the classes). Anything addressing
+         * classes by position - report rows, page cursors - is pinned to it.
+         */
+        public String getVersion() { return version; }
+
+        /**
+         * Rendered HTML report, or {@code null} if it has not been stored yet.
+         */
+        public byte[] getReport() { return report; }
+
+        /**
+         * Dependency graph of the cached project, built on first use.
+         */
+        public DependencyGraph getDependencyGraph() {
+            DependencyGraph graph = dependencyGraph;
+            if (graph == null) {
+                graph = DependencyGraph.build(project);
+                dependencyGraph = graph;
+            }
+            return graph;
+        }
+
+        /**
+         * Startup plan of the cached project with estimated costs, built on first use.
+         */
+        public StartupPlan getStartupPlan() {
+            StartupPlan plan = startupPlan;
+            if (plan == null) {
+                plan = StartupPlan.build(getDependencyGraph());
+                startupPlan = plan;
+            }
+            return plan;
+        }
+
+        /**
+         * Lazy-initialization candidates of the cached project, computed on first use.
+         */
+        public LazyInitAnalysis getLazyInitAnalysis() {
+            LazyInitAnalysis analysis = lazyInitAnalysis;
+            if (analysis == null) {
+                analysis = LazyInitAnalysis.build(getDependencyGraph());
+                lazyInitAnalysis = analysis;
+            }
+            return analysis;
+        }
+
+        /**
+         * Route table of the cached project, built on first use.
+         */
+        public RouteTable getRouteTable() {
+            RouteTable table = routeTable;
+            if (table == null) {
+                table = RouteTable.build(project);
+                routeTable = table;
+            }
+            return table;
+        }
+
+        long computeWeight() {
+            byte[] r = report;
+            return project.getTotalBeans() * BYTES_PER_CLASS + (r != null ? r.length : 0);
+        }
+    }
+
+    public AnalysisResultCache(long maxWeight, Duration ttl) {
+        this.maxWeight = maxWeight;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Returns the entry for the project if it is still fresh and matches the fingerprint.
+     */
+    public synchronized Entry get(Path projectPath, ProjectFingerprint fingerprint) {
+        Entry entry = entries.get(projectPath);
+        if (entry != null && isExpired(entry)) {
+            remove(projectPath);
+            expirations++;
+            entry = null;
+        }
+        if (entry == null || !entry.fingerprint.equals(fingerprint)) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry;
+    }
+
+    /**
+     * Returns the entry for the project if it has not expired, whatever its fingerprint.
+     * Not counted in the hit statistics.
+     */
+    public synchronized Entry peek(Path projectPath) {
+        Entry entry = entries.get(projectPath);
+        return entry != null && !isExpired(entry) ? entry : null;
+    }
+
+    public synchronized Entry put(Path projectPath, ProjectFingerprint fingerprint, ProjectInfo project) {
+        remove(projectPath);
+        Entry entry = new Entry(projectPath, fingerprint, project, Instant.now());
+        entry.weight = entry.computeWeight();
+        entries.put(projectPath, entry);
+        totalWeight += entry.weight;
+        evict();
+        return entry;
+    }
+
+    /**
+     * Attaches the rendered report to an entry that is still cached and re-applies the weight bound.
+     */
+    public synchronized void storeReport(Entry entry, byte[] report) {
+        if (entries.get(entry.projectPath) != entry) {
+            return;
+        }
+        entry.report = report;
+        long weight = entry.computeWeight();
+        totalWeight += weight - entry.weight;
+        entry.weight = weight;
+        evict();
+    }
+
+    public synchronized boolean invalidate(Path projectPath) {
+        return remove(projectPath) != null;
+    }
+
+    public synchronized int invalidateAll() {
+        int count = entries.size();
+        entries.clear();
+        totalWeight = 0;
+        return count;
+    }
+
+    public synchronized Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long requests = hits + misses;
+        stats.put("entries", entries.size());
+        stats.put("weight", totalWeight);
+        stats.put("maxWeight", maxWeight);
+        stats.put("ttlSeconds", ttl.toSeconds());
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("hitRate", requests == 0 ? 0.0 : (double) hits / requests);
+        stats.put("evictions", evictions);
+        stats.put("expirations", expirations);
+        stats.put("projects", entries.keySet().stream().map(Path::toString).toList());
+        return stats;
+    }
+
+    private boolean isExpired(Entry entry) {
+        return entry.created.plus(ttl).isBefore(Instant.now());
+    }
+
+    private Entry remove(Path projectPath) {
+        Entry removed = entries.remove(projectPath);
+        if (removed != null) {
+            totalWeight -= removed.weight;
+        }
+        return removed;
+    }
+
+    // Najdawniej używane wpisy wylatują pierwsze; ostatnio dodany zostaje, nawet jeśli sam przekracza limit
+    private void evict() {
+        Iterator<Entry> it = entries.values().iterator();
+        while (totalWeight > maxWeight && entries.size() > 1 && it.hasNext()) {
+            Entry eldest = it.next();
+            it.remove();
+            totalWeight -= eldest.weight;
+            evictions++;
+        }
+    }
+}
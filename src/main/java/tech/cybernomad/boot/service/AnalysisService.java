@@ -0,0 +1,392 @@
+package tech.cybernomad.boot.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import tech.cybernomad.boot.analyzer.AnalysisListener;
+import tech.cybernomad.boot.analyzer.AutoConfigurationScanner;
+import tech.cybernomad.boot.analyzer.BytecodeAnalyzer;
+import tech.cybernomad.boot.analyzer.ProjectFingerprint;
+import tech.cybernomad.boot.analyzer.ProjectSnapshot;
+import tech.cybernomad.boot.analyzer.SpringBootAnalyzer;
+import tech.cybernomad.boot.delta.DeltaAnalyzer;
+import tech.cybernomad.boot.model.ProjectDelta;
+import tech.cybernomad.boot.model.ProjectInfo;
+import tech.cybernomad.boot.report.HtmlReportGenerator;
+import tech.cybernomad.boot.rules.RuleSet;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Creates analyzers configured from the {@code analyzer.*} properties and serves results
+ * through the {@link AnalysisResultCache}.
+ * <p>
+ * Every complete result is also written as a {@link ProjectSnapshot}. Snapshots whose project is
+ * unchanged are loaded into the result cache on startup, and a result cache miss checks the snapshot
+ * before analyzing the project again.
+ */
+@Service
+public class AnalysisService {
+
+    // 0 = tyle wątków, ile rdzeni
+    @Value("${analyzer.parallelism:0}")
+    private int parallelism;
+
+    @Value("${analyzer.cache.enabled:true}")
+    private boolean cacheEnabled;
+
+    @Value("${analyzer.cache.dir:${user.home}/.cbrnmd-boot/cache}")
+    private Path cacheDir;
+
+    @Value("${analyzer.prefilter.enabled:true}")
+    private boolean prefilterEnabled;
+
+    @Value("${analyzer.prefilter.verify:false}")
+    private boolean prefilterVerification;
+
+    @Value("${analyzer.shallow:true}")
+    private boolean shallowParsing;
+
+    @Value("${analyzer.snapshot.enabled:true}")
+    private boolean snapshotEnabled;
+
+    @Value("${analyzer.snapshot.dir:${user.home}/.cbrnmd-boot/snapshots}")
+    private Path snapshotDir;
+
+    // Puste = maven.repo.local, localRepository z ~/.m2/settings.xml albo ~/.m2/repository
+    @Value("${analyzer.autoconfig.repository:}")
+    private String mavenRepository;
+
+    @Value("${analyzer.results.max-report-bytes:33554432}")
+    private int maxReportBytes;
+
+    @Value("${analyzer.report.virtual-threshold:5000}")
+    private int virtualReportThreshold;
+
+    private final AnalysisResultCache resultCache;
+    private final AnalysisListener listener;
+    private final RuleSet rules;
+    // Tryb projektu (bajtkod albo źródła) ustalany raz na klucz - nie sprawdzamy katalogu przy każdym żądaniu
+    private final Map<Path, Boolean> bytecodeProjects = new ConcurrentHashMap<>();
+    // Trwające analizy - kolejne żądania tego samego projektu czekają na wynik zamiast liczyć go drugi raz
+    private final Map<Path, CompletableFuture<AnalysisResultCache.Entry>> running = new ConcurrentHashMap<>();
+
+    // Bajtkod nie ma drzewa składni - reguły klas na nim nie działają, więc jego wyniki od nich nie zależą
+    private static final String BYTECODE_RULES = "";
+
+    public AnalysisService(@Value("${analyzer.results.max-weight:268435456}") long maxWeight,
+                           @Value("${analyzer.results.ttl:30m}") Duration ttl,
+                           @Value("${analyzer.rules.enabled:true}") boolean rulesEnabled,
+                           @Value("${analyzer.rules.disabled:}") List<String> disabledRules,
+                           AnalysisListener listener) {
+        this.resultCache = new AnalysisResultCache(maxWeight, ttl);
+        this.listener = listener;
+        this.rules = rulesEnabled ? RuleSet.defaults().without(disabledRules) : RuleSet.NONE;
+    }
+
+    /**
+     * The analysis rules enabled by {@code analyzer.rules.*}.
+     */
+    public RuleSet getRules() { return rules; }
+
+    public SpringBootAnalyzer createAnalyzer(Path projectPath) {
+        SpringBootAnalyzer analyzer = parallelism > 0
+            ? new SpringBootAnalyzer(projectPath, parallelism)
+            : new SpringBootAnalyzer(projectPath);
+        if (cacheEnabled) {
+            analyzer.setCacheDirectory(cacheDir);
+        }
+        analyzer.setPrefilterEnabled(prefilterEnabled);
+        analyzer.setPrefilterVerification(prefilterVerification);
+        analyzer.setShallowParsing(shallowParsing);
+        analyzer.setListener(listener);
+        analyzer.setRules(rules);
+        return analyzer;
+    }
+
+    /**
+     * Report generator whose rendering times are published with the analysis metrics.
+     */
+    public HtmlReportGenerator createReportGenerator() {
+        return new HtmlReportGenerator(listener, rules);
+    }
+
+    /**
+     * Scanner of dependency jars for auto-configurations; shares the parallelism and cache directory
+     * of the source analyzer.
+     */
+    public AutoConfigurationScanner createAutoConfigurationScanner() {
+        AutoConfigurationScanner scanner = new AutoConfigurationScanner(
+            parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        if (cacheEnabled) {
+            scanner.setCacheDirectory(cacheDir);
+        }
+        if (!mavenRepository.isBlank()) {
+            scanner.setRepository(Path.of(mavenRepository));
+        }
+        return scanner;
+    }
+
+    /**
+     * Bean changes between two git revisions of the project ({@code to == null}: the working tree).
+     * Only the changed files are analyzed; the result is not cached.
+     *
+     * @throws IllegalArgumentException if the project is not in a git work tree or a revision is unknown
+     */
+    public ProjectDelta delta(Path projectPath, String from, String to) throws IOException {
+        return new DeltaAnalyzer(createAnalyzer(normalize(projectPath))).analyze(from, to);
+    }
+
+    /**
+     * Returns the cached result for the project, analyzing it again when it is missing,
+     * expired or the sources changed since it was cached. Only one analysis of a project runs at a time:
+     * requests arriving while it runs wait for it and get its result (or its exception).
+     */
+    public AnalysisResultCache.Entry analyze(Path projectPath) throws IOException {
+        Path key = normalize(projectPath);
+        CompletableFuture<AnalysisResultCache.Entry> analysis = new CompletableFuture<>();
+        CompletableFuture<AnalysisResultCache.Entry> other = running.putIfAbsent(key, analysis);
+        if (other != null) {
+            return await(key, other);
+        }
+        try {
+            AnalysisResultCache.Entry entry = analyzeNow(key);
+            analysis.complete(entry);
+            return entry;
+        } catch (IOException | RuntimeException | Error e) {
+            analysis.completeExceptionally(e);
+            throw e;
+        } finally {
+            running.remove(key, analysis);
+        }
+    }
+
+    private static AnalysisResultCache.Entry await(Path key, CompletableFuture<AnalysisResultCache.Entry> analysis)
+            throws IOException {
+        try {
+            return analysis.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the analysis of " + key);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw new IOException(io.getMessage(), io);
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw (Error) cause;
+        }
+    }
+
+    private AnalysisResultCache.Entry analyzeNow(Path key) throws IOException {
+        if (isBytecode(key)) {
+            return analyzeBytecode(key);
+        }
+        SpringBootAnalyzer analyzer = createAnalyzer(key);
+        ProjectFingerprint fingerprint = ProjectFingerprint.of(analyzer.findSourceRoots());
+        AnalysisResultCache.Entry cached = resultCache.get(key, fingerprint);
+        if (cached != null) {
+            return cached;
+        }
+        ProjectInfo project = loadSnapshot(key, fingerprint, rules.getKey());
+        if (project != null) {
+            return resultCache.put(key, fingerprint, project);
+        }
+        project = analyzer.analyze();
+        saveSnapshot(key, fingerprint, project, rules.getKey());
+        return resultCache.put(key, fingerprint, project);
+    }
+
+    // Skompilowane klasy albo jar/war - ten sam cache i snapshoty, odcisk liczony z plików .class
+    private AnalysisResultCache.Entry analyzeBytecode(Path key) throws IOException {
+        BytecodeAnalyzer analyzer = new BytecodeAnalyzer(key);
+        ProjectFingerprint fingerprint = analyzer.fingerprint();
+        AnalysisResultCache.Entry cached = resultCache.get(key, fingerprint);
+        if (cached != null) {
+            return cached;
+        }
+        ProjectInfo project = loadSnapshot(key, fingerprint, BYTECODE_RULES);
+        if (project == null) {
+            project = analyzer.analyze();
+            saveSnapshot(key, fingerprint, project, BYTECODE_RULES);
+        }
+        return resultCache.put(key, fingerprint, project);
+    }
+
+    /**
+     * Analyzes one module again and caches the project with only that module's beans replaced.
+     * The other modules are taken from the cached result as they are, so the new entry is stamped with
+     * the current fingerprint on the assumption that they did not change. The assumption is kept to this
+     * process: no snapshot is written, so after a restart the project is analyzed in full (the snapshot on
+     * disk, if any, carries the fingerprint of the sources it was made from). Without a cached result the
+     * whole project is analyzed.
+     *
+     * @throws IllegalArgumentException if the project has no module of that name
+     */
+    public AnalysisResultCache.Entry reanalyzeModule(Path projectPath, String module) throws IOException {
+        Path key = normalize(projectPath);
+        AnalysisResultCache.Entry entry = resultCache.peek(key);
+        // Bajtkod jest czytany w całości tak szybko, że osobna ścieżka dla modułu się nie opłaca
+        if (entry == null || isBytecode(key)) {
+            entry = analyze(key);
+            if (entry.getProject().getModule(module) == null) {
+                throw new IllegalArgumentException("Unknown module: " + module);
+            }
+            return entry;
+        }
+        SpringBootAnalyzer analyzer = createAnalyzer(key);
+        ProjectInfo project = analyzer.reanalyzeModule(entry.getProject(), module);
+        ProjectFingerprint fingerprint = ProjectFingerprint.of(analyzer.findSourceRoots());
+        return resultCache.put(key, fingerprint, project);
+    }
+
+    /**
+     * Stores a result of source analysis computed elsewhere (e.g. by a background job) so that later requests reuse it.
+     */
+    public AnalysisResultCache.Entry cacheResult(Path projectPath, ProjectFingerprint fingerprint, ProjectInfo project) {
+        Path key = normalize(projectPath);
+        saveSnapshot(key, fingerprint, project, rules.getKey());
+        return resultCache.put(key, fingerprint, project);
+    }
+
+    public void storeReport(AnalysisResultCache.Entry entry, byte[] report) {
+        resultCache.storeReport(entry, report);
+    }
+
+    /**
+     * Drops the cached result and the snapshot of the project, so that the next request analyzes it again.
+     */
+    public boolean invalidate(Path projectPath) {
+        Path key = normalize(projectPath);
+        deleteSnapshot(ProjectSnapshot.file(snapshotDir, key));
+        bytecodeProjects.remove(key);
+        return resultCache.invalidate(key);
+    }
+
+    public int invalidateAll() {
+        if (Files.isDirectory(snapshotDir)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(snapshotDir, "*.snap")) {
+                files.forEach(this::deleteSnapshot);
+            } catch (IOException e) {
+                System.err.println("Cannot list snapshots in " + snapshotDir + " - " + e.getMessage());
+            }
+        }
+        bytecodeProjects.clear();
+        return resultCache.invalidateAll();
+    }
+
+    /**
+     * Loads every snapshot whose project still has the same fingerprint into the result cache.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadSnapshots() {
+        if (!snapshotEnabled || !Files.isDirectory(snapshotDir)) {
+            return;
+        }
+        long start = System.nanoTime();
+        int loaded = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(snapshotDir, "*.snap")) {
+            for (Path file : files) {
+                try {
+                    ProjectSnapshot snapshot = ProjectSnapshot.open(file);
+                    if (snapshot == null || snapshot.getBasePath() == null || !Files.exists(snapshot.getBasePath())) {
+                        continue;
+                    }
+                    Path key = normalize(snapshot.getBasePath());
+                    boolean bytecode = isBytecode(key);
+                    ProjectFingerprint fingerprint = bytecode
+                        ? new BytecodeAnalyzer(key).fingerprint()
+                        : ProjectFingerprint.of(createAnalyzer(key).findSourceRoots());
+                    if (fingerprint.equals(snapshot.getFingerprint())
+                            && (bytecode ? BYTECODE_RULES : rules.getKey()).equals(snapshot.getRules())) {
+                        resultCache.put(key, fingerprint, snapshot.load());
+                        loaded++;
+                    }
+                } catch (IOException e) {
+                    System.err.println("Ignoring snapshot " + file + " - " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Cannot list snapshots in " + snapshotDir + " - " + e.getMessage());
+        }
+        if (loaded > 0) {
+            System.out.printf("Loaded %d analysis snapshot(s) in %d ms%n", loaded, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    private ProjectInfo loadSnapshot(Path key, ProjectFingerprint fingerprint, String rulesKey) {
+        if (!snapshotEnabled) {
+            return null;
+        }
+        Path file = ProjectSnapshot.file(snapshotDir, key);
+        try {
+            ProjectSnapshot snapshot = ProjectSnapshot.open(file);
+            if (snapshot != null && key.equals(snapshot.getBasePath()) && fingerprint.equals(snapshot.getFingerprint())
+                    && rulesKey.equals(snapshot.getRules())) {
+                return snapshot.load();
+            }
+        } catch (IOException e) {
+            System.err.println("Ignoring snapshot " + file + " - " + e.getMessage());
+        }
+        return null;
+    }
+
+    // Wyniki częściowe (deadline, anulowanie) nie trafiają na dysk
+    private void saveSnapshot(Path key, ProjectFingerprint fingerprint, ProjectInfo project, String rulesKey) {
+        if (!snapshotEnabled || project.getAnalysisStats().isPartial()) {
+            return;
+        }
+        Path file = ProjectSnapshot.file(snapshotDir, key);
+        try {
+            ProjectSnapshot.write(file, project, fingerprint, rulesKey);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Cannot write snapshot " + file + " - " + e.getMessage());
+        }
+    }
+
+    private void deleteSnapshot(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            System.err.println("Cannot delete snapshot " + file + " - " + e.getMessage());
+        }
+    }
+
+    public AnalysisResultCache getResultCache() { return resultCache; }
+
+    /**
+     * Reports larger than this are streamed but not kept in the result cache.
+     */
+    public int getMaxReportBytes() { return maxReportBytes; }
+
+    /**
+     * Projects with more beans get the virtual report unless the static one is asked for; 0 = never.
+     */
+    public int getVirtualReportThreshold() { return virtualReportThreshold; }
+
+    private boolean isBytecode(Path key) throws IOException {
+        Boolean bytecode = bytecodeProjects.get(key);
+        if (bytecode == null) {
+            bytecode = BytecodeAnalyzer.accepts(key);
+            bytecodeProjects.put(key, bytecode);
+        }
+        return bytecode;
+    }
+
+    public static Path normalize(Path projectPath) {
+        return projectPath.toAbsolutePath().normalize();
+    }
+}
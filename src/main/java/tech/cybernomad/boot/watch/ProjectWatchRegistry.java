@@ -0,0 +1,87 @@
+package tech.cybernomad.boot.watch;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tech.cybernomad.boot.service.AnalysisService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One {@link ProjectWatcher} per watched project, shared by all connected clients.
+ */
+@Component
+public class ProjectWatchRegistry implements DisposableBean {
+
+    private final AnalysisService analysisService;
+    private final Duration debounce;
+    private final Map<Path, ProjectWatcher> watchers = new ConcurrentHashMap<>();
+
+    public ProjectWatchRegistry(AnalysisService analysisService,
+                                @Value("${analyzer.watch.debounce:300ms}") Duration debounce) {
+        this.analysisService = analysisService;
+        this.debounce = debounce;
+    }
+
+    /**
+     * Returns the running watcher of the project, starting one on first use.
+     */
+    public ProjectWatcher watch(Path projectPath) throws IOException {
+        Path key = AnalysisService.normalize(projectPath);
+        try {
+            return watchers.computeIfAbsent(key, path -> {
+                ProjectWatcher watcher = null;
+                try {
+                    watcher = new ProjectWatcher(analysisService.createAnalyzer(path), debounce);
+                    watcher.start();
+                    return watcher;
+                } catch (IOException e) {
+                    closeQuietly(watcher);
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    public ProjectWatcher get(Path projectPath) {
+        return watchers.get(AnalysisService.normalize(projectPath));
+    }
+
+    public Set<Path> getWatchedProjects() {
+        return watchers.keySet();
+    }
+
+    public boolean stop(Path projectPath) throws IOException {
+        ProjectWatcher watcher = watchers.remove(AnalysisService.normalize(projectPath));
+        if (watcher == null) {
+            return false;
+        }
+        watcher.close();
+        return true;
+    }
+
+    @Override
+    public void destroy() {
+        watchers.values().forEach(ProjectWatchRegistry::closeQuietly);
+        watchers.clear();
+    }
+
+    private static void closeQuietly(ProjectWatcher watcher) {
+        if (watcher == null) {
+            return;
+        }
+        try {
+            watcher.close();
+        } catch (IOException e) {
+            System.err.println("Error closing watcher - " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package tech.cybernomad.boot.watch;
+
+import tech.cybernomad.boot.analyzer.SpringBootAnalyzer;
+import tech.cybernomad.boot.model.ClassInfo;
+import tech.cybernomad.boot.model.ModuleInfo;
+import tech.cybernomad.boot.model.ProjectInfo;
+import tech.cybernomad.boot.model.Symbols;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Keeps a {@link ProjectInfo} in sync with its source roots.
+ * <p>
+ * Every directory below the source roots is registered with a {@link WatchService}. File events are
+ * collected until nothing has changed for the debounce period (or for at most ten periods while
+ * events keep arriving), then only the affected files are analyzed again and the model is patched
+ * in place. Each non-empty batch is published to the listeners as a {@link WatchDelta}.
+ * <p>
+ * The model is modified while holding its monitor; readers that need a consistent view
+ * synchronize on the {@link ProjectInfo} as well.
+ */
+public class ProjectWatcher implements Closeable {
+
+    private final SpringBootAnalyzer analyzer;
+    private final List<Path> sourceRoots;
+    private final long debounceNanos;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> directories = new HashMap<>();
+    private final List<Consumer<WatchDelta>> listeners = new CopyOnWriteArrayList<>();
+    // Klasy według pliku źródłowego; używane tylko przez wątek watchera
+    private final NavigableMap<Path, List<ClassInfo>> classesByFile = new TreeMap<>();
+    // Wspólne tablice symboli dla wszystkich plików analizowanych przez ten watcher
+    private final Symbols symbols = new Symbols();
+    private final Thread thread;
+    private volatile ProjectInfo project;
+    private volatile boolean running = true;
+    private long sequence;
+
+    public ProjectWatcher(SpringBootAnalyzer analyzer, Duration debounce) throws IOException {
+        this.analyzer = analyzer;
+        this.sourceRoots = analyzer.findSourceRoots();
+        this.debounceNanos = debounce.toNanos();
+        this.watchService = FileSystems.getDefault().newWatchService();
+        for (Path root : sourceRoots) {
+            registerAll(root);
+        }
+        this.thread = new Thread(this::run, "watch-" + analyzer.getBasePath().getFileName());
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Runs the initial analysis and starts watching. Directories are registered before the analysis,
+     * so files changed in the meantime are picked up by the first batch.
+     */
+    public void start() throws IOException {
+        this.project = analyzer.analyze();
+        project.getAllClasses().forEach(this::track);
+        thread.start();
+    }
+
+    public ProjectInfo getProject() { return project; }
+    public List<Path> getSourceRoots() { return sourceRoots; }
+
+    public void addListener(Consumer<WatchDelta> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Consumer<WatchDelta> listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        thread.interrupt();
+        watchService.close();
+    }
+
+    private void run() {
+        Set<Path> pending = new LinkedHashSet<>();
+        long firstEvent = 0;
+        long lastEvent = 0;
+        try {
+            while (running) {
+                WatchKey key = pending.isEmpty()
+                    ? watchService.take()
+                    : watchService.poll(debounceNanos, TimeUnit.NANOSECONDS);
+                long now = System.nanoTime();
+                if (key != null) {
+                    collect(key, pending);
+                    if (firstEvent == 0) {
+                        firstEvent = now;
+                    }
+                    lastEvent = now;
+                }
+                if (!pending.isEmpty()
+                        && (now - lastEvent >= debounceNanos || now - firstEvent >= debounceNanos * 10)) {
+                    WatchDelta delta = apply(pending);
+                    pending.clear();
+                    firstEvent = 0;
+                    if (!delta.isEmpty()) {
+                        listeners.forEach(listener -> listener.accept(delta));
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // zamknięty watcher
+        }
+    }
+
+    private void collect(WatchKey key, Set<Path> pending) {
+        Path dir = directories.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW || dir == null) {
+                // zgubione zdarzenia - przeanalizuj wszystkie katalogi źródeł
+                pending.addAll(sourceRoots);
+                continue;
+            }
+            Path changed = dir.resolve((Path) event.context());
+            if (event.kind() == ENTRY_CREATE && Files.isDirectory(changed, LinkOption.NOFOLLOW_LINKS)) {
+                try {
+                    registerAll(changed);
+                } catch (IOException e) {
+                    System.err.println("Cannot watch " + changed + " - " + e.getMessage());
+                }
+                pending.add(changed);
+            } else if (changed.toString().endsWith(".java") || event.kind() == ENTRY_DELETE) {
+                pending.add(changed);
+            }
+        }
+        if (!key.reset()) {
+            directories.remove(key);
+        }
+    }
+
+    /**
+     * Removes every class defined in or below the changed paths and analyzes the files that still exist.
+     */
+    WatchDelta apply(Collection<Path> changed) {
+        List<Path> files = new ArrayList<>();
+        for (Path path : changed) {
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> paths = Files.walk(path)) {
+                    paths.filter(p -> p.toString().endsWith(".java")).forEach(files::add);
+                } catch (IOException e) {
+                    System.err.println("Cannot rescan " + path + " - " + e.getMessage());
+                }
+            } else if (Files.isRegularFile(path)) {
+                files.add(path);
+            }
+        }
+
+        // Parsowanie poza blokadą - czytelnicy modelu czekają tylko na samą podmianę
+        List<ClassInfo> added = new ArrayList<>();
+        for (Path file : files) {
+            ModuleInfo module = project.findModule(file);
+            for (ClassInfo cls : analyzer.analyzeFile(file, symbols)) {
+                cls.setModule(module != null ? module.getName() : null);
+                added.add(cls);
+            }
+        }
+
+        List<ClassInfo> stale = new ArrayList<>();
+        for (Path path : changed) {
+            stale.addAll(untrack(path));
+        }
+        added.forEach(this::track);
+
+        List<String> removed = stale.stream().map(ClassInfo::getFullName).toList();
+        synchronized (project) {
+            project.removeClasses(stale);
+            added.forEach(project::addClass);
+            return new WatchDelta(++sequence, removed, added, project.getTotalBeans());
+        }
+    }
+
+    private void track(ClassInfo cls) {
+        Path file = cls.getFilePath();
+        if (file != null) {
+            classesByFile.computeIfAbsent(file, f -> new ArrayList<>()).add(cls);
+        }
+    }
+
+    /**
+     * Forgets and returns the classes of every file at or below {@code path}. Such files sort right
+     * after {@code path}, so only the entries sharing its text prefix are visited.
+     */
+    private List<ClassInfo> untrack(Path path) {
+        List<ClassInfo> classes = new ArrayList<>();
+        String prefix = path.toString();
+        Iterator<Map.Entry<Path, List<ClassInfo>>> it = classesByFile.tailMap(path, true).entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Path, List<ClassInfo>> entry = it.next();
+            if (!entry.getKey().toString().startsWith(prefix)) {
+                break;
+            }
+            // "src/a-b" też ma prefiks "src/a", ale nie leży w tym katalogu
+            if (entry.getKey().startsWith(path)) {
+                classes.addAll(entry.getValue());
+                it.remove();
+            }
+        }
+        return classes;
+    }
+
+    private void registerAll(Path root) throws IOException {
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                directories.put(dir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE), dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
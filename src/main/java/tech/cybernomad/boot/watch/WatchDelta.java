@@ -0,0 +1,32 @@
+package tech.cybernomad.boot.watch;
+
+import tech.cybernomad.boot.model.ClassInfo;
+
+import java.util.List;
+
+/**
+ * Changes applied to a watched {@link tech.cybernomad.boot.model.ProjectInfo} by one batch of file events.
+ * A modified class shows up in both lists: its old version is removed and the new one added.
+ */
+public class WatchDelta {
+    private final long sequence;
+    private final List<String> removed; // pełne nazwy klas
+    private final List<ClassInfo> added;
+    private final int totalBeans;
+
+    public WatchDelta(long sequence, List<String> removed, List<ClassInfo> added, int totalBeans) {
+        this.sequence = sequence;
+        this.removed = removed;
+        this.added = added;
+        this.totalBeans = totalBeans;
+    }
+
+    public long getSequence() { return sequence; }
+    public List<String> getRemoved() { return removed; }
+    public List<ClassInfo> getAdded() { return added; }
+    public int getTotalBeans() { return totalBeans; }
+
+    public boolean isEmpty() {
+        return removed.isEmpty() && added.isEmpty();
+    }
+}
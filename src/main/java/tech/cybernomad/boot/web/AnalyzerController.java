@@ -1,50 +1,178 @@
 package tech.cybernomad.boot.web;
 
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import tech.cybernomad.boot.analyzer.SpringBootAnalyzer;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tech.cybernomad.boot.analyzer.BytecodeAnalyzer;
+import tech.cybernomad.boot.model.ModuleInfo;
 import tech.cybernomad.boot.model.ProjectInfo;
 import tech.cybernomad.boot.report.HtmlReportGenerator;
+import tech.cybernomad.boot.service.AnalysisResultCache;
+import tech.cybernomad.boot.service.AnalysisService;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
 public class AnalyzerController {
 
-    private final HtmlReportGenerator reportGenerator = new HtmlReportGenerator();
+    private static final MediaType TEXT_HTML_UTF8 = new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8);
+    private static final String MODE_FULL = "full";
+    private static final String MODE_VIRTUAL = "virtual";
 
+    private final HtmlReportGenerator reportGenerator;
+    private final AnalysisService analysisService;
+
+    public AnalyzerController(AnalysisService analysisService) {
+        this.analysisService = analysisService;
+        this.reportGenerator = analysisService.createReportGenerator();
+    }
+
+    /**
+     * The report of a project. {@code mode=full} is the static report with every bean in the page,
+     * {@code mode=virtual} a shell that loads the bean table from {@link ReportController}; without a mode
+     * projects above {@code analyzer.report.virtual-threshold} beans get the virtual one.
+     */
     @GetMapping(value = "/analyze", produces = MediaType.TEXT_HTML_VALUE)
-    public String analyze(@RequestParam String path) {
+    public ResponseEntity<StreamingResponseBody> analyze(@RequestParam String path,
+                                                         @RequestParam(required = false) String mode) {
+        if (mode != null && !MODE_FULL.equals(mode) && !MODE_VIRTUAL.equals(mode)) {
+            return error("Nieznany tryb raportu: " + mode + " (full albo virtual)");
+        }
         try {
             Path projectPath = Path.of(path).toAbsolutePath();
 
             if (!Files.exists(projectPath)) {
-                return errorPage("Folder nie istnieje: " + path);
+                return error("Folder nie istnieje: " + path);
             }
 
-            if (!Files.isDirectory(projectPath)) {
-                return errorPage("Ścieżka nie jest folderem: " + path);
+            if (!Files.isDirectory(projectPath) && !BytecodeAnalyzer.isArchive(projectPath)) {
+                return error("Ścieżka nie jest folderem ani plikiem jar/war: " + path);
             }
 
-            SpringBootAnalyzer analyzer = new SpringBootAnalyzer(projectPath);
-            ProjectInfo project = analyzer.analyze();
+            AnalysisResultCache.Entry result = analysisService.analyze(projectPath);
+            ProjectInfo project = result.getProject();
 
             if (project.getTotalBeans() == 0) {
-                return errorPage("Nie znaleziono żadnych beanów Spring Boot w: " + path);
+                return error("Nie znaleziono żadnych beanów Spring Boot w: " + path);
+            }
+
+            if (isVirtual(mode, project)) {
+                // Dane doczytywane z modelu tej wersji - bez ponownego liczenia odcisku przy każdej porcji
+                String query = "?path=" + URLEncoder.encode(path, StandardCharsets.UTF_8);
+                String version = result.getVersion();
+                return html(out -> {
+                    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                    reportGenerator.writeShell(project, writer, "/analyze/report/{part}" + query + "&version=" + version,
+                        "/analyze" + query + "&mode=" + MODE_FULL);
+                    writer.flush();
+                });
+            }
+
+            byte[] cachedReport = result.getReport();
+            if (cachedReport != null) {
+                return html(out -> out.write(cachedReport));
             }
 
-            return reportGenerator.generateString(project);
+            // Raport pisany wiersz po wierszu prosto do odpowiedzi (chunked), bez budowania całego Stringa;
+            // kopia trafia do cache, o ile nie przekracza limitu
+            return html(out -> {
+                CapturingOutputStream capture = new CapturingOutputStream(out, analysisService.getMaxReportBytes());
+                Writer writer = new BufferedWriter(new OutputStreamWriter(capture, StandardCharsets.UTF_8));
+                reportGenerator.write(project, writer);
+                writer.flush();
+                byte[] report = capture.getCapturedBytes();
+                if (report != null) {
+                    analysisService.storeReport(result, report);
+                }
+            });
 
         } catch (Exception e) {
-            return errorPage("Błąd analizy: " + e.getMessage());
+            return error("Błąd analizy: " + e.getMessage());
         }
     }
 
     @PostMapping(value = "/analyze", produces = MediaType.TEXT_HTML_VALUE)
-    public String analyzePost(@RequestBody Map<String, String> body) {
-        return analyze(body.get("path"));
+    public ResponseEntity<StreamingResponseBody> analyzePost(@RequestBody Map<String, String> body) {
+        return analyze(body.get("path"), body.get("mode"));
+    }
+
+    @GetMapping("/analyze/modules")
+    public List<Map<String, Object>> modules(@RequestParam String path) throws IOException {
+        ProjectInfo project = analysisService.analyze(Path.of(path)).getProject();
+        return project.getModules().stream().map(this::toJson).toList();
+    }
+
+    /**
+     * Analyzes a single module again; the other modules of the cached result are kept as they are.
+     */
+    @PostMapping("/analyze/module")
+    public Map<String, Object> reanalyzeModule(@RequestParam String path, @RequestParam String module) throws IOException {
+        try {
+            ProjectInfo project = analysisService.reanalyzeModule(Path.of(path), module).getProject();
+            Map<String, Object> json = toJson(project.getModule(module));
+            json.put("projectBeans", project.getTotalBeans());
+            return json;
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    @GetMapping("/analyze/cache")
+    public Map<String, Object> cacheStatistics() {
+        return analysisService.getResultCache().getStatistics();
+    }
+
+    /**
+     * Drops the cached result of one project, or of all projects when no path is given.
+     */
+    @DeleteMapping("/analyze/cache")
+    public Map<String, Object> invalidateCache(@RequestParam(required = false) String path) {
+        int removed = path != null
+            ? (analysisService.invalidate(Path.of(path)) ? 1 : 0)
+            : analysisService.invalidateAll();
+        return Map.of("invalidated", removed);
+    }
+
+    private Map<String, Object> toJson(ModuleInfo module) {
+        Map<String, Object> counts = new LinkedHashMap<>();
+        module.getCountsByType().forEach((type, count) -> counts.put(type.name(), count));
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("name", module.getName());
+        json.put("directory", module.getDirectory().toString());
+        json.put("sourceRoots", module.getSourceRoots().stream().map(Path::toString).toList());
+        json.put("beans", module.getTotalBeans());
+        json.put("byType", counts);
+        return json;
+    }
+
+    private boolean isVirtual(String mode, ProjectInfo project) {
+        if (mode != null) {
+            return MODE_VIRTUAL.equals(mode);
+        }
+        int threshold = analysisService.getVirtualReportThreshold();
+        return threshold > 0 && project.getTotalBeans() > threshold;
+    }
+
+    private ResponseEntity<StreamingResponseBody> html(StreamingResponseBody body) {
+        return ResponseEntity.ok().contentType(TEXT_HTML_UTF8).body(body);
+    }
+
+    private ResponseEntity<StreamingResponseBody> error(String message) {
+        byte[] page = errorPage(message).getBytes(StandardCharsets.UTF_8);
+        return html(out -> out.write(page));
     }
 
     private String errorPage(String message) {
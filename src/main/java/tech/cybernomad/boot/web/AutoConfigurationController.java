@@ -0,0 +1,70 @@
+package tech.cybernomad.boot.web;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import tech.cybernomad.boot.model.AutoConfigurationInfo;
+import tech.cybernomad.boot.model.AutoConfigurationInventory;
+import tech.cybernomad.boot.service.AnalysisService;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Auto-configurations contributed by the dependency jars of a Maven project, read from the local repository.
+ */
+@RestController
+public class AutoConfigurationController {
+
+    private final AnalysisService analysisService;
+
+    public AutoConfigurationController(AnalysisService analysisService) {
+        this.analysisService = analysisService;
+    }
+
+    /**
+     * @param condition only auto-configurations with a condition containing this text, e.g. {@code OnClass}
+     *                  or {@code spring.jpa}
+     */
+    @GetMapping("/analyze/autoconfig")
+    public Map<String, Object> autoConfigurations(@RequestParam String path,
+                                                  @RequestParam(required = false) String condition) throws IOException {
+        Path projectPath = Path.of(path);
+        if (!Files.isRegularFile(projectPath.resolve("pom.xml"))) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Brak pom.xml w: " + path);
+        }
+        AutoConfigurationInventory inventory = analysisService.createAutoConfigurationScanner().scan(projectPath);
+
+        List<Map<String, Object>> entries = new ArrayList<>();
+        Map<String, Integer> byArtifact = new LinkedHashMap<>();
+        for (AutoConfigurationInfo info : inventory.getAutoConfigurations()) {
+            if (condition != null && info.getConditions().stream().noneMatch(c -> c.contains(condition))) {
+                continue;
+            }
+            byArtifact.merge(info.getArtifact(), 1, Integer::sum);
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("className", info.getClassName());
+            entry.put("artifact", info.getArtifact());
+            entry.put("source", info.getSource());
+            entry.put("found", info.isFound());
+            entry.put("beanMethods", info.getBeanMethods());
+            entry.put("conditions", info.getConditions());
+            entries.add(entry);
+        }
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("jars", inventory.getJars());
+        json.put("jarsScanned", inventory.getJarsScanned());
+        json.put("jarsCached", inventory.getJarsCached());
+        json.put("durationMillis", inventory.getDurationMillis());
+        json.put("missing", inventory.getMissing());
+        json.put("total", entries.size());
+        json.put("byArtifact", byArtifact);
+        json.put("autoConfigurations", entries);
+        return json;
+    }
+}
@@ -0,0 +1,52 @@
+package tech.cybernomad.boot.web;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Passes everything through to the response while keeping a copy of up to {@code limit} bytes.
+ * Once the limit is exceeded the copy is discarded and only the pass-through continues.
+ */
+class CapturingOutputStream extends FilterOutputStream {
+
+    private final int limit;
+    private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+    CapturingOutputStream(OutputStream out, int limit) {
+        super(out);
+        this.limit = limit;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        out.write(b);
+        if (copy != null) {
+            copy.write(b);
+            checkLimit();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+        if (copy != null) {
+            copy.write(b, off, len);
+            checkLimit();
+        }
+    }
+
+    /**
+     * Returns the captured bytes, or {@code null} when the output exceeded the limit.
+     */
+    byte[] getCapturedBytes() {
+        return copy != null ? copy.toByteArray() : null;
+    }
+
+    private void checkLimit() {
+        if (copy.size() > limit) {
+            copy = null;
+        }
+    }
+}
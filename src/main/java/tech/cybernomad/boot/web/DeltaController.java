@@ -0,0 +1,68 @@
+package tech.cybernomad.boot.web;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tech.cybernomad.boot.model.ProjectDelta;
+import tech.cybernomad.boot.report.HtmlReportGenerator;
+import tech.cybernomad.boot.report.JsonModelWriter;
+import tech.cybernomad.boot.service.AnalysisService;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * Bean changes between two git revisions of a project, for code review: {@code from} is the base
+ * (e.g. {@code main}), {@code to} the branch; without {@code to} the working tree is compared.
+ */
+@RestController
+public class DeltaController {
+
+    private final HtmlReportGenerator reportGenerator;
+    private final JsonModelWriter writer = new JsonModelWriter();
+    private final AnalysisService analysisService;
+
+    public DeltaController(AnalysisService analysisService) {
+        this.analysisService = analysisService;
+        this.reportGenerator = analysisService.createReportGenerator();
+    }
+
+    @GetMapping("/analyze/delta")
+    public ResponseEntity<StreamingResponseBody> delta(@RequestParam String path,
+                                                       @RequestParam String from,
+                                                       @RequestParam(required = false) String to) throws IOException {
+        ProjectDelta delta = compute(path, from, to);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+            .body(out -> writer.writeDelta(delta, out));
+    }
+
+    @GetMapping(value = "/analyze/delta/report", produces = MediaType.TEXT_HTML_VALUE)
+    public ResponseEntity<StreamingResponseBody> report(@RequestParam String path,
+                                                        @RequestParam String from,
+                                                        @RequestParam(required = false) String to) throws IOException {
+        ProjectDelta delta = compute(path, from, to);
+        return ResponseEntity.ok().contentType(new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8))
+            .body(out -> {
+                Writer html = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                reportGenerator.writeDelta(delta, html);
+                html.flush();
+            });
+    }
+
+    private ProjectDelta compute(String path, String from, String to) throws IOException {
+        try {
+            return analysisService.delta(Path.of(path), from, to == null || to.isBlank() ? null : to);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
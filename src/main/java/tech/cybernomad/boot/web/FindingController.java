@@ -0,0 +1,85 @@
+package tech.cybernomad.boot.web;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import tech.cybernomad.boot.model.Finding;
+import tech.cybernomad.boot.model.ProjectInfo;
+import tech.cybernomad.boot.rules.AnalysisRule;
+import tech.cybernomad.boot.rules.RuleSet;
+import tech.cybernomad.boot.service.AnalysisService;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Findings of the performance anti-pattern rules, most severe first.
+ */
+@RestController
+public class FindingController {
+
+    private final AnalysisService analysisService;
+
+    public FindingController(AnalysisService analysisService) {
+        this.analysisService = analysisService;
+    }
+
+    /**
+     * @param severity lowest severity to list, e.g. {@code WARNING} for warnings and errors
+     * @param rule     only findings of this rule id
+     */
+    @GetMapping("/analyze/findings")
+    public Map<String, Object> findings(@RequestParam String path,
+                                        @RequestParam(required = false) String severity,
+                                        @RequestParam(required = false) String rule) throws IOException {
+        Finding.Severity minimum = Finding.Severity.INFO;
+        if (severity != null) {
+            try {
+                minimum = Finding.Severity.valueOf(severity.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Nieznany poziom: " + severity + " (dozwolone: " + Arrays.toString(Finding.Severity.values()) + ")");
+            }
+        }
+        RuleSet rules = analysisService.getRules();
+        ProjectInfo project = analysisService.analyze(Path.of(path)).getProject();
+
+        Map<String, Integer> bySeverity = new LinkedHashMap<>();
+        Map<String, Integer> byRule = new TreeMap<>();
+        List<Map<String, Object>> findings = new ArrayList<>();
+        for (RuleSet.Located located : rules.check(project)) {
+            Finding finding = located.finding();
+            if (finding.getSeverity().compareTo(minimum) < 0 || (rule != null && !rule.equals(finding.getRule()))) {
+                continue;
+            }
+            bySeverity.merge(finding.getSeverity().name(), 1, Integer::sum);
+            byRule.merge(finding.getRule(), 1, Integer::sum);
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("severity", finding.getSeverity().name());
+            json.put("rule", finding.getRule());
+            json.put("class", located.cls().getFullName());
+            json.put("file", located.cls().getRelativePath(project.getBasePath()));
+            json.put("line", finding.getLineNumber());
+            json.put("message", finding.getMessage());
+            findings.add(json);
+        }
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("rules", rules.getRules().stream().map(FindingController::rule).toList());
+        json.put("total", findings.size());
+        json.put("bySeverity", bySeverity);
+        json.put("byRule", byRule);
+        json.put("findings", findings);
+        return json;
+    }
+
+    private static Map<String, Object> rule(AnalysisRule rule) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", rule.getId());
+        json.put("description", rule.getDescription());
+        return json;
+    }
+}
@@ -0,0 +1,206 @@
+package tech.cybernomad.boot.web;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import tech.cybernomad.boot.graph.DependencyGraph;
+import tech.cybernomad.boot.graph.LazyInitAnalysis;
+import tech.cybernomad.boot.graph.StartupPlan;
+import tech.cybernomad.boot.graph.StartupTimings;
+import tech.cybernomad.boot.model.ClassInfo;
+import tech.cybernomad.boot.service.AnalysisResultCache;
+import tech.cybernomad.boot.service.AnalysisService;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Dependency graph queries: cycles and fan-in/fan-out rankings of a project, the neighbourhood of one bean,
+ * the startup layering of the whole graph and the beans worth initializing lazily.
+ */
+@RestController
+public class GraphController {
+
+    private final AnalysisService analysisService;
+
+    public GraphController(AnalysisService analysisService) {
+        this.analysisService = analysisService;
+    }
+
+    /**
+     * Without {@code bean} returns the summary of the whole graph; with it, the direct and transitive
+     * dependencies and dependents of that bean (fully qualified name).
+     */
+    @GetMapping("/analyze/graph")
+    public Map<String, Object> graph(@RequestParam String path,
+                                     @RequestParam(required = false) String bean,
+                                     @RequestParam(defaultValue = "20") int limit) throws IOException {
+        DependencyGraph graph = analysisService.analyze(Path.of(path)).getDependencyGraph();
+        if (bean != null) {
+            int id = graph.findNode(bean);
+            if (id < 0) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Nie ma beana: " + bean);
+            }
+            return bean(graph, id);
+        }
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("nodes", graph.getNodeCount());
+        json.put("edges", graph.getEdgeCount());
+        json.put("unresolved", graph.getUnresolvedCount());
+        json.put("ambiguous", graph.getAmbiguousCount());
+        json.put("cycles", graph.getCycles().stream().map(cycle -> names(graph, cycle)).toList());
+        json.put("topFanIn", ranking(graph, graph.topByFanIn(limit)));
+        json.put("topFanOut", ranking(graph, graph.topByFanOut(limit)));
+        return json;
+    }
+
+    /**
+     * Startup layering and critical path of the bean graph.
+     *
+     * @param timings startup timings - the JSON of {@code /actuator/startup} or {@code beanName millis}
+     *                lines; without it bean costs are estimated
+     */
+    @GetMapping("/analyze/startup")
+    public Map<String, Object> startup(@RequestParam String path,
+                                       @RequestParam(required = false) String timings,
+                                       @RequestParam(defaultValue = "5") int limit) throws IOException {
+        AnalysisResultCache.Entry entry = analysisService.analyze(Path.of(path));
+        StartupPlan plan;
+        if (timings == null) {
+            plan = entry.getStartupPlan();
+        } else {
+            Path timingsPath = Path.of(timings);
+            if (!Files.isRegularFile(timingsPath)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Brak pliku z czasami: " + timings);
+            }
+            try {
+                plan = StartupPlan.build(entry.getDependencyGraph(), StartupTimings.read(timingsPath));
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Błędny plik z czasami: " + e.getMessage());
+            }
+        }
+        DependencyGraph graph = plan.getGraph();
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("measured", plan.isMeasured());
+        if (plan.isMeasured()) {
+            json.put("timedBeans", plan.getTimedBeans());
+            json.put("unmatchedBeans", plan.getUnmatched().size());
+            json.put("unmatchedMillis", round(plan.getUnmatchedMillis()));
+        }
+        json.put("totalMillis", round(plan.getTotalCost()));
+        json.put("criticalPathMillis", round(plan.getCriticalPath().cost()));
+        json.put("parallelism", round(plan.getParallelism()));
+        json.put("depth", plan.getLayers().size());
+        json.put("maxWidth", plan.getMaxWidth());
+
+        List<Map<String, Object>> layers = new ArrayList<>();
+        for (StartupPlan.Layer layer : plan.getLayers()) {
+            Map<String, Object> layerJson = new LinkedHashMap<>();
+            layerJson.put("width", layer.nodes().length);
+            layerJson.put("millis", round(layer.cost()));
+            layerJson.put("maxMillis", round(layer.maxCost()));
+            layerJson.put("beans", names(graph, layer.nodes()));
+            layers.add(layerJson);
+        }
+        json.put("layers", layers);
+
+        List<Map<String, Object>> chains = new ArrayList<>();
+        for (StartupPlan.Chain chain : plan.getChains(limit)) {
+            Map<String, Object> chainJson = new LinkedHashMap<>();
+            chainJson.put("millis", round(chain.cost()));
+            List<Map<String, Object>> beans = new ArrayList<>();
+            for (int id : chain.nodes()) {
+                Map<String, Object> bean = new LinkedHashMap<>();
+                bean.put("name", graph.getNode(id).getFullName());
+                bean.put("millis", round(plan.getCost(id)));
+                bean.put("readyAt", round(plan.getFinish(id)));
+                beans.add(bean);
+            }
+            chainJson.put("beans", beans);
+            chains.add(chainJson);
+        }
+        json.put("chains", chains);
+        return json;
+    }
+
+    /**
+     * Beans whose lazy initialization would defer the most eager startup work, best first.
+     */
+    @GetMapping("/analyze/lazy")
+    public Map<String, Object> lazyInit(@RequestParam String path,
+                                        @RequestParam(defaultValue = "20") int limit) throws IOException {
+        AnalysisResultCache.Entry entry = analysisService.analyze(Path.of(path));
+        LazyInitAnalysis analysis = entry.getLazyInitAnalysis();
+        DependencyGraph graph = analysis.getGraph();
+        Path basePath = entry.getProject().getBasePath();
+
+        List<Map<String, Object>> candidates = new ArrayList<>();
+        for (LazyInitAnalysis.Candidate candidate : analysis.getCandidates(limit)) {
+            ClassInfo cls = graph.getNode(candidate.node());
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("name", cls.getFullName());
+            json.put("type", cls.getBeanType().name());
+            json.put("file", cls.getRelativePath(basePath));
+            json.put("line", cls.getLineNumber());
+            json.put("reachable", candidate.isReachable());
+            json.put("entryPoints", candidate.entryPoints());
+            json.put("deferredBeans", candidate.deferredBeans());
+            json.put("factoryCalls", candidate.factoryCalls());
+            json.put("estimatedMillis", round(candidate.estimatedMillis()));
+            candidates.add(json);
+        }
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("beans", graph.getNodeCount());
+        json.put("entryPoints", names(graph, analysis.getEntryPoints()));
+        json.put("reachable", analysis.getReachableCount());
+        json.put("totalCandidates", analysis.getCandidateCount());
+        json.put("candidates", candidates);
+        return json;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private Map<String, Object> bean(DependencyGraph graph, int id) {
+        ClassInfo cls = graph.getNode(id);
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("name", cls.getFullName());
+        json.put("type", cls.getBeanType().name());
+        json.put("fanIn", graph.getFanIn(id));
+        json.put("fanOut", graph.getFanOut(id));
+        json.put("inCycle", graph.isInCycle(id));
+        json.put("dependencies", names(graph, graph.getDependencies(id)));
+        json.put("dependents", names(graph, graph.getDependents(id)));
+        json.put("transitiveDependencies", names(graph, graph.getTransitiveDependencies(id)));
+        json.put("transitiveDependents", names(graph, graph.getTransitiveDependents(id)));
+        return json;
+    }
+
+    private List<Map<String, Object>> ranking(DependencyGraph graph, int[] ids) {
+        List<Map<String, Object>> entries = new ArrayList<>();
+        for (int id : ids) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("name", graph.getNode(id).getFullName());
+            entry.put("fanIn", graph.getFanIn(id));
+            entry.put("fanOut", graph.getFanOut(id));
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    private List<String> names(DependencyGraph graph, int[] ids) {
+        List<String> names = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            names.add(graph.getNode(id).getFullName());
+        }
+        return names;
+    }
+}
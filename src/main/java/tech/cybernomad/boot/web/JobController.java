@@ -0,0 +1,149 @@
+package tech.cybernomad.boot.web;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tech.cybernomad.boot.job.AnalysisJob;
+import tech.cybernomad.boot.job.AnalysisJobService;
+import tech.cybernomad.boot.model.AnalysisStats;
+import tech.cybernomad.boot.model.ProjectInfo;
+import tech.cybernomad.boot.report.HtmlReportGenerator;
+import tech.cybernomad.boot.service.AnalysisService;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Background analysis: submit a job, poll its progress, cancel it and fetch the report when it is done.
+ */
+@RestController
+@RequestMapping("/jobs")
+public class JobController {
+
+    private static final MediaType TEXT_HTML_UTF8 = new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8);
+
+    private final HtmlReportGenerator reportGenerator;
+    private final AnalysisJobService jobService;
+
+    public JobController(AnalysisJobService jobService, AnalysisService analysisService) {
+        this.jobService = jobService;
+        this.reportGenerator = analysisService.createReportGenerator();
+    }
+
+    /**
+     * Body: {@code {"path": "...", "deadlineSeconds": 120}}; the deadline is optional.
+     */
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> submit(@RequestBody Map<String, Object> body) {
+        Object path = body.get("path");
+        if (!(path instanceof String) || !Files.isDirectory(Path.of((String) path))) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Ścieżka nie jest folderem: " + path);
+        }
+        Duration timeLimit = null;
+        if (body.get("deadlineSeconds") instanceof Number seconds) {
+            if (seconds.longValue() <= 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "deadlineSeconds musi być dodatnie");
+            }
+            timeLimit = Duration.ofSeconds(seconds.longValue());
+        }
+        try {
+            AnalysisJob job = jobService.submit(Path.of((String) path), timeLimit);
+            return ResponseEntity.accepted()
+                .header("Location", "/jobs/" + job.getId())
+                .body(toJson(job));
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Kolejka zadań jest pełna");
+        }
+    }
+
+    @GetMapping
+    public List<Map<String, Object>> list() {
+        return jobService.getJobs().stream().map(this::toJson).toList();
+    }
+
+    @GetMapping("/{id}")
+    public Map<String, Object> status(@PathVariable String id) {
+        return toJson(find(id));
+    }
+
+    @DeleteMapping("/{id}")
+    public Map<String, Object> cancel(@PathVariable String id) {
+        AnalysisJob job = find(id);
+        boolean cancelled = jobService.cancel(id);
+        Map<String, Object> json = toJson(job);
+        json.put("cancelRequested", cancelled);
+        return json;
+    }
+
+    /**
+     * The report of a finished job; partial when the job hit its deadline or was cancelled while running.
+     */
+    @GetMapping(value = "/{id}/report", produces = MediaType.TEXT_HTML_VALUE)
+    public ResponseEntity<StreamingResponseBody> report(@PathVariable String id) {
+        AnalysisJob job = find(id);
+        ProjectInfo project = job.getProject();
+        if (project == null) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Brak raportu, stan zadania: " + job.getState());
+        }
+        return ResponseEntity.ok().contentType(TEXT_HTML_UTF8).body(out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            reportGenerator.write(project, writer);
+            writer.flush();
+        });
+    }
+
+    private AnalysisJob find(String id) {
+        AnalysisJob job = jobService.get(id);
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Nie ma zadania: " + id);
+        }
+        return job;
+    }
+
+    private Map<String, Object> toJson(AnalysisJob job) {
+        AnalysisStats stats = job.getStats();
+        Map<String, Object> files = new LinkedHashMap<>();
+        files.put("discovered", stats.getFilesDiscovered());
+        files.put("parsed", stats.getFilesParsed());
+        files.put("cached", stats.getFilesCached());
+        files.put("skipped", stats.getFilesSkipped());
+        files.put("failed", stats.getFilesFailed());
+
+        Instant started = job.getStarted();
+        Instant finished = job.getFinished();
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", job.getId());
+        json.put("path", job.getProjectPath().toString());
+        json.put("state", job.getState().name());
+        json.put("submitted", job.getSubmitted().toString());
+        json.put("started", started != null ? started.toString() : null);
+        json.put("finished", finished != null ? finished.toString() : null);
+        json.put("elapsedMs", started == null ? 0
+            : Duration.between(started, finished != null ? finished : Instant.now()).toMillis());
+        json.put("deadlineSeconds", job.getTimeLimit().toSeconds());
+        json.put("files", files);
+        json.put("partial", stats.isPartial());
+        ProjectInfo project = job.getProject();
+        if (project != null) {
+            json.put("totalBeans", project.getTotalBeans());
+            json.put("report", "/jobs/" + job.getId() + "/report");
+        }
+        if (job.getError() != null) {
+            json.put("error", job.getError());
+        }
+        return json;
+    }
+}
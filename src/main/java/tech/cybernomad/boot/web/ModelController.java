@@ -0,0 +1,136 @@
+package tech.cybernomad.boot.web;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tech.cybernomad.boot.model.BeanType;
+import tech.cybernomad.boot.model.ClassInfo;
+import tech.cybernomad.boot.model.ProjectInfo;
+import tech.cybernomad.boot.report.JsonModelWriter;
+import tech.cybernomad.boot.service.AnalysisResultCache;
+import tech.cybernomad.boot.service.AnalysisService;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+
+/**
+ * The analysis model as JSON, for tools that used to scrape the HTML report.
+ * <p>
+ * Both endpoints stream: classes are serialized one by one from the cached model while the response is
+ * being written. Listings accept the same filters - bean type, package prefix and scope.
+ */
+@RestController
+public class ModelController {
+
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final JsonModelWriter writer = new JsonModelWriter();
+    private final AnalysisService analysisService;
+
+    public ModelController(AnalysisService analysisService) {
+        this.analysisService = analysisService;
+    }
+
+    /**
+     * Every matching class as one JSON object per line.
+     */
+    @GetMapping("/analyze/classes.ndjson")
+    public ResponseEntity<StreamingResponseBody> ndjson(@RequestParam String path,
+                                                        @RequestParam(required = false) String type,
+                                                        @RequestParam(name = "package", required = false) String packagePrefix,
+                                                        @RequestParam(required = false) String scope) throws IOException {
+        ProjectInfo project = analysisService.analyze(Path.of(path)).getProject();
+        List<ClassInfo> classes = source(project, type);
+        Predicate<ClassInfo> filter = filter(packagePrefix, scope);
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON)
+            .body(out -> writer.writeNdjson(project, classes, filter, out));
+    }
+
+    /**
+     * One page of matching classes. Pass the returned {@code nextCursor} to get the next page; the cursor is
+     * only valid while the same analysis result is cached - any new result, even of unchanged sources, may
+     * order the classes differently, so the listing has to start over (409).
+     */
+    @GetMapping("/analyze/classes")
+    public ResponseEntity<StreamingResponseBody> page(@RequestParam String path,
+                                                      @RequestParam(required = false) String type,
+                                                      @RequestParam(name = "package", required = false) String packagePrefix,
+                                                      @RequestParam(required = false) String scope,
+                                                      @RequestParam(required = false) String cursor,
+                                                      @RequestParam(defaultValue = "100") int limit) throws IOException {
+        AnalysisResultCache.Entry result = analysisService.analyze(Path.of(path));
+        ProjectInfo project = result.getProject();
+        String version = result.getVersion();
+        int from = cursor != null ? decodeCursor(cursor, version) : 0;
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<ClassInfo> classes = source(project, type);
+        Predicate<ClassInfo> filter = filter(packagePrefix, scope);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+            .body(out -> writer.writePage(project, classes, filter, from, size,
+                index -> encodeCursor(version, index), out));
+    }
+
+    // Filtr typu wybiera gotową listę z ProjectInfo zamiast przeglądać wszystkie klasy
+    private static List<ClassInfo> source(ProjectInfo project, String type) {
+        if (type == null) {
+            return project.getAllClasses();
+        }
+        try {
+            return project.getByType(BeanType.valueOf(type.toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Nieznany typ beana: " + type);
+        }
+    }
+
+    private static Predicate<ClassInfo> filter(String packagePrefix, String scope) {
+        Predicate<ClassInfo> filter = cls -> true;
+        if (packagePrefix != null) {
+            filter = filter.and(cls -> cls.getPackageName() != null && cls.getPackageName().startsWith(packagePrefix));
+        }
+        if (scope != null) {
+            filter = filter.and(cls -> scope.equals(cls.getScope()));
+        }
+        return filter;
+    }
+
+    private static String encodeCursor(String version, int index) {
+        String raw = version + ":" + index;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int decodeCursor(String cursor, String version) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Niepoprawny kursor");
+        }
+        int colon = raw.indexOf(':');
+        if (colon < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Niepoprawny kursor");
+        }
+        if (!raw.substring(0, colon).equals(version)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Wynik analizy zmienił się - zacznij od pierwszej strony");
+        }
+        try {
+            int index = Integer.parseInt(raw.substring(colon + 1));
+            if (index < 0) {
+                throw new NumberFormatException();
+            }
+            return index;
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Niepoprawny kursor");
+        }
+    }
+}
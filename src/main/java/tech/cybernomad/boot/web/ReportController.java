@@ -0,0 +1,105 @@
+package tech.cybernomad.boot.web;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tech.cybernomad.boot.model.ClassInfo;
+import tech.cybernomad.boot.model.ProjectInfo;
+import tech.cybernomad.boot.report.HtmlReportGenerator;
+import tech.cybernomad.boot.report.JsonModelWriter;
+import tech.cybernomad.boot.service.AnalysisResultCache;
+import tech.cybernomad.boot.service.AnalysisService;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Data of the virtual report ({@code /analyze?mode=virtual}): the bean table in chunks, a single bean, and
+ * the analysis sections as an HTML fragment.
+ * <p>
+ * Rows are addressed by their index in the cached model. The first chunk returns the
+ * {@linkplain AnalysisResultCache.Entry#getVersion() version} of the cached result; requests that pass it
+ * are answered from that result while it stays cached, without checking the sources again, and get 409
+ * once it has been replaced or dropped - never rows of a different model, even one with the same sources.
+ */
+@RestController
+public class ReportController {
+
+    private static final MediaType TEXT_HTML_UTF8 = new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8);
+    private static final int MAX_CHUNK = 10000;
+
+    private final JsonModelWriter jsonWriter = new JsonModelWriter();
+    private final HtmlReportGenerator reportGenerator;
+    private final AnalysisService analysisService;
+
+    public ReportController(AnalysisService analysisService) {
+        this.analysisService = analysisService;
+        this.reportGenerator = analysisService.createReportGenerator();
+    }
+
+    @GetMapping("/analyze/report/beans")
+    public ResponseEntity<StreamingResponseBody> beans(@RequestParam String path,
+                                                       @RequestParam(defaultValue = "0") int offset,
+                                                       @RequestParam(defaultValue = "5000") int limit,
+                                                       @RequestParam(required = false) String version) throws IOException {
+        AnalysisResultCache.Entry result = result(path, version);
+        String current = result.getVersion();
+        if (offset < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Niepoprawny offset: " + offset);
+        }
+        int size = Math.max(1, Math.min(limit, MAX_CHUNK));
+        ProjectInfo project = result.getProject();
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+            .body(out -> jsonWriter.writeTableRows(project, current, offset, size, out));
+    }
+
+    @GetMapping("/analyze/report/bean")
+    public ResponseEntity<StreamingResponseBody> bean(@RequestParam String path,
+                                                      @RequestParam int index,
+                                                      @RequestParam(required = false) String version) throws IOException {
+        ProjectInfo project = result(path, version).getProject();
+        List<ClassInfo> classes = project.getAllClasses();
+        if (index < 0 || index >= classes.size()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Nie ma beana o indeksie " + index);
+        }
+        ClassInfo cls = classes.get(index);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+            .body(out -> jsonWriter.writeClass(project, cls, out));
+    }
+
+    @GetMapping(value = "/analyze/report/sections", produces = MediaType.TEXT_HTML_VALUE)
+    public ResponseEntity<StreamingResponseBody> sections(@RequestParam String path,
+                                                          @RequestParam(required = false) String version) throws IOException {
+        ProjectInfo project = result(path, version).getProject();
+        return ResponseEntity.ok().contentType(TEXT_HTML_UTF8).body(out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            reportGenerator.writeSections(project, writer);
+            writer.flush();
+        });
+    }
+
+    // Z wersją wystarczy ten sam wpis z cache - kolejne porcje nie przeglądają plików projektu od nowa
+    private AnalysisResultCache.Entry result(String path, String version) throws IOException {
+        if (version != null) {
+            AnalysisResultCache.Entry cached = analysisService.getResultCache().peek(AnalysisService.normalize(Path.of(path)));
+            if (cached != null && version.equals(cached.getVersion())) {
+                return cached;
+            }
+        }
+        AnalysisResultCache.Entry result = analysisService.analyze(Path.of(path));
+        if (version != null && !version.equals(result.getVersion())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Wynik analizy zmienił się - przeładuj raport");
+        }
+        return result;
+    }
+}
@@ -0,0 +1,102 @@
+package tech.cybernomad.boot.web;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import tech.cybernomad.boot.model.RouteInfo;
+import tech.cybernomad.boot.route.RouteTable;
+import tech.cybernomad.boot.service.AnalysisResultCache;
+import tech.cybernomad.boot.service.AnalysisService;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Request mappings of a project's controllers: the full route table with its conflicts, and which handler
+ * a concrete request would reach.
+ */
+@RestController
+public class RouteController {
+
+    private final AnalysisService analysisService;
+
+    public RouteController(AnalysisService analysisService) {
+        this.analysisService = analysisService;
+    }
+
+    @GetMapping("/analyze/routes")
+    public Map<String, Object> routes(@RequestParam String path) throws IOException {
+        AnalysisResultCache.Entry entry = analysisService.analyze(Path.of(path));
+        RouteTable table = entry.getRouteTable();
+        Path basePath = entry.getProject().getBasePath();
+        Map<String, Integer> byKind = new LinkedHashMap<>();
+        List<Map<String, Object>> conflicts = new ArrayList<>();
+        for (RouteTable.Conflict conflict : table.getConflicts()) {
+            byKind.merge(conflict.kind().name(), 1, Integer::sum);
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("kind", conflict.kind().name());
+            json.put("example", conflict.example());
+            json.put("first", route(conflict.first(), basePath));
+            json.put("second", route(conflict.second(), basePath));
+            conflicts.add(json);
+        }
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("total", table.getRoutes().size());
+        json.put("routes", table.getRoutes().stream().map(r -> route(r, basePath)).toList());
+        json.put("invalid", table.getInvalid());
+        json.put("conflictsByKind", byKind);
+        json.put("conflicts", conflicts);
+        return json;
+    }
+
+    /**
+     * The handler Spring MVC would pick for the request, and the other routes matching its path. When the
+     * path matches but no route accepts the method or media types, {@code allowedMethods} lists what would.
+     *
+     * @param url request path, e.g. {@code /api/users/42?expand=true}
+     */
+    @GetMapping("/analyze/routes/match")
+    public Map<String, Object> match(@RequestParam String path,
+                                     @RequestParam String url,
+                                     @RequestParam(required = false) String method,
+                                     @RequestParam(required = false) String contentType,
+                                     @RequestParam(required = false) String accept) throws IOException {
+        AnalysisResultCache.Entry entry = analysisService.analyze(Path.of(path));
+        RouteTable table = entry.getRouteTable();
+        Path basePath = entry.getProject().getBasePath();
+        List<RouteTable.Match> matches = table.match(url, method, contentType, accept);
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("url", url);
+        json.put("method", method);
+        if (matches.isEmpty()) {
+            json.put("handler", null);
+            Set<String> allowed = new TreeSet<>();
+            for (RouteTable.Route route : table.matchPath(url)) {
+                allowed.addAll(route.info().getMethods().isEmpty() ? List.of("*") : route.info().getMethods());
+            }
+            json.put("allowedMethods", allowed);
+        } else {
+            Map<String, Object> handler = route(matches.get(0).route(), basePath);
+            handler.put("variables", matches.get(0).variables());
+            json.put("handler", handler);
+        }
+        json.put("candidates", matches.stream().skip(1).map(m -> route(m.route(), basePath)).toList());
+        return json;
+    }
+
+    private Map<String, Object> route(RouteTable.Route route, Path basePath) {
+        RouteInfo info = route.info();
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("path", info.getPath());
+        json.put("methods", info.getMethods());
+        json.put("consumes", info.getConsumes());
+        json.put("produces", info.getProduces());
+        json.put("handler", route.handler());
+        json.put("file", route.controller().getRelativePath(basePath));
+        json.put("line", info.getLineNumber());
+        return json;
+    }
+}
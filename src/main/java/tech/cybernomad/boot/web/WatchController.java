@@ -0,0 +1,110 @@
+package tech.cybernomad.boot.web;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.UriComponentsBuilder;
+import tech.cybernomad.boot.model.ClassInfo;
+import tech.cybernomad.boot.model.ProjectInfo;
+import tech.cybernomad.boot.report.HtmlReportGenerator;
+import tech.cybernomad.boot.service.AnalysisService;
+import tech.cybernomad.boot.watch.ProjectWatchRegistry;
+import tech.cybernomad.boot.watch.ProjectWatcher;
+import tech.cybernomad.boot.watch.WatchDelta;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Watch mode: a live report whose rows are patched over Server-Sent Events as source files change.
+ */
+@RestController
+public class WatchController {
+
+    private static final MediaType TEXT_HTML_UTF8 = new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8);
+
+    private final HtmlReportGenerator reportGenerator;
+    private final ProjectWatchRegistry watchRegistry;
+
+    public WatchController(ProjectWatchRegistry watchRegistry, AnalysisService analysisService) {
+        this.watchRegistry = watchRegistry;
+        this.reportGenerator = analysisService.createReportGenerator();
+    }
+
+    @GetMapping(value = "/watch", produces = MediaType.TEXT_HTML_VALUE)
+    public ResponseEntity<StreamingResponseBody> watch(@RequestParam String path) throws IOException {
+        Path projectPath = Path.of(path).toAbsolutePath();
+        if (!Files.isDirectory(projectPath)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Ścieżka nie jest folderem: " + path);
+        }
+        ProjectWatcher watcher = watchRegistry.watch(projectPath);
+        String eventsUrl = UriComponentsBuilder.fromPath("/watch/events")
+            .queryParam("path", "{path}").encode().buildAndExpand(projectPath.toString()).toUriString();
+
+        return ResponseEntity.ok().contentType(TEXT_HTML_UTF8).body(out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            ProjectInfo project = watcher.getProject();
+            synchronized (project) {
+                reportGenerator.write(project, writer, eventsUrl);
+            }
+            writer.flush();
+        });
+    }
+
+    @GetMapping(value = "/watch/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@RequestParam String path) throws IOException {
+        ProjectWatcher watcher = watchRegistry.watch(Path.of(path));
+        SseEmitter emitter = new SseEmitter(0L);
+        Consumer<WatchDelta> listener = delta -> {
+            try {
+                emitter.send(SseEmitter.event()
+                    .name("delta")
+                    .id(String.valueOf(delta.getSequence()))
+                    .data(toJson(watcher.getProject(), delta), MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+            }
+        };
+        watcher.addListener(listener);
+        emitter.onCompletion(() -> watcher.removeListener(listener));
+        emitter.onTimeout(() -> watcher.removeListener(listener));
+        emitter.onError(e -> watcher.removeListener(listener));
+        return emitter;
+    }
+
+    @GetMapping("/watch/list")
+    public List<String> watched() {
+        return watchRegistry.getWatchedProjects().stream().map(Path::toString).sorted().toList();
+    }
+
+    @DeleteMapping("/watch")
+    public Map<String, Object> stop(@RequestParam String path) throws IOException {
+        return Map.of("stopped", watchRegistry.stop(Path.of(path)));
+    }
+
+    private Map<String, Object> toJson(ProjectInfo project, WatchDelta delta) {
+        List<Map<String, Object>> added = new ArrayList<>();
+        for (ClassInfo cls : delta.getAdded()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("name", cls.getFullName());
+            entry.put("type", cls.getBeanType().name());
+            entry.put("scope", cls.getScope());
+            entry.put("row", reportGenerator.renderRow(project, cls));
+            added.add(entry);
+        }
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("sequence", delta.getSequence());
+        json.put("removed", delta.getRemoved());
+        json.put("added", added);
+        json.put("totalBeans", delta.getTotalBeans());
+        return json;
+    }
+}
@@ -0,0 +1,34 @@
+package tech.cybernomad.boot.analyzer;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The model extracted by {@link ClassVisitor} from a fixture of edge cases: constructors declared before
+ * fields and several constructors, multi-variable and {@code @Inject}/{@code @Resource} fields, qualified
+ * annotation names, {@code @Scope} constants and attributes, mapping arrays and class-level mappings.
+ * {@code expected.txt} was recorded with the visitors that ran one pass per member kind.
+ */
+class ClassVisitorTest {
+
+    private static final Path FIXTURE = Path.of("src/test/resources/class-visitor");
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void extractsTheRecordedModel(boolean shallow) throws IOException {
+        SpringBootAnalyzer analyzer = new SpringBootAnalyzer(FIXTURE, 1);
+        analyzer.setShallowParsing(shallow);
+        List<String> lines = new ArrayList<>();
+        SpringBootAnalyzerShallowTest.describe(analyzer.analyze()).forEach((name, model) -> lines.add(name + " = " + model));
+
+        assertThat(lines).containsExactlyElementsOf(Files.readAllLines(FIXTURE.resolve("expected.txt")));
+    }
+}
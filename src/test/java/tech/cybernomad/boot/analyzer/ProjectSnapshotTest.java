@@ -0,0 +1,89 @@
+package tech.cybernomad.boot.analyzer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tech.cybernomad.boot.model.*;
+import tech.cybernomad.boot.rules.RuleSet;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A snapshot loads back into the model it was written from.
+ */
+class ProjectSnapshotTest {
+
+    private static final Path TEST_PROJECT = Path.of("test-project").toAbsolutePath();
+
+    @Test
+    void loadsTheModelItWasWrittenFrom(@TempDir Path dir) throws IOException {
+        SpringBootAnalyzer analyzer = new SpringBootAnalyzer(TEST_PROJECT, 1);
+        analyzer.setRules(RuleSet.defaults());
+        ProjectInfo project = analyzer.analyze();
+        project.addClass(outsideTheProject(dir));
+
+        Path file = ProjectSnapshot.file(dir, TEST_PROJECT);
+        ProjectFingerprint fingerprint = ProjectFingerprint.of(analyzer.findSourceRoots());
+        ProjectSnapshot.write(file, project, fingerprint, "rules");
+        ProjectSnapshot snapshot = ProjectSnapshot.open(file);
+        ProjectInfo loaded = snapshot.load();
+
+        assertThat(snapshot.getBasePath()).isEqualTo(project.getBasePath());
+        assertThat(snapshot.getFingerprint().getHash()).isEqualTo(fingerprint.getHash());
+        assertThat(snapshot.getRules()).isEqualTo("rules");
+        assertThat(loaded.getProjectName()).isEqualTo(project.getProjectName());
+        assertThat(stats(loaded)).isEqualTo(stats(project));
+        assertThat(modules(loaded)).isEqualTo(modules(project));
+        // Model musi coś sprawdzać: pliki względne i bezwzględne, puste listy, wyniki reguł
+        assertThat(project.getAllClasses()).anyMatch(cls -> !cls.getFindings().isEmpty());
+        assertThat(project.getAllClasses()).anyMatch(cls -> cls.getDependencies().isEmpty());
+        assertThat(describe(loaded)).isEqualTo(describe(project));
+    }
+
+    // Klasa spoza basePath - zapisana ze ścieżką bezwzględną, bez modułu i z pustymi listami trasy
+    private static ClassInfo outsideTheProject(Path dir) {
+        ClassInfo cls = new ClassInfo(new Symbols());
+        cls.setClassName("Outside");
+        cls.setPackageName("org.other");
+        cls.setFullName("org.other.Outside");
+        cls.setFilePath(dir.resolve("other/src/org/other/Outside.java"));
+        cls.setBeanType(BeanType.COMPONENT);
+        cls.addAnnotation("Component");
+        RouteInfo route = new RouteInfo(cls.getSymbols());
+        route.setPath("/other");
+        route.setHandlerMethod("get");
+        cls.addRoute(route);
+        cls.addFinding(new Finding("test-rule", Finding.Severity.ERROR, "message", 7));
+        return cls;
+    }
+
+    private static List<Object> stats(ProjectInfo project) {
+        AnalysisStats stats = project.getAnalysisStats();
+        return List.of(stats.getFilesDiscovered(), stats.getFilesParsed(), stats.getFilesCached(),
+            stats.getFilesSkipped(), stats.getFilesFailed(), stats.getPrefilterMisses());
+    }
+
+    private static List<Object> modules(ProjectInfo project) {
+        List<Object> modules = new ArrayList<>();
+        for (ModuleInfo module : project.getModules()) {
+            List<String> classes = module.getClasses().stream().map(ClassInfo::getFullName).toList();
+            modules.add(List.of(module.getName(), String.valueOf(module.getDirectory()), module.getSourceRoots(), classes));
+        }
+        return modules;
+    }
+
+    // Model jak w teście parsowania płytkiego plus plik, moduł i wyniki reguł, w kolejności klas projektu
+    private static List<Object> describe(ProjectInfo project) {
+        Map<String, List<Object>> models = SpringBootAnalyzerShallowTest.describe(project);
+        List<Object> classes = new ArrayList<>();
+        for (ClassInfo cls : project.getAllClasses()) {
+            List<String> findings = cls.getFindings().stream().map(Finding::toString).toList();
+            classes.add(List.of(cls.getFullName(), models.get(cls.getFullName()), String.valueOf(cls.getFilePath()),
+                cls.getRelativePath(project.getBasePath()), String.valueOf(cls.getModule()), findings));
+        }
+        return classes;
+    }
+}
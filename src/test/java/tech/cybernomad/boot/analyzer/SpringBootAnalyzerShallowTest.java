@@ -0,0 +1,64 @@
+package tech.cybernomad.boot.analyzer;
+
+import org.junit.jupiter.api.Test;
+import tech.cybernomad.boot.model.ClassInfo;
+import tech.cybernomad.boot.model.MethodInfo;
+import tech.cybernomad.boot.model.ProjectInfo;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Shallow parsing (method bodies and comments skipped) must produce the same model as a full parse.
+ */
+class SpringBootAnalyzerShallowTest {
+
+    private static final Path TEST_PROJECT = Path.of("test-project");
+
+    @Test
+    void shallowParsingGivesTheSameModelAsFullParsing() throws IOException {
+        Map<String, List<Object>> full = describe(analyze(false));
+        Map<String, List<Object>> shallow = describe(analyze(true));
+
+        assertThat(full).containsKeys("com.example.demo.config.AppConfig", "com.example.demo.controller.UserController",
+            "com.example.demo.service.UserService");
+        assertThat(shallow).isEqualTo(full);
+    }
+
+    // Bez katalogu cache - oba przebiegi parsują każdy plik
+    private static ProjectInfo analyze(boolean shallow) throws IOException {
+        SpringBootAnalyzer analyzer = new SpringBootAnalyzer(TEST_PROJECT, 1);
+        analyzer.setShallowParsing(shallow);
+        return analyzer.analyze();
+    }
+
+    // Wszystko, co analiza wyciąga z klasy, w postaci porównywalnej przez equals
+    static Map<String, List<Object>> describe(ProjectInfo project) {
+        Map<String, List<Object>> classes = new TreeMap<>();
+        for (ClassInfo cls : project.getAllClasses()) {
+            List<Object> beanMethods = new ArrayList<>();
+            for (MethodInfo method : cls.getBeanMethods()) {
+                beanMethods.add(List.of(method.getName(), String.valueOf(method.getReturnType()), method.getScope(),
+                    method.getLineNumber(), method.getAnnotations(), method.getConditionalOn()));
+            }
+            List<Object> routes = new ArrayList<>();
+            cls.getRoutes().forEach(route -> routes.add(List.of(route.getPath(), route.getMethods(), route.getConsumes(),
+                route.getProduces(), route.getHandlerMethod(), route.getLineNumber())));
+            classes.put(cls.getFullName(), List.of(
+                cls.getBeanType(),
+                cls.getScope(),
+                cls.getLineNumber(),
+                cls.getAnnotations(),
+                cls.getDependencies(),
+                cls.getMappings(),
+                String.valueOf(cls.getParentClass()),
+                cls.getInterfaces(),
+                beanMethods,
+                routes));
+        }
+        return classes;
+    }
+}
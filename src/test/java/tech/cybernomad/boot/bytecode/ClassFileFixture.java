@@ -0,0 +1,44 @@
+package tech.cybernomad.boot.bytecode;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.annotation.Scope;
+import org.springframework.context.annotation.ScopedProxyMode;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Compiled with the tests and read back from {@code target/test-classes} by {@link ClassFileReaderTest};
+ * the test looks up its lines by their text, so the declarations can move.
+ */
+@Configuration
+@Scope(value = "prototype", proxyMode = ScopedProxyMode.TARGET_CLASS)
+@Profile({"dev", "test"})
+class ClassFileFixture {
+
+    @Autowired
+    private Map<String, List<Integer>> registry;
+
+    @Value("${fixture.limit:3}")
+    private long limit;
+
+    private final Clock clock;
+
+    ClassFileFixture(Clock clock, Optional<String> name) {
+        this.clock = clock;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(name = "counter")
+    Supplier<Long> counter() {
+        return () -> limit + clock.millis();
+    }
+}
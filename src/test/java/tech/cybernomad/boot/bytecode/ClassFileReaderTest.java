@@ -0,0 +1,130 @@
+package tech.cybernomad.boot.bytecode;
+
+import org.junit.jupiter.api.Test;
+import tech.cybernomad.boot.analyzer.BytecodeAnalyzer;
+import tech.cybernomad.boot.bytecode.ClassFile.Annotation;
+import tech.cybernomad.boot.bytecode.ClassFile.EnumValue;
+import tech.cybernomad.boot.bytecode.ClassFile.Member;
+import tech.cybernomad.boot.model.BeanType;
+import tech.cybernomad.boot.model.ClassInfo;
+import tech.cybernomad.boot.model.MethodInfo;
+import tech.cybernomad.boot.model.Symbols;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Reads {@link ClassFileFixture} as javac compiled it into {@code target/test-classes} and checks what
+ * {@link BytecodeAnalyzer} relies on: annotations and their values, generic field and constructor types,
+ * and the first line of each method.
+ */
+class ClassFileReaderTest {
+
+    private static final Path SOURCE = Path.of("src/test/java/tech/cybernomad/boot/bytecode/ClassFileFixture.java");
+
+    @Test
+    void readsNamesAndAnnotations() throws IOException {
+        ClassFile classFile = ClassFileReader.read(fixture());
+
+        assertThat(classFile.getName()).isEqualTo("tech/cybernomad/boot/bytecode/ClassFileFixture");
+        assertThat(classFile.getSuperName()).isEqualTo("java/lang/Object");
+        assertThat(classFile.is(ClassFile.ACC_INTERFACE)).isFalse();
+        assertThat(classFile.getAnnotations()).extracting(Annotation::getSimpleName)
+            .containsExactly("Configuration", "Scope", "Profile");
+
+        Annotation scope = classFile.getAnnotations().get(1);
+        assertThat(scope.getValue("value")).isEqualTo("prototype");
+        assertThat(scope.getValue("proxyMode"))
+            .isEqualTo(new EnumValue("Lorg/springframework/context/annotation/ScopedProxyMode;", "TARGET_CLASS"));
+        assertThat(classFile.getAnnotations().get(2).getValue("value")).isEqualTo(List.of("dev", "test"));
+    }
+
+    @Test
+    void readsFieldAndConstructorTypes() throws IOException {
+        ClassFile classFile = ClassFileReader.read(fixture());
+
+        Member registry = member(classFile.getFields(), "registry");
+        assertThat(registry.hasAnnotation("Autowired")).isTrue();
+        assertThat(TypeSignatures.descriptorToType(registry.getSignature()))
+            .isEqualTo("java.util.Map<java.lang.String, java.util.List<java.lang.Integer>>");
+        assertThat(registry.getLine()).isZero();
+
+        Member limit = member(classFile.getFields(), "limit");
+        assertThat(limit.getSignature()).isNull();
+        assertThat(TypeSignatures.descriptorToType(limit.getDescriptor())).isEqualTo("long");
+        assertThat(limit.getAnnotations().get(0).getValue("value")).isEqualTo("${fixture.limit:3}");
+
+        Member constructor = member(classFile.getMethods(), "<init>");
+        assertThat(constructor.isConstructor()).isTrue();
+        assertThat(TypeSignatures.parameterTypes(constructor.getSignature()))
+            .containsExactly("java.time.Clock", "java.util.Optional<java.lang.String>");
+    }
+
+    @Test
+    void readsFirstLineOfEachMethod() throws IOException {
+        ClassFile classFile = ClassFileReader.read(fixture());
+
+        assertThat(member(classFile.getMethods(), "<init>").getLine())
+            .isEqualTo(line("ClassFileFixture(Clock clock, Optional<String> name) {"));
+        assertThat(member(classFile.getMethods(), "counter").getLine())
+            .isEqualTo(line("return () -> limit + clock.millis();"));
+    }
+
+    @Test
+    void analyzesTheFixtureAsABean() throws IOException {
+        BytecodeAnalyzer analyzer = new BytecodeAnalyzer(Path.of("target/test-classes"));
+        ClassInfo info = analyzer.analyzeClass(ClassFileReader.read(fixture()), SOURCE, new Symbols());
+
+        assertThat(info.getFullName()).isEqualTo("tech.cybernomad.boot.bytecode.ClassFileFixture");
+        assertThat(info.getBeanType()).isEqualTo(BeanType.CONFIGURATION);
+        assertThat(info.getScope()).isEqualTo("prototype");
+        assertThat(info.getLineNumber()).isEqualTo(line("ClassFileFixture(Clock clock, Optional<String> name) {"));
+        // Pole z @Value nie jest zależnością, jedyny konstruktor - tak
+        assertThat(info.getDependencies()).containsExactly(
+            "java.util.Map<java.lang.String, java.util.List<java.lang.Integer>>",
+            "java.time.Clock",
+            "java.util.Optional<java.lang.String>");
+
+        assertThat(info.getBeanMethods()).hasSize(1);
+        MethodInfo counter = info.getBeanMethods().get(0);
+        assertThat(counter.getName()).isEqualTo("counter");
+        assertThat(counter.getReturnType()).isEqualTo("java.util.function.Supplier<java.lang.Long>");
+        assertThat(counter.getLineNumber()).isEqualTo(line("return () -> limit + clock.millis();"));
+        assertThat(counter.getConditionalOn()).containsExactly("@ConditionalOnMissingBean(name = \"counter\")");
+    }
+
+    @Test
+    void rejectsDataThatIsNotAClassFile() {
+        assertThatThrownBy(() -> ClassFileReader.read(new byte[] {1, 2, 3}))
+            .isInstanceOf(IOException.class);
+        // Pula stałych urwana w połowie wpisu UTF-8
+        byte[] truncated = {(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 0, 0, 0, 61, 0, 5, 1, 0, 9, 'a'};
+        assertThatThrownBy(() -> ClassFileReader.read(truncated)).isInstanceOf(IOException.class);
+    }
+
+    private static byte[] fixture() throws IOException {
+        try (InputStream in = ClassFileFixture.class.getResourceAsStream("ClassFileFixture.class")) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static Member member(List<Member> members, String name) {
+        return members.stream().filter(member -> member.getName().equals(name)).findFirst().orElseThrow();
+    }
+
+    private static int line(String text) throws IOException {
+        List<String> lines = Files.readAllLines(SOURCE);
+        for (int i = 0; i < lines.size(); i++) {
+            if (lines.get(i).trim().equals(text)) {
+                return i + 1;
+            }
+        }
+        throw new AssertionError("No line " + text);
+    }
+}
@@ -0,0 +1,112 @@
+package tech.cybernomad.boot.route;
+
+import org.junit.jupiter.api.Test;
+import tech.cybernomad.boot.model.ClassInfo;
+import tech.cybernomad.boot.model.ProjectInfo;
+import tech.cybernomad.boot.model.RouteInfo;
+import tech.cybernomad.boot.model.Symbols;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Conflicts found by walking the {@link RouteTree} against itself, and the order of {@link RouteTable#match}
+ * results, for a small controller covering each case: a duplicate, an ambiguous pair, a literal shadowing a
+ * variable, a catch-all behind a literal (intended, not reported) and two nested catch-alls.
+ */
+class RouteTableTest {
+
+    private static final String[][] ROUTES = {
+        {"GET", "/orders", "list"},
+        {"GET", "/orders", "listAgain"},
+        {"GET", "/users/{id}", "byId"},
+        {"GET", "/users/{name}", "byName"},
+        {"GET", "/items/new", "newItem"},
+        {"GET", "/items/{id}", "item"},
+        {"POST", "/items/{id}", "updateItem"},
+        {"GET", "/static/**", "assets"},
+        {"GET", "/static/logo.png", "logo"},
+        {"GET", "/docs/**", "docs"},
+        {"GET", "/docs/api/**", "apiDocs"},
+    };
+
+    private final RouteTable table = RouteTable.build(project());
+
+    @Test
+    void reportsEachKindOfConflict() {
+        assertThat(table.getConflicts()).extracting(RouteTableTest::describe).containsExactly(
+            "DUPLICATE list listAgain /orders",
+            "AMBIGUOUS byId byName /users/{id}",
+            "OVERLAP apiDocs docs /docs/api/**",
+            "OVERLAP newItem item /items/new");
+    }
+
+    @Test
+    void overlapsIgnoreMethodsAndSingleCatchAlls() {
+        RouteTree tree = new RouteTree();
+        table.getRoutes().forEach(tree::insert);
+        List<String> pairs = new ArrayList<>();
+        tree.overlaps(
+            (a, b) -> pairs.add(name(a) + " " + name(b)),
+            (a, b, example) -> pairs.add(name(a) + " " + name(b) + " " + example));
+
+        // Bez filtra metod HTTP - updateItem (POST) też jest zgłaszany; catch-all kontra literał nie
+        assertThat(pairs).containsExactlyInAnyOrder(
+            "list listAgain",
+            "byId byName",
+            "item updateItem",
+            "newItem item /items/new",
+            "newItem updateItem /items/new",
+            "docs apiDocs /docs/api/**");
+    }
+
+    @Test
+    void matchesMostSpecificFirst() {
+        assertThat(handlers(table.match("/items/new", "GET", null, null))).containsExactly("newItem", "item");
+        assertThat(handlers(table.match("/items/new", "post", null, null))).containsExactly("updateItem");
+        assertThat(handlers(table.match("/items/42?page=2", null, null, null))).containsExactly("item", "updateItem");
+        assertThat(handlers(table.match("/static/logo.png", "GET", null, null))).containsExactly("logo", "assets");
+        assertThat(handlers(table.match("http://localhost:8080/docs/api/v1#top", "GET", null, null)))
+            .containsExactly("apiDocs", "docs");
+        assertThat(handlers(table.match("/orders/1", "GET", null, null))).isEmpty();
+    }
+
+    @Test
+    void capturesPathVariables() {
+        assertThat(table.match("/items/42", "GET", null, null))
+            .extracting(RouteTable.Match::variables)
+            .containsExactly(Map.of("id", "42"));
+    }
+
+    private static ProjectInfo project() {
+        Symbols symbols = new Symbols();
+        ClassInfo controller = new ClassInfo(symbols);
+        controller.setPackageName("com.example");
+        controller.setClassName("ApiController");
+        for (String[] route : ROUTES) {
+            RouteInfo info = new RouteInfo(symbols);
+            info.setMethods(List.of(route[0]));
+            info.setPath(route[1]);
+            info.setHandlerMethod(route[2]);
+            controller.addRoute(info);
+        }
+        ProjectInfo project = new ProjectInfo();
+        project.addClass(controller);
+        return project;
+    }
+
+    private static String name(RouteTable.Route route) {
+        return route.info().getHandlerMethod();
+    }
+
+    private static String describe(RouteTable.Conflict conflict) {
+        return conflict.kind() + " " + name(conflict.first()) + " " + name(conflict.second()) + " " + conflict.example();
+    }
+
+    private static List<String> handlers(List<RouteTable.Match> matches) {
+        return matches.stream().map(match -> name(match.route())).toList();
+    }
+}
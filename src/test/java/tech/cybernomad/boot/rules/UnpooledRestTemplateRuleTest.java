@@ -0,0 +1,57 @@
+package tech.cybernomad.boot.rules;
+
+import org.junit.jupiter.api.Test;
+import tech.cybernomad.boot.analyzer.SpringBootAnalyzer;
+import tech.cybernomad.boot.model.ClassInfo;
+import tech.cybernomad.boot.model.Finding;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UnpooledRestTemplateRuleTest {
+
+    @Test
+    void flagsRestTemplatesWithoutAFactory() {
+        assertThat(findings("return new RestTemplate();")).containsExactly("client");
+        assertThat(findings("return new RestTemplate(new SimpleClientHttpRequestFactory());")).containsExactly("client");
+        // Pomocnik o nazwie kończącej się na RequestFactory nie ustawia fabryki
+        assertThat(findings("Object t = new RestTemplate(); customRequestFactory(t); return t;"))
+            .containsExactly("client");
+    }
+
+    @Test
+    void flagsConstructorsWrittenWithSpaces() {
+        // Jedyne wystąpienie w klasie - bramka na poziomie źródła nie może wymagać "RestTemplate("
+        assertThat(findings("return new RestTemplate ();")).containsExactly("client");
+        assertThat(findings("return new   RestTemplate( );")).containsExactly("client");
+    }
+
+    @Test
+    void leavesRestTemplatesWithAFactoryAlone() {
+        assertThat(findings("return new RestTemplate(pooledFactory());")).isEmpty();
+        assertThat(findings("var t = new RestTemplate(); t.setRequestFactory(pooledFactory()); return t;"))
+            .isEmpty();
+        assertThat(findings("return builder.build();")).isEmpty();
+    }
+
+    // Nazwy metod @Bean, dla których reguła zgłosiła problem
+    private static List<String> findings(String body) {
+        String source = "package x;\n"
+            + "@Configuration\n"
+            + "class Clients {\n"
+            + "    @Bean\n"
+            + "    Object client() { " + body + " }\n"
+            + "}\n";
+        SpringBootAnalyzer analyzer = new SpringBootAnalyzer(Path.of("."), 1);
+        analyzer.setRules(new RuleSet(List.of(new UnpooledRestTemplateRule())));
+        List<ClassInfo> classes = analyzer.analyzeContent(source.getBytes(StandardCharsets.UTF_8), Path.of("Clients.java"));
+        assertThat(classes).hasSize(1);
+        return classes.get(0).getFindings().stream()
+            .map(Finding::getMessage)
+            .map(message -> message.substring(0, message.indexOf("()")))
+            .toList();
+    }
+}
@@ -0,0 +1,30 @@
+package tech.cybernomad.boot.service;
+
+import org.junit.jupiter.api.Test;
+import tech.cybernomad.boot.analyzer.ProjectFingerprint;
+import tech.cybernomad.boot.model.ProjectInfo;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalysisResultCacheTest {
+
+    @Test
+    void everyResultGetsItsOwnVersion() throws IOException {
+        AnalysisResultCache cache = new AnalysisResultCache(1L << 20, Duration.ofMinutes(1));
+        Path key = Path.of("test-project").toAbsolutePath();
+        ProjectFingerprint fingerprint = ProjectFingerprint.of(List.of(key.resolve("src/main/java")));
+
+        AnalysisResultCache.Entry first = cache.put(key, fingerprint, new ProjectInfo());
+        assertThat(cache.get(key, fingerprint).getVersion()).isEqualTo(first.getVersion());
+
+        // Np. moduł przeanalizowany ponownie - te same źródła, inna kolejność klas
+        AnalysisResultCache.Entry second = cache.put(key, fingerprint, new ProjectInfo());
+        assertThat(second.getVersion()).isNotEqualTo(first.getVersion());
+        assertThat(cache.peek(key).getVersion()).isEqualTo(second.getVersion());
+    }
+}
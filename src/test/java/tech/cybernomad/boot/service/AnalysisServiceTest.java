@@ -0,0 +1,56 @@
+package tech.cybernomad.boot.service;
+
+import org.junit.jupiter.api.Test;
+import tech.cybernomad.boot.analyzer.AnalysisListener;
+import tech.cybernomad.boot.model.AnalysisStats;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalysisServiceTest {
+
+    @Test
+    void concurrentRequestsShareOneAnalysis() throws Exception {
+        AtomicInteger analyses = new AtomicInteger();
+        AnalysisListener listener = new AnalysisListener() {
+            @Override
+            public void fileParsed(Path file, long bytes, long nanos) {
+                // Analiza trwa dość długo, żeby pozostałe żądania przyszły w jej trakcie
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public void analysisCompleted(AnalysisStats stats) {
+                analyses.incrementAndGet();
+            }
+        };
+        AnalysisService service = new AnalysisService(1L << 28, Duration.ofMinutes(30), false, List.of(), listener);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<AnalysisResultCache.Entry>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> service.analyze(Path.of("test-project"))));
+            }
+            AnalysisResultCache.Entry first = results.get(0).get();
+            for (Future<AnalysisResultCache.Entry> result : results) {
+                assertThat(result.get()).isSameAs(first);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(analyses).hasValue(1);
+    }
+}
@@ -0,0 +1,77 @@
+package f;
+
+@Service
+@Scope(value = "Request")
+public class A implements Foo, Bar<Baz> {
+    public A(X x, List<Y> ys) { }
+    @Autowired
+    private Dep1 a, b;
+    @Inject Dep2 c;
+    @Resource(name = "q") Dep3 d;
+    @Autowired
+    public A(Z z) { }
+    @Scheduled(fixedRate = 1000)
+    void s() { }
+    @EventListener
+    void e() { }
+}
+
+@Component
+class B extends Base<String> {
+    @Autowired B(W w) { }
+    B() { }
+    @TransactionalEventListener void t() { }
+    @Scheduled(cron = "x") void u() { }
+}
+
+@Configuration
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+class C {
+    @Bean
+    @Scope("prototype")
+    @ConditionalOnProperty(name = "a", havingValue = "b")
+    @ConditionalOnMissingBean
+    public Map<String, List<Foo>> m(Dep d) { return null; }
+    @org.springframework.context.annotation.Bean
+    Foo qualified() { return null; }
+    @Bean @Scope(value = "request") Foo normal() { return null; }
+    @Scheduled(fixedDelay = 5) void p() { }
+}
+
+@RestController
+@RequestMapping({"/api/{v}", "/v2"})
+@GetMapping("/odd")
+class D {
+    private final Svc svc;
+    D(Svc svc) { this.svc = svc; }
+    @GetMapping({"/a", "/b"})
+    public String a() { return ""; }
+    @RequestMapping(path = "/c", method = {RequestMethod.POST, RequestMethod.PUT}, consumes = MediaType.APPLICATION_JSON_VALUE)
+    public synchronized String c() { return ""; }
+    @PostMapping
+    @Bean
+    public String both() { return ""; }
+    @Scheduled(fixedRate = 10) void poll() { }
+}
+
+@Controller
+@RequestMapping(value = "/x" + "/y", produces = "text/html")
+class E {
+    @DeleteMapping(value = Paths.BASE + "/z")
+    void z() { }
+    @org.springframework.web.bind.annotation.GetMapping("/q") void q() { }
+}
+
+@Aspect
+@Scope(scopeName = "session")
+class G { }
+
+@Entity
+class H { @Autowired H(I i) { } @Autowired H(J j) { } }
+
+@SpringBootApplication
+class M { @Bean String s() { return ""; } }
+
+@Component
+@Scope
+class N { @Scope("x") @Bean Foo f() { return null; } }